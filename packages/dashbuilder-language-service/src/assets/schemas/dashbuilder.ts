@@ -237,6 +237,11 @@ export const DASHBUILDER_SCHEMA = {
           description: "If true then previous calls to the dataset are kept in memory and not discarded.",
           type: "boolean",
         },
+        cursor: {
+          description:
+            "Column used as cursor for accumulated datasets: refresh calls send its highest value in the 'since' query parameter.",
+          type: "string",
+        },
         headers: {
           description: "HTTP headers sent with the request.",
           $ref: "#/definitions/DatasetHeaders",
@@ -84,6 +84,16 @@ public class ClientDataSetManager implements DataSetManager {
         }
     }
 
+    /**
+     * Insert rows at the top of a registered data set, removing its bottom rows over the given maximum. The data set
+     * indexes are updated rather than dropped, so only the new and the removed rows are processed.
+     * @param maxRows The max. number of rows to keep or zero for no limit.
+     * @return The updated data set or null if no data set is registered with the given uuid.
+     */
+    public DataSet insertRows(String uuid, DataSet newRows, int maxRows) {
+        return dataSetOpEngine.insertRows(uuid, newRows, maxRows);
+    }
+
     @Override
     public DataSet removeDataSet(String uuid) {
         DataSetIndex index = dataSetOpEngine.getIndexRegistry().remove(uuid);
@@ -102,6 +102,24 @@ public interface DataSetClientServices {
     void lookupDataSet(final DataSetLookup request,
                               final DataSetReadyCallback listener) throws Exception;
 
+    /**
+     * Process the specified data set lookup request through a lookup cache, so identical requests are
+     * executed just once.
+     *
+     * @param request The data set lookup request
+     * @param cache The cache shared by the requesters or null to execute the request directly
+     * @throws Exception It there is an unexpected error trying to execute the lookup request.
+     */
+    default void lookupDataSet(final DataSetLookup request,
+                               final DataSetLookupCache cache,
+                               final DataSetReadyCallback listener) throws Exception {
+        if (cache == null) {
+            lookupDataSet(request, listener);
+        } else {
+            cache.lookupDataSet(request, listener, this::lookupDataSet);
+        }
+    }
+
     void getPublicDataSetDefs(RemoteCallback<List<DataSetDef>> callback);
 
 }
\ No newline at end of file
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataset.client;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dashbuilder.common.client.error.ClientRuntimeError;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetLookup;
+
+/**
+ * Lookup results shared by a group of displayers, typically the ones of a page.
+ * <p>Results are only kept while a cycle is open (see {@link #begin()}), i.e. while a draw, redraw or
+ * filter request is being propagated, so the displayers issuing the same lookup within a cycle get the
+ * same data set instance, which must be treated as read only. Requests identical to another one still
+ * in progress wait for its result instead of being executed again, whether a cycle is open or not.</p>
+ */
+public class DataSetLookupCache {
+
+    /**
+     * The actual lookup executed on a cache miss.
+     */
+    public interface LookupFunction {
+
+        void lookup(DataSetLookup request, DataSetReadyCallback listener) throws Exception;
+    }
+
+    private Map<DataSetLookup, DataSet> resultMap = new HashMap<>();
+    private Map<DataSetLookup, List<DataSetReadyCallback>> pendingMap = new HashMap<>();
+    private int cycleDepth = 0;
+
+    /**
+     * Open a cycle. Cycles can be nested and the results are discarded once the outermost one is closed.
+     */
+    public void begin() {
+        if (cycleDepth++ == 0) {
+            resultMap.clear();
+        }
+    }
+
+    /**
+     * Close the cycle opened by the last call to {@link #begin()}.
+     */
+    public void end() {
+        if (cycleDepth > 0 && --cycleDepth == 0) {
+            resultMap.clear();
+        }
+    }
+
+    public boolean isCycleOpen() {
+        return cycleDepth > 0;
+    }
+
+    /**
+     * Discard the results stored so far, e.g. once the filters change.
+     */
+    public void invalidate() {
+        resultMap.clear();
+    }
+
+    public int getResultCount() {
+        return resultMap.size();
+    }
+
+    public int getPendingCount() {
+        return pendingMap.size();
+    }
+
+    public void lookupDataSet(DataSetLookup request,
+                              DataSetReadyCallback listener,
+                              LookupFunction lookupFunction) throws Exception {
+
+        // Test lookups must always hit the data set provider
+        if (request.testMode()) {
+            lookupFunction.lookup(request, listener);
+            return;
+        }
+        DataSet result = resultMap.get(request);
+        if (result != null) {
+            listener.callback(result);
+            return;
+        }
+        List<DataSetReadyCallback> pending = pendingMap.get(request);
+        if (pending != null) {
+            pending.add(listener);
+            return;
+        }
+
+        // The request instance is owned by the caller and might be modified later on
+        final DataSetLookup key = request.cloneInstance();
+        final List<DataSetReadyCallback> waiting = new ArrayList<>();
+        waiting.add(listener);
+        pendingMap.put(key, waiting);
+        try {
+            lookupFunction.lookup(request, new DataSetReadyCallback() {
+
+                public void callback(DataSet dataSet) {
+                    complete();
+                    if (isCycleOpen() && dataSet != null) {
+                        resultMap.put(key, dataSet);
+                    }
+                    for (DataSetReadyCallback next : waiting) {
+                        next.callback(dataSet);
+                    }
+                }
+
+                public void notFound() {
+                    complete();
+                    for (DataSetReadyCallback next : waiting) {
+                        next.notFound();
+                    }
+                }
+
+                @Override
+                public boolean onError(ClientRuntimeError error) {
+                    complete();
+                    boolean result = false;
+                    for (DataSetReadyCallback next : waiting) {
+                        result |= next.onError(error);
+                    }
+                    return result;
+                }
+
+                private void complete() {
+                    if (pendingMap.get(key) == waiting) {
+                        pendingMap.remove(key);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            if (pendingMap.get(key) == waiting) {
+                pendingMap.remove(key);
+            }
+            throw e;
+        }
+    }
+}
@@ -105,7 +105,7 @@ public class ClientIntervalBuilderDynamicDate implements IntervalBuilder {
         DateIntervalType intervalType = calculateIntervalSize(minDate, maxDate, columnGroup);
         if (minDate == null || minDate.compareTo(maxDate) == 0) {
             IntervalDateRange interval = new IntervalDateRange(0, intervalType, minDate, maxDate);
-            for (int row = 0; row < sortedValues.size(); row++) interval.getRows().add(row);
+            for (int row = 0; row < sortedValues.size(); row++) interval.addRow(row);
             results.add(interval);
 
             results.setIntervalType(columnGroup.getIntervalSize());
@@ -134,11 +134,11 @@ public class ClientIntervalBuilderDynamicDate implements IntervalBuilder {
                     stop = true;
                 } else {
                     Date dateValue = (Date) sortedValues.get(index);
-                    Integer row = sortedRows.get(index);
+                    int row = sortedRows.get(index);
                     if (dateValue == null) {
                         index++;
                     } else if (dateValue.before(intervalMaxDate)) {
-                        interval.getRows().add(row);
+                        interval.addRow(row);
                         index++;
                     } else {
                         stop = true;
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+package org.dashbuilder.dataset.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dashbuilder.common.client.error.ClientRuntimeError;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.DataSetLookupFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.dashbuilder.dataset.group.AggregateFunctionType.SUM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DataSetLookupCacheTest {
+
+    DataSetLookupCache lookupCache;
+    List<DataSetReadyCallback> executed;
+    DataSetLookupCache.LookupFunction lookupFunction;
+
+    @Before
+    public void setUp() {
+        lookupCache = new DataSetLookupCache();
+        executed = new ArrayList<>();
+        lookupFunction = (request, listener) -> executed.add(listener);
+    }
+
+    @Test
+    public void testSharedWithinCycle() throws Exception {
+        Result first = new Result();
+        Result second = new Result();
+        DataSet dataSet = newDataSet();
+
+        lookupCache.begin();
+        lookupCache.lookupDataSet(byDepartment(), first, lookupFunction);
+        executed.get(0).callback(dataSet);
+        lookupCache.lookupDataSet(byDepartment(), second, lookupFunction);
+
+        assertEquals(1, executed.size());
+        assertSame(dataSet, first.dataSet);
+        assertSame(dataSet, second.dataSet);
+        assertEquals(1, lookupCache.getResultCount());
+
+        lookupCache.end();
+        assertEquals(0, lookupCache.getResultCount());
+    }
+
+    @Test
+    public void testNotSharedOutsideCycle() throws Exception {
+        lookupCache.lookupDataSet(byDepartment(), new Result(), lookupFunction);
+        executed.get(0).callback(newDataSet());
+        lookupCache.lookupDataSet(byDepartment(), new Result(), lookupFunction);
+
+        assertEquals(2, executed.size());
+        assertEquals(0, lookupCache.getResultCount());
+    }
+
+    @Test
+    public void testInFlightRequests() throws Exception {
+        Result first = new Result();
+        Result second = new Result();
+        Result other = new Result();
+        DataSet dataSet = newDataSet();
+
+        lookupCache.lookupDataSet(byDepartment(), first, lookupFunction);
+        lookupCache.lookupDataSet(byDepartment(), second, lookupFunction);
+        lookupCache.lookupDataSet(byCity(), other, lookupFunction);
+        assertEquals(2, executed.size());
+        assertEquals(2, lookupCache.getPendingCount());
+
+        executed.get(0).callback(dataSet);
+        assertSame(dataSet, first.dataSet);
+        assertSame(dataSet, second.dataSet);
+        assertEquals(null, other.dataSet);
+        assertEquals(1, lookupCache.getPendingCount());
+
+        executed.get(1).onError(new ClientRuntimeError("error"));
+        assertTrue(other.error);
+        assertEquals(0, lookupCache.getPendingCount());
+    }
+
+    @Test
+    public void testRequestModifiedAfterLookup() throws Exception {
+        DataSetLookup request = byDepartment();
+        lookupCache.begin();
+        lookupCache.lookupDataSet(request, new Result(), lookupFunction);
+        executed.get(0).callback(newDataSet());
+
+        request.setRowOffset(10);
+        lookupCache.lookupDataSet(request, new Result(), lookupFunction);
+        lookupCache.lookupDataSet(byDepartment(), new Result(), lookupFunction);
+        assertEquals(2, executed.size());
+        lookupCache.end();
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        lookupCache.begin();
+        lookupCache.lookupDataSet(byDepartment(), new Result(), lookupFunction);
+        executed.get(0).callback(newDataSet());
+
+        lookupCache.invalidate();
+        lookupCache.lookupDataSet(byDepartment(), new Result(), lookupFunction);
+        assertEquals(2, executed.size());
+        lookupCache.end();
+    }
+
+    @Test
+    public void testTestModeNotCached() throws Exception {
+        DataSetLookup request = byDepartment();
+        request.setTestMode(true);
+        lookupCache.begin();
+        lookupCache.lookupDataSet(request, new Result(), lookupFunction);
+        lookupCache.lookupDataSet(request, new Result(), lookupFunction);
+        executed.get(0).callback(newDataSet());
+
+        assertEquals(2, executed.size());
+        assertEquals(0, lookupCache.getPendingCount());
+        assertEquals(0, lookupCache.getResultCount());
+        lookupCache.end();
+    }
+
+    @Test
+    public void testLookupFailure() throws Exception {
+        try {
+            lookupCache.lookupDataSet(byDepartment(), new Result(), (request, listener) -> {
+                throw new IllegalStateException();
+            });
+        } catch (IllegalStateException e) {
+            assertEquals(0, lookupCache.getPendingCount());
+            return;
+        }
+        throw new AssertionError("Lookup failure not propagated");
+    }
+
+    private DataSetLookup byDepartment() {
+        return DataSetLookupFactory.newDataSetLookupBuilder()
+                .dataset("expenses")
+                .group("department")
+                .column("department")
+                .column("amount", SUM)
+                .buildLookup();
+    }
+
+    private DataSetLookup byCity() {
+        return DataSetLookupFactory.newDataSetLookupBuilder()
+                .dataset("expenses")
+                .group("city")
+                .column("city")
+                .column("amount", SUM)
+                .buildLookup();
+    }
+
+    private DataSet newDataSet() {
+        return DataSetFactory.newDataSetBuilder()
+                .label("department")
+                .number("amount")
+                .row("Sales", 10d)
+                .buildDataSet();
+    }
+
+    static class Result implements DataSetReadyCallback {
+
+        DataSet dataSet;
+        boolean error;
+
+        public void callback(DataSet dataSet) {
+            this.dataSet = dataSet;
+        }
+
+        public void notFound() {
+        }
+
+        public boolean onError(ClientRuntimeError error) {
+            this.error = true;
+            return false;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import java.util.Map;
 
 import org.dashbuilder.dataset.DataSet;
 import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.client.DataSetLookupCache;
 import org.dashbuilder.dataset.client.DataSetReadyCallback;
 import org.dashbuilder.dataset.filter.DataSetFilter;
 import org.dashbuilder.dataset.group.DataSetGroup;
@@ -144,6 +145,15 @@ public interface DataSetHandler {
      */
     void lookupDataSet(DataSetReadyCallback callback) throws Exception;
 
+    /**
+     * Share the results of the lookup requests with other handlers issuing identical requests.
+     *
+     * @param lookupCache The cache to use or null to always execute the lookup request.
+     */
+    default void setLookupCache(DataSetLookupCache lookupCache) {
+        // not supported by default
+    }
+
     /**
      * Get the data set get on the last lookup call (if any)
      */
@@ -33,6 +33,7 @@ import org.dashbuilder.dataset.DataSetOp;
 import org.dashbuilder.dataset.DataSetOpType;
 import org.dashbuilder.dataset.client.DataSetClientServices;
 import org.dashbuilder.dataset.client.DataSetExportReadyCallback;
+import org.dashbuilder.dataset.client.DataSetLookupCache;
 import org.dashbuilder.dataset.client.DataSetReadyCallback;
 import org.dashbuilder.dataset.filter.DataSetFilter;
 import org.dashbuilder.dataset.group.ColumnGroup;
@@ -52,6 +53,7 @@ public class DataSetHandlerImpl implements DataSetHandler {
     protected DataSetLookup lookupBase;
     protected DataSetLookup lookupCurrent;
     protected DataSet lastLookedUpDataSet;
+    protected DataSetLookupCache lookupCache;
 
     public DataSetHandlerImpl(DataSetClientServices clientServices, DataSetLookup lookup) {
         this.clientServices = clientServices;
@@ -218,9 +220,14 @@ public class DataSetHandlerImpl implements DataSetHandler {
         return n > 0;
     }
 
+    @Override
+    public void setLookupCache(DataSetLookupCache lookupCache) {
+        this.lookupCache = lookupCache;
+    }
+
     @Override
     public void lookupDataSet(final DataSetReadyCallback callback) throws Exception {
-        clientServices.lookupDataSet(lookupCurrent, new DataSetReadyCallback() {
+        DataSetReadyCallback lookupCallback = new DataSetReadyCallback() {
 
             public void callback(DataSet dataSet) {
                 lastLookedUpDataSet = dataSet;
@@ -235,7 +242,12 @@ public class DataSetHandlerImpl implements DataSetHandler {
             public boolean onError(final ClientRuntimeError error) {
                 return callback.onError(error);
             }
-        });
+        };
+        if (lookupCache == null) {
+            clientServices.lookupDataSet(lookupCurrent, lookupCallback);
+        } else {
+            clientServices.lookupDataSet(lookupCurrent, lookupCache, lookupCallback);
+        }
     }
 
     @Override
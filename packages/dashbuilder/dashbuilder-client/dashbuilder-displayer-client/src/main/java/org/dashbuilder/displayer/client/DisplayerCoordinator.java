@@ -31,6 +31,7 @@ import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
 import org.dashbuilder.common.client.error.ClientRuntimeError;
+import org.dashbuilder.dataset.client.DataSetLookupCache;
 import org.dashbuilder.dataset.filter.DataSetFilter;
 import org.dashbuilder.dataset.group.DataSetGroup;
 import org.uberfire.mvp.Command;
@@ -48,6 +49,7 @@ public class DisplayerCoordinator {
     protected Map<RendererLibrary,List<Displayer>> rendererMap = new HashMap<>();
     protected CoordinatorListener coordinatorListener = new CoordinatorListener();
     protected Map<Displayer,List<Displayer>> notificationVetoMap = new HashMap<>();
+    protected DataSetLookupCache lookupCache = new DataSetLookupCache();
     protected RendererManager rendererManager;
 
     @Inject
@@ -83,6 +85,10 @@ public class DisplayerCoordinator {
             displayerList.add(displayer);
 
             displayer.addListener(coordinatorListener);
+            DataSetHandler dataSetHandler = displayer.getDataSetHandler();
+            if (dataSetHandler != null) {
+                dataSetHandler.setLookupCache(lookupCache);
+            }
             listenerSet.stream().forEach(displayer::addListener);
 
             RendererLibrary renderer = rendererManager.getRendererForDisplayer(displayer.getDisplayerSettings());
@@ -95,6 +101,10 @@ public class DisplayerCoordinator {
         }
     }
 
+    public DataSetLookupCache getLookupCache() {
+        return lookupCache;
+    }
+
     public List<Displayer> getDisplayerList() {
         return displayerList;
     }
@@ -107,6 +117,11 @@ public class DisplayerCoordinator {
         List<Displayer> rendererGroup = rendererMap.get(renderer);
         if (rendererGroup != null) rendererGroup.remove(displayer);
 
+        DataSetHandler dataSetHandler = displayer.getDataSetHandler();
+        if (dataSetHandler != null) {
+            dataSetHandler.setLookupCache(null);
+        }
+
         return displayerList.remove(displayer);
     }
 
@@ -120,15 +135,25 @@ public class DisplayerCoordinator {
 
     public void drawAll(Command onSuccess, Command onFailure) {
         coordinatorListener.init(onSuccess, onFailure, displayerList.size(), true);
-        for (RendererLibrary renderer : rendererMap.keySet()) {
-            List<Displayer> rendererGroup = rendererMap.get(renderer);
-            renderer.draw(rendererGroup);
+        lookupCache.begin();
+        try {
+            for (RendererLibrary renderer : rendererMap.keySet()) {
+                List<Displayer> rendererGroup = rendererMap.get(renderer);
+                renderer.draw(rendererGroup);
+            }
+        } finally {
+            lookupCache.end();
         }
     }
 
     public void redrawAll(Command onSuccess, Command onFailure) {
         coordinatorListener.init(onSuccess, onFailure, displayerList.size(), false);
-        rendererMap.forEach(RendererLibrary::redraw);
+        lookupCache.begin();
+        try {
+            rendererMap.forEach(RendererLibrary::redraw);
+        } finally {
+            lookupCache.end();
+        }
     }
 
     public void closeAll() {
@@ -141,6 +166,7 @@ public class DisplayerCoordinator {
         listenerSet.clear();
         rendererMap.clear();
         notificationVetoMap.clear();
+        lookupCache.invalidate();
     }
 
     public void addNotificationVeto(Displayer target, List<Displayer> vetoedDisplayers) {
@@ -191,6 +217,20 @@ public class DisplayerCoordinator {
             }
         }
 
+        /**
+         * The results looked up before a filter change are no longer valid, whereas the displayers
+         * reacting to the same change can share the new ones.
+         */
+        protected void filterCycle(Command propagation) {
+            lookupCache.invalidate();
+            lookupCache.begin();
+            try {
+                propagation.execute();
+            } finally {
+                lookupCache.end();
+            }
+        }
+
         @Override
         public void onDataLookup(Displayer displayer) {
             displayerList.stream()
@@ -233,39 +273,41 @@ public class DisplayerCoordinator {
 
         @Override
         public void onFilterEnabled(Displayer displayer, DataSetGroup groupOp) {
-            displayerList.stream()
+            filterCycle(() -> displayerList.stream()
                     .filter(other -> other != displayer && !isNotificationVetoed(displayer, other))
-                    .forEach(other -> other.onFilterEnabled(displayer, groupOp));
+                    .forEach(other -> other.onFilterEnabled(displayer, groupOp)));
         }
 
         @Override
         public void onFilterEnabled(Displayer displayer, DataSetFilter filter) {
-            displayerList.stream()
+            filterCycle(() -> displayerList.stream()
                     .filter(other -> other != displayer && !isNotificationVetoed(displayer, other))
-                    .forEach(other -> other.onFilterEnabled(displayer, filter));
+                    .forEach(other -> other.onFilterEnabled(displayer, filter)));
         }
 
         @Override
         public void onFilterUpdate(Displayer displayer, DataSetFilter oldFilter, DataSetFilter newFilter) {
-            for (Displayer other : displayerList) {
-                if (other != displayer && !isNotificationVetoed(displayer, other)) {
-                    other.onFilterUpdate(displayer, oldFilter, newFilter);
+            filterCycle(() -> {
+                for (Displayer other : displayerList) {
+                    if (other != displayer && !isNotificationVetoed(displayer, other)) {
+                        other.onFilterUpdate(displayer, oldFilter, newFilter);
+                    }
                 }
-            }
+            });
         }
 
         @Override
         public void onFilterReset(Displayer displayer, List<DataSetGroup> groupOps) {
-            displayerList.stream()
+            filterCycle(() -> displayerList.stream()
                     .filter(other -> other != displayer && !isNotificationVetoed(displayer, other))
-                    .forEach(other -> other.onFilterReset(displayer, groupOps));
+                    .forEach(other -> other.onFilterReset(displayer, groupOps)));
         }
 
         @Override
         public void onFilterReset(Displayer displayer, DataSetFilter filter) {
-            displayerList.stream()
+            filterCycle(() -> displayerList.stream()
                     .filter(other -> other != displayer && !isNotificationVetoed(displayer, other))
-                    .forEach(other -> other.onFilterReset(displayer, filter));
+                    .forEach(other -> other.onFilterReset(displayer, filter)));
         }
 
         @Override
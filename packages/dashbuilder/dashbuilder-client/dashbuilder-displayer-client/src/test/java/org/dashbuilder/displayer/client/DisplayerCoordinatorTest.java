@@ -47,6 +47,8 @@ import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_EMPLOYEE;
 import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_ID;
 import static org.dashbuilder.dataset.group.AggregateFunctionType.SUM;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
@@ -276,6 +278,29 @@ public class DisplayerCoordinatorTest extends AbstractDisplayerTest {
         assertEquals(dataSet.getRowCount(), 18);
     }
 
+    @Test
+    public void testSharedLookups() {
+        AbstractDisplayer deptBarChart = createNewDisplayer(byDepartment);
+        displayerCoordinator.addDisplayer(deptBarChart);
+        displayerCoordinator.drawAll();
+
+        // Identical lookups are executed once per draw
+        DataSet pieDataSet = deptPieChart.getDataSetHandler().getLastDataSet();
+        assertSame(pieDataSet, deptBarChart.getDataSetHandler().getLastDataSet());
+        assertEquals(0, displayerCoordinator.getLookupCache().getResultCount());
+
+        // Both get the filtered data once the year chart filters
+        yearBarChart.filterUpdate(COLUMN_DATE, 2);
+        DataSet filteredDataSet = deptPieChart.getDataSetHandler().getLastDataSet();
+        assertNotSame(pieDataSet, filteredDataSet);
+        assertSame(filteredDataSet, deptBarChart.getDataSetHandler().getLastDataSet());
+        assertEquals(0, displayerCoordinator.getLookupCache().getResultCount());
+
+        // Removed displayers no longer share their results
+        displayerCoordinator.removeDisplayer(deptBarChart);
+        assertEquals(null, ((DataSetHandlerImpl) deptBarChart.getDataSetHandler()).lookupCache);
+    }
+
     /**
      * Avoid IndexOutOfBoundsException caused when a filter is notified to
      * a table consuming the whole data set (no data lookup columns set).
@@ -210,6 +210,21 @@ public class ExternalDataSetClientProvider {
                                        final String responseText,
                                        final SupportedMimeType contentType) {
         DataSet dataSet = null;
+
+        // plain CSV or metrics go straight into the data set, the JSON is only needed by expressions
+        if (contentType.rowsFunction != null && def.getType() == null && isBlank(def.getExpression())) {
+            if (def.getColumns().isEmpty()) {
+                def.setColumns(contentType.columnsFunction.apply(responseText));
+            }
+            try {
+                dataSet = externalParserProvider.get().parseRows(contentType.rowsFunction.apply(responseText));
+            } catch (Exception e) {
+                callback.onError(new ClientRuntimeError("Error parsing dataset: " + e.getMessage(), e));
+                return null;
+            }
+            return registerDataSet(def, callback, dataSet);
+        }
+
         var content = contentType.tranformer.apply(responseText);
 
         if (def.getType() != null) {
@@ -240,17 +255,21 @@ public class ExternalDataSetClientProvider {
             callback.onError(new ClientRuntimeError("Error parsing dataset: " + e.getMessage(), e));
             return null;
         }
+        return registerDataSet(def, callback, dataSet);
+    }
 
+    private IThenable<Object> registerDataSet(ExternalDataSetDef def,
+                                              final DataSetReadyCallback callback,
+                                              DataSet dataSet) {
         applyColumnsToDataSet(def, dataSet);
 
         var existingDs = clientDataSetManager.getDataSet(def.getUUID());
         if (def.isAccumulate() && existingDs != null) {
-            // no new data, so keep existing data set
-            if (dataSet.getRowCount() == 0) {
-                dataSet = existingDs;
-            } else {
-                accumulateDataSet(dataSet, existingDs);
-            }
+            // the existing data set (and its indexes) gets the new rows, if any
+            existingDs.setDefinition(def);
+            accumulateDataSet(dataSet, existingDs);
+            callback.callback(existingDs);
+            return null;
         }
         dataSet.setDefinition(def);
         dataSet.setUUID(def.getUUID());
@@ -260,7 +279,10 @@ public class ExternalDataSetClientProvider {
     }
 
     public void applyColumnsToDataSet(ExternalDataSetDef def, DataSet dataSet) {
-        if (!def.getColumns().isEmpty()) {
+        if (!def.getColumns().isEmpty() && dataSet.getColumns().isEmpty()) {
+            // no rows to create the columns from
+            def.getColumns().forEach(column -> dataSet.addColumn(column.getId(), column.getColumnType()));
+        } else if (!def.getColumns().isEmpty()) {
             for (int i = 0; i < def.getColumns().size(); i++) {
                 var defColumn = def.getColumns().get(i);
                 var dsColumn = dataSet.getColumnByIndex(i);
@@ -300,19 +322,21 @@ public class ExternalDataSetClientProvider {
         }
     }
 
+    /**
+     * Insert the new rows at the top of the registered data set, keeping at most its cacheMaxRows rows. The data set
+     * is updated in place along with its indexes, so polling only costs the new and the removed rows.
+     * <p>The update must not overlap any lookup of the same data set. It holds here as lookups run synchronously on
+     * the single client thread; the engine refuses the update otherwise.</p>
+     */
     void accumulateDataSet(DataSet dataSet, DataSet existingDs) {
-        if (dataSet.getRowCount() > 0 && !existingDs.getColumns().equals(dataSet.getColumns())) {
-            throw new RuntimeException("New data is not compatible with existing data.");
+        if (dataSet.getRowCount() == 0) {
+            return;
         }
-        for (int i = dataSet.getRowCount(), j = 0; i < existingDs.getDefinition().getCacheMaxRows() && j < existingDs
-                .getRowCount(); i++, j++) {
-            final int row = j;
-            var values = existingDs.getColumns()
-                    .stream()
-                    .map(cl -> existingDs.getValueAt(row, cl.getId()))
-                    .toArray(Object[]::new);
-            dataSet.addValues(values);
+        if (!existingDs.getColumns().equals(dataSet.getColumns())) {
+            throw new RuntimeException("New data is not compatible with existing data.");
         }
+        var maxRows = existingDs.getDefinition().getCacheMaxRows();
+        clientDataSetManager.insertRows(existingDs.getUUID(), dataSet, maxRows == null ? 0 : maxRows);
     }
 
     private void doLookup(DataSetLookup lookup, DataSetReadyCallback listener) {
@@ -21,6 +21,7 @@ package org.dashbuilder.client.external;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -36,9 +37,9 @@ enum SupportedMimeType {
 
     // JSON is a no-op transformer
     JSON("application/json", "json", v -> v),
-    CSV("text/csv", "csv", new CSVParser(), new CSVColumnsFunction()),
+    CSV("text/csv", "csv", new CSVParser(), new CSVColumnsFunction(), new CSVParser()::rows),
     // metrics is only matched by URL, otherwise it takes precedence on CSV when it is text/plain
-    METRIC("", "metrics", new MetricsParser(), new MetricsColumnsFunction());
+    METRIC("", "metrics", new MetricsParser(), new MetricsColumnsFunction(), new MetricsParser()::rows);
 
     String mimeType;
 
@@ -48,16 +49,21 @@ enum SupportedMimeType {
 
     Function<String, List<DataColumnDef>> columnsFunction;
 
+    // reads the content rows directly, skipping the JSON transformation, or null if not supported
+    Function<String, Iterator<String[]>> rowsFunction;
+
     private SupportedMimeType(String type, String extension, UnaryOperator<String> transformer) {
-        this(type, extension, transformer, v -> Collections.emptyList());
+        this(type, extension, transformer, v -> Collections.emptyList(), null);
     }
 
     private SupportedMimeType(String type, String extension, UnaryOperator<String> tranformer,
-                              Function<String, List<DataColumnDef>> columnsFunction) {
+                              Function<String, List<DataColumnDef>> columnsFunction,
+                              Function<String, Iterator<String[]>> rowsFunction) {
         this.mimeType = type;
         this.extension = extension;
         this.tranformer = tranformer;
         this.columnsFunction = columnsFunction;
+        this.rowsFunction = rowsFunction;
     }
 
     public String getMimeType() {
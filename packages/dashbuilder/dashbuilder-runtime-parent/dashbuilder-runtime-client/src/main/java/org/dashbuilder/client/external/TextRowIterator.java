@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.client.external;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the lines of a text response converting each one into a data set row.
+ * <p>Lines are parsed in place, only when the next row is requested, so the response is never
+ * split or copied. A trailing carriage return is not part of the line and blank lines are skipped.</p>
+ */
+public abstract class TextRowIterator implements Iterator<String[]> {
+
+    private static final char NEW_LINE = '\n';
+    private static final char CARRIAGE_RETURN = '\r';
+
+    private final String content;
+    private int position;
+    private String[] next;
+    private boolean nextRead;
+
+    protected TextRowIterator(String content) {
+        this.content = content == null ? "" : content;
+    }
+
+    /**
+     * Parse the line between the given positions of the content.
+     * @param start The first character (inclusive) of the line.
+     * @param end The last character (exclusive) of the line.
+     * @return The row values or null if the line must be skipped.
+     */
+    protected abstract String[] readRow(String content, int start, int end);
+
+    /**
+     * Skip the next line, e.g. a header.
+     */
+    public TextRowIterator skipLine() {
+        var end = content.indexOf(NEW_LINE, position);
+        position = end == -1 ? content.length() : end + 1;
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!nextRead) {
+            next = readNext();
+            nextRead = true;
+        }
+        return next != null;
+    }
+
+    @Override
+    public String[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        nextRead = false;
+        return next;
+    }
+
+    private String[] readNext() {
+        String[] row = null;
+        while (row == null && position < content.length()) {
+            var end = content.indexOf(NEW_LINE, position);
+            if (end == -1) {
+                end = content.length();
+            }
+            var lineEnd = end;
+            if (lineEnd > position && content.charAt(lineEnd - 1) == CARRIAGE_RETURN) {
+                lineEnd--;
+            }
+            if (lineEnd > position) {
+                row = readRow(content, position, lineEnd);
+            }
+            position = end + 1;
+        }
+        return row;
+    }
+
+}
@@ -43,7 +43,9 @@ public class CSVColumnsFunction implements Function<String, List<DataColumnDef>>
             return Collections.emptyList();
         }
 
-        var columnsLine = t.split("\n")[0];
+        // only the header is needed, so avoid splitting the whole content
+        var headerEnd = t.indexOf('\n');
+        var columnsLine = headerEnd == -1 ? t : t.substring(0, headerEnd);
         var columnsNames = columnsLine.split(",");
         return columnsLine.trim().isEmpty() ? Collections.emptyList() :
                 Arrays.stream(columnsNames)
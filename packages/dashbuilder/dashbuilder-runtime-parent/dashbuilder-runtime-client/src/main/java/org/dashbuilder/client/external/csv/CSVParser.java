@@ -19,11 +19,15 @@
 
 package org.dashbuilder.client.external.csv;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.function.UnaryOperator;
 
 import javax.enterprise.context.ApplicationScoped;
 
+import org.dashbuilder.client.external.TextRowIterator;
+
 /**
  * Beta CSV parser which need to be improved according to the rfc4180 specification.
  *
@@ -34,49 +38,110 @@ public class CSVParser implements UnaryOperator<String> {
     private static final char SEPARATOR = ',';
     private static final char QUOTE = '\"';
     private static final char BACKSLASH = '\\';
+    private static final String TRUE = "True";
+    private static final String FALSE = "False";
 
+    /**
+     * Converts the CSV data rows (the header line is skipped) into a JSON array of string arrays. The rows are read
+     * by {@link #rows(String)}, so only whole <code>True</code> and <code>False</code> values are turned into lower
+     * case.
+     */
     public String toJsonArray(String csvContent) {
         var jsonArray = new StringBuilder("[");
-        var lines = csvContent.split("\n");
-        Arrays.stream(lines).skip(1).forEach(line -> buildRow(jsonArray, line));
-        String finalJsonArray = jsonArray.toString();
-        finalJsonArray = finalJsonArray.substring(0, jsonArray.length() - 1);
-        finalJsonArray += "]";
-        finalJsonArray = finalJsonArray.replace("True", "true");
-        finalJsonArray = finalJsonArray.replace("False", "false");
-        return finalJsonArray;
+        var rows = rows(csvContent);
+        while (rows.hasNext()) {
+            if (jsonArray.length() > 1) {
+                jsonArray.append(',');
+            }
+            buildRow(jsonArray, rows.next());
+        }
+        return jsonArray.append(']').toString();
+    }
+
+    /**
+     * Iterates over the CSV data rows (the header line is skipped) with no intermediate JSON.
+     * <p>Only whole <code>True</code> and <code>False</code> values are turned into lower case.</p>
+     */
+    public Iterator<String[]> rows(String csvContent) {
+        return new TextRowIterator(csvContent) {
+
+            @Override
+            protected String[] readRow(String content, int start, int end) {
+                var fields = readFields(content, start, end);
+                var row = new String[fields.size()];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = normalizeBoolean(fields.get(i));
+                }
+                return row;
+            }
+        }.skipLine();
+    }
+
+    private void buildRow(StringBuilder jsonArray, String[] row) {
+        jsonArray.append('[');
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                jsonArray.append(',');
+            }
+            appendJsonString(jsonArray, row[i]);
+        }
+        jsonArray.append(']');
     }
 
-    private void buildRow(StringBuilder jsonArray, String line) {
-        var row = new StringBuilder("[\"");
-        int i = 0;
-        var len = line.length();
-        while (i < len) {
+    private void appendJsonString(StringBuilder jsonArray, String value) {
+        jsonArray.append(QUOTE);
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c == QUOTE || c == BACKSLASH) {
+                jsonArray.append(BACKSLASH).append(c);
+            } else if (c == '\t') {
+                jsonArray.append("\\t");
+            } else if (c == '\r') {
+                jsonArray.append("\\r");
+            } else if (c < ' ') {
+                var hex = Integer.toHexString(c);
+                jsonArray.append("\\u");
+                for (int j = hex.length(); j < 4; j++) {
+                    jsonArray.append('0');
+                }
+                jsonArray.append(hex);
+            } else {
+                jsonArray.append(c);
+            }
+        }
+        jsonArray.append(QUOTE);
+    }
+
+    private List<String> readFields(String line, int start, int end) {
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        int i = start;
+        while (i < end) {
             if (line.charAt(i) != SEPARATOR && line.charAt(i) != QUOTE) {
-                row.append(line.charAt(i));
-            } else if (i < len - 2 && line.charAt(i) == QUOTE) {
+                field.append(line.charAt(i));
+            } else if (i < end - 2 && line.charAt(i) == QUOTE) {
                 i++;
-                i = retrieveQuotedField(line, row, i);
+                i = retrieveQuotedField(line, end, field, i);
             } else if (line.charAt(i) == SEPARATOR) {
-                row.append("\",\"");
+                fields.add(field.toString());
+                field.setLength(0);
             }
             i++;
         }
-        row.append("\"]");
-        jsonArray.append(row);
-        jsonArray.append(",");
+        fields.add(field.toString());
+        return fields;
     }
 
-    private int retrieveQuotedField(String line, StringBuilder row, int i) {
+    private int retrieveQuotedField(String line, int end, StringBuilder field, int i) {
         // quoted field
         boolean isEscapedQuote = false;
-        while (i < line.length() - 1 && (line.charAt(i) != QUOTE || (isEscapedQuote = isEscapedQuote(line, i)))) {
+        while (i < end - 1 && (line.charAt(i) != QUOTE || (isEscapedQuote = isEscapedQuote(line, i, end)))) {
             if (isEscapedQuote) {
-                row.append("\\\"");
+                field.append(QUOTE);
                 i += 2;
                 isEscapedQuote = false;
             } else {
-                row.append(line.charAt(i));
+                field.append(line.charAt(i));
                 i++;
             }
         }
@@ -84,8 +149,22 @@ public class CSVParser implements UnaryOperator<String> {
     }
 
     boolean isEscapedQuote(String line, int i) {
+        return isEscapedQuote(line, i, line.length());
+    }
+
+    private boolean isEscapedQuote(String line, int i, int end) {
         return (line.charAt(i) == QUOTE || line.charAt(i) == BACKSLASH) &&
-               i < line.length() - 1 && line.charAt(i + 1) == QUOTE;
+               i < end - 1 && line.charAt(i + 1) == QUOTE;
+    }
+
+    private String normalizeBoolean(String value) {
+        if (TRUE.equals(value)) {
+            return "true";
+        }
+        if (FALSE.equals(value)) {
+            return "false";
+        }
+        return value;
     }
 
     @Override
@@ -19,10 +19,10 @@
 
 package org.dashbuilder.client.external.metrics;
 
-import java.util.Arrays;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Iterator;
 import java.util.function.UnaryOperator;
 
+import org.dashbuilder.client.external.TextRowIterator;
 import org.dashbuilder.json.Json;
 import org.dashbuilder.json.JsonArray;
 
@@ -35,22 +35,49 @@ public class MetricsParser implements UnaryOperator<String> {
     private static final char METRIC_DELIMITER = ' ';
     private static final char LABEL_OPEN = '{';
     private static final char LABEL_CLOSE = '}';
-    private static final String COMMENT = "#";
+    private static final char COMMENT = '#';
     private static final String NAN = "NaN";
 
     static final String DEFAULT_NAN_VALUE = "-1";
 
     protected JsonArray metricToJsonArray(String line) {
+        return toJsonArray(readMetric(line, 0, line.length()));
+    }
+
+    protected JsonArray metricsToJsonArray(String input) {
         var array = Json.createArray();
-        var chars = line.toCharArray();
+        var rows = rows(input);
+        for (int i = 0; rows.hasNext(); i++) {
+            array.set(i, toJsonArray(rows.next()));
+        }
+        return array;
+    }
+
+    /**
+     * Iterates over the metrics as rows of metric name, labels and value, skipping comments.
+     */
+    public Iterator<String[]> rows(String input) {
+        return new TextRowIterator(input) {
 
+            @Override
+            protected String[] readRow(String content, int start, int end) {
+                return content.charAt(start) == COMMENT ? null : readMetric(content, start, end);
+            }
+        };
+    }
+
+    /**
+     * Reads the metric between the given positions of the content.
+     * @return The metric name, labels and value or null if the line is not a valid metric.
+     */
+    private String[] readMetric(String content, int start, int end) {
         var metricBuffer = new StringBuilder();
         var labelsBuffer = new StringBuilder();
         var valueBuffer = new StringBuilder();
         var currentBuffer = metricBuffer;
 
-        for (int i = 0; i < chars.length; i++) {
-            var ch = chars[i];
+        for (int i = start; i < end; i++) {
+            var ch = content.charAt(i);
 
             if (ch == LABEL_OPEN) {
                 currentBuffer = labelsBuffer;
@@ -62,27 +89,21 @@ public class MetricsParser implements UnaryOperator<String> {
                 currentBuffer.append(ch);
             }
         }
-        var value = valueBuffer.toString().equals(NAN) ? DEFAULT_NAN_VALUE : valueBuffer.toString();
-        if (metricBuffer.length() > 0 &&
-            valueBuffer.length() > 0 &&
-            !metricBuffer.toString().trim().isEmpty() &&
-            !valueBuffer.toString().trim().isEmpty()) {
-            array.set(0, metricBuffer.toString());
-            array.set(1, labelsBuffer.toString());
-            array.set(2, value);
+        var metric = metricBuffer.toString();
+        var value = valueBuffer.toString();
+        if (metric.trim().isEmpty() || value.trim().isEmpty()) {
+            return null;
         }
-        return array;
+        return new String[]{metric, labelsBuffer.toString(), NAN.equals(value) ? DEFAULT_NAN_VALUE : value};
     }
 
-    protected JsonArray metricsToJsonArray(String input) {
+    private JsonArray toJsonArray(String[] metric) {
         var array = Json.createArray();
-        var lines = input.split("\n");
-        var i = new AtomicInteger(0);
-        Arrays.stream(lines)
-                .filter(line -> !line.startsWith(COMMENT))
-                .map(this::metricToJsonArray)
-                .filter(a -> !a.isEmpty())
-                .forEach(row -> array.set(i.getAndIncrement(), row));
+        if (metric != null) {
+            for (int i = 0; i < metric.length; i++) {
+                array.set(i, metric[i]);
+            }
+        }
         return array;
     }
 
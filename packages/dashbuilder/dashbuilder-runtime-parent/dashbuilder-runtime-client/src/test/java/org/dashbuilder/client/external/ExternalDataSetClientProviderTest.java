@@ -19,7 +19,11 @@
 
 package org.dashbuilder.client.external;
 
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetLookupFactory;
+import org.dashbuilder.dataset.client.ClientDataSetManager;
 import org.dashbuilder.dataset.def.ExternalDataSetDef;
+import org.dashbuilder.dataset.group.AggregateFunctionType;
 import org.dashbuilder.dataset.json.ExternalDataSetJSONParser;
 import org.junit.Before;
 import org.junit.Test;
@@ -28,6 +32,8 @@ import static org.junit.Assert.assertEquals;
 
 public class ExternalDataSetClientProviderTest {
 
+    private static final String DS_UUID = "accumulated";
+
     private ExternalDataSetJSONParser externalParser;
 
     private ExternalDataSetClientProvider provider;
@@ -36,23 +42,23 @@ public class ExternalDataSetClientProviderTest {
     public void prepare() {
         externalParser = new ExternalDataSetJSONParser(null);
         provider = new ExternalDataSetClientProvider();
+        provider.clientDataSetManager = new ClientDataSetManager();
+        provider.clientDataSetManager.removeDataSet(DS_UUID);
     }
 
     @Test
     public void accumulateDataSetTest() {
-        var provider = new ExternalDataSetClientProvider();
-
         var def = new ExternalDataSetDef();
         def.setAccumulate(true);
 
-        var existingDs = externalParser.parseDataSet("[[2], [1]]");
+        var existingDs = register(def, "[[2], [1]]");
         var ds = externalParser.parseDataSet("[[3]]");
 
-        existingDs.setDefinition(def);
         ds.setDefinition(def);
         provider.accumulateDataSet(ds, existingDs);
 
-        assertEquals(3, ds.getRowCount());
+        assertEquals(3, existingDs.getRowCount());
+        assertEquals(3.0, existingDs.getValueAt(0, 0));
     }
 
     @Test
@@ -61,16 +67,33 @@ public class ExternalDataSetClientProviderTest {
         def.setAccumulate(true);
         def.setCacheMaxRows(2);
 
-        var existingDs = externalParser.parseDataSet("[[2], [1]]");
+        var existingDs = register(def, "[[2], [1]]");
         var ds = externalParser.parseDataSet("[[3]]");
 
-        existingDs.setDefinition(def);
         ds.setDefinition(def);
         provider.accumulateDataSet(ds, existingDs);
 
-        assertEquals(2, ds.getRowCount());
-        assertEquals(3.0, ds.getValueAt(0, 0));
-        assertEquals(2.0, ds.getValueAt(1, 0));
+        assertEquals(2, existingDs.getRowCount());
+        assertEquals(3.0, existingDs.getValueAt(0, 0));
+        assertEquals(2.0, existingDs.getValueAt(1, 0));
+    }
+
+    @Test
+    public void accumulateDataSetIndexesTest() {
+        var def = new ExternalDataSetDef();
+        def.setAccumulate(true);
+        def.setCacheMaxRows(3);
+
+        var lookup = DataSetLookupFactory.newDataSetLookupBuilder()
+                .dataset(DS_UUID)
+                .column("Column 0", AggregateFunctionType.SUM)
+                .buildLookup();
+        register(def, "[[3], [2], [1]]");
+        assertEquals(6.0, provider.clientDataSetManager.lookupDataSet(lookup).getValueAt(0, 0));
+
+        var existingDs = provider.clientDataSetManager.getDataSet(DS_UUID);
+        provider.accumulateDataSet(externalParser.parseDataSet("[[5], [4]]"), existingDs);
+        assertEquals(12.0, provider.clientDataSetManager.lookupDataSet(lookup).getValueAt(0, 0));
     }
 
     @Test(expected = RuntimeException.class)
@@ -79,13 +102,20 @@ public class ExternalDataSetClientProviderTest {
         def.setAccumulate(true);
         def.setCacheMaxRows(2);
 
-        var existingDs = externalParser.parseDataSet("[[1]]");
+        var existingDs = register(def, "[[1]]");
         var ds = externalParser.parseDataSet("[[\"a\", 1]]");
 
-        existingDs.setDefinition(def);
         ds.setDefinition(def);
 
         provider.accumulateDataSet(ds, existingDs);
     }
 
+    private DataSet register(ExternalDataSetDef def, String json) {
+        var dataSet = externalParser.parseDataSet(json);
+        dataSet.setUUID(DS_UUID);
+        dataSet.setDefinition(def);
+        provider.clientDataSetManager.registerDataSet(dataSet);
+        return dataSet;
+    }
+
 }
@@ -19,9 +19,13 @@
 
 package org.dashbuilder.client.external.csv;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -129,6 +133,67 @@ public class CSVParserTest {
         assertEquals(SAMPLE_EXPECTED, array);
     }
 
+    @Test
+    public void testParseOnlyWholeBooleans() {
+        var array = parser.toJsonArray(HEADER + "True,\"Trueish, False\",FalseTrue\nFalse,x,y\n");
+        assertEquals("[[\"true\",\"Trueish, False\",\"FalseTrue\"],[\"false\",\"x\",\"y\"]]", array);
+    }
+
+    @Test
+    public void testParseEscapesJson() {
+        var array = parser.toJsonArray(HEADER + "C:\\data,\"a\tb\",\"\"\"q\"\"\"\r\n");
+        assertEquals("[[\"C:\\\\data\",\"a\\tb\",\"\\\"q\\\"\"]]", array);
+    }
+
+    @Test
+    public void testParseOnlyHeader() {
+        assertEquals("[]", parser.toJsonArray(HEADER));
+    }
+
+    @Test
+    public void testRows() {
+        var rows = rows(TEST);
+        assertEquals(2, rows.size());
+        assertArrayEquals(new String[]{"1943", "1944", "16", "ART DIRECTION (Black-and-White)",
+                "Art Direction:  Hans Dreier, Ernst Fegte;  Interior Decoration:  Bertram Granger",
+                "Five Graves to Cairo", "false"}, rows.get(0));
+        assertArrayEquals(new String[]{"1953", "1954", "26", "HONORARY AWARD",
+                " Pete Smith for his witty and pungent observations on the American scene in his series of \"Pete Smith Specialties.\"",
+                "", "true"}, rows.get(1));
+    }
+
+    @Test
+    public void testRowsSample() {
+        var rows = rows(SAMPLE_TEST);
+        assertEquals(4, rows.size());
+        assertArrayEquals(new String[]{"1997", "Ford", "E350", "ac, abs, moon", "3000.00"}, rows.get(0));
+        assertArrayEquals(new String[]{"1999", "Chevy", "Venture \"Extended Edition, Very Large\"", "", "5000.00"},
+                rows.get(2));
+    }
+
+    @Test
+    public void testRowsMissingValues() {
+        assertArrayEquals(new String[]{"x", "", "z"}, rows(MISSING_VALUE_ON_MIDDLE).get(0));
+        assertArrayEquals(new String[]{"x", "y", ""}, rows(MISSING_VALUE_ON_END).get(0));
+        assertArrayEquals(new String[]{"", "y", "z"}, rows(MISSING_VALUE_ON_BEGGINING).get(0));
+        assertArrayEquals(new String[]{"", "", ""}, rows(ONLY_MIDDLE_QUOTED_EMPTY).get(0));
+        assertArrayEquals(new String[]{"x", "y", "z"}, rows(QUOTED_VALUES).get(0));
+    }
+
+    @Test
+    public void testRowsLineEndings() {
+        var rows = rows(HEADER + "x,True,z\r\n\r\nTrueish,\"False\",w\r\n");
+        assertEquals(2, rows.size());
+        assertArrayEquals(new String[]{"x", "true", "z"}, rows.get(0));
+        assertArrayEquals(new String[]{"Trueish", "false", "w"}, rows.get(1));
+    }
+
+    @Test
+    public void testRowsOnlyHeader() {
+        assertEquals(0, rows(HEADER).size());
+        assertEquals(0, rows("").size());
+    }
+
     @Test
     public void testIsEscapedQuote() {
         assertTrue(parser.isEscapedQuote("\"\"", 0));
@@ -136,4 +201,10 @@ public class CSVParserTest {
         assertTrue(parser.isEscapedQuote("\\\"", 0));
     }
 
+    private List<String[]> rows(String csv) {
+        var rows = new ArrayList<String[]>();
+        parser.rows(csv).forEachRemaining(rows::add);
+        return rows;
+    }
+
 }
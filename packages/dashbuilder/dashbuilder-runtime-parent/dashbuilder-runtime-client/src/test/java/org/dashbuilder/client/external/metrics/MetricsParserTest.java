@@ -19,9 +19,12 @@
 
 package org.dashbuilder.client.external.metrics;
 
+import java.util.ArrayList;
+
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -103,4 +106,15 @@ public class MetricsParserTest {
         assertEquals("9.0", jvmThreadsStatesThreads.getString(2));
     }
 
+    @Test
+    public void testRows() {
+        var rows = new ArrayList<String[]>();
+        parser.rows(METRICS + "\r\n\ninvalid\nmetric_nan NaN\n").forEachRemaining(rows::add);
+
+        assertEquals(3, rows.size());
+        assertArrayEquals(new String[]{"process_start_time_seconds", "", "1.650302155929E9"}, rows.get(0));
+        assertArrayEquals(new String[]{"jvm_threads_states_threads", "state=\"runnable\",", "9.0"}, rows.get(1));
+        assertArrayEquals(new String[]{"metric_nan", "", MetricsParser.DEFAULT_NAN_VALUE}, rows.get(2));
+    }
+
 }
@@ -315,4 +315,19 @@ public class DataSetLookup {
             return false;
         }
     }
+
+    /**
+     * Consistent with {@link #equals(Object)}. The operations only contribute with their type since
+     * they don't implement hashCode.
+     */
+    @Override
+    public int hashCode() {
+        int result = dataSetUUID == null ? 0 : dataSetUUID.hashCode();
+        result = 31 * result + rowOffset;
+        result = 31 * result + numberOfRows;
+        for (DataSetOp op : operationList) {
+            result = 31 * result + op.getType().ordinal();
+        }
+        return result;
+    }
 }
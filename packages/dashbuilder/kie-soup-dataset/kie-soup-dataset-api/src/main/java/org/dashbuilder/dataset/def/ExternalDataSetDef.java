@@ -46,6 +46,8 @@ public class ExternalDataSetDef extends DataSetDef {
 
     private boolean accumulate;
 
+    private String cursor;
+
     private ExternalServiceType type;
 
     private HttpMethod method = HttpMethod.GET;
@@ -114,6 +116,18 @@ public class ExternalDataSetDef extends DataSetDef {
         this.accumulate = accumulate;
     }
 
+    /**
+     * Id of the column used as the "since" cursor when accumulating rows: refresh calls only ask for the rows
+     * after the highest value of this column.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
     public ExternalServiceType getType() {
         return type;
     }
@@ -169,6 +183,7 @@ public class ExternalDataSetDef extends DataSetDef {
         def.setDynamic(isDynamic());
         def.setHeaders(getHeaders());
         def.setAccumulate(isAccumulate());
+        def.setCursor(getCursor());
         def.setContent(getContent());
         def.setType(getType());
         def.setJoin(getJoin());
@@ -194,6 +209,7 @@ public class ExternalDataSetDef extends DataSetDef {
                Objects.equals(headers, other.headers) &&
                Objects.equals(url, other.url) &&
                Objects.equals(accumulate, other.accumulate) &&
+               Objects.equals(cursor, other.cursor) &&
                Objects.equals(type, other.type) &&
                Objects.equals(join, other.join) &&
                Objects.equals(query, other.query) &&
@@ -215,6 +231,7 @@ public class ExternalDataSetDef extends DataSetDef {
         out.append("Content=").append(content).append("\n");
         out.append("Headers=").append(headers).append("\n");
         out.append("Accumulate=").append(accumulate).append("\n");
+        out.append("Cursor=").append(cursor).append("\n");
         out.append("Type=").append(type).append("\n");
         out.append("Join=").append(join).append("\n");
         out.append("Query=").append(query).append("\n");
@@ -233,6 +250,7 @@ public class ExternalDataSetDef extends DataSetDef {
                 content,
                 headers,
                 accumulate,
+                cursor,
                 type,
                 join,
                 query,
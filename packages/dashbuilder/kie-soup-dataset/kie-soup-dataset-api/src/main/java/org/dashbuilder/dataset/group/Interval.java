@@ -19,9 +19,10 @@
 
 package org.dashbuilder.dataset.group;
 
-import java.util.ArrayList;
 import java.util.List;
 
+import org.dashbuilder.dataset.impl.RowList;
+
 /**
  * An interval represent a grouped subset of a data values.
  */
@@ -40,7 +41,7 @@ public class Interval {
     /**
      * The row indexes of the values that belong to this interval.
      */
-    protected List<Integer> rows = new ArrayList<Integer>();
+    protected List<Integer> rows = new RowList();
 
     /**
      * The interval type
@@ -85,6 +86,17 @@ public class Interval {
         this.rows = rows;
     }
 
+    /**
+     * Add a row to the interval (with no boxing if rows are held by a {@link RowList}).
+     */
+    public void addRow(int row) {
+        if (rows instanceof RowList) {
+            ((RowList) rows).addRow(row);
+        } else {
+            rows.add(row);
+        }
+    }
+
     public int getIndex() {
         return index;
     }
@@ -79,6 +79,14 @@ public class DataColumnImpl implements DataColumn {
         this.values = values;
     }
 
+    /**
+     * Switch the column values to a compact typed storage (see {@link TypedColumnValues}).
+     * <p>Columns with no typed storage available for its type are left untouched.</p>
+     */
+    public void compactValues() {
+        values = TypedColumnValues.compact(columnType, values);
+    }
+
     public ColumnGroup getColumnGroup() {
         return columnGroup;
     }
@@ -128,12 +136,15 @@ public class DataColumnImpl implements DataColumn {
         otherCol.setMinValue(getMinValue());
         otherCol.setMaxValue(getMaxValue());
         if (groupFunction != null) otherCol.setGroupFunction(groupFunction.cloneInstance());
+        if (values instanceof TypedColumnValues) {
+            otherCol.setValues(((TypedColumnValues) values).cloneEmpty());
+        }
         return otherCol;
     }
 
     public DataColumn cloneInstance() {
         DataColumnImpl otherCol = (DataColumnImpl) cloneEmpty();
-        otherCol.setValues(new ArrayList(values));
+        otherCol.getValues().addAll(values);
         return otherCol;
     }
 
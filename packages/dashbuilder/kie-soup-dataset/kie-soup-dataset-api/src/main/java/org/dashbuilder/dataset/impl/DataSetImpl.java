@@ -319,10 +319,12 @@ public class DataSetImpl implements DataSet {
         other.rowCountNonTrimmed = getRowCount();
         if (rows.isEmpty()) return other;
 
+        RowList rowList = RowList.of(rows);
         for (int i=0; i<columns.size(); i++) {
             List values = columns.get(i).getValues();
             List valOther = other.getColumns().get(i).getValues();
-            for (Integer row : rows) {
+            for (int j=0; j<rowList.size(); j++) {
+                int row = rowList.getRow(j);
                 if (row >= values.size()) {
                     throw new IllegalArgumentException("Row number is out of bounds: " + row);
                 }
@@ -333,6 +335,17 @@ public class DataSetImpl implements DataSet {
         return other;
     }
 
+    /**
+     * Switch every column to a compact typed storage whenever available for the column type.
+     * @see DataColumnImpl#compactValues()
+     */
+    public DataSetImpl compactColumns() {
+        for (DataColumnImpl column : columns) {
+            column.compactValues();
+        }
+        return this;
+    }
+
     public DataSetImpl cloneEmpty() {
         DataSetImpl other = new DataSetImpl();
         for (int i=0; i<columns.size(); i++) {
@@ -381,9 +394,14 @@ public class DataSetImpl implements DataSet {
         if (nrows == 0) return 0;
 
         List<DataColumn> columns = getColumns();
-        int ncells = nrows * columns.size();
-        int result = ncells * 4;
+        long result = 0;
         for (int i = 0; i < columns.size(); i++) {
+            List values = columns.get(i).getValues();
+            if (values instanceof TypedColumnValues) {
+                result += ((TypedColumnValues) values).getEstimatedSize();
+                continue;
+            }
+            result += nrows * 4;
             Object firstRowValue = getValueAt(0, i);
             if (firstRowValue instanceof String) {
                 for (int j = 0; j < nrows; j++) {
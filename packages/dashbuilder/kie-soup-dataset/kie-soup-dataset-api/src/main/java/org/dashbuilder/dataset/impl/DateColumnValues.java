@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataset.impl;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Values of a DATE column stored as epoch milliseconds in a <code>long</code> array.
+ * <p>Dates are materialized on every <code>get</code> call, so the engine reads the millis through
+ * <code>getTime(index)</code> instead.</p>
+ */
+public class DateColumnValues extends TypedColumnValues {
+
+    protected long[] values;
+
+    public DateColumnValues() {
+        this(10);
+    }
+
+    public DateColumnValues(int capacity) {
+        values = new long[capacity];
+    }
+
+    public long getTime(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    public TypedColumnValues cloneEmpty() {
+        return new DateColumnValues();
+    }
+
+    public long getEstimatedSize() {
+        return (long) values.length * 8 + getNullsEstimatedSize();
+    }
+
+    protected Object getValue(int index) {
+        return new Date(values[index]);
+    }
+
+    protected void setValue(int index, Object value) {
+        if (value instanceof Date) {
+            values[index] = ((Date) value).getTime();
+        } else if (value instanceof Number) {
+            values[index] = ((Number) value).longValue();
+        } else {
+            throw new IllegalArgumentException("Not a java.util.Date: " + value + " (" + value.getClass().getName() + ")");
+        }
+    }
+
+    protected int capacity() {
+        return values.length;
+    }
+
+    protected void resize(int capacity) {
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    protected void moveValues(int from, int to, int length) {
+        System.arraycopy(values, from, values, to, length);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataset.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Values of a LABEL or TEXT column stored as dictionary codes in an <code>int</code> array.
+ * <p>Every distinct string is kept once in the dictionary, so columns with a low cardinality take
+ * just 4 bytes per row.</p>
+ */
+public class LabelColumnValues extends TypedColumnValues {
+
+    /**
+     * Code returned for strings not present in the dictionary.
+     */
+    public static final int NO_CODE = -1;
+
+    protected int[] codes;
+    protected List<String> dictionary = new ArrayList<String>();
+    protected Map<String, Integer> codeMap = new HashMap<String, Integer>();
+
+    public LabelColumnValues() {
+        this(10);
+    }
+
+    public LabelColumnValues(int capacity) {
+        codes = new int[capacity];
+    }
+
+    /**
+     * Get the dictionary code of the value at the given index or {@link #NO_CODE} if null.
+     */
+    public int getCode(int index) {
+        checkIndex(index);
+        return isNull(index) ? NO_CODE : codes[index];
+    }
+
+    /**
+     * Get the dictionary code of the given string or {@link #NO_CODE} if not present.
+     */
+    public int getCode(String value) {
+        Integer code = codeMap.get(value);
+        return code == null ? NO_CODE : code;
+    }
+
+    public List<String> getDictionary() {
+        return dictionary;
+    }
+
+    public TypedColumnValues cloneEmpty() {
+        return new LabelColumnValues();
+    }
+
+    public long getEstimatedSize() {
+        long result = (long) codes.length * 4 + getNullsEstimatedSize();
+        for (String value : dictionary) {
+            result += MemSizeEstimator.sizeOfString(value);
+        }
+        return result;
+    }
+
+    protected Object getValue(int index) {
+        return dictionary.get(codes[index]);
+    }
+
+    protected void setValue(int index, Object value) {
+        String str = value.toString();
+        Integer code = codeMap.get(str);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.add(str);
+            codeMap.put(str, code);
+        }
+        codes[index] = code;
+    }
+
+    /**
+     * Drop the strings no longer referenced once the dictionary doubles the number of values, so columns with
+     * rows constantly added and removed (like the accumulated ones) do not grow it for ever.
+     */
+    @Override
+    protected void removeRange(int from, int to) {
+        super.removeRange(from, to);
+        if (dictionary.size() > 2 * size + 16) {
+            compactDictionary();
+        }
+    }
+
+    protected void compactDictionary() {
+        int[] newCodes = new int[dictionary.size()];
+        Arrays.fill(newCodes, NO_CODE);
+        List<String> newDictionary = new ArrayList<String>();
+        Map<String, Integer> newCodeMap = new HashMap<String, Integer>();
+        for (int i = 0; i < size; i++) {
+            if (isNull(i)) continue;
+            int code = codes[i];
+            if (newCodes[code] == NO_CODE) {
+                String value = dictionary.get(code);
+                newCodes[code] = newDictionary.size();
+                newDictionary.add(value);
+                newCodeMap.put(value, newCodes[code]);
+            }
+            codes[i] = newCodes[code];
+        }
+        dictionary = newDictionary;
+        codeMap = newCodeMap;
+    }
+
+    protected int capacity() {
+        return codes.length;
+    }
+
+    protected void resize(int capacity) {
+        codes = Arrays.copyOf(codes, capacity);
+    }
+
+    protected void moveValues(int from, int to, int length) {
+        System.arraycopy(codes, from, codes, to, length);
+    }
+}
@@ -23,6 +23,7 @@ import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class MemSizeEstimator {
@@ -37,6 +38,7 @@ public class MemSizeEstimator {
     public static int sizeOfFloat = 12;
     public static int sizeOfDouble = 16;
     public static int sizeOfBigDecimal = 32;
+    public static int sizeOfRow = 4;
 
     static Map<Class,Integer> sizeOfMap = new HashMap<Class, Integer>();
 
@@ -64,6 +66,13 @@ public class MemSizeEstimator {
         return sizeOf(o.getClass());
     }
 
+    public static long sizeOfRows(List<Integer> rows) {
+        if (rows == null) return 0;
+
+        int rowSize = rows instanceof RowList ? sizeOfRow : sizeOfInteger;
+        return (long) rows.size() * rowSize;
+    }
+
     public static int sizeOfString(String s) {
         if (s == null) return 0;
 
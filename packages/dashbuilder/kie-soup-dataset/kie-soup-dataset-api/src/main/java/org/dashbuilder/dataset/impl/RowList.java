@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataset.impl;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A compact list of row numbers backed by a primitive <code>int</code> array.
+ * <p>It is used by the data set engine to hold the rows of filter, group, sort & interval indexes so that
+ * no <code>Integer</code> instance is kept per row. Use the <code>getRow</code> & <code>addRow</code> methods
+ * in order to avoid boxing when iterating.</p>
+ */
+public class RowList extends AbstractList<Integer> implements RandomAccess {
+
+    protected int[] rows;
+    protected int size = 0;
+
+    public RowList() {
+        this(10);
+    }
+
+    public RowList(int capacity) {
+        rows = new int[capacity < 0 ? 0 : capacity];
+    }
+
+    /**
+     * Creates a row list on top of the given array (no copy is made).
+     */
+    public RowList(int[] rows, int size) {
+        if (size > rows.length) {
+            throw new IllegalArgumentException("The size (" + size + ") can't be greater than the array length (" + rows.length + ").");
+        }
+        this.rows = rows;
+        this.size = size;
+    }
+
+    /**
+     * Get a row list containing the given rows. No copy is made if the list is already a row list.
+     */
+    public static RowList of(List<Integer> rows) {
+        if (rows == null) {
+            return null;
+        }
+        if (rows instanceof RowList) {
+            return (RowList) rows;
+        }
+        RowList result = new RowList(rows.size());
+        result.addRows(rows);
+        return result;
+    }
+
+    /**
+     * Get a row list containing all the rows between <code>from</code> (inclusive) and <code>to</code> (exclusive).
+     */
+    public static RowList range(int from, int to) {
+        RowList result = new RowList(to - from);
+        for (int row = from; row < to; row++) {
+            result.rows[result.size++] = row;
+        }
+        return result;
+    }
+
+    public int getRow(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return rows[index];
+    }
+
+    public void addRow(int row) {
+        ensureCapacity(size + 1);
+        rows[size++] = row;
+    }
+
+    public void addRows(List<Integer> other) {
+        ensureCapacity(size + other.size());
+        if (other instanceof RowList) {
+            RowList otherRows = (RowList) other;
+            System.arraycopy(otherRows.rows, 0, rows, size, otherRows.size);
+            size += otherRows.size;
+        } else {
+            for (Integer row : other) {
+                rows[size++] = row;
+            }
+        }
+    }
+
+    /**
+     * Get a copy of the rows between the given positions.
+     * @param from The first position (inclusive)
+     * @param to The last position (exclusive)
+     */
+    public RowList subRows(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds: " + size);
+        }
+        return new RowList(Arrays.copyOfRange(rows, from, to), to - from);
+    }
+
+    /**
+     * Get a copy of this list in reverse order.
+     */
+    public RowList reverse() {
+        RowList result = new RowList(size);
+        for (int i = size - 1; i >= 0; i--) {
+            result.rows[result.size++] = rows[i];
+        }
+        return result;
+    }
+
+    public int[] toIntArray() {
+        return Arrays.copyOf(rows, size);
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > rows.length) {
+            int newCapacity = rows.length + (rows.length >> 1) + 1;
+            rows = Arrays.copyOf(rows, Math.max(newCapacity, capacity));
+        }
+    }
+
+    public void trimToSize() {
+        if (size < rows.length) {
+            rows = Arrays.copyOf(rows, size);
+        }
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getRow(index);
+    }
+
+    @Override
+    public Integer set(int index, Integer row) {
+        int old = getRow(index);
+        rows[index] = row;
+        return old;
+    }
+
+    @Override
+    public boolean add(Integer row) {
+        addRow(row);
+        return true;
+    }
+
+    @Override
+    public void add(int index, Integer row) {
+        if (index > size || index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ensureCapacity(size + 1);
+        System.arraycopy(rows, index, rows, index + 1, size - index);
+        rows[index] = row;
+        size++;
+    }
+
+    @Override
+    public Integer remove(int index) {
+        int old = getRow(index);
+        System.arraycopy(rows, index + 1, rows, index, size - index - 1);
+        size--;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
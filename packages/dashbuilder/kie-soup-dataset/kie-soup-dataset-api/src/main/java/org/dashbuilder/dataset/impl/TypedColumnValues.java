@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataset.impl;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.dashbuilder.dataset.ColumnType;
+
+/**
+ * Base class for the column value lists backed by primitive arrays.
+ * <p>A typed list keeps the <code>List</code> view over the column values so it can be used anywhere a regular
+ * column value list is expected, while the data set engine can detect it and work directly over the underlying
+ * arrays. Null values are tracked apart from the values array.</p>
+ */
+public abstract class TypedColumnValues extends AbstractList<Object> implements RandomAccess {
+
+    protected int size = 0;
+    protected boolean[] nulls = null;
+
+    /**
+     * Creates an empty typed list for the given column type.
+     * @return The typed list or null if no typed storage is available for the type specified.
+     */
+    public static TypedColumnValues create(ColumnType columnType) {
+        if (ColumnType.NUMBER.equals(columnType)) {
+            return new NumberColumnValues();
+        }
+        if (ColumnType.DATE.equals(columnType)) {
+            return new DateColumnValues();
+        }
+        if (ColumnType.LABEL.equals(columnType) || ColumnType.TEXT.equals(columnType)) {
+            return new LabelColumnValues();
+        }
+        return null;
+    }
+
+    /**
+     * Get a compact (typed) copy of the given values, or the same list if no typed storage is available.
+     */
+    public static List compact(ColumnType columnType, List values) {
+        if (values == null || values instanceof TypedColumnValues) {
+            return values;
+        }
+        TypedColumnValues result = create(columnType);
+        if (result == null || !isCompactable(result, values)) {
+            return values;
+        }
+        result.ensureCapacity(values.size());
+        for (Object value : values) {
+            result.add(value);
+        }
+        result.trimToSize();
+        return result;
+    }
+
+    /**
+     * Check all the values can be kept by the given typed list without changing their type. Labels are stored as
+     * strings, so columns holding any other kind of value are left as they are.
+     */
+    private static boolean isCompactable(TypedColumnValues typedValues, List values) {
+        if (typedValues instanceof LabelColumnValues) {
+            for (Object value : values) {
+                if (value != null && !(value instanceof String)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates an empty list of the same type.
+     */
+    public abstract TypedColumnValues cloneEmpty();
+
+    /**
+     * Get an estimation of the heap used by the values.
+     */
+    public abstract long getEstimatedSize();
+
+    protected abstract Object getValue(int index);
+
+    protected abstract void setValue(int index, Object value);
+
+    protected abstract int capacity();
+
+    protected abstract void resize(int capacity);
+
+    protected abstract void moveValues(int from, int to, int length);
+
+    public boolean isNull(int index) {
+        checkIndex(index);
+        return nulls != null && nulls[index];
+    }
+
+    public boolean hasNulls() {
+        if (nulls != null) {
+            for (int i = 0; i < size; i++) {
+                if (nulls[i]) return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Object get(int index) {
+        if (isNull(index)) return null;
+        return getValue(index);
+    }
+
+    @Override
+    public Object set(int index, Object value) {
+        Object old = get(index);
+        store(index, value);
+        return old;
+    }
+
+    @Override
+    public boolean add(Object value) {
+        ensureCapacity(size + 1);
+        size++;
+        store(size - 1, value);
+        return true;
+    }
+
+    @Override
+    public void add(int index, Object value) {
+        if (index > size || index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ensureCapacity(size + 1);
+        move(index, index + 1, size - index);
+        size++;
+        store(index, value);
+    }
+
+    @Override
+    public Object remove(int index) {
+        Object old = get(index);
+        move(index + 1, index, size - index - 1);
+        size--;
+        return old;
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<?> values) {
+        if (index > size || index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int n = values.size();
+        if (n == 0) return false;
+        ensureCapacity(size + n);
+        move(index, index + n, size - index);
+        size += n;
+        for (Object value : values) {
+            store(index++, value);
+        }
+        return true;
+    }
+
+    @Override
+    protected void removeRange(int from, int to) {
+        move(to, from, size - to);
+        size -= to - from;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        nulls = null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public void ensureCapacity(int capacity) {
+        int current = capacity();
+        if (capacity > current) {
+            int newCapacity = Math.max(current + (current >> 1) + 1, capacity);
+            resize(newCapacity);
+            if (nulls != null) {
+                nulls = Arrays.copyOf(nulls, newCapacity);
+            }
+        }
+    }
+
+    public void trimToSize() {
+        if (size < capacity()) {
+            resize(size);
+            if (nulls != null) {
+                nulls = hasNulls() ? Arrays.copyOf(nulls, size) : null;
+            }
+        }
+    }
+
+    protected void store(int index, Object value) {
+        if (value == null) {
+            if (nulls == null) {
+                nulls = new boolean[capacity()];
+            }
+            nulls[index] = true;
+        } else {
+            if (nulls != null) {
+                nulls[index] = false;
+            }
+            setValue(index, value);
+        }
+    }
+
+    protected void move(int from, int to, int length) {
+        if (length <= 0) return;
+        moveValues(from, to, length);
+        if (nulls != null) {
+            System.arraycopy(nulls, from, nulls, to, length);
+        }
+    }
+
+    protected void checkIndex(int index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    protected long getNullsEstimatedSize() {
+        return nulls == null ? 0 : nulls.length;
+    }
+}
@@ -19,8 +19,11 @@
 
 package org.dashbuilder.dataset.json;
 
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -31,16 +34,14 @@ import org.dashbuilder.dataset.DataSetMetadata;
 import org.dashbuilder.dataset.impl.DataSetMetadataImpl;
 import org.dashbuilder.json.Json;
 import org.dashbuilder.json.JsonArray;
+import org.dashbuilder.json.JsonException;
 import org.dashbuilder.json.JsonObject;
+import org.dashbuilder.json.JsonStreamReader;
 import org.dashbuilder.json.JsonType;
 import org.dashbuilder.json.JsonValue;
 
 public class ExternalDataSetJSONParser {
 
-    private static final String ARRAY_START_TOKEN = "[";
-
-    private static final String OBJECT_START_TOKEN = "{";
-
     private static final String DEFAULT_COLUMN_ID = "";
     private static final String NUMBER_OF_ROWS = "numberOfRows";
     private static final String COLUMNS = "columns";
@@ -94,28 +95,66 @@ public class ExternalDataSetJSONParser {
     }
 
     public DataSet parseDataSet(String json) {
+        if (json == null) {
+            return DataSetFactory.newEmptyDataSet();
+        }
+        return readDataSet(new StringReader(json));
+    }
+
+    /**
+     * Parse a data set reading the JSON directly from the given reader.
+     * <p>Rows are converted into column values as soon as they are read, so the raw JSON text is
+     * never held in memory. The reader is not closed.</p>
+     */
+    public DataSet readDataSet(Reader reader) {
         var dataSet = DataSetFactory.newEmptyDataSet();
+        var jsonReader = Json.instance().createStreamReader(reader);
+        var type = jsonReader.peek();
 
-        if (json != null) {
-            var trimedJson = json.trim();
-            if (trimedJson.startsWith(OBJECT_START_TOKEN)) {
-                try {
-                    JsonObject dataSetObject = Json.instance().parse(json);
-                    var values = dataSetObject.getArray(VALUES);
-                    addColumns(dataSet, dataSetObject);
-                    addValues(dataSet, values);
-                } catch (ClassCastException e) {
-                    throw new IllegalArgumentException("DataSet JSON is invalid. Expected an array of data columns", e);
-                }
+        if (type == JsonType.OBJECT) {
+            try {
+                parseDataSetObject(dataSet, jsonReader);
+            } catch (ClassCastException | JsonException e) {
+                throw new IllegalArgumentException("DataSet JSON is invalid. Expected an array of data columns", e);
+            }
 
-            } else if (trimedJson.startsWith(ARRAY_START_TOKEN)) {
+        } else if (type == JsonType.ARRAY) {
+            try {
+                parseDataSetArray(dataSet, jsonReader);
+            } catch (Exception e) {
+                throw new IllegalArgumentException(
+                        "DataSet JSON is invalid. Please check that the data is in correct format.", e);
+            }
+        }
+        return dataSet;
+    }
+
+    /**
+     * Build a data set from rows of plain string values, e.g. the lines of a CSV file or a metrics
+     * endpoint, with no intermediate JSON document.
+     * <p>Columns are created and typed from the first row the same way it is done for a JSON matrix
+     * and rows are converted into column values as they are pulled from the iterator.</p>
+     */
+    public DataSet parseRows(Iterator<String[]> rows) {
+        var dataSet = DataSetFactory.newEmptyDataSet();
+        for (int i = 0; rows.hasNext(); i++) {
+            var row = rows.next();
+            if (i == 0) {
+                for (int j = 0; j < row.length; j++) {
+                    dataSet.addColumn(COLUMN_PREFIX + j, findValueType(row[j]));
+                }
+            }
+            if (row.length > dataSet.getColumns().size()) {
+                throw new IllegalArgumentException("Row " + i + " has " + row.length + " values but the data set has " +
+                        dataSet.getColumns().size() + " columns");
+            }
+            for (int j = 0; j < row.length; j++) {
+                var column = dataSet.getColumnByIndex(j);
                 try {
-                    JsonArray dataSetArray = Json.instance().parse(json);
-                    fillDataSetColumns(dataSet, dataSetArray);
-                    addValues(dataSet, dataSetArray);
+                    dataSet.setValueAt(i, j, convertValue(row[j], column.getColumnType()));
                 } catch (Exception e) {
-                    throw new IllegalArgumentException(
-                            "DataSet JSON is invalid. Please check that the data is in correct format.", e);
+                    throw new IllegalArgumentException("Incompatible value " + row[j] + " for column " + column
+                            .getId(), e);
                 }
             }
         }
@@ -135,6 +174,79 @@ public class ExternalDataSetJSONParser {
         return resultArray.toJson();
     }
 
+    private void parseDataSetObject(DataSet dataSet, JsonStreamReader jsonReader) {
+        JsonArray bufferedValues = null;
+        var hasColumns = false;
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            var name = jsonReader.nextName();
+            if (COLUMNS.equals(name)) {
+                var dataSetObject = Json.createObject();
+                JsonValue columns = jsonReader.nextValue();
+                dataSetObject.put(COLUMNS, columns);
+                addColumns(dataSet, dataSetObject);
+                hasColumns = true;
+            } else if (VALUES.equals(name) && hasColumns) {
+                streamValues(dataSet, jsonReader);
+            } else if (VALUES.equals(name)) {
+                // Columns are declared after the values, so they can't be converted yet
+                bufferedValues = jsonReader.nextValue();
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+        addValues(dataSet, bufferedValues);
+    }
+
+    private void parseDataSetArray(DataSet dataSet, JsonStreamReader jsonReader) {
+        jsonReader.beginArray();
+        if (jsonReader.hasNext() && jsonReader.peek() == JsonType.ARRAY) {
+            JsonArray firstRow = jsonReader.nextValue();
+            fillDataSetColumns(dataSet, firstRow);
+            fillRow(dataSet, 0, firstRow);
+            for (int i = 1; jsonReader.hasNext(); i++) {
+                JsonArray row = jsonReader.nextValue();
+                fillRow(dataSet, i, row);
+            }
+        } else {
+            var row = readRemainingValues(jsonReader);
+            fillDataSetColumns(dataSet, row);
+            addValues(dataSet, row);
+        }
+        jsonReader.endArray();
+    }
+
+    private void streamValues(DataSet dataSet, JsonStreamReader jsonReader) {
+        var type = jsonReader.peek();
+        if (type != JsonType.ARRAY) {
+            addValues(dataSet, jsonReader.nextValue());
+            return;
+        }
+        jsonReader.beginArray();
+        if (jsonReader.hasNext() && jsonReader.peek() != JsonType.ARRAY) {
+            addValues(dataSet, readRemainingValues(jsonReader));
+        } else {
+            for (int i = 0; jsonReader.hasNext(); i++) {
+                if (dataSet.getColumns().isEmpty()) {
+                    throw new IllegalArgumentException("DataSet is missing columns.");
+                }
+                JsonArray row = jsonReader.nextValue();
+                fillRow(dataSet, i, row);
+            }
+        }
+        jsonReader.endArray();
+    }
+
+    private JsonArray readRemainingValues(JsonStreamReader jsonReader) {
+        var values = Json.createArray();
+        while (jsonReader.hasNext()) {
+            JsonValue value = jsonReader.nextValue();
+            values.set(values.length(), value);
+        }
+        return values;
+    }
+
     private void fillDataSetColumns(DataSet dataSet, JsonArray dataSetArray) {
         if (dataSetArray != null && dataSetArray.length() > 0) {
             var row = dataSetArray;
@@ -227,6 +339,29 @@ public class ExternalDataSetJSONParser {
         }
     }
 
+    private Object convertValue(String value, ColumnType type) {
+        switch (type) {
+            case DATE:
+                if (value != null && value.trim().isEmpty()) {
+                    return "";
+                }
+                return convertToDate(value);
+            case NUMBER:
+                if (value == null || value.isEmpty()) {
+                    return 0.0;
+                }
+                var number = Double.parseDouble(value);
+                if (Double.isNaN(number)) {
+                    throw new IllegalArgumentException("Not a number: " + value);
+                }
+                return number;
+            case LABEL:
+            case TEXT:
+            default:
+                return value;
+        }
+    }
+
     private ColumnType findValueType(String value) {
         try {
             Double.parseDouble(value);
@@ -42,6 +42,7 @@ public class ExternalDefJSONMarshaller implements DataSetDefJSONMarshallerExt<Ex
     public static final String HEADERS = "headers";
     public static final String QUERY = "query";
     public static final String ACCUMULATE = "accumulate";
+    public static final String CURSOR = "cursor";
     public static final String TYPE = "type";
     public static final String JOIN = "join";
     public static final String FORM = "form";
@@ -58,6 +59,7 @@ public class ExternalDefJSONMarshaller implements DataSetDefJSONMarshallerExt<Ex
         var form = json.getObject(FORM);
         var query = json.getObject(QUERY);
         var accumulate = json.getBoolean(ACCUMULATE);
+        var cursor = json.getString(CURSOR);
         var type = json.getString(TYPE);
         var path = json.getString(PATH);
         var method = json.getString(METHOD);
@@ -75,6 +77,10 @@ public class ExternalDefJSONMarshaller implements DataSetDefJSONMarshallerExt<Ex
             def.setExpression(expression);
         }
 
+        if (!isBlank(cursor)) {
+            def.setCursor(cursor);
+        }
+
         if (!isBlank(method)) {
             def.setMethod(HttpMethod.byName(method));
         }
@@ -121,6 +127,10 @@ public class ExternalDefJSONMarshaller implements DataSetDefJSONMarshallerExt<Ex
         json.put(CONTENT, def.getContent());
         json.put(ACCUMULATE, def.isAccumulate());
 
+        if (def.getCursor() != null) {
+            json.put(CURSOR, def.getCursor());
+        }
+
         if (def.getType() != null) {
             json.put(TYPE, def.getType().name());
         }
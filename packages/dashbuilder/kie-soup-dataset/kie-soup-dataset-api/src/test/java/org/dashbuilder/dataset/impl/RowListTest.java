@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataset.impl;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class RowListTest {
+
+    @Test
+    public void testAddAndGet() {
+        RowList rows = new RowList(1);
+        for (int i = 0; i < 100; i++) {
+            rows.addRow(i * 2);
+        }
+        assertEquals(100, rows.size());
+        assertEquals(0, rows.getRow(0));
+        assertEquals(198, rows.getRow(99));
+        assertEquals(Integer.valueOf(10), rows.get(5));
+    }
+
+    @Test
+    public void testOf() {
+        RowList rows = RowList.range(0, 3);
+        assertSame(rows, RowList.of(rows));
+
+        RowList copy = RowList.of(Arrays.asList(4, 2, 7));
+        assertArrayEquals(new int[] {4, 2, 7}, copy.toIntArray());
+    }
+
+    @Test
+    public void testListCompatibility() {
+        List<Integer> rows = RowList.range(0, 4);
+        assertEquals(Arrays.asList(0, 1, 2, 3), rows);
+
+        rows.add(1, 9);
+        rows.remove(0);
+        rows.set(0, 5);
+        assertEquals(Arrays.asList(5, 1, 2, 3), rows);
+    }
+
+    @Test
+    public void testAddRowsAndReverse() {
+        RowList rows = new RowList();
+        rows.addRows(RowList.range(0, 2));
+        rows.addRows(Arrays.asList(5, 6));
+        assertArrayEquals(new int[] {0, 1, 5, 6}, rows.toIntArray());
+        assertArrayEquals(new int[] {6, 5, 1, 0}, rows.reverse().toIntArray());
+    }
+
+    @Test
+    public void testEstimatedSize() {
+        assertEquals(40, MemSizeEstimator.sizeOfRows(RowList.range(0, 10)));
+        assertEquals(10 * MemSizeEstimator.sizeOfInteger, MemSizeEstimator.sizeOfRows(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)));
+        assertEquals(0, MemSizeEstimator.sizeOfRows(null));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfBounds() {
+        RowList.range(0, 2).getRow(2);
+    }
+}
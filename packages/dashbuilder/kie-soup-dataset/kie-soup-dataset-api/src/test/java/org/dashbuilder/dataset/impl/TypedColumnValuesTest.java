@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataset.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TypedColumnValuesTest {
+
+    @Test
+    public void testNumberValues() {
+        NumberColumnValues values = new NumberColumnValues(1);
+        values.add(1);
+        values.add(null);
+        values.add(2.5d);
+        values.add("3");
+
+        assertEquals(4, values.size());
+        assertEquals(1d, values.get(0));
+        assertNull(values.get(1));
+        assertTrue(values.isNull(1));
+        assertTrue(values.hasNulls());
+        assertEquals(2.5d, values.getDouble(2), 0d);
+        assertEquals(3d, values.get(3));
+
+        values.set(1, 7);
+        assertFalse(values.isNull(1));
+        assertEquals(Arrays.<Object>asList(1d, 7d, 2.5d, 3d), values);
+    }
+
+    @Test
+    public void testDateValues() {
+        Date date = new Date(1000);
+        DateColumnValues values = new DateColumnValues();
+        values.add(date);
+        values.add(null);
+        values.add(2000L);
+
+        assertEquals(date, values.get(0));
+        assertNull(values.get(1));
+        assertEquals(2000L, values.getTime(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDateValuesInvalid() {
+        new DateColumnValues().add("not a date");
+    }
+
+    @Test
+    public void testLabelDictionary() {
+        LabelColumnValues values = new LabelColumnValues();
+        values.addAll(Arrays.asList("A", "B", "A", null, "C", "B"));
+
+        assertEquals(6, values.size());
+        assertEquals(Arrays.asList("A", "B", "C"), values.getDictionary());
+        assertEquals(values.getCode(0), values.getCode(2));
+        assertEquals(values.getCode("B"), values.getCode(5));
+        assertEquals(LabelColumnValues.NO_CODE, values.getCode(3));
+        assertEquals(LabelColumnValues.NO_CODE, values.getCode("D"));
+        assertNull(values.get(3));
+        assertEquals("C", values.get(4));
+    }
+
+    @Test
+    public void testInsertAndRemove() {
+        LabelColumnValues values = new LabelColumnValues();
+        values.addAll(Arrays.asList("A", null, "C"));
+        values.add(1, "B");
+        assertEquals(Arrays.asList("A", "B", null, "C"), values);
+
+        assertEquals("A", values.remove(0));
+        assertEquals(Arrays.asList("B", null, "C"), values);
+        assertTrue(values.isNull(1));
+
+        values.clear();
+        assertTrue(values.isEmpty());
+        assertFalse(values.hasNulls());
+    }
+
+    @Test
+    public void testInsertAndRemoveRanges() {
+        NumberColumnValues values = new NumberColumnValues(2);
+        values.addAll(Arrays.asList(3d, null, 5d));
+        values.addAll(0, Arrays.asList(1d, 2d));
+        assertEquals(Arrays.asList(1d, 2d, 3d, null, 5d), values);
+
+        values.subList(3, 5).clear();
+        assertEquals(Arrays.asList(1d, 2d, 3d), values);
+        assertFalse(values.hasNulls());
+
+        values.addAll(1, Arrays.asList(null, 1.5d));
+        assertEquals(Arrays.asList(1d, null, 1.5d, 2d, 3d), values);
+        assertTrue(values.isNull(1));
+    }
+
+    @Test
+    public void testLabelDictionaryCompaction() {
+        LabelColumnValues values = new LabelColumnValues();
+        for (int i = 0; i < 100; i++) {
+            values.addAll(0, Arrays.asList("value" + i, null));
+            if (values.size() > 10) {
+                values.subList(10, values.size()).clear();
+            }
+        }
+        assertEquals(10, values.size());
+        assertTrue(values.getDictionary().size() <= 2 * values.size() + 16);
+        assertEquals("value99", values.get(0));
+        assertNull(values.get(1));
+        assertEquals("value95", values.get(8));
+        assertEquals(values.getCode(0), values.getCode("value99"));
+        assertEquals(LabelColumnValues.NO_CODE, values.getCode("value0"));
+    }
+
+    @Test
+    public void testCompact() {
+        List<Object> numbers = new ArrayList<>(Arrays.<Object>asList(1d, null, 3d));
+        List compacted = TypedColumnValues.compact(ColumnType.NUMBER, numbers);
+        assertTrue(compacted instanceof NumberColumnValues);
+        assertEquals(numbers, compacted);
+        assertSame(compacted, TypedColumnValues.compact(ColumnType.NUMBER, compacted));
+
+        List<Object> labels = new ArrayList<>(Arrays.<Object>asList("a", "b"));
+        assertTrue(TypedColumnValues.compact(ColumnType.LABEL, labels) instanceof LabelColumnValues);
+        assertSame(labels, TypedColumnValues.compact(null, labels));
+
+        List<Object> mixedLabels = new ArrayList<>(Arrays.<Object>asList("a", 1, null));
+        assertSame(mixedLabels, TypedColumnValues.compact(ColumnType.LABEL, mixedLabels));
+    }
+
+    @Test
+    public void testDataSetCompactColumns() {
+        DataSetImpl dataSet = new DataSetImpl();
+        dataSet.addColumn("name", ColumnType.LABEL);
+        dataSet.addColumn("amount", ColumnType.NUMBER);
+        dataSet.setValueAt(0, 0, "a");
+        dataSet.setValueAt(0, 1, 1d);
+        dataSet.setValueAt(1, 0, "b");
+        dataSet.setValueAt(1, 1, 2d);
+
+        dataSet.compactColumns();
+        assertTrue(dataSet.getColumnByIndex(0).getValues() instanceof LabelColumnValues);
+        assertTrue(dataSet.getColumnByIndex(1).getValues() instanceof NumberColumnValues);
+        assertEquals(2, dataSet.getRowCount());
+        assertEquals("b", dataSet.getValueAt(1, 0));
+        assertEquals(2d, dataSet.getValueAt(1, 1));
+
+        DataSetImpl copy = (DataSetImpl) dataSet.cloneEmpty();
+        assertTrue(copy.getColumnByIndex(1).getValues() instanceof NumberColumnValues);
+        assertEquals(0, copy.getRowCount());
+    }
+}
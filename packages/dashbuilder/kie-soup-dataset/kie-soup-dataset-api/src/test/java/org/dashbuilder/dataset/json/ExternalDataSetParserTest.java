@@ -19,8 +19,11 @@
 
 package org.dashbuilder.dataset.json;
 
+import java.io.Reader;
+import java.io.StringReader;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.Date;
 
 import org.dashbuilder.dataset.ColumnType;
@@ -321,10 +324,127 @@ public class ExternalDataSetParserTest {
         assertEquals("[[\"A\",\"1.0\"],[\"B\",\"2.0\"]]", result);
     }
 
+    @Test
+    public void testReadDataSetObject() {
+        var dataset = parser.readDataSet(new StringReader(DATASET));
+
+        assertEquals(4, dataset.getColumns().size());
+        assertEquals(2, dataset.getRowCount());
+        assertArrayEquals(new Object[]{1.0, 9.0},
+                dataset.getColumnById("CL1").getValues().toArray());
+        assertArrayEquals(new Object[]{"JOHN", "MARY"},
+                dataset.getColumnById("CL3").getValues().toArray());
+    }
+
+    @Test
+    public void testReadDataSetValuesBeforeColumns() {
+        var json = "{\"values\": [[\"1\", \"A\"], [\"2\", \"B\"]], \"other\": {\"x\": [1]}, " +
+                "\"columns\": [{\"id\": \"C1\", \"type\": \"NUMBER\"}, {\"id\": \"C2\"}]}";
+        var dataset = parser.readDataSet(new StringReader(json));
+
+        assertEquals(2, dataset.getRowCount());
+        assertEquals(2.0, dataset.getValueAt(1, "C1"));
+        assertEquals("B", dataset.getValueAt(1, "C2"));
+    }
+
+    @Test
+    public void testReadLargeDataSetMatrix() {
+        var rows = 50000;
+        var dataset = parser.readDataSet(new MatrixReader(rows));
+
+        assertEquals(2, dataset.getColumns().size());
+        assertEquals(rows, dataset.getRowCount());
+        assertEquals(ColumnType.NUMBER, dataset.getColumnByIndex(0).getColumnType());
+        assertEquals(0.0, dataset.getValueAt(0, 0));
+        assertEquals("L" + (rows - 1), dataset.getValueAt(rows - 1, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReadUnterminatedDataSet() {
+        parser.readDataSet(new StringReader("[[\"1.0\", \"L1\"], [\"2.0\", \"L2"));
+    }
+
+    @Test
+    public void testParseRows() {
+        var rows = Arrays.asList(new String[]{"1", "L1", "2021-10-16T01:27:19.430Z"},
+                new String[]{"", "L2", "2021-10-16T01:48:15.647Z"});
+        var dataset = parser.parseRows(rows.iterator());
+
+        assertArrayEquals(new ColumnType[]{ColumnType.NUMBER, ColumnType.LABEL, ColumnType.DATE},
+                dataset.getColumns().stream().map(DataColumn::getColumnType).toArray());
+        assertEquals(2, dataset.getRowCount());
+        assertEquals(1.0, dataset.getValueAt(0, 0));
+        assertEquals(0.0, dataset.getValueAt(1, 0));
+        assertEquals("L2", dataset.getValueAt(1, "Column 1"));
+        assertEquals(parser.convertToDate("2021-10-16T01:27:19.430Z"), dataset.getValueAt(0, 2));
+    }
+
+    @Test
+    public void testParseRowsMatchesMatrix() {
+        var rows = Arrays.asList(new String[]{"1", "L1", "JOHN", "2021-10-16T01:27:19.430Z"},
+                new String[]{"9", "L2", "MARY", "2021-10-16T01:48:15.647Z"});
+        var fromRows = parser.parseRows(rows.iterator());
+        var fromJson = parser.parseDataSet(DATASET_MATRIX);
+
+        assertEquals(fromJson.getColumns().size(), fromRows.getColumns().size());
+        for (int i = 0; i < fromJson.getColumns().size(); i++) {
+            var expected = fromJson.getColumnByIndex(i);
+            var actual = fromRows.getColumnByIndex(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getColumnType(), actual.getColumnType());
+            assertEquals(expected.getValues(), actual.getValues());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseRowsIncompatibleValue() {
+        parser.parseRows(Arrays.asList(new String[]{"1"}, new String[]{"NaN"}).iterator());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseRowsTooManyValues() {
+        parser.parseRows(Arrays.asList(new String[]{"1"}, new String[]{"2", "3"}).iterator());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testParseIncompatibleColumnDataSet() {
         parser.parseDataSet(DATASET_WITH_INCOMPATIBLE_VALUE);
 
     }
 
+    /**
+     * Generates a <code>[["0", "L0"], ["1", "L1"], ...]</code> matrix on demand.
+     */
+    private static class MatrixReader extends Reader {
+
+        private final int rows;
+        private int row = 0;
+        private String chunk = "[";
+        private int chunkPos = 0;
+
+        MatrixReader(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (chunkPos == chunk.length()) {
+                if (row > rows) {
+                    return -1;
+                }
+                chunk = row == rows ? "]" : (row > 0 ? "," : "") + "[\"" + row + "\", \"L" + row + "\"]";
+                chunkPos = 0;
+                row++;
+            }
+            var count = Math.min(len, chunk.length() - chunkPos);
+            chunk.getChars(chunkPos, chunkPos + count, cbuf, off);
+            chunkPos += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+            // Empty
+        }
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+package org.dashbuilder.dataset.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.dashbuilder.DataSetCore;
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetLookupFactory;
+import org.dashbuilder.dataset.DataSetOp;
+import org.dashbuilder.dataset.engine.SharedDataSetOpEngine;
+import org.dashbuilder.dataset.group.AggregateFunction;
+import org.dashbuilder.dataset.group.AggregateFunctionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.dashbuilder.dataset.benchmark.BenchmarkDataSets.*;
+
+/**
+ * Benchmarks every {@link AggregateFunctionType}, both on its own and as part of a group operation.
+ * <p>Numeric only functions are applied to the amount column and the rest to the city column.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class AggregateFunctionBenchmark {
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    @Param({"COUNT", "DISTINCT", "AVERAGE", "SUM", "MIN", "MAX", "MEDIAN", "JOIN", "JOIN_COMMA", "JOIN_HYPHEN"})
+    public AggregateFunctionType function;
+
+    private SharedDataSetOpEngine engine;
+    private DataSet dataSet;
+    private AggregateFunction aggregateFunction;
+    private List values;
+    private List<Integer> evenRows;
+    private List<DataSetOp> groupByLabel;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        engine = DataSetCore.get().getSharedDataSetOpEngine();
+        dataSet = BenchmarkDataSets.expenseReports(rows, false);
+        aggregateFunction = DataSetCore.get().getAggregateFunctionManager().getFunctionByType(function);
+
+        String columnId = function.supportType(ColumnType.LABEL) ? COLUMN_CITY : COLUMN_AMOUNT;
+        values = dataSet.getColumnById(columnId).getValues();
+        evenRows = new ArrayList<>(rows / 2);
+        for (int i = 0; i < rows; i += 2) {
+            evenRows.add(i);
+        }
+
+        groupByLabel = DataSetLookupFactory.newDataSetLookupBuilder()
+                .group(COLUMN_DEPARTMENT)
+                .column(COLUMN_DEPARTMENT)
+                .column(columnId, function, "value")
+                .buildLookup()
+                .getOperationList();
+    }
+
+    @Benchmark
+    public Object aggregateAll() {
+        return aggregateFunction.aggregate(values);
+    }
+
+    @Benchmark
+    public Object aggregateRows() {
+        return aggregateFunction.aggregate(values, evenRows);
+    }
+
+    @Benchmark
+    public DataSet groupByLabel() {
+        return engine.execute(dataSet, groupByLabel);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+package org.dashbuilder.dataset.benchmark;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
+import org.dashbuilder.dataset.impl.DataSetImpl;
+
+/**
+ * Synthetic data sets used by the benchmarks.
+ * <p>The generated data set mimics the expense reports data set used in the unit tests: a few low
+ * cardinality label columns, a high cardinality label column, a number column and a date column
+ * spread over {@link #YEARS} years. The generation is deterministic for a given number of rows.</p>
+ */
+public class BenchmarkDataSets {
+
+    public static final String COLUMN_DEPARTMENT = "department";
+    public static final String COLUMN_CITY = "city";
+    public static final String COLUMN_EMPLOYEE = "employee";
+    public static final String COLUMN_AMOUNT = "amount";
+    public static final String COLUMN_DATE = "date";
+
+    public static final String[] DEPARTMENTS = {"Engineering", "Services", "Sales", "Support", "Management", "Marketing", "Finance", "Legal"};
+    public static final int CITIES = 50;
+    public static final int EMPLOYEES = 5000;
+    public static final int YEARS = 5;
+    public static final double MAX_AMOUNT = 1000d;
+
+    private static final long SEED = 1234L;
+    private static final long START_DATE = 1577836800000L; // 2020-01-01T00:00:00Z
+    private static final long DATE_RANGE = YEARS * 365L * 24 * 60 * 60 * 1000;
+
+    private BenchmarkDataSets() {
+    }
+
+    /**
+     * Generates an expense reports like data set.
+     * @param rows The number of rows.
+     * @param columnar If true the data set columns are switched to the compact typed storage.
+     */
+    public static DataSet expenseReports(int rows, boolean columnar) {
+        Random random = new Random(SEED);
+        String[] cities = labels("City ", CITIES);
+        String[] employees = labels("Employee ", EMPLOYEES);
+
+        List<Object> departments = new ArrayList<>(rows);
+        List<Object> cityValues = new ArrayList<>(rows);
+        List<Object> employeeValues = new ArrayList<>(rows);
+        List<Object> amounts = new ArrayList<>(rows);
+        List<Object> dates = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            departments.add(DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]);
+            cityValues.add(cities[random.nextInt(cities.length)]);
+            employeeValues.add(employees[random.nextInt(employees.length)]);
+            amounts.add(Math.floor(random.nextDouble() * MAX_AMOUNT * 100) / 100);
+            dates.add(new Date(START_DATE + (long) (random.nextDouble() * DATE_RANGE)));
+        }
+
+        DataSetImpl dataSet = (DataSetImpl) DataSetFactory.newEmptyDataSet();
+        dataSet.setUUID("benchmark-" + rows + (columnar ? "-columnar" : ""));
+        dataSet.addColumn(COLUMN_DEPARTMENT, ColumnType.LABEL, departments);
+        dataSet.addColumn(COLUMN_CITY, ColumnType.LABEL, cityValues);
+        dataSet.addColumn(COLUMN_EMPLOYEE, ColumnType.LABEL, employeeValues);
+        dataSet.addColumn(COLUMN_AMOUNT, ColumnType.NUMBER, amounts);
+        dataSet.addColumn(COLUMN_DATE, ColumnType.DATE, dates);
+        if (columnar) {
+            dataSet.compactColumns();
+        }
+        return dataSet;
+    }
+
+    private static String[] labels(String prefix, int count) {
+        String[] result = new String[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = prefix + i;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+package org.dashbuilder.dataset.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.dashbuilder.DataSetCore;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.DataSetLookupFactory;
+import org.dashbuilder.dataset.DataSetOp;
+import org.dashbuilder.dataset.engine.SharedDataSetOpEngine;
+import org.dashbuilder.dataset.group.DateIntervalType;
+import org.dashbuilder.dataset.sort.SortOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.dashbuilder.dataset.benchmark.BenchmarkDataSets.*;
+import static org.dashbuilder.dataset.filter.FilterFactory.between;
+import static org.dashbuilder.dataset.filter.FilterFactory.greaterThan;
+import static org.dashbuilder.dataset.filter.FilterFactory.in;
+import static org.dashbuilder.dataset.group.AggregateFunctionType.COUNT;
+import static org.dashbuilder.dataset.group.AggregateFunctionType.SUM;
+
+/**
+ * Benchmarks the lookup operations (filter, group &amp; sort) executed by the {@link SharedDataSetOpEngine}.
+ * <p>When <code>indexed</code> is false every invocation builds a fresh index, so it measures the cost of
+ * a first time lookup. Otherwise the data set is registered and the lookups hit the index registry, which
+ * is the path followed by any cached data set once its operations have been calculated.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class DataSetOpBenchmark {
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean columnar;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private SharedDataSetOpEngine engine;
+    private DataSet dataSet;
+
+    private List<DataSetOp> filterByNumber;
+    private List<DataSetOp> filterByLabel;
+    private List<DataSetOp> groupByLabel;
+    private List<DataSetOp> groupByEmployee;
+    private List<DataSetOp> groupByDynamicDate;
+    private List<DataSetOp> groupByFixedDate;
+    private List<DataSetOp> nestedGroups;
+    private List<DataSetOp> sortByNumber;
+    private List<DataSetOp> sortByLabelAndDate;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        engine = DataSetCore.get().getSharedDataSetOpEngine();
+        dataSet = BenchmarkDataSets.expenseReports(rows, columnar);
+        if (indexed) {
+            DataSetCore.get().getStaticDataSetProvider().registerDataSet(dataSet);
+        }
+
+        filterByNumber = ops(DataSetLookupFactory.newDataSetLookupBuilder()
+                .filter(COLUMN_AMOUNT, between(250d, 500d))
+                .buildLookup());
+
+        filterByLabel = ops(DataSetLookupFactory.newDataSetLookupBuilder()
+                .filter(in(COLUMN_DEPARTMENT, Arrays.asList(DEPARTMENTS[0], DEPARTMENTS[1])))
+                .buildLookup());
+
+        groupByLabel = ops(DataSetLookupFactory.newDataSetLookupBuilder()
+                .group(COLUMN_DEPARTMENT)
+                .column(COLUMN_DEPARTMENT)
+                .column(COUNT, "occurrences")
+                .column(COLUMN_AMOUNT, SUM, "total")
+                .buildLookup());
+
+        groupByEmployee = ops(DataSetLookupFactory.newDataSetLookupBuilder()
+                .group(COLUMN_EMPLOYEE)
+                .column(COLUMN_EMPLOYEE)
+                .column(COLUMN_AMOUNT, SUM, "total")
+                .buildLookup());
+
+        groupByDynamicDate = ops(DataSetLookupFactory.newDataSetLookupBuilder()
+                .group(COLUMN_DATE).dynamic(80, true)
+                .column(COLUMN_DATE)
+                .column(COLUMN_AMOUNT, SUM, "total")
+                .buildLookup());
+
+        groupByFixedDate = ops(DataSetLookupFactory.newDataSetLookupBuilder()
+                .group(COLUMN_DATE).fixed(DateIntervalType.MONTH, true)
+                .column(COLUMN_DATE)
+                .column(COLUMN_AMOUNT, SUM, "total")
+                .buildLookup());
+
+        nestedGroups = ops(DataSetLookupFactory.newDataSetLookupBuilder()
+                .filter(COLUMN_AMOUNT, greaterThan(100d))
+                .group(COLUMN_DEPARTMENT).select(DEPARTMENTS[0], DEPARTMENTS[1])
+                .group(COLUMN_CITY).select("City 1", "City 2", "City 3")
+                .group(COLUMN_DATE).fixed(DateIntervalType.MONTH, true)
+                .column(COLUMN_DATE)
+                .column(COLUMN_AMOUNT, SUM, "total")
+                .buildLookup());
+
+        sortByNumber = ops(DataSetLookupFactory.newDataSetLookupBuilder()
+                .sort(COLUMN_AMOUNT, SortOrder.DESCENDING)
+                .buildLookup());
+
+        sortByLabelAndDate = ops(DataSetLookupFactory.newDataSetLookupBuilder()
+                .sort(COLUMN_CITY, SortOrder.ASCENDING)
+                .sort(COLUMN_DATE, SortOrder.DESCENDING)
+                .buildLookup());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (indexed) {
+            DataSetCore.get().getStaticDataSetProvider().removeDataSet(dataSet.getUUID());
+        }
+    }
+
+    @Benchmark
+    public DataSet filterByNumber() {
+        return execute(filterByNumber);
+    }
+
+    @Benchmark
+    public DataSet filterByLabel() {
+        return execute(filterByLabel);
+    }
+
+    @Benchmark
+    public DataSet groupByLabel() {
+        return execute(groupByLabel);
+    }
+
+    @Benchmark
+    public DataSet groupByHighCardinalityLabel() {
+        return execute(groupByEmployee);
+    }
+
+    @Benchmark
+    public DataSet groupByDynamicDate() {
+        return execute(groupByDynamicDate);
+    }
+
+    @Benchmark
+    public DataSet groupByFixedDate() {
+        return execute(groupByFixedDate);
+    }
+
+    @Benchmark
+    public DataSet nestedGroups() {
+        return execute(nestedGroups);
+    }
+
+    @Benchmark
+    public DataSet sortByNumber() {
+        return execute(sortByNumber);
+    }
+
+    @Benchmark
+    public DataSet sortByLabelAndDate() {
+        return execute(sortByLabelAndDate);
+    }
+
+    private DataSet execute(List<DataSetOp> opList) {
+        return indexed ? engine.execute(dataSet.getUUID(), opList) : engine.execute(dataSet, opList);
+    }
+
+    private static List<DataSetOp> ops(DataSetLookup lookup) {
+        return lookup.getOperationList();
+    }
+}
@@ -19,6 +19,8 @@
 
 package org.dashbuilder;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.dashbuilder.dataprovider.DataSetProviderRegistry;
 import org.dashbuilder.dataprovider.DataSetProviderRegistryImpl;
 import org.dashbuilder.dataprovider.StaticDataSetProvider;
@@ -31,7 +33,20 @@ import org.dashbuilder.dataset.IntervalBuilderLocatorImpl;
 import org.dashbuilder.dataset.UUIDGeneratorImpl;
 import org.dashbuilder.dataset.def.DataSetDefRegistry;
 import org.dashbuilder.dataset.engine.Chronometer;
+import org.dashbuilder.dataset.engine.SharedDataSetOpEngine;
+import org.dashbuilder.dataset.engine.filter.DataSetFilterAlgorithm;
+import org.dashbuilder.dataset.engine.group.IntervalBuilderDynamicLabel;
+import org.dashbuilder.dataset.engine.group.IntervalBuilderFixedDate;
 import org.dashbuilder.dataset.engine.group.IntervalBuilderLocator;
+import org.dashbuilder.dataset.engine.index.TransientDataSetIndexRegistry;
+import org.dashbuilder.dataset.engine.index.spi.DataSetIndexRegistry;
+import org.dashbuilder.dataset.engine.parallel.ParallelAggregateFunctionManager;
+import org.dashbuilder.dataset.engine.parallel.ParallelDataSetOpEngine;
+import org.dashbuilder.dataset.engine.parallel.ParallelFilterAlgorithm;
+import org.dashbuilder.dataset.engine.parallel.ParallelIntervalBuilderDynamicLabel;
+import org.dashbuilder.dataset.engine.parallel.ParallelIntervalBuilderFixedDate;
+import org.dashbuilder.dataset.engine.parallel.ParallelRangeExecutor;
+import org.dashbuilder.dataset.group.AggregateFunctionManager;
 import org.dashbuilder.dataset.uuid.UUIDGenerator;
 import org.dashbuilder.scheduler.Scheduler;
 
@@ -39,6 +54,18 @@ public class DataSetCoreImpl extends DataSetCore {
 
     private static final String STATIC_DATA_SET_PROVIDER = "StaticDataSetProvider";
     private static final String DATA_SET_DEF_REGISTRY = "DataSetDefRegistry";
+    /**
+     * System property to set the max. size (in bytes) the data set indexes can take
+     */
+    public static final String INDEX_MAX_SIZE_PROP = "dashbuilder.dataset.index.maxSize";
+    /**
+     * System property to enable the parallel execution of filters, groups and aggregate functions over large data sets
+     */
+    public static final String PARALLEL_PROP = "dashbuilder.dataset.parallel";
+    /**
+     * System property to set the min. number of rows for a filter, group or aggregate function to run in parallel
+     */
+    public static final String PARALLEL_THRESHOLD_PROP = "dashbuilder.dataset.parallel.threshold";
     private boolean dataSetPushEnabled = false;
     private int dataSetPushMaxSize = 1024;
     private Scheduler scheduler;
@@ -50,6 +77,7 @@ public class DataSetCoreImpl extends DataSetCore {
     private IntervalBuilderDynamicDate intervalBuilderDynamicDate;
     private ChronometerImpl chronometerImpl;
     private UUIDGeneratorImpl uuidGeneratorImpl;
+    private ParallelRangeExecutor parallelRangeExecutor;
 
     // Factory methods
 
@@ -73,6 +101,62 @@ public class DataSetCoreImpl extends DataSetCore {
         return getUUIDGeneratorImpl();
     }
 
+    @Override
+    protected DataSetIndexRegistry newIndexRegistry() {
+        DataSetIndexRegistry indexRegistry = super.newIndexRegistry();
+        if (indexRegistry instanceof TransientDataSetIndexRegistry) {
+            ((TransientDataSetIndexRegistry) indexRegistry).setMaxIndexSize(Long.getLong(INDEX_MAX_SIZE_PROP, 0L));
+        }
+        return indexRegistry;
+    }
+
+    @Override
+    protected SharedDataSetOpEngine newSharedDataSetOpEngine() {
+        if (isParallelEnabled()) {
+            return new ParallelDataSetOpEngine(
+                    checkNotNull(getAggregateFunctionManager(), "AggregateFunctionManager"),
+                    checkNotNull(getIntervalBuilderLocator(), "IntervalBuilderLocator"),
+                    checkNotNull(getIndexRegistry(), "DataSetIndexRegistry"),
+                    checkNotNull(getSortAlgorithm(), "DataSetSortAlgorithm"),
+                    checkNotNull(getFilterAlgorithm(), "DataSetFilterAlgorithm"),
+                    checkNotNull(getChronometer(), "Chronometer"),
+                    checkNotNull(getParallelRangeExecutor(), "ParallelRangeExecutor"));
+        }
+        return super.newSharedDataSetOpEngine();
+    }
+
+    @Override
+    protected AggregateFunctionManager newAggregateFunctionManager() {
+        if (isParallelEnabled()) {
+            return new ParallelAggregateFunctionManager(checkNotNull(getParallelRangeExecutor(), "ParallelRangeExecutor"));
+        }
+        return super.newAggregateFunctionManager();
+    }
+
+    @Override
+    protected DataSetFilterAlgorithm newFilterAlgorithm() {
+        if (isParallelEnabled()) {
+            return new ParallelFilterAlgorithm(checkNotNull(getParallelRangeExecutor(), "ParallelRangeExecutor"));
+        }
+        return super.newFilterAlgorithm();
+    }
+
+    @Override
+    protected IntervalBuilderDynamicLabel newIntervalBuilderDynamicLabel() {
+        if (isParallelEnabled()) {
+            return new ParallelIntervalBuilderDynamicLabel(checkNotNull(getParallelRangeExecutor(), "ParallelRangeExecutor"));
+        }
+        return super.newIntervalBuilderDynamicLabel();
+    }
+
+    @Override
+    protected IntervalBuilderFixedDate newIntervalBuilderFixedDate() {
+        if (isParallelEnabled()) {
+            return new ParallelIntervalBuilderFixedDate(checkNotNull(getParallelRangeExecutor(), "ParallelRangeExecutor"));
+        }
+        return super.newIntervalBuilderFixedDate();
+    }
+
     // Getters
 
     public boolean isDataSetPushEnabled() {
@@ -83,6 +167,18 @@ public class DataSetCoreImpl extends DataSetCore {
         return dataSetPushMaxSize;
     }
 
+    public boolean isParallelEnabled() {
+        return Boolean.getBoolean(PARALLEL_PROP);
+    }
+
+    public ParallelRangeExecutor getParallelRangeExecutor() {
+        if (parallelRangeExecutor == null) {
+            parallelRangeExecutor = new ParallelRangeExecutor(ForkJoinPool.commonPool(),
+                    Integer.getInteger(PARALLEL_THRESHOLD_PROP, ParallelRangeExecutor.DEFAULT_THRESHOLD));
+        }
+        return parallelRangeExecutor;
+    }
+
     public DataSetManagerImpl getDataSetManagerImpl() {
         if (dataSetManagerImpl == null) {
             dataSetManagerImpl = new DataSetManagerImpl(
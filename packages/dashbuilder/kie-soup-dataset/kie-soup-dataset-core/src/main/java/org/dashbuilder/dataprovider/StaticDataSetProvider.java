@@ -27,6 +27,7 @@ import org.dashbuilder.dataset.def.DataSetDef;
 import org.dashbuilder.dataset.engine.SharedDataSetOpEngine;
 import org.dashbuilder.dataset.engine.index.DataSetIndex;
 import org.dashbuilder.dataset.filter.DataSetFilter;
+import org.dashbuilder.dataset.impl.DataSetImpl;
 
 /**
  * DataSetProvider implementation for static (in-memory) data sets.
@@ -39,7 +40,13 @@ import org.dashbuilder.dataset.filter.DataSetFilter;
  */
 public class StaticDataSetProvider implements DataSetProvider {
 
+    /**
+     * System property to enable the typed columnar storage of registered data sets.
+     */
+    public static final String COLUMNAR_STORAGE_PROP = "dashbuilder.dataset.columnar";
+
     private SharedDataSetOpEngine dataSetOpEngine;
+    private boolean columnarStorageEnabled = Boolean.parseBoolean(System.getProperty(COLUMNAR_STORAGE_PROP, "false"));
 
     public StaticDataSetProvider() {
     }
@@ -58,10 +65,33 @@ public class StaticDataSetProvider implements DataSetProvider {
         return dataSet.getMetadata();
     }
 
+    public boolean isColumnarStorageEnabled() {
+        return columnarStorageEnabled;
+    }
+
+    /**
+     * If enabled, the columns of any registered data set are switched to a compact typed storage
+     * (primitive arrays for numbers & dates and dictionary encoding for labels).
+     */
+    public void setColumnarStorageEnabled(boolean columnarStorageEnabled) {
+        this.columnarStorageEnabled = columnarStorageEnabled;
+    }
+
     public void registerDataSet(DataSet dataSet) {
+        if (columnarStorageEnabled && dataSet instanceof DataSetImpl) {
+            ((DataSetImpl) dataSet).compactColumns();
+        }
         dataSetOpEngine.getIndexRegistry().put(dataSet);
     }
 
+    /**
+     * Insert rows at the top of a registered data set, updating its indexes instead of building them again.
+     * @see SharedDataSetOpEngine#insertRows(String, DataSet, int)
+     */
+    public DataSet insertRows(String uuid, DataSet newRows, int maxRows) {
+        return dataSetOpEngine.insertRows(uuid, newRows, maxRows);
+    }
+
     public DataSet removeDataSet(String uuid) {
         DataSetIndex index = dataSetOpEngine.getIndexRegistry().remove(uuid);
         return (index == null ? null : index.getDataSet());
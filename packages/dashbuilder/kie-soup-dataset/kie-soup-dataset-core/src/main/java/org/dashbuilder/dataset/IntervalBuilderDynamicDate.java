@@ -97,7 +97,7 @@ public class IntervalBuilderDynamicDate implements IntervalBuilder {
         if (minDate == null || minDate.compareTo(maxDate) == 0) {
 
             IntervalDateRange interval = new IntervalDateRange(0, intervalType, minDate, maxDate);
-            for (int row = 0; row < sortedValues.size(); row++) interval.getRows().add(row);
+            for (int row = 0; row < sortedValues.size(); row++) interval.addRow(row);
 
             results.add(interval);
             results.setIntervalType(columnGroup.getIntervalSize());
@@ -126,11 +126,11 @@ public class IntervalBuilderDynamicDate implements IntervalBuilder {
                     stop = true;
                 } else {
                     Date dateValue = (Date) sortedValues.get(index);
-                    Integer row = sortedRows.get(index);
+                    int row = sortedRows.get(index);
                     if (dateValue == null) {
                         index++;
                     } else if (dateValue.before(intervalMaxDate)) {
-                        interval.getRows().add(row);
+                        interval.addRow(row);
                         index++;
                     } else {
                         stop = true;
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataset.engine.parallel;
+
+import org.dashbuilder.dataset.engine.function.AggregateFunctionManagerImpl;
+import org.dashbuilder.dataset.engine.function.MaxFunction;
+import org.dashbuilder.dataset.engine.function.MinFunction;
+
+/**
+ * Aggregate function manager which registers the parallel versions of the sum, average, min, max and
+ * distinct functions. The count function is already constant time, and the median and join functions
+ * can't be calculated from partial results, so the default implementations are kept for them.
+ */
+public class ParallelAggregateFunctionManager extends AggregateFunctionManagerImpl {
+
+    public ParallelAggregateFunctionManager(ParallelRangeExecutor executor) {
+        super();
+        registerFunction(new ParallelSumFunction(executor));
+        registerFunction(new ParallelAverageFunction(executor));
+        registerFunction(new ParallelDistinctFunction(executor));
+        registerFunction(new ParallelExtremeFunction(new MinFunction(), false, executor));
+        registerFunction(new ParallelExtremeFunction(new MaxFunction(), true, executor));
+    }
+}
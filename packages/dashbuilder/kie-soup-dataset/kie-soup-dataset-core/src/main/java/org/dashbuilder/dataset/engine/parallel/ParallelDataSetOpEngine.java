@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+package org.dashbuilder.dataset.engine.parallel;
+
+import java.util.List;
+
+import org.dashbuilder.dataset.DataColumn;
+import org.dashbuilder.dataset.engine.Chronometer;
+import org.dashbuilder.dataset.engine.SharedDataSetOpEngine;
+import org.dashbuilder.dataset.engine.filter.DataSetFilterAlgorithm;
+import org.dashbuilder.dataset.engine.group.IntervalBuilderLocator;
+import org.dashbuilder.dataset.engine.index.DataSetIndexNode;
+import org.dashbuilder.dataset.engine.index.spi.DataSetIndexRegistry;
+import org.dashbuilder.dataset.engine.sort.DataSetSortAlgorithm;
+import org.dashbuilder.dataset.group.AggregateFunctionManager;
+import org.dashbuilder.dataset.group.AggregateFunctionType;
+
+/**
+ * Data set operation engine that calculates the aggregate values of the intervals of a group in parallel
+ * (one interval per task) when the grouped rows are enough to be worth it.
+ */
+public class ParallelDataSetOpEngine extends SharedDataSetOpEngine {
+
+    protected ParallelRangeExecutor executor;
+
+    public ParallelDataSetOpEngine(AggregateFunctionManager aggregateFunctionManager,
+                                   IntervalBuilderLocator intervalBuilderLocator,
+                                   DataSetIndexRegistry indexRegistry,
+                                   DataSetSortAlgorithm sortAlgorithm,
+                                   DataSetFilterAlgorithm filterAlgorithm,
+                                   Chronometer chronometer,
+                                   ParallelRangeExecutor executor) {
+
+        super(aggregateFunctionManager, intervalBuilderLocator, indexRegistry, sortAlgorithm, filterAlgorithm, chronometer);
+        this.executor = executor;
+    }
+
+    @Override
+    protected void calculateFunctions(DataColumn column, AggregateFunctionType type, List<? extends DataSetIndexNode> indexes) {
+        if (indexes.size() < 2) {
+            return;
+        }
+        int rows = 0;
+        for (DataSetIndexNode index : indexes) {
+            rows += index.getRows().size();
+        }
+        if (executor.isParallel(rows)) {
+            executor.forEach(indexes.size(), i -> calculateFunction(column, type, indexes.get(i)));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataset.engine.parallel;
+
+import java.util.List;
+import java.util.Set;
+
+import org.dashbuilder.dataset.engine.function.DistinctFunction;
+import org.dashbuilder.dataset.impl.RowList;
+
+/**
+ * Distinct function merging the partial sets of distinct values of large row sets calculated in parallel.
+ */
+public class ParallelDistinctFunction extends DistinctFunction {
+
+    protected ParallelRangeExecutor executor;
+
+    public ParallelDistinctFunction(ParallelRangeExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public Set distinct(List values, List<Integer> rows) {
+        int size = rows == null ? values.size() : rows.size();
+        if (!executor.isParallel(size)) {
+            return super.distinct(values, rows);
+        }
+        RowList rowList = RowList.of(rows);
+        return executor.execute(size,
+                (from, to) -> super.distinct(values, ParallelRangeExecutor.chunk(rowList, from, to)),
+                (left, right) -> {
+                    if (left.size() < right.size()) {
+                        right.addAll(left);
+                        return right;
+                    }
+                    left.addAll(right);
+                    return left;
+                });
+    }
+}
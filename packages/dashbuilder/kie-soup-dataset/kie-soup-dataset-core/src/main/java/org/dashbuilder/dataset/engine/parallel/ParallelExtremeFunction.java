@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataset.engine.parallel;
+
+import java.util.List;
+
+import org.dashbuilder.dataset.group.AggregateFunction;
+import org.dashbuilder.dataset.group.AggregateFunctionType;
+import org.dashbuilder.dataset.impl.RowList;
+
+/**
+ * Min/max function calculating the extreme value of every chunk of a large row set in parallel
+ * and then picking the extreme of the partial results.
+ */
+public class ParallelExtremeFunction implements AggregateFunction {
+
+    protected AggregateFunction function;
+    protected boolean max;
+    protected ParallelRangeExecutor executor;
+
+    /**
+     * @param function The min. or max. function to run over every chunk.
+     * @param max True if the function calculates the max. value or false if it calculates the min.
+     */
+    public ParallelExtremeFunction(AggregateFunction function, boolean max, ParallelRangeExecutor executor) {
+        this.function = function;
+        this.max = max;
+        this.executor = executor;
+    }
+
+    public AggregateFunctionType getType() {
+        return function.getType();
+    }
+
+    public Object aggregate(List values) {
+        if (values == null || !executor.isParallel(values.size())) {
+            return function.aggregate(values);
+        }
+        return aggregateParallel(values, null, values.size());
+    }
+
+    public Object aggregate(List values, List<Integer> rows) {
+        if (rows == null) {
+            return aggregate(values);
+        }
+        if (values == null || values.isEmpty() || !executor.isParallel(rows.size())) {
+            return function.aggregate(values, rows);
+        }
+        return aggregateParallel(values, RowList.of(rows), rows.size());
+    }
+
+    protected Object aggregateParallel(List values, RowList rows, int size) {
+        return executor.execute(size,
+                (from, to) -> function.aggregate(values, ParallelRangeExecutor.chunk(rows, from, to)),
+                this::pick);
+    }
+
+    protected Object pick(Object left, Object right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        int result = ((Comparable) left).compareTo(right);
+        return (max ? result >= 0 : result <= 0) ? left : right;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataset.engine.parallel;
+
+import java.util.List;
+
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.engine.DataSetRowSet;
+import org.dashbuilder.dataset.engine.filter.DefaultFilterAlgorithm;
+import org.dashbuilder.dataset.filter.ColumnFilter;
+import org.dashbuilder.dataset.impl.RowList;
+
+/**
+ * Filter algorithm that evaluates large row sets in parallel chunks. Every chunk gets its own filter
+ * function instance and the partial results are concatenated so the row order is preserved.
+ */
+public class ParallelFilterAlgorithm extends DefaultFilterAlgorithm {
+
+    protected ParallelRangeExecutor executor;
+
+    public ParallelFilterAlgorithm(ParallelRangeExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public List<Integer> filter(DataSetRowSet ctx, ColumnFilter columnFilter) {
+        DataSet dataSet = ctx.getDataSet();
+        RowList targetRows = ctx.getRows() == null ? null : RowList.of(ctx.getRows());
+        int size = targetRows == null ? dataSet.getRowCount() : targetRows.size();
+
+        RowList result = executor.execute(size,
+                (from, to) -> filter(dataSet, columnFilter, targetRows, from, to),
+                (left, right) -> {
+                    left.addRows(right);
+                    return left;
+                });
+        result.trimToSize();
+        return result;
+    }
+}
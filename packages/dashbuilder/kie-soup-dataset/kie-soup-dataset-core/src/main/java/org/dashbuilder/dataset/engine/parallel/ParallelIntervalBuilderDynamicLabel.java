@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+package org.dashbuilder.dataset.engine.parallel;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.engine.DataSetRowSet;
+import org.dashbuilder.dataset.engine.group.IntervalBuilderDynamicLabel;
+import org.dashbuilder.dataset.engine.group.IntervalList;
+import org.dashbuilder.dataset.group.ColumnGroup;
+import org.dashbuilder.dataset.group.Interval;
+import org.dashbuilder.dataset.impl.RowList;
+
+/**
+ * Label interval builder that indexes large row sets in parallel chunks. Every chunk gets its own interval list
+ * and the partial lists are merged by label (left to right) so both the intervals and their rows keep the order
+ * of the sequential build.
+ */
+public class ParallelIntervalBuilderDynamicLabel extends IntervalBuilderDynamicLabel {
+
+    protected ParallelRangeExecutor executor;
+
+    public ParallelIntervalBuilderDynamicLabel(ParallelRangeExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public IntervalList build(DataSetRowSet ctx, ColumnGroup columnGroup) {
+        DataSet dataSet = ctx.getDataSet();
+        RowList targetRows = ctx.getRows() == null ? null : RowList.of(ctx.getRows());
+        int size = targetRows == null ? dataSet.getRowCount() : targetRows.size();
+        if (!executor.isParallel(size)) {
+            return super.build(ctx, columnGroup);
+        }
+        List values = dataSet.getColumnById(columnGroup.getSourceId()).getValues();
+        return executor.execute(size,
+                (from, to) -> createIntervalList(columnGroup).indexValues(values, ParallelRangeExecutor.chunk(targetRows, from, to)),
+                ParallelIntervalBuilderDynamicLabel::merge);
+    }
+
+    protected static IntervalList merge(IntervalList left, IntervalList right) {
+        Map<String, Interval> intervalMap = new HashMap<String, Interval>();
+        for (Interval interval : left) {
+            intervalMap.put(interval.getName(), interval);
+        }
+        for (Interval interval : right) {
+            Interval existing = intervalMap.get(interval.getName());
+            if (existing == null) {
+                interval.setIndex(left.size());
+                left.add(interval);
+            } else {
+                RowList rows = RowList.of(existing.getRows());
+                rows.addRows(interval.getRows());
+                existing.setRows(rows);
+            }
+        }
+        return left;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+package org.dashbuilder.dataset.engine.parallel;
+
+import java.util.List;
+
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.engine.DataSetRowSet;
+import org.dashbuilder.dataset.engine.group.IntervalBuilderFixedDate;
+import org.dashbuilder.dataset.engine.group.IntervalList;
+import org.dashbuilder.dataset.group.ColumnGroup;
+import org.dashbuilder.dataset.group.Interval;
+import org.dashbuilder.dataset.impl.RowList;
+
+/**
+ * Fixed date interval builder that indexes large row sets in parallel chunks. Every chunk fills its own copy
+ * of the fixed interval list and the rows of every interval are concatenated (left to right) afterwards.
+ */
+public class ParallelIntervalBuilderFixedDate extends IntervalBuilderFixedDate {
+
+    protected ParallelRangeExecutor executor;
+
+    public ParallelIntervalBuilderFixedDate(ParallelRangeExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public IntervalList build(DataSetRowSet ctx, ColumnGroup columnGroup) {
+        DataSet dataSet = ctx.getDataSet();
+        RowList targetRows = ctx.getRows() == null ? null : RowList.of(ctx.getRows());
+        int size = targetRows == null ? dataSet.getRowCount() : targetRows.size();
+        if (!executor.isParallel(size)) {
+            return super.build(ctx, columnGroup);
+        }
+        List values = dataSet.getColumnById(columnGroup.getSourceId()).getValues();
+        return executor.execute(size,
+                (from, to) -> _build(columnGroup).indexValues(values, ParallelRangeExecutor.chunk(targetRows, from, to)),
+                ParallelIntervalBuilderFixedDate::merge);
+    }
+
+    protected static IntervalList merge(IntervalList left, IntervalList right) {
+        for (int i = 0; i < left.size(); i++) {
+            Interval interval = left.get(i);
+            RowList rows = RowList.of(interval.getRows());
+            rows.addRows(right.get(i).getRows());
+            interval.setRows(rows);
+        }
+        return left;
+    }
+}
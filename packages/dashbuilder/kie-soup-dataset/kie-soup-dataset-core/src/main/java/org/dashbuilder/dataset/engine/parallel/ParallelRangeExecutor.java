@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataset.engine.parallel;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.IntConsumer;
+
+import org.dashbuilder.dataset.impl.RowList;
+
+/**
+ * Runs a calculation over a range of rows by splitting it into chunks which are processed in parallel
+ * on a {@link ForkJoinPool}. The partial results are merged back in the same order as the chunks.
+ */
+public class ParallelRangeExecutor {
+
+    /**
+     * Min. number of rows for a range to be processed in parallel.
+     */
+    public static final int DEFAULT_THRESHOLD = 100000;
+
+    /**
+     * The calculation to run over every chunk.
+     */
+    @FunctionalInterface
+    public interface RangeFunction<T> {
+
+        /**
+         * @param from The first position (inclusive)
+         * @param to The last position (exclusive)
+         */
+        T apply(int from, int to);
+    }
+
+    protected ForkJoinPool pool;
+    protected int threshold;
+
+    public ParallelRangeExecutor() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public ParallelRangeExecutor(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Check if a range of the given size is worth to be processed in parallel.
+     */
+    public boolean isParallel(int size) {
+        return size >= threshold && size > 1 && pool.getParallelism() > 1;
+    }
+
+    /**
+     * Get the chunk size for a range of the given size. Every worker thread gets a few chunks
+     * (to balance the load) but never chunks smaller than a quarter of the threshold.
+     */
+    public int getChunkSize(int size) {
+        int chunks = pool.getParallelism() * 4;
+        return Math.max(Math.max(1, threshold / 4), (size + chunks - 1) / chunks);
+    }
+
+    /**
+     * Run the given function over the range [0, size), in parallel if the range is large enough.
+     * @param function The function calculating the partial result of a chunk.
+     * @param merge The function merging two partial results (left to right).
+     */
+    public <T> T execute(int size, RangeFunction<T> function, BinaryOperator<T> merge) {
+        if (!isParallel(size)) {
+            return function.apply(0, size);
+        }
+        return pool.invoke(new RangeTask<T>(0, size, getChunkSize(size), function, merge));
+    }
+
+    /**
+     * Run the given action for every position in [0, size), in parallel if there are enough worker threads.
+     * Unlike {@link #execute(int, RangeFunction, BinaryOperator)} no threshold is applied, so it is up to the
+     * caller to check that the work behind every position is worth to be run in parallel.
+     */
+    public void forEach(int size, IntConsumer action) {
+        RangeFunction<Void> function = (from, to) -> {
+            for (int i = from; i < to; i++) {
+                action.accept(i);
+            }
+            return null;
+        };
+        if (size < 2 || pool.getParallelism() < 2) {
+            function.apply(0, size);
+            return;
+        }
+        int chunks = pool.getParallelism() * 4;
+        int chunkSize = Math.max(1, size / chunks);
+        pool.invoke(new RangeTask<Void>(0, size, chunkSize, function, (left, right) -> null));
+    }
+
+    /**
+     * Get the rows of a chunk.
+     * @param rows The whole range rows, or null if the range covers all the data set rows.
+     */
+    public static RowList chunk(RowList rows, int from, int to) {
+        return rows == null ? RowList.range(from, to) : rows.subRows(from, to);
+    }
+
+    protected static class RangeTask<T> extends RecursiveTask<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        final int from;
+        final int to;
+        final int chunkSize;
+        final RangeFunction<T> function;
+        final BinaryOperator<T> merge;
+
+        RangeTask(int from, int to, int chunkSize, RangeFunction<T> function, BinaryOperator<T> merge) {
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.function = function;
+            this.merge = merge;
+        }
+
+        @Override
+        protected T compute() {
+            if (to - from <= chunkSize) {
+                return function.apply(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            RangeTask<T> left = new RangeTask<T>(from, mid, chunkSize, function, merge);
+            RangeTask<T> right = new RangeTask<T>(mid, to, chunkSize, function, merge);
+            left.fork();
+            T rightResult = right.compute();
+            return merge.apply(left.join(), rightResult);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataset.engine.parallel;
+
+import java.util.List;
+
+import org.dashbuilder.dataset.engine.function.SumFunction;
+import org.dashbuilder.dataset.impl.RowList;
+
+/**
+ * Sum function adding up the partial sums of large row sets calculated in parallel.
+ */
+public class ParallelSumFunction extends SumFunction {
+
+    protected ParallelRangeExecutor executor;
+
+    public ParallelSumFunction(ParallelRangeExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public double sum(List values, List<Integer> rows) {
+        int size = rows == null ? values.size() : rows.size();
+        if (!executor.isParallel(size)) {
+            return super.sum(values, rows);
+        }
+        RowList rowList = RowList.of(rows);
+        return executor.execute(size,
+                (from, to) -> super.sum(values, ParallelRangeExecutor.chunk(rowList, from, to)),
+                Double::sum);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataset;
+
+import org.dashbuilder.DataSetCore;
+import org.dashbuilder.dataprovider.StaticDataSetProvider;
+import org.junit.After;
+import org.junit.Before;
+
+/**
+ * Runs the filter tests against data sets registered with the typed columnar storage enabled.
+ */
+public class DataSetColumnarFilterTest extends DataSetFilterTest {
+
+    StaticDataSetProvider staticDataSetProvider = DataSetCore.get().getStaticDataSetProvider();
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        staticDataSetProvider.setColumnarStorageEnabled(true);
+        super.setUp();
+    }
+
+    @After
+    public void tearDown() {
+        staticDataSetProvider.setColumnarStorageEnabled(false);
+    }
+}
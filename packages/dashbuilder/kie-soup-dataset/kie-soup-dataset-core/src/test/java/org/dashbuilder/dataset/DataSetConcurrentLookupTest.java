@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.dashbuilder.DataSetCore;
+import org.dashbuilder.dataset.engine.SharedDataSetOpEngine;
+import org.dashbuilder.dataset.engine.index.TransientDataSetIndexRegistry;
+import org.dashbuilder.dataset.engine.index.stats.DataSetIndexStats;
+import org.dashbuilder.dataset.group.AggregateFunctionType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_AMOUNT;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_CITY;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_DEPARTMENT;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_EMPLOYEE;
+import static org.dashbuilder.dataset.filter.FilterFactory.equalsTo;
+
+public class DataSetConcurrentLookupTest {
+
+    public static final String EXPENSE_REPORTS = "expense_reports_concurrent";
+
+    static final int THREADS = 8;
+    static final int LOOKUPS = 100;
+
+    List<DataSetLookup> lookups = Arrays.asList(
+            DataSetLookupFactory.newDataSetLookupBuilder()
+                    .dataset(EXPENSE_REPORTS)
+                    .group(COLUMN_DEPARTMENT)
+                    .column(COLUMN_DEPARTMENT)
+                    .column(COLUMN_AMOUNT, AggregateFunctionType.SUM)
+                    .column(COLUMN_AMOUNT, AggregateFunctionType.MAX)
+                    .buildLookup(),
+            DataSetLookupFactory.newDataSetLookupBuilder()
+                    .dataset(EXPENSE_REPORTS)
+                    .filter(COLUMN_CITY, equalsTo("Barcelona"))
+                    .group(COLUMN_EMPLOYEE)
+                    .column(COLUMN_EMPLOYEE)
+                    .column(COLUMN_AMOUNT, AggregateFunctionType.AVERAGE)
+                    .buildLookup(),
+            DataSetLookupFactory.newDataSetLookupBuilder()
+                    .dataset(EXPENSE_REPORTS)
+                    .filter(COLUMN_CITY, equalsTo("Barcelona"))
+                    .sort(COLUMN_AMOUNT, "desc")
+                    .buildLookup());
+
+    DataSetCore dataSetCore = DataSetCore.get();
+    SharedDataSetOpEngine dataSetOpEngine;
+    TransientDataSetIndexRegistry indexRegistry;
+    ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        indexRegistry = new TransientDataSetIndexRegistry(dataSetCore.getUuidGenerator());
+        dataSetOpEngine = new SharedDataSetOpEngine(dataSetCore.getAggregateFunctionManager(),
+                dataSetCore.getIntervalBuilderLocator(),
+                indexRegistry,
+                dataSetCore.getSortAlgorithm(),
+                dataSetCore.getFilterAlgorithm(),
+                dataSetCore.getChronometer());
+
+        DataSet dataSet = ExpenseReportsData.INSTANCE.toDataSet();
+        dataSet.setUUID(EXPENSE_REPORTS);
+        indexRegistry.put(dataSet);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentLookups() throws Exception {
+        // Expected results calculated with no index at all
+        DataSet dataSet = ExpenseReportsData.INSTANCE.toDataSet();
+        List<DataSet> expected = new ArrayList<DataSet>();
+        for (DataSetLookup lookup : lookups) {
+            expected.add(dataSetOpEngine.execute(dataSet, lookup.getOperationList()));
+        }
+
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<DataSet>>> futures = new ArrayList<Future<List<DataSet>>>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(new Callable<List<DataSet>>() {
+                public List<DataSet> call() throws Exception {
+                    start.await();
+                    List<DataSet> results = new ArrayList<DataSet>();
+                    for (int i = 0; i < LOOKUPS; i++) {
+                        DataSetLookup lookup = lookups.get(i % lookups.size());
+                        results.add(dataSetOpEngine.execute(EXPENSE_REPORTS, lookup.getOperationList()));
+                    }
+                    return results;
+                }
+            }));
+        }
+        start.countDown();
+
+        for (Future<List<DataSet>> future : futures) {
+            List<DataSet> results = future.get(60, TimeUnit.SECONDS);
+            for (int i = 0; i < results.size(); i++) {
+                assertSameValues(results.get(i), expected.get(i % lookups.size()));
+            }
+        }
+
+        // Every index must have been built just once
+        DataSetIndexStats stats = indexRegistry.get(EXPENSE_REPORTS).getStats();
+        assertThat(stats.getNumberOfFilterOps()).isEqualTo(1);
+        assertThat(stats.getNumberOfGroupOps()).isEqualTo(2);
+        assertThat(stats.getNumberOfSortOps()).isEqualTo(2);
+    }
+
+    protected void assertSameValues(DataSet actual, DataSet expected) {
+        assertThat(actual.getRowCount()).isEqualTo(expected.getRowCount());
+        assertThat(actual.getColumns().size()).isEqualTo(expected.getColumns().size());
+        for (int i = 0; i < expected.getRowCount(); i++) {
+            for (int j = 0; j < expected.getColumns().size(); j++) {
+                assertThat(actual.getValueAt(i, j)).isEqualTo(expected.getValueAt(i, j));
+            }
+        }
+    }
+}
@@ -595,6 +595,35 @@ public class DataSetFilterTest {
                         .buildLookup()).getRowCount()).isEqualTo(51);
     }
 
+    @Test
+    public void testFilterLabelsByNonStringParameters() throws Exception {
+        DataSet dataSet = DataSetFactory.newDataSetBuilder()
+                .label("code")
+                .number("amount")
+                .row("1", 1d)
+                .row("2", 2d)
+                .row("true", 3d)
+                .row(null, 4d)
+                .buildDataSet();
+        dataSet.setUUID("label_codes");
+        dataSetManager.registerDataSet(dataSet);
+
+        assertThat(lookupRowCount("label_codes", equalsTo("code", 1))).isEqualTo(1);
+        assertThat(lookupRowCount("label_codes", equalsTo("code", 1.0))).isEqualTo(0);
+        assertThat(lookupRowCount("label_codes", equalsTo("code", true))).isEqualTo(1);
+        assertThat(lookupRowCount("label_codes", in("code", Arrays.asList(2L, Boolean.TRUE)))).isEqualTo(2);
+        assertThat(lookupRowCount("label_codes", notEqualsTo("code", 2))).isEqualTo(3);
+        assertThat(lookupRowCount("label_codes", notIn("code", Arrays.asList(1, false)))).isEqualTo(3);
+    }
+
+    private int lookupRowCount(String uuid, ColumnFilter filter) {
+        return dataSetManager.lookupDataSet(
+                DataSetLookupFactory.newDataSetLookupBuilder()
+                        .dataset(uuid)
+                        .filter(filter)
+                        .buildLookup()).getRowCount();
+    }
+
     private void printDataSet(DataSet dataSet) {
         System.out.print(dataSetFormatter.formatDataSet(dataSet, "{", "}", ",\n", "\"", "\"", ", ") + "\n\n");
     }
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataset;
+
+import org.dashbuilder.DataSetCore;
+import org.dashbuilder.dataset.engine.SharedDataSetOpEngine;
+import org.dashbuilder.dataset.engine.index.DataSetIndex;
+import org.dashbuilder.dataset.engine.index.TransientDataSetIndexRegistry;
+import org.dashbuilder.dataset.engine.index.stats.DataSetIndexStats;
+import org.dashbuilder.dataset.group.AggregateFunctionType;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_AMOUNT;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_CITY;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_DEPARTMENT;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_EMPLOYEE;
+import static org.dashbuilder.dataset.filter.FilterFactory.equalsTo;
+
+public class DataSetIndexEvictionTest {
+
+    public static final String EXPENSE_REPORTS = "expense_reports_eviction";
+
+    DataSetLookup groupByDept = DataSetLookupFactory.newDataSetLookupBuilder()
+            .dataset(EXPENSE_REPORTS)
+            .group(COLUMN_DEPARTMENT)
+            .column(COLUMN_DEPARTMENT)
+            .column(COLUMN_AMOUNT, AggregateFunctionType.SUM)
+            .buildLookup();
+
+    DataSetLookup groupByEmployee = DataSetLookupFactory.newDataSetLookupBuilder()
+            .dataset(EXPENSE_REPORTS)
+            .group(COLUMN_EMPLOYEE)
+            .column(COLUMN_EMPLOYEE)
+            .column(COLUMN_AMOUNT, AggregateFunctionType.SUM)
+            .buildLookup();
+
+    DataSetLookup filterByCity = DataSetLookupFactory.newDataSetLookupBuilder()
+            .dataset(EXPENSE_REPORTS)
+            .filter(COLUMN_CITY, equalsTo("Barcelona"))
+            .buildLookup();
+
+    DataSetLookup sortByAmount = DataSetLookupFactory.newDataSetLookupBuilder()
+            .dataset(EXPENSE_REPORTS)
+            .sort(COLUMN_AMOUNT, "asc")
+            .buildLookup();
+
+    DataSetCore dataSetCore = DataSetCore.get();
+    TransientDataSetIndexRegistry indexRegistry;
+    SharedDataSetOpEngine dataSetOpEngine;
+
+    @Before
+    public void setUp() throws Exception {
+        indexRegistry = new TransientDataSetIndexRegistry(dataSetCore.getUuidGenerator());
+        dataSetOpEngine = new SharedDataSetOpEngine(dataSetCore.getAggregateFunctionManager(),
+                dataSetCore.getIntervalBuilderLocator(),
+                indexRegistry,
+                dataSetCore.getSortAlgorithm(),
+                dataSetCore.getFilterAlgorithm(),
+                dataSetCore.getChronometer());
+
+        DataSet dataSet = ExpenseReportsData.INSTANCE.toDataSet();
+        dataSet.setUUID(EXPENSE_REPORTS);
+        indexRegistry.put(dataSet);
+    }
+
+    protected DataSet lookup(DataSetLookup lookup) {
+        return dataSetOpEngine.execute(EXPENSE_REPORTS, lookup.getOperationList());
+    }
+
+    @Test
+    public void testUnbounded() throws Exception {
+        lookup(groupByDept);
+        lookup(groupByEmployee);
+        lookup(filterByCity);
+        lookup(sortByAmount);
+        indexRegistry.checkMaxIndexSize();
+
+        DataSetIndexStats stats = indexRegistry.get(EXPENSE_REPORTS).getStats();
+        assertThat(stats.getNumberOfGroupOps()).isEqualTo(2);
+        assertThat(stats.getNumberOfFilterOps()).isEqualTo(1);
+        assertThat(stats.getNumberOfSortOps()).isEqualTo(2);
+        assertThat(indexRegistry.getEvictionCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testMaxIndexSize() throws Exception {
+        lookup(groupByDept);
+        lookup(groupByEmployee);
+        lookup(filterByCity);
+        lookup(sortByAmount);
+        long fullSize = indexRegistry.get(EXPENSE_REPORTS).getStats().getIndexSize();
+
+        indexRegistry.setMaxIndexSize(fullSize / 2);
+        indexRegistry.checkMaxIndexSize();
+
+        assertThat(indexRegistry.getEvictionCount()).isGreaterThan(0);
+        assertThat(indexRegistry.getEvictedSize()).isGreaterThan(0);
+        assertThat(indexRegistry.getIndexSize()).isLessThanOrEqualTo(fullSize / 2);
+        assertThat(indexRegistry.get(EXPENSE_REPORTS).getStats().getIndexSize()).isLessThanOrEqualTo(fullSize / 2);
+    }
+
+    @Test
+    public void testReusedIndexesAreKept() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            lookup(filterByCity);
+        }
+        lookup(groupByDept);
+        lookup(groupByEmployee);
+        lookup(sortByAmount);
+        lookup(filterByCity);
+        long fullSize = indexRegistry.get(EXPENSE_REPORTS).getStats().getIndexSize();
+
+        indexRegistry.setMaxIndexSize(fullSize / 2);
+        indexRegistry.checkMaxIndexSize();
+
+        DataSetIndexStats stats = indexRegistry.get(EXPENSE_REPORTS).getStats();
+        assertThat(indexRegistry.getEvictionCount()).isGreaterThan(0);
+        assertThat(stats.getNumberOfFilterOps()).isEqualTo(1);
+    }
+
+    @Test
+    public void testIndexSizeIsAccounted() throws Exception {
+        assertThat(indexRegistry.getIndexSize()).isEqualTo(0);
+
+        lookup(groupByDept);
+        lookup(filterByCity);
+        lookup(sortByAmount);
+        DataSetIndex index = indexRegistry.get(EXPENSE_REPORTS);
+        long evictableSize = index.getStats().getIndexSize() - index.getEstimatedSize();
+        assertThat(indexRegistry.getIndexSize()).isEqualTo(evictableSize);
+
+        index.removeSortIndexes();
+        assertThat(indexRegistry.getIndexSize()).isEqualTo(index.getStats().getIndexSize() - index.getEstimatedSize());
+
+        indexRegistry.remove(EXPENSE_REPORTS);
+        assertThat(indexRegistry.getIndexSize()).isEqualTo(0);
+    }
+
+    @Test
+    public void testEvictionLeavesRoom() throws Exception {
+        lookup(groupByDept);
+        lookup(groupByEmployee);
+        lookup(filterByCity);
+        lookup(sortByAmount);
+        indexRegistry.setMaxIndexSize(indexRegistry.getIndexSize() - 1);
+        long evictionCount = indexRegistry.getEvictionCount();
+        assertThat(evictionCount).isGreaterThan(0);
+        assertThat(indexRegistry.getIndexSize()).isLessThanOrEqualTo(
+                (long) (indexRegistry.getMaxIndexSize() * TransientDataSetIndexRegistry.EVICTION_TARGET));
+
+        // The indexes kept are just reused
+        for (int i = 0; i < 10; i++) {
+            lookup(filterByCity);
+            lookup(groupByDept);
+        }
+        assertThat(indexRegistry.getEvictionCount()).isEqualTo(evictionCount);
+    }
+
+    @Test
+    public void testAccessClockIsPerRegistry() throws Exception {
+        lookup(groupByDept);
+        lookup(filterByCity);
+
+        TransientDataSetIndexRegistry otherRegistry = new TransientDataSetIndexRegistry(dataSetCore.getUuidGenerator());
+        DataSet dataSet = ExpenseReportsData.INSTANCE.toDataSet();
+        dataSet.setUUID(EXPENSE_REPORTS);
+        otherRegistry.put(dataSet);
+        assertThat(otherRegistry.get(EXPENSE_REPORTS).getLastAccess()).isEqualTo(2);
+    }
+
+    @Test
+    public void testDataSetIsNeverEvicted() throws Exception {
+        DataSet expected = lookup(groupByDept);
+        lookup(filterByCity);
+        lookup(sortByAmount);
+
+        indexRegistry.setMaxIndexSize(1);
+        DataSetIndex index = indexRegistry.get(EXPENSE_REPORTS);
+        assertThat(index).isNotNull();
+        assertThat(index.getDataSet().getRowCount()).isEqualTo(50);
+        assertThat(index.getStats().getNumberOfGroupOps()).isEqualTo(0);
+        assertThat(index.getStats().getNumberOfFilterOps()).isEqualTo(0);
+        assertThat(index.getStats().getNumberOfSortOps()).isEqualTo(0);
+
+        // Evicted indexes are rebuilt on demand
+        DataSet result = lookup(groupByDept);
+        assertThat(result.getRowCount()).isEqualTo(expected.getRowCount());
+        for (int i = 0; i < result.getRowCount(); i++) {
+            assertThat(result.getValueAt(i, 0)).isEqualTo(expected.getValueAt(i, 0));
+            assertThat(result.getValueAt(i, 1)).isEqualTo(expected.getValueAt(i, 1));
+        }
+    }
+}
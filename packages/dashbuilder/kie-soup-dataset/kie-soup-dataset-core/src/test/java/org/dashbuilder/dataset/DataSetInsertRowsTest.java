@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+package org.dashbuilder.dataset;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.dashbuilder.DataSetCore;
+import org.dashbuilder.dataset.engine.SharedDataSetOpEngine;
+import org.dashbuilder.dataset.engine.index.DataSetGroupIndex;
+import org.dashbuilder.dataset.engine.index.DataSetIndex;
+import org.dashbuilder.dataset.impl.DataSetImpl;
+import org.dashbuilder.dataset.sort.SortOrder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_AMOUNT;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_CITY;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_DATE;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_DEPARTMENT;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_EMPLOYEE;
+import static org.dashbuilder.dataset.filter.FilterFactory.equalsTo;
+import static org.dashbuilder.dataset.filter.FilterFactory.greaterThan;
+import static org.dashbuilder.dataset.group.AggregateFunctionType.AVERAGE;
+import static org.dashbuilder.dataset.group.AggregateFunctionType.COUNT;
+import static org.dashbuilder.dataset.group.AggregateFunctionType.MAX;
+import static org.dashbuilder.dataset.group.AggregateFunctionType.MIN;
+import static org.dashbuilder.dataset.group.AggregateFunctionType.SUM;
+import static org.dashbuilder.dataset.group.DateIntervalType.MONTH;
+import static org.dashbuilder.dataset.group.DateIntervalType.YEAR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class DataSetInsertRowsTest {
+
+    public static final String ACCUMULATED = "accumulated";
+    public static final String EXPECTED = "expected";
+
+    SharedDataSetOpEngine dataSetOpEngine = DataSetCore.get().getSharedDataSetOpEngine();
+    DataSet expenses;
+
+    List<DataSetLookup> lookups = Arrays.asList(
+            DataSetLookupFactory.newDataSetLookupBuilder()
+                    .group(COLUMN_DEPARTMENT)
+                    .column(COLUMN_DEPARTMENT)
+                    .column(COUNT, "occurrences")
+                    .column(COLUMN_AMOUNT, SUM)
+                    .column(COLUMN_AMOUNT, MIN)
+                    .column(COLUMN_AMOUNT, MAX)
+                    .column(COLUMN_AMOUNT, AVERAGE)
+                    .buildLookup(),
+            DataSetLookupFactory.newDataSetLookupBuilder()
+                    .filter(COLUMN_CITY, equalsTo("Barcelona"))
+                    .group(COLUMN_EMPLOYEE)
+                    .column(COLUMN_EMPLOYEE)
+                    .column(COLUMN_AMOUNT, SUM)
+                    .column(COLUMN_AMOUNT, MAX)
+                    .buildLookup(),
+            DataSetLookupFactory.newDataSetLookupBuilder()
+                    .group(COLUMN_DATE).fixed(MONTH, true)
+                    .column(COLUMN_DATE)
+                    .column(COLUMN_AMOUNT, SUM)
+                    .column(COUNT, "occurrences")
+                    .buildLookup(),
+            DataSetLookupFactory.newDataSetLookupBuilder()
+                    .group(COLUMN_DATE).dynamic(YEAR, true)
+                    .column(COLUMN_DATE)
+                    .column(COLUMN_AMOUNT, MIN)
+                    .buildLookup(),
+            DataSetLookupFactory.newDataSetLookupBuilder()
+                    .filter(COLUMN_AMOUNT, greaterThan(500))
+                    .sort(COLUMN_AMOUNT, SortOrder.DESCENDING)
+                    .buildLookup(),
+            DataSetLookupFactory.newDataSetLookupBuilder()
+                    .column(COUNT, "occurrences")
+                    .column(COLUMN_AMOUNT, SUM)
+                    .column(COLUMN_AMOUNT, MIN)
+                    .column(COLUMN_AMOUNT, MAX)
+                    .buildLookup());
+
+    @Before
+    public void setUp() throws Exception {
+        expenses = ExpenseReportsData.INSTANCE.toDataSet();
+        removeDataSets();
+    }
+
+    @After
+    public void tearDown() {
+        removeDataSets();
+    }
+
+    private void removeDataSets() {
+        dataSetOpEngine.getIndexRegistry().remove(ACCUMULATED);
+        dataSetOpEngine.getIndexRegistry().remove(EXPECTED);
+    }
+
+    @Test
+    public void testInsertRows() {
+        checkInsertRows(false);
+    }
+
+    @Test
+    public void testInsertRowsTypedColumns() {
+        checkInsertRows(true);
+    }
+
+    @Test
+    public void testIndexesKept() {
+        register(ACCUMULATED, rows(20, 30, false));
+        lookup(ACCUMULATED, lookups.get(0));
+        DataSetIndex index = dataSetOpEngine.getIndexRegistry().get(ACCUMULATED);
+        DataSetGroupIndex groupIndex = index.getGroupIndexes().get(0);
+
+        dataSetOpEngine.insertRows(ACCUMULATED, rows(15, 5, false), 30);
+        assertThat(index.getGroupIndexes()).containsExactly(groupIndex);
+        assertThat(index.getDataSet().getRowCount()).isEqualTo(30);
+        assertThat(index.getDataSet().getValueAt(0, 0)).isEqualTo(expenses.getValueAt(15, 0));
+        assertThat(index.getDataSet().getValueAt(29, 0)).isEqualTo(expenses.getValueAt(44, 0));
+    }
+
+    @Test
+    public void testInsertOverMaxRows() {
+        register(ACCUMULATED, rows(20, 30, false));
+        lookup(ACCUMULATED, lookups.get(0));
+
+        DataSet dataSet = dataSetOpEngine.insertRows(ACCUMULATED, rows(0, 20, false), 10);
+        assertThat(dataSet.getRowCount()).isEqualTo(20);
+        register(EXPECTED, rows(0, 20, false));
+        assertSameResults();
+    }
+
+    @Test
+    public void testNoLimit() {
+        register(ACCUMULATED, rows(20, 30, false));
+        lookups.forEach(lookup -> lookup(ACCUMULATED, lookup));
+
+        dataSetOpEngine.insertRows(ACCUMULATED, rows(0, 20, false), 0);
+        register(EXPECTED, rows(0, 50, false));
+        assertSameResults();
+    }
+
+    @Test
+    public void testNotRegistered() {
+        assertThat(dataSetOpEngine.insertRows(ACCUMULATED, rows(0, 1, false), 10)).isNull();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncompatibleRows() {
+        register(ACCUMULATED, rows(20, 30, false));
+        DataSet newRows = rows(0, 1, false);
+        newRows.removeColumn(COLUMN_AMOUNT);
+        dataSetOpEngine.insertRows(ACCUMULATED, newRows, 10);
+    }
+
+    @Test
+    public void testInsertDuringLookup() {
+        register(ACCUMULATED, rows(20, 30, false));
+        DataSetIndex index = dataSetOpEngine.getIndexRegistry().get(ACCUMULATED);
+        index.startLookup();
+        try {
+            dataSetOpEngine.insertRows(ACCUMULATED, rows(0, 5, false), 30);
+            fail("Rows inserted during a lookup");
+        } catch (IllegalStateException e) {
+            assertThat(index.getDataSet().getRowCount()).isEqualTo(30);
+        } finally {
+            index.finishLookup();
+        }
+        dataSetOpEngine.insertRows(ACCUMULATED, rows(15, 5, false), 30);
+        assertThat(index.getDataSet().getRowCount()).isEqualTo(30);
+    }
+
+    @Test
+    public void testLookupDuringInsert() {
+        register(ACCUMULATED, rows(20, 30, false));
+        DataSetIndex index = dataSetOpEngine.getIndexRegistry().get(ACCUMULATED);
+        index.startUpdate();
+        try {
+            lookup(ACCUMULATED, lookups.get(0));
+            fail("Lookup run during an insertion");
+        } catch (IllegalStateException e) {
+            // expected
+        } finally {
+            index.finishUpdate();
+        }
+        assertThat(lookup(ACCUMULATED, lookups.get(0)).getRowCount()).isGreaterThan(0);
+    }
+
+    private void checkInsertRows(boolean typed) {
+        register(ACCUMULATED, rows(30, 20, typed));
+        lookups.forEach(lookup -> lookup(ACCUMULATED, lookup));
+
+        // Every insertion drops the bottom rows over 25
+        for (int offset = 25; offset >= 0; offset -= 5) {
+            dataSetOpEngine.insertRows(ACCUMULATED, rows(offset, 5, typed), 25);
+            register(EXPECTED, rows(offset, 25, typed));
+            assertSameResults();
+        }
+    }
+
+    private void assertSameResults() {
+        for (DataSetLookup lookup : lookups) {
+            DataSet result = lookup(ACCUMULATED, lookup);
+            DataSet expected = lookup(EXPECTED, lookup);
+            assertThat(result.getRowCount()).isEqualTo(expected.getRowCount());
+            for (int row = 0; row < expected.getRowCount(); row++) {
+                for (int column = 0; column < expected.getColumns().size(); column++) {
+                    assertEquals("Row " + row + ", column " + column + " of " + lookup,
+                            expected.getValueAt(row, column), result.getValueAt(row, column));
+                }
+            }
+        }
+    }
+
+    private DataSet rows(int offset, int count, boolean typed) {
+        DataSetImpl dataSet = (DataSetImpl) expenses.trim(offset, count);
+        dataSet.setRowCountNonTrimmed(-1);
+        return typed ? dataSet.compactColumns() : dataSet;
+    }
+
+    private void register(String uuid, DataSet dataSet) {
+        dataSet.setUUID(uuid);
+        dataSetOpEngine.getIndexRegistry().put(dataSet);
+    }
+
+    private DataSet lookup(String uuid, DataSetLookup lookup) {
+        return dataSetOpEngine.execute(uuid, lookup.getOperationList());
+    }
+}
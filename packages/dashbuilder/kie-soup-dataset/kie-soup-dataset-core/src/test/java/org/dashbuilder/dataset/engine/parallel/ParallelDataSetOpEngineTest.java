@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataset.engine.parallel;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.dashbuilder.DataSetCore;
+import org.dashbuilder.DataSetCoreImpl;
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.DataSetLookupFactory;
+import org.dashbuilder.dataset.IntervalBuilderLocatorImpl;
+import org.dashbuilder.dataset.engine.SharedDataSetOpEngine;
+import org.dashbuilder.dataset.engine.filter.DefaultFilterAlgorithm;
+import org.dashbuilder.dataset.engine.function.AggregateFunctionManagerImpl;
+import org.dashbuilder.dataset.engine.group.IntervalBuilderLocator;
+import org.dashbuilder.dataset.engine.index.TransientDataSetIndexRegistry;
+import org.dashbuilder.dataset.group.AggregateFunctionType;
+import org.dashbuilder.dataset.group.DateIntervalType;
+import org.dashbuilder.dataset.impl.DataSetImpl;
+import org.dashbuilder.dataset.impl.DataSetLookupBuilderImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.dashbuilder.dataset.filter.FilterFactory.OR;
+import static org.dashbuilder.dataset.filter.FilterFactory.equalsTo;
+import static org.dashbuilder.dataset.filter.FilterFactory.greaterThan;
+
+public class ParallelDataSetOpEngineTest {
+
+    static final String DATA_SET = "parallel_test";
+    static final int ROWS = 20000;
+
+    DataSetCore dataSetCore = DataSetCore.get();
+    ForkJoinPool pool;
+    SharedDataSetOpEngine sequentialEngine;
+    SharedDataSetOpEngine parallelEngine;
+    DataSetImpl dataSet;
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+        ParallelRangeExecutor executor = new ParallelRangeExecutor(pool, 1000);
+        sequentialEngine = new SharedDataSetOpEngine(new AggregateFunctionManagerImpl(),
+                dataSetCore.getIntervalBuilderLocator(),
+                new TransientDataSetIndexRegistry(dataSetCore.getUuidGenerator()),
+                dataSetCore.getSortAlgorithm(),
+                new DefaultFilterAlgorithm(),
+                dataSetCore.getChronometer());
+        IntervalBuilderLocator intervalBuilderLocator = new IntervalBuilderLocatorImpl(
+                new ParallelIntervalBuilderDynamicLabel(executor),
+                ((DataSetCoreImpl) dataSetCore).getIntervalBuilderDynamicDate(),
+                new ParallelIntervalBuilderFixedDate(executor));
+        parallelEngine = new ParallelDataSetOpEngine(new ParallelAggregateFunctionManager(executor),
+                intervalBuilderLocator,
+                new TransientDataSetIndexRegistry(dataSetCore.getUuidGenerator()),
+                dataSetCore.getSortAlgorithm(),
+                new ParallelFilterAlgorithm(executor),
+                dataSetCore.getChronometer(),
+                executor);
+
+        Random random = new Random(7);
+        dataSet = new DataSetImpl();
+        dataSet.addColumn("department", ColumnType.LABEL);
+        dataSet.addColumn("amount", ColumnType.NUMBER);
+        dataSet.addColumn("date", ColumnType.DATE);
+        dataSet.addColumn("code", ColumnType.LABEL);
+        for (int i = 0; i < ROWS; i++) {
+            dataSet.addValues("dept" + random.nextInt(10),
+                    i % 97 == 0 ? null : Math.round(random.nextDouble() * 100000) / 100d,
+                    new Date(random.nextInt(1000000) * 1000L),
+                    i % 89 == 0 ? null : "code" + random.nextInt(3000));
+        }
+        dataSet.setUUID(DATA_SET);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testFilter() {
+        registerDataSet();
+        assertSameResult(DataSetLookupFactory.newDataSetLookupBuilder()
+                .dataset(DATA_SET)
+                .filter("amount", greaterThan(500d))
+                .filter("department", OR(equalsTo("dept1"), equalsTo("dept2")))
+                .buildLookup());
+    }
+
+    @Test
+    public void testAggregate() {
+        registerDataSet();
+        assertSameResult(aggregateLookup(false));
+    }
+
+    @Test
+    public void testGroupAggregate() {
+        registerDataSet();
+        assertSameResult(aggregateLookup(true));
+    }
+
+    @Test
+    public void testGroupByManyLabels() {
+        registerDataSet();
+        assertSameResult(DataSetLookupFactory.newDataSetLookupBuilder()
+                .dataset(DATA_SET)
+                .group("code").column("code")
+                .column("amount", AggregateFunctionType.SUM, "sum")
+                .column("amount", AggregateFunctionType.COUNT, "count")
+                .buildLookup());
+    }
+
+    @Test
+    public void testGroupByFixedDate() {
+        registerDataSet();
+        assertSameResult(DataSetLookupFactory.newDataSetLookupBuilder()
+                .dataset(DATA_SET)
+                .group("date").fixed(DateIntervalType.HOUR, true).column("date")
+                .column("amount", AggregateFunctionType.SUM, "sum")
+                .column("amount", AggregateFunctionType.MAX, "max")
+                .buildLookup());
+    }
+
+    @Test
+    public void testFilteredGroupAggregate() {
+        registerDataSet();
+        assertSameResult(DataSetLookupFactory.newDataSetLookupBuilder()
+                .dataset(DATA_SET)
+                .filter("amount", greaterThan(200d))
+                .group("department").column("department")
+                .column("amount", AggregateFunctionType.AVERAGE, "avg")
+                .column("code", AggregateFunctionType.DISTINCT, "distinct")
+                .buildLookup());
+    }
+
+    @Test
+    public void testTypedColumns() {
+        dataSet.compactColumns();
+        registerDataSet();
+        assertSameResult(aggregateLookup(false));
+        assertSameResult(aggregateLookup(true));
+    }
+
+    protected DataSetLookup aggregateLookup(boolean group) {
+        DataSetLookupBuilderImpl builder = DataSetLookupFactory.newDataSetLookupBuilder()
+                .dataset(DATA_SET);
+        if (group) {
+            builder.group("department").column("department");
+        } else {
+            builder.column("date", AggregateFunctionType.MIN, "minDate")
+                    .column("date", AggregateFunctionType.MAX, "maxDate");
+        }
+        return builder
+                .column("amount", AggregateFunctionType.SUM, "sum")
+                .column("amount", AggregateFunctionType.AVERAGE, "avg")
+                .column("amount", AggregateFunctionType.MIN, "min")
+                .column("amount", AggregateFunctionType.MAX, "max")
+                .column("department", AggregateFunctionType.DISTINCT, "distinct")
+                .column("amount", AggregateFunctionType.COUNT, "count")
+                .buildLookup();
+    }
+
+    protected void registerDataSet() {
+        sequentialEngine.getIndexRegistry().put(dataSet);
+        parallelEngine.getIndexRegistry().put(dataSet);
+    }
+
+    protected void assertSameResult(DataSetLookup lookup) {
+        DataSet expected = sequentialEngine.execute(DATA_SET, lookup.getOperationList());
+        DataSet actual = parallelEngine.execute(DATA_SET, lookup.getOperationList());
+        assertThat(actual.getRowCount()).isEqualTo(expected.getRowCount());
+        assertThat(actual.getColumns().size()).isEqualTo(expected.getColumns().size());
+        for (int i = 0; i < expected.getRowCount(); i++) {
+            for (int j = 0; j < expected.getColumns().size(); j++) {
+                Object expectedValue = expected.getValueAt(i, j);
+                Object actualValue = actual.getValueAt(i, j);
+                // Partial sums may differ in the last decimal due to the rounding
+                if (expectedValue instanceof Double) {
+                    assertThat(Math.abs((Double) actualValue - (Double) expectedValue)).isLessThan(0.011d);
+                } else {
+                    assertThat(actualValue).isEqualTo(expectedValue);
+                }
+            }
+        }
+    }
+}
@@ -20,14 +20,33 @@
 package org.dashbuilder.dataprovider.external;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.codec.binary.Base64;
 import org.dashbuilder.dataprovider.external.ExternalDataSetSecurityStore.SecurityInfo;
@@ -37,18 +56,72 @@ import org.dashbuilder.dataset.DataSetMetadata;
 import org.dashbuilder.dataset.def.ExternalDataSetDef;
 import org.dashbuilder.dataset.json.ExternalDataSetJSONParser;
 
+/**
+ * Calls external data set URLs.
+ * <p>HTTP(S) URLs are fetched asynchronously through a shared {@link HttpClient}, with a limit of concurrent
+ * requests per host (see {@link #MAX_REQUESTS_PER_HOST_PROP}) and a timeout (see {@link #TIMEOUT_PROP}). Bodies are
+ * parsed on a bounded pool of workers (see {@link #MAX_THREADS_PROP}). Any other URL (file, jar) is read with a plain
+ * {@link URLConnection}.</p>
+ */
 public class ExternalDataSetCaller {
 
+    /**
+     * System property with the timeout in seconds to connect and to receive a response from external data sets.
+     * The same timeout bounds the read of the response body, so a server stalling in the middle of it can not hold a
+     * worker forever.
+     */
+    public static final String TIMEOUT_PROP = "dashbuilder.dataset.external.timeout";
+
+    /**
+     * System property with the maximum number of requests running at the same time against a single host.
+     */
+    public static final String MAX_REQUESTS_PER_HOST_PROP = "dashbuilder.dataset.external.maxRequestsPerHost";
+
+    /**
+     * System property with the maximum number of threads reading and parsing external data sets.
+     */
+    public static final String MAX_THREADS_PROP = "dashbuilder.dataset.external.maxThreads";
+
+    /**
+     * Query parameter used to send the cursor value on incremental calls.
+     */
+    public static final String SINCE_PARAM = "since";
+
+    private static final int DEFAULT_TIMEOUT = 60;
+
+    private static final int DEFAULT_MAX_REQUESTS_PER_HOST = 4;
+
+    private static final int DEFAULT_MAX_THREADS = 16;
+
     private static final String BEARER = "Bearer";
 
     private static final String BASIC = "Basic";
 
-    private static final String AUTHORIZATION_HEADER = "Authorization ";
+    private static final String AUTHORIZATION_HEADER = "Authorization";
 
     private static final String METADATA_URI = "metadata";
 
+    private static final String ETAG_HEADER = "ETag";
+
+    private static final String LAST_MODIFIED_HEADER = "Last-Modified";
+
+    private static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+
+    private static final String IF_MODIFIED_SINCE_HEADER = "If-Modified-Since";
+
     private ExternalDataSetJSONParser parser;
 
+    private Duration timeout = Duration.ofSeconds(Integer.getInteger(TIMEOUT_PROP, DEFAULT_TIMEOUT));
+
+    private ExternalRequestLimiter limiter = new ExternalRequestLimiter(Integer.getInteger(MAX_REQUESTS_PER_HOST_PROP,
+            DEFAULT_MAX_REQUESTS_PER_HOST));
+
+    private ExecutorService executor;
+
+    private ScheduledThreadPoolExecutor deadlines;
+
+    private HttpClient httpClient;
+
     public ExternalDataSetCaller() {
         // Empty
     }
@@ -66,48 +139,155 @@ public class ExternalDataSetCaller {
         return new ExternalDataSetCaller(parser);
     }
 
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public ExternalRequestLimiter getLimiter() {
+        return limiter;
+    }
+
+    public void setLimiter(ExternalRequestLimiter limiter) {
+        this.limiter = limiter;
+    }
+
     public DataSetMetadata retrieveMetadata(ExternalDataSetDef def) {
         var defUrl = ExternalDataSetHelper.getUrl(def);
         var metaUrl = defUrl.endsWith("/") ? defUrl : defUrl + "/";
-        URL url;
+        URI uri;
         try {
-            url = URI.create(metaUrl).resolve(METADATA_URI).toURL();
-        } catch (IOException e) {
+            uri = URI.create(metaUrl).resolve(METADATA_URI);
+        } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid definition URL " + defUrl, e);
         }
 
-        var json = getUrlContent(def, url);
+        String json;
+        if (isHttp(uri)) {
+            var request = buildRequest(def, uri, null);
+            var response = join(limiter.submit(getHostKey(uri),
+                    () -> getHttpClient().sendAsync(request, BodyHandlers.ofString(StandardCharsets.UTF_8))));
+            checkResponse(def, response.statusCode());
+            json = response.body();
+        } else {
+            json = getUrlContent(def, toURL(uri.toString(), defUrl));
+        }
         return parser.parseMetadata(json);
 
     }
 
     public DataSet retrieveDataSet(ExternalDataSetDef def) {
-        URL url;
+        return retrieveDataSet(def, null, null).getDataSet();
+    }
+
+    /**
+     * Retrieve a data set, optionally as a conditional or an incremental call.
+     * 
+     * @param previous
+     *        Previous response for the same data set. Its validators are sent so the server can answer
+     *        <code>304 Not Modified</code>, in which case the returned response has no data set.
+     * @param since
+     *        If not null it is sent in the {@link #SINCE_PARAM} query parameter so only the newer rows are returned.
+     */
+    public ExternalDataSetResponse retrieveDataSet(ExternalDataSetDef def, ExternalDataSetResponse previous, String since) {
+        return join(retrieveDataSetAsync(def, previous, since));
+    }
+
+    /**
+     * Same as {@link #retrieveDataSet(ExternalDataSetDef, ExternalDataSetResponse, String)} without blocking the
+     * calling thread. The response body is parsed on a separate thread as it arrives.
+     */
+    public CompletableFuture<ExternalDataSetResponse> retrieveDataSetAsync(ExternalDataSetDef def,
+                                                                           ExternalDataSetResponse previous,
+                                                                           String since) {
         var defUrl = ExternalDataSetHelper.getUrl(def);
+        var url = toURL(since == null ? defUrl : addQueryParam(defUrl, SINCE_PARAM, since), defUrl);
+        URI uri;
         try {
-            url = new URL(defUrl);
-        } catch (IOException e) {
+            uri = url.toURI();
+        } catch (URISyntaxException e) {
             throw new IllegalArgumentException("Invalid definition URL " + defUrl, e);
         }
 
-        var json = getUrlContent(def, url);
-        return parser.parseDataSet(json);
+        if (!isHttp(uri)) {
+            return CompletableFuture.supplyAsync(() -> retrieveFromConnection(def, url), getExecutor());
+        }
+        var request = buildRequest(def, uri, previous);
+        return limiter.submit(getHostKey(uri),
+                () -> getHttpClient().sendAsync(request, BodyHandlers.ofInputStream())
+                        .thenApplyAsync(response -> readResponse(def, response, previous), getExecutor()));
     }
 
-    private String getUrlContent(ExternalDataSetDef def, URL url) {
-        URLConnection conn;
+    private ExternalDataSetResponse readResponse(ExternalDataSetDef def,
+                                                 HttpResponse<InputStream> response,
+                                                 ExternalDataSetResponse previous) {
+        // the request timeout only covers the headers, closing the body unblocks a read waiting on a stalled server
+        var body = response.body();
+        var expired = new AtomicBoolean();
+        var deadline = getDeadlines().schedule(() -> {
+            expired.set(true);
+            closeQuietly(body);
+        }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        try (var reader = new InputStreamReader(body, StandardCharsets.UTF_8)) {
+            if (response.statusCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                return ExternalDataSetResponse.notModified(previous);
+            }
+            checkResponse(def, response.statusCode());
+            var dataSet = parser.readDataSet(reader);
+            return new ExternalDataSetResponse(dataSet,
+                    response.headers().firstValue(ETAG_HEADER).orElse(null),
+                    response.headers().firstValue(LAST_MODIFIED_HEADER).orElse(null));
+        } catch (IOException | RuntimeException e) {
+            if (expired.get()) {
+                throw new RuntimeException("Timed out reading external data set " + def.getName(), e);
+            }
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            throw new RuntimeException("Not able to access external data set", e);
+        } finally {
+            deadline.cancel(false);
+        }
+    }
+
+    private static void closeQuietly(InputStream body) {
         try {
-            conn = url.openConnection();
+            body.close();
         } catch (IOException e) {
-            throw new RuntimeException("Not able to open URL " + url.toExternalForm() + " from data set " + def
-                    .getName(), e);
+            // the reading thread fails anyway
         }
+    }
 
-        if (conn instanceof HttpURLConnection) {
-            var httpConn = (HttpURLConnection) conn;
-            ExternalDataSetSecurityStore.get(def).ifPresent(secInfo -> addSecurity(httpConn, secInfo));
+    private ExternalDataSetResponse retrieveFromConnection(ExternalDataSetDef def, URL url) {
+        var conn = openConnection(def, url);
+        try (var reader = new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8)) {
+            checkResponse(def, conn);
+            // validators only make sense for HTTP, other protocols (file, jar) do not support conditional calls
+            return new ExternalDataSetResponse(parser.readDataSet(reader), null, null);
+        } catch (IOException e) {
+            throw new RuntimeException("Not able to access external data set", e);
+        }
+    }
+
+    private HttpRequest buildRequest(ExternalDataSetDef def, URI uri, ExternalDataSetResponse previous) {
+        var builder = HttpRequest.newBuilder(uri).timeout(timeout).GET();
+        ExternalDataSetSecurityStore.get(def)
+                .map(this::getAuthorization)
+                .ifPresent(auth -> builder.header(AUTHORIZATION_HEADER, auth));
+        if (previous != null && previous.getETag() != null) {
+            builder.header(IF_NONE_MATCH_HEADER, previous.getETag());
         }
+        if (previous != null && previous.getLastModified() != null) {
+            builder.header(IF_MODIFIED_SINCE_HEADER, previous.getLastModified());
+        }
+        return builder.build();
+    }
 
+    private String getUrlContent(ExternalDataSetDef def, URL url) {
+        var conn = openConnection(def, url);
         try {
             var response = new String(conn.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
             checkResponse(def, conn);
@@ -117,31 +297,139 @@ public class ExternalDataSetCaller {
         }
     }
 
+    private URLConnection openConnection(ExternalDataSetDef def, URL url) {
+        URLConnection conn;
+        try {
+            conn = url.openConnection();
+        } catch (IOException e) {
+            throw new RuntimeException("Not able to open URL " + url.toExternalForm() + " from data set " + def
+                    .getName(), e);
+        }
+        conn.setConnectTimeout((int) timeout.toMillis());
+        conn.setReadTimeout((int) timeout.toMillis());
+
+        if (conn instanceof HttpURLConnection) {
+            var httpConn = (HttpURLConnection) conn;
+            ExternalDataSetSecurityStore.get(def).ifPresent(secInfo -> addSecurity(httpConn, secInfo));
+        }
+        return conn;
+    }
+
     private void checkResponse(ExternalDataSetDef def, URLConnection conn) {
         if (conn instanceof HttpURLConnection) {
             var httpConn = (HttpURLConnection) conn;
             try {
-                if (httpConn.getResponseCode() != 200) {
-                    throw new RuntimeException("Invalid response when acessing external dataSet " + def.getName() +
-                            ": " +
-                            httpConn.getResponseCode());
-                }
+                checkResponse(def, httpConn.getResponseCode());
             } catch (IOException e) {
                 throw new RuntimeException("Error reading response code: " + e.getMessage(), e);
             }
         }
     }
 
+    private void checkResponse(ExternalDataSetDef def, int responseCode) {
+        if (responseCode != 200) {
+            throw new RuntimeException("Invalid response when acessing external dataSet " + def.getName() +
+                    ": " +
+                    responseCode);
+        }
+    }
+
+    static String addQueryParam(String url, String param, String value) {
+        var separator = url.contains("?") ? "&" : "?";
+        return url + separator + param + "=" + URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
     protected void addSecurity(HttpURLConnection conn, SecurityInfo secInfo) {
+        var auth = getAuthorization(secInfo);
+        if (auth != null) {
+            conn.setRequestProperty(AUTHORIZATION_HEADER, auth);
+        }
+    }
+
+    private String getAuthorization(SecurityInfo secInfo) {
         if (secInfo.getType() == SecurityType.BASIC) {
             var auth = secInfo.getUsername() + ":" + secInfo.getPassword();
             var encodedAuth = Base64.encodeBase64(auth.getBytes(StandardCharsets.UTF_8));
-            conn.setRequestProperty(AUTHORIZATION_HEADER, BASIC + " " + new String(encodedAuth));
+            return BASIC + " " + new String(encodedAuth);
         }
 
         if (secInfo.getType() == SecurityType.TOKEN) {
-            conn.setRequestProperty(AUTHORIZATION_HEADER, BEARER + " " + secInfo.getToken());
+            return BEARER + " " + secInfo.getToken();
         }
+        return null;
+    }
+
+    private static boolean isHttp(URI uri) {
+        return "http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme());
+    }
+
+    private static String getHostKey(URI uri) {
+        return uri.getHost() + ":" + uri.getPort();
+    }
+
+    private static URL toURL(String url, String defUrl) {
+        try {
+            return new URL(url);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid definition URL " + defUrl, e);
+        }
+    }
+
+    /**
+     * Wait for the given call, unwrapping the cause of any failure.
+     */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            var cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("Not able to access external data set", cause);
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            var threads = Integer.getInteger(MAX_THREADS_PROP, DEFAULT_MAX_THREADS);
+            var pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    daemonThreads("external-dataset-Worker"));
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        }
+        return executor;
+    }
+
+    private synchronized ScheduledThreadPoolExecutor getDeadlines() {
+        if (deadlines == null) {
+            deadlines = new ScheduledThreadPoolExecutor(1, daemonThreads("external-dataset-Deadline"));
+            deadlines.setRemoveOnCancelPolicy(true);
+        }
+        return deadlines;
+    }
+
+    /**
+     * The client keeps its own executor: it feeds the response bodies, so it must not queue behind the workers
+     * blocked reading them.
+     */
+    private synchronized HttpClient getHttpClient() {
+        if (httpClient == null) {
+            httpClient = HttpClient.newBuilder()
+                    .connectTimeout(timeout)
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .build();
+        }
+        return httpClient;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        var threadNumber = new AtomicInteger(1);
+        return r -> {
+            var t = new Thread(r, prefix + threadNumber.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        };
     }
 
 }
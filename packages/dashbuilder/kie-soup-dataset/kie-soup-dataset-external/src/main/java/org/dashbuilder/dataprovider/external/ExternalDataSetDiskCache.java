@@ -0,0 +1,376 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataprovider.external;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
+import org.dashbuilder.dataset.date.TimeAmount;
+import org.dashbuilder.dataset.def.ExternalDataSetDef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a copy of the external data sets retrieved in a local directory, so they can be reloaded after a restart
+ * or by a new node without calling the external service.
+ * <p>Every data set is written to its own file in a binary columnar layout: numbers as doubles, dates as epoch
+ * millis and labels/texts as a dictionary plus an <code>int</code> code per row. Files are read into a heap buffer on
+ * reload rather than memory mapped, as a mapping keeps the file locked on some platforms until it gets garbage
+ * collected, so the file could not be replaced or removed.
+ * A file is only reused for the same data set URL and refresh time and until either its refresh time or the max.
+ * age of the cache elapses.</p>
+ */
+public class ExternalDataSetDiskCache {
+
+    /**
+     * System property with the directory used to store the data sets. The cache is disabled if not set.
+     */
+    public static final String CACHE_DIR_PROP = "dashbuilder.dataset.external.cacheDir";
+
+    /**
+     * System property with the max. time a stored data set is reused without being confirmed by the external service,
+     * e.g. "12hour". It also applies to the data sets with no refresh time, which would be reused forever otherwise.
+     */
+    public static final String CACHE_MAX_AGE_PROP = "dashbuilder.dataset.external.cacheMaxAge";
+
+    public static final String DEFAULT_MAX_AGE = "1day";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExternalDataSetDiskCache.class);
+
+    private static final int MAGIC = 0x44424453;
+
+    private static final int VERSION = 1;
+
+    private static final String FILE_EXTENSION = ".dataset";
+
+    /**
+     * Position of the write timestamp, right after the magic number and the version.
+     */
+    private static final int WRITTEN_AT_POSITION = 8;
+
+    private static final int NO_CODE = -1;
+
+    private final Path directory;
+
+    private final long maxAgeMillis;
+
+    public ExternalDataSetDiskCache(Path directory) {
+        this(directory, TimeAmount.parse(DEFAULT_MAX_AGE).toMillis());
+    }
+
+    /**
+     * @param maxAgeMillis The max. age of the stored data sets, or zero (or less) for no limit.
+     */
+    public ExternalDataSetDiskCache(Path directory, long maxAgeMillis) {
+        this.directory = directory;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    public static Optional<ExternalDataSetDiskCache> fromSystemProperties() {
+        var maxAge = TimeAmount.parse(System.getProperty(CACHE_MAX_AGE_PROP, DEFAULT_MAX_AGE)).toMillis();
+        return Optional.ofNullable(System.getProperty(CACHE_DIR_PROP))
+                .filter(dir -> !dir.isBlank())
+                .map(dir -> new ExternalDataSetDiskCache(Paths.get(dir), maxAge));
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getMaxAgeMillis() {
+        return maxAgeMillis;
+    }
+
+    /**
+     * Load the stored copy of the given data set.
+     * 
+     * @return The stored data set along with its validators or null if not found, expired (see
+     *         {@link #CACHE_MAX_AGE_PROP}) or not valid for the current definition.
+     */
+    public ExternalDataSetResponse load(ExternalDataSetDef def) {
+        var file = getFile(def.getUUID());
+        if (!Files.exists(file)) {
+            return null;
+        }
+        var defUrl = ExternalDataSetHelper.getUrl(def);
+        try {
+            var buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Unknown file format");
+            }
+            var writtenAt = buffer.getLong();
+            var refreshMillis = buffer.getLong();
+            var url = readString(buffer);
+            if (refreshMillis != getRefreshMillis(def) || !defUrl.equals(url)) {
+                return null;
+            }
+            var age = System.currentTimeMillis() - writtenAt;
+            if ((refreshMillis > 0 && age >= refreshMillis) || (maxAgeMillis > 0 && age >= maxAgeMillis)) {
+                return null;
+            }
+            var eTag = readString(buffer);
+            var lastModified = readString(buffer);
+            return new ExternalDataSetResponse(readDataSet(buffer), eTag, lastModified);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Discarding invalid cache file {}", file, e);
+            remove(def.getUUID());
+            return null;
+        }
+    }
+
+    /**
+     * Store a copy of the given data set, replacing any previous one.
+     * 
+     * @return false if the data set could not be written.
+     */
+    public boolean store(ExternalDataSetDef def, ExternalDataSetResponse response) {
+        var dataSet = response.getDataSet();
+        var file = getFile(def.getUUID());
+        Path tmp = null;
+        try {
+            Files.createDirectories(directory);
+            tmp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(System.currentTimeMillis());
+                out.writeLong(getRefreshMillis(def));
+                writeString(out, ExternalDataSetHelper.getUrl(def));
+                writeString(out, response.getETag());
+                writeString(out, response.getLastModified());
+                writeDataSet(out, dataSet);
+            }
+            move(tmp, file);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Not able to store data set {} in {}", def.getName(), file, e);
+            deleteQuietly(tmp);
+            return false;
+        }
+    }
+
+    /**
+     * Restart the refresh time of a stored data set, used when the external service confirms it did not change.
+     */
+    public void touch(ExternalDataSetDef def) {
+        var file = getFile(def.getUUID());
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            var timestamp = ByteBuffer.allocate(Long.BYTES).putLong(System.currentTimeMillis());
+            timestamp.flip();
+            channel.write(timestamp, WRITTEN_AT_POSITION);
+        } catch (IOException e) {
+            LOGGER.warn("Not able to update cache file {}", file, e);
+        }
+    }
+
+    public void remove(String uuid) {
+        deleteQuietly(getFile(uuid));
+    }
+
+    Path getFile(String uuid) {
+        return directory.resolve(URLEncoder.encode(uuid, StandardCharsets.UTF_8) + FILE_EXTENSION);
+    }
+
+    private long getRefreshMillis(ExternalDataSetDef def) {
+        var refreshTime = def.getRefreshTime();
+        if (refreshTime == null || refreshTime.trim().isEmpty()) {
+            return 0;
+        }
+        return TimeAmount.parse(refreshTime).toMillis();
+    }
+
+    private void writeDataSet(DataOutputStream out, DataSet dataSet) throws IOException {
+        var rows = dataSet.getRowCount();
+        out.writeInt(rows);
+        out.writeInt(dataSet.getColumns().size());
+        for (var column : dataSet.getColumns()) {
+            writeString(out, column.getId());
+            writeString(out, column.getColumnType().name());
+            var values = column.getValues();
+            switch (column.getColumnType()) {
+                case NUMBER:
+                    writeNulls(out, values);
+                    for (var value : values) {
+                        out.writeDouble(value == null ? 0 : ((Number) value).doubleValue());
+                    }
+                    break;
+                case DATE:
+                    writeNulls(out, values);
+                    for (var value : values) {
+                        out.writeLong(value == null ? 0 : ((Date) value).getTime());
+                    }
+                    break;
+                default:
+                    writeDictionary(out, values);
+            }
+        }
+    }
+
+    private DataSet readDataSet(ByteBuffer buffer) {
+        var dataSet = DataSetFactory.newEmptyDataSet();
+        var rows = buffer.getInt();
+        var columns = buffer.getInt();
+        for (int i = 0; i < columns; i++) {
+            var id = readString(buffer);
+            var type = ColumnType.valueOf(readString(buffer));
+            var values = new ArrayList<Object>(rows);
+            switch (type) {
+                case NUMBER:
+                    var numberNulls = readNulls(buffer, rows);
+                    for (int row = 0; row < rows; row++) {
+                        var value = buffer.getDouble();
+                        values.add(isNull(numberNulls, row) ? null : value);
+                    }
+                    break;
+                case DATE:
+                    var dateNulls = readNulls(buffer, rows);
+                    for (int row = 0; row < rows; row++) {
+                        var value = buffer.getLong();
+                        values.add(isNull(dateNulls, row) ? null : new Date(value));
+                    }
+                    break;
+                default:
+                    readDictionary(buffer, rows, values);
+            }
+            dataSet.addColumn(id, type, values);
+        }
+        return dataSet;
+    }
+
+    private void writeNulls(DataOutputStream out, List values) throws IOException {
+        var nulls = new byte[(values.size() + 7) / 8];
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i) == null) {
+                nulls[i >> 3] |= 1 << (i & 7);
+            }
+        }
+        out.write(nulls);
+    }
+
+    private byte[] readNulls(ByteBuffer buffer, int rows) {
+        var nulls = new byte[(rows + 7) / 8];
+        buffer.get(nulls);
+        return nulls;
+    }
+
+    private boolean isNull(byte[] nulls, int row) {
+        return (nulls[row >> 3] & (1 << (row & 7))) != 0;
+    }
+
+    private void writeDictionary(DataOutputStream out, List values) throws IOException {
+        var codes = new HashMap<String, Integer>();
+        var dictionary = new ArrayList<String>();
+        var rowCodes = new int[values.size()];
+        for (int i = 0; i < values.size(); i++) {
+            var value = values.get(i);
+            if (value == null) {
+                rowCodes[i] = NO_CODE;
+                continue;
+            }
+            var str = value.toString();
+            var code = codes.get(str);
+            if (code == null) {
+                code = dictionary.size();
+                codes.put(str, code);
+                dictionary.add(str);
+            }
+            rowCodes[i] = code;
+        }
+        out.writeInt(dictionary.size());
+        for (var str : dictionary) {
+            writeString(out, str);
+        }
+        for (var code : rowCodes) {
+            out.writeInt(code);
+        }
+    }
+
+    private void readDictionary(ByteBuffer buffer, int rows, List<Object> values) {
+        var dictionary = new String[buffer.getInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = readString(buffer);
+        }
+        for (int row = 0; row < rows; row++) {
+            var code = buffer.getInt();
+            values.add(code == NO_CODE ? null : dictionary[code]);
+        }
+    }
+
+    private void writeString(DataOutputStream out, String str) throws IOException {
+        if (str == null) {
+            out.writeInt(-1);
+            return;
+        }
+        var bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(ByteBuffer buffer) {
+        var length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.debug("Not able to delete {}", file, e);
+        }
+    }
+}
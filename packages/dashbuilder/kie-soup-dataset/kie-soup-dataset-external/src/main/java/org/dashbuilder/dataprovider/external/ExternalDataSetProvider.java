@@ -19,6 +19,12 @@
 
 package org.dashbuilder.dataprovider.external;
 
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.dashbuilder.dataprovider.DataSetProvider;
 import org.dashbuilder.dataprovider.DataSetProviderType;
 import org.dashbuilder.dataprovider.StaticDataSetProvider;
@@ -32,15 +38,39 @@ import org.dashbuilder.dataset.impl.DataSetImpl;
 import org.dashbuilder.dataset.impl.DataSetMetadataImpl;
 import org.dashbuilder.scheduler.DataSetInvalidationTask;
 import org.dashbuilder.scheduler.Scheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class ExternalDataSetProvider implements DataSetProvider {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExternalDataSetProvider.class);
+
     private ExternalDataSetCaller caller;
 
     protected StaticDataSetProvider staticDataSetProvider;
 
     private Scheduler scheduler;
-    
+
+    /**
+     * Last response of every cached data set, used to make conditional calls on refresh.
+     */
+    private Map<String, ExternalDataSetResponse> responses = new ConcurrentHashMap<>();
+
+    /**
+     * Calls in progress by data set UUID: concurrent lookups of a data set not yet registered share a single call.
+     */
+    private Map<String, CompletableFuture<ExternalDataSetResponse>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Locks on the register, lookup and remove sequence of data sets that are not kept in the cache. A lock is
+     * removed once no lookup holds or waits for it.
+     */
+    Map<String, UncachedLock> uncachedLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Optional local copy of the cached data sets, see {@link ExternalDataSetDiskCache#CACHE_DIR_PROP}.
+     */
+    private ExternalDataSetDiskCache diskCache;
 
     public ExternalDataSetProvider() {
         super();
@@ -49,9 +79,17 @@ public class ExternalDataSetProvider implements DataSetProvider {
     public ExternalDataSetProvider(ExternalDataSetCaller caller,
                                    StaticDataSetProvider staticDataSetProvider,
                                    Scheduler scheduler) {
+        this(caller, staticDataSetProvider, scheduler, ExternalDataSetDiskCache.fromSystemProperties().orElse(null));
+    }
+
+    public ExternalDataSetProvider(ExternalDataSetCaller caller,
+                                   StaticDataSetProvider staticDataSetProvider,
+                                   Scheduler scheduler,
+                                   ExternalDataSetDiskCache diskCache) {
         this.caller = caller;
         this.staticDataSetProvider = staticDataSetProvider;
         this.scheduler = scheduler;
+        this.diskCache = diskCache;
     }
 
     @Override
@@ -80,15 +118,33 @@ public class ExternalDataSetProvider implements DataSetProvider {
         }
         checkExternal(def);
         var isTest = lookup != null && lookup.testMode();
-        var resultDataSet = staticDataSetProvider.lookupDataSet(def, lookup);
-        if (resultDataSet == null || isTest) {
-            registerDataSet(def);
-            resultDataSet = staticDataSetProvider.lookupDataSet(def, lookup);
+        var resultDataSet = isTest ? null : staticDataSetProvider.lookupDataSet(def, lookup);
+        if (resultDataSet != null) {
+            return resultDataSet;
         }
-        
+
+        var dataSet = fetchDataSet((ExternalDataSetDef) def, isTest);
+
         // do not keep test dataSets, but need static because it handles lookup
         if (isTest || !def.isCacheEnabled()) {
-            staticDataSetProvider.removeDataSet(uuid);
+            var lock = uncachedLocks.compute(uuid, (k, l) -> (l == null ? new UncachedLock() : l).acquire());
+            try {
+                synchronized (lock) {
+                    register(def, dataSet);
+                    resultDataSet = staticDataSetProvider.lookupDataSet(def, lookup);
+                    staticDataSetProvider.removeDataSet(uuid);
+                }
+            } finally {
+                uncachedLocks.computeIfPresent(uuid, (k, l) -> l.release());
+            }
+            return resultDataSet;
+        }
+
+        resultDataSet = staticDataSetProvider.lookupDataSet(def, lookup);
+        if (resultDataSet == null) {
+            // invalidated right after the call
+            register(def, dataSet);
+            resultDataSet = staticDataSetProvider.lookupDataSet(def, lookup);
         }
         return resultDataSet;
     }
@@ -96,8 +152,10 @@ public class ExternalDataSetProvider implements DataSetProvider {
 
     @Override
     public boolean isDataSetOutdated(DataSetDef def) {
-        // we will handle caching internally
-        return true;
+        // cached data sets are revalidated internally, see refreshDataSet
+        var response = responses.get(def.getUUID());
+        var accumulate = def instanceof ExternalDataSetDef && ((ExternalDataSetDef) def).isAccumulate();
+        return !def.isCacheEnabled() || response == null || !(response.hasValidators() || accumulate);
     }
     
     private void checkExternal(DataSetDef def) {
@@ -106,21 +164,215 @@ public class ExternalDataSetProvider implements DataSetProvider {
         }
     }
     
-    private void registerDataSet(DataSetDef def) {
-        var externalDef = (ExternalDataSetDef) def;
-        var newDataSet = caller.retrieveDataSet(externalDef);
-        newDataSet.setDefinition(def);
-        newDataSet.setUUID(def.getUUID());
-        staticDataSetProvider.registerDataSet(newDataSet);
-        
+    private DataSet fetchDataSet(ExternalDataSetDef def, boolean isTest) {
+        if (isTest) {
+            return caller.retrieveDataSet(def);
+        }
+        var uuid = def.getUUID();
+        var call = new CompletableFuture<ExternalDataSetResponse>();
+        var future = inFlight.putIfAbsent(uuid, call);
+        if (future == null) {
+            future = call;
+            try {
+                retrieveDataSet(def).thenApply(response -> onDataSetRetrieved(def, response))
+                        .whenComplete((response, error) -> {
+                            inFlight.remove(uuid, call);
+                            if (error != null) {
+                                call.completeExceptionally(error);
+                            } else {
+                                call.complete(response);
+                            }
+                        });
+            } catch (RuntimeException e) {
+                inFlight.remove(uuid, call);
+                call.completeExceptionally(e);
+            }
+        }
+        return ExternalDataSetCaller.join(future).getDataSet();
+    }
+
+    private CompletableFuture<ExternalDataSetResponse> retrieveDataSet(ExternalDataSetDef def) {
+        if (diskCache != null && def.isCacheEnabled()) {
+            var stored = diskCache.load(def);
+            if (stored != null) {
+                return CompletableFuture.completedFuture(stored);
+            }
+        }
+        return caller.retrieveDataSetAsync(def, null, null).thenApply(response -> storeDataSet(def, response));
+    }
+
+    private ExternalDataSetResponse storeDataSet(ExternalDataSetDef def, ExternalDataSetResponse response) {
+        if (diskCache != null && def.isCacheEnabled()) {
+            diskCache.store(def, response);
+        }
+        return response;
+    }
+
+    private ExternalDataSetResponse onDataSetRetrieved(ExternalDataSetDef def, ExternalDataSetResponse response) {
+        if (def.isCacheEnabled()) {
+            register(def, response.getDataSet());
+            responses.put(def.getUUID(), response);
+        } else {
+            responses.remove(def.getUUID());
+        }
+
         var taskKey = DataSetInvalidationTask.key(def);
         scheduler.unschedule(taskKey);
         if (def.isCacheEnabled()) {
             if (def.getRefreshTime() != null && def.getRefreshTime().trim().length() > 0) {
                 var tf = TimeAmount.parse(def.getRefreshTime());
                 var seconds = tf.toMillis() / 1000;
-                scheduler.schedule(new DataSetInvalidationTask(def, staticDataSetProvider::removeDataSet), seconds);
+                scheduler.schedule(new DataSetInvalidationTask(def, uuid -> refreshDataSet(def)), seconds);
             }
         }
+        return response;
+    }
+
+    /**
+     * Refresh a cached data set. If the server supports conditional calls and the data has not changed, the
+     * registered data set and all its indexes are kept. Accumulated data sets only get the new rows inserted, along
+     * with their indexes. Otherwise the data set is discarded and fetched again on the next lookup.
+     */
+    void refreshDataSet(ExternalDataSetDef def) {
+        var uuid = def.getUUID();
+        var current = staticDataSetProvider.lookupDataSet(uuid, null);
+        var previous = responses.get(uuid);
+        if (current == null || (!def.isAccumulate() && (previous == null || !previous.hasValidators()))) {
+            invalidate(uuid);
+            return;
+        }
+
+        try {
+            var since = def.isAccumulate() ? getCursorValue(def, current) : null;
+            var response = caller.retrieveDataSet(def, since == null ? previous : null, since);
+            responses.put(uuid, response);
+            if (response.isNotModified()) {
+                if (diskCache != null) {
+                    diskCache.touch(def);
+                }
+                return;
+            }
+            var newDataSet = response.getDataSet();
+            if (def.isAccumulate()) {
+                if (newDataSet.getRowCount() == 0) {
+                    return;
+                }
+                newDataSet = insertRows(def, newDataSet);
+            } else {
+                register(def, newDataSet);
+            }
+            if (newDataSet != null) {
+                storeDataSet(def, new ExternalDataSetResponse(newDataSet, response.getETag(), response.getLastModified()));
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Not able to refresh data set {}, it will be fetched again on next lookup", def.getName(), e);
+            invalidate(uuid);
+        }
+    }
+
+    private void invalidate(String uuid) {
+        responses.remove(uuid);
+        staticDataSetProvider.removeDataSet(uuid);
+        if (diskCache != null) {
+            diskCache.remove(uuid);
+        }
+    }
+
+    private void register(DataSetDef def, DataSet dataSet) {
+        dataSet.setDefinition(def);
+        dataSet.setUUID(def.getUUID());
+        staticDataSetProvider.registerDataSet(dataSet);
+    }
+
+    /**
+     * Insert the new rows at the top of the registered data set, updating its indexes in place. Only if a lookup
+     * is reading the data set at the same time a merged copy is registered instead, which builds its indexes again.
+     * @return The updated data set or null if it was removed meanwhile.
+     */
+    DataSet insertRows(ExternalDataSetDef def, DataSet newRows) {
+        var uuid = def.getUUID();
+        var maxRows = def.getCacheMaxRows() == null ? 0 : def.getCacheMaxRows();
+        try {
+            return staticDataSetProvider.insertRows(uuid, newRows, maxRows);
+        } catch (IllegalStateException e) {
+            LOGGER.debug("Data set {} in use, registering a merged copy", def.getName());
+        }
+        var current = staticDataSetProvider.lookupDataSet(uuid, null);
+        if (current == null) {
+            return null;
+        }
+        var merged = mergeDataSet(def, current, newRows);
+        register(def, merged);
+        return merged;
+    }
+
+    /**
+     * Insert the new rows at the top of a copy of the current data set, keeping at most <code>cacheMaxRows</code>
+     * rows. The rows are kept in the same order as the client side accumulated data sets (newest first), so the
+     * oldest rows are the ones dropped. The new rows are always kept, even if they exceed the limit.
+     */
+    DataSet mergeDataSet(DataSetDef def, DataSet current, DataSet newRows) {
+        if (newRows.getRowCount() == 0) {
+            return current;
+        }
+        if (newRows.getColumns().size() != current.getColumns().size()) {
+            throw new IllegalArgumentException("New data is not compatible with existing data.");
+        }
+        var maxRows = def.getCacheMaxRows() == null ? 0 : def.getCacheMaxRows();
+        var rowCount = current.getRowCount();
+        var kept = maxRows > 0 ? Math.max(0, Math.min(rowCount, maxRows - newRows.getRowCount())) : rowCount;
+        var merged = current.cloneEmpty();
+        for (int i = 0; i < current.getColumns().size(); i++) {
+            var values = merged.getColumnByIndex(i).getValues();
+            values.addAll(newRows.getColumnByIndex(i).getValues());
+            values.addAll(current.getColumnByIndex(i).getValues().subList(0, kept));
+        }
+        return merged;
+    }
+
+    /**
+     * The highest value of the cursor column, formatted to be sent as a query parameter.
+     */
+    String getCursorValue(ExternalDataSetDef def, DataSet dataSet) {
+        var cursor = def.getCursor();
+        if (cursor == null || dataSet.getRowCount() == 0) {
+            return null;
+        }
+        var column = dataSet.getColumnById(cursor);
+        if (column == null) {
+            throw new IllegalArgumentException("Cursor column " + cursor + " not found in data set " + def.getName());
+        }
+        Comparable max = null;
+        for (var value : column.getValues()) {
+            if (value instanceof Comparable && (max == null || ((Comparable) value).compareTo(max) > 0)) {
+                max = (Comparable) value;
+            }
+        }
+        if (max instanceof Date) {
+            return DateTimeFormatter.ISO_INSTANT.format(((Date) max).toInstant());
+        }
+        if (max instanceof Number) {
+            var number = ((Number) max).doubleValue();
+            var isIntegral = number == Math.rint(number) && Math.abs(number) < Long.MAX_VALUE;
+            return isIntegral ? String.valueOf((long) number) : String.valueOf(number);
+        }
+        return max == null ? null : max.toString();
+    }
+
+    /**
+     * Lock counting the lookups holding or waiting for it. Only updated within the map compute functions.
+     */
+    static class UncachedLock {
+
+        private int users;
+
+        UncachedLock acquire() {
+            users++;
+            return this;
+        }
+
+        UncachedLock release() {
+            return --users == 0 ? null : this;
+        }
     }
-}
\ No newline at end of file
+}
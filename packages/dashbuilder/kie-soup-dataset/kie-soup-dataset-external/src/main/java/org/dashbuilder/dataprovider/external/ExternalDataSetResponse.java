@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataprovider.external;
+
+import org.dashbuilder.dataset.DataSet;
+
+/**
+ * Result of an external data set call along with the HTTP validators (<code>ETag</code> and
+ * <code>Last-Modified</code>) needed to make a conditional request later.
+ */
+public class ExternalDataSetResponse {
+
+    private final DataSet dataSet;
+
+    private final String eTag;
+
+    private final String lastModified;
+
+    public ExternalDataSetResponse(DataSet dataSet, String eTag, String lastModified) {
+        this.dataSet = dataSet;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Response for a call answered with <code>304 Not Modified</code>. It keeps the validators of the previous response.
+     */
+    public static ExternalDataSetResponse notModified(ExternalDataSetResponse previous) {
+        return previous == null ? new ExternalDataSetResponse(null, null, null)
+                : new ExternalDataSetResponse(null, previous.eTag, previous.lastModified);
+    }
+
+    /**
+     * The data set retrieved or null if the data did not change since the previous call.
+     */
+    public DataSet getDataSet() {
+        return dataSet;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public boolean isNotModified() {
+        return dataSet == null;
+    }
+
+    public boolean hasValidators() {
+        return eTag != null || lastModified != null;
+    }
+}
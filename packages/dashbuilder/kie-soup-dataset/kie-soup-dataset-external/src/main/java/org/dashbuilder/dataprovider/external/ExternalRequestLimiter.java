@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataprovider.external;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of requests running at the same time against a single host.
+ * <p>Requests over the limit are queued and started as soon as a running one completes, so callers never block
+ * waiting for a permit.</p>
+ */
+public class ExternalRequestLimiter {
+
+    private final int maxRequestsPerHost;
+
+    private final Map<String, HostQueue> hosts = new HashMap<>();
+
+    public ExternalRequestLimiter(int maxRequestsPerHost) {
+        if (maxRequestsPerHost < 1) {
+            throw new IllegalArgumentException("Max requests per host must be at least 1");
+        }
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    /**
+     * Start the request now if the host has free slots or once a running request completes.
+     * 
+     * @return A future completed with the result of the request.
+     */
+    public <T> CompletableFuture<T> submit(String host, Supplier<CompletableFuture<T>> request) {
+        var result = new CompletableFuture<T>();
+        Runnable start = () -> run(host, request, result);
+        synchronized (hosts) {
+            var queue = hosts.computeIfAbsent(host, k -> new HostQueue());
+            if (queue.running >= maxRequestsPerHost) {
+                queue.pending.add(start);
+                return result;
+            }
+            queue.running++;
+        }
+        start.run();
+        return result;
+    }
+
+    /**
+     * Number of requests currently running against the given host.
+     */
+    public int getRunning(String host) {
+        synchronized (hosts) {
+            var queue = hosts.get(host);
+            return queue == null ? 0 : queue.running;
+        }
+    }
+
+    private <T> void run(String host, Supplier<CompletableFuture<T>> request, CompletableFuture<T> result) {
+        CompletableFuture<T> future;
+        try {
+            future = request.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((value, error) -> {
+            release(host);
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private void release(String host) {
+        Runnable next;
+        synchronized (hosts) {
+            var queue = hosts.get(host);
+            next = queue.pending.poll();
+            if (next == null) {
+                queue.running--;
+                if (queue.running == 0) {
+                    hosts.remove(host);
+                }
+            }
+        }
+        // the slot is handed over to the next request
+        if (next != null) {
+            next.run();
+        }
+    }
+
+    private static class HostQueue {
+
+        private int running;
+
+        private final Queue<Runnable> pending = new ArrayDeque<>();
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataprovider.external;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.dashbuilder.DataSetCore;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.def.DataSetDefFactory;
+import org.dashbuilder.dataset.def.ExternalDataSetDef;
+import org.dashbuilder.scheduler.Scheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ExternalDataSetAsyncCallTest {
+
+    private static final int THREADS = 8;
+
+    private HttpServer server;
+    private ExternalDataSetCaller caller;
+    private ExternalDataSetProvider provider;
+    private ExternalDataSetDef def;
+    private Scheduler scheduler;
+
+    private AtomicInteger requests = new AtomicInteger();
+    private long delay = 300;
+    private boolean stallBody;
+    private CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/data", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        scheduler = DataSetCore.get().getScheduler();
+        scheduler.init(10);
+        caller = ExternalDataSetCaller.get();
+        provider = new ExternalDataSetProvider(caller,
+                DataSetCore.get().getStaticDataSetProvider(),
+                scheduler);
+        def = (ExternalDataSetDef) DataSetDefFactory.newExternalDataSetDef()
+                .name("async")
+                .uuid("async")
+                .url("http://localhost:" + server.getAddress().getPort() + "/data")
+                .buildDef();
+    }
+
+    @After
+    public void shutdown() {
+        release.countDown();
+        provider.staticDataSetProvider.removeDataSet(def.getUUID());
+        scheduler.unscheduleAll();
+        server.stop(0);
+    }
+
+    @Test
+    public void testConcurrentLookupsShareCall() throws Exception {
+        assertEquals(THREADS, lookupConcurrently().size());
+        assertEquals(1, requests.get());
+        assertTrue(provider.uncachedLocks.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentCachedLookupsShareCall() throws Exception {
+        def.setCacheEnabled(true);
+        lookupConcurrently();
+        provider.lookupDataSet(def, null);
+
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        delay = 2000;
+        caller.setTimeout(Duration.ofMillis(200));
+        try {
+            provider.lookupDataSet(def, null);
+            fail("Timeout expected");
+        } catch (RuntimeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testBodyTimeout() throws Exception {
+        delay = 0;
+        stallBody = true;
+        caller.setTimeout(Duration.ofMillis(500));
+        var start = System.nanoTime();
+        try {
+            provider.lookupDataSet(def, null);
+            fail("Timeout expected");
+        } catch (RuntimeException e) {
+            // expected
+        }
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toSeconds() < 5);
+    }
+
+    private List<DataSet> lookupConcurrently() throws Exception {
+        var executor = Executors.newFixedThreadPool(THREADS);
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<DataSet>>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return provider.lookupDataSet(def, null);
+            }));
+        }
+        start.countDown();
+        var result = new ArrayList<DataSet>();
+        for (var future : futures) {
+            var dataSet = future.get();
+            assertEquals(2, dataSet.getRowCount());
+            result.add(dataSet);
+        }
+        executor.shutdown();
+        return result;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        var body = "[[\"1\", \"A\"], [\"2\", \"B\"]]".getBytes(StandardCharsets.UTF_8);
+        if (stallBody) {
+            stall(exchange, body);
+            return;
+        }
+        try {
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void stall(HttpExchange exchange, byte[] body) throws IOException {
+        try {
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body, 0, body.length / 2);
+            exchange.getResponseBody().flush();
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataprovider.external;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpServer;
+import org.dashbuilder.DataSetCore;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
+import org.dashbuilder.dataset.def.DataSetDefFactory;
+import org.dashbuilder.dataset.def.ExternalDataSetDef;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ExternalDataSetDiskCacheTest {
+
+    private Path directory;
+    private ExternalDataSetDiskCache cache;
+    private ExternalDataSetDef def;
+
+    @Before
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("dataset-cache");
+        cache = new ExternalDataSetDiskCache(directory);
+        def = (ExternalDataSetDef) DataSetDefFactory.newExternalDataSetDef()
+                .name("disk")
+                .uuid("disk/1")
+                .url("http://localhost/data")
+                .buildDef();
+        def.setCacheEnabled(true);
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        try (var files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(f -> f.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testStoreAndLoad() {
+        var d1 = new Date(1000L);
+        var dataSet = DataSetFactory.newDataSetBuilder()
+                .number("N")
+                .date("D")
+                .label("L")
+                .text("T")
+                .row(1.5, d1, "A", "text 1")
+                .row(null, null, "B", null)
+                .row(3.0, d1, "A", "text \u00e7")
+                .buildDataSet();
+
+        assertTrue(cache.store(def, new ExternalDataSetResponse(dataSet, "\"tag\"", null)));
+        assertTrue(Files.exists(cache.getFile(def.getUUID())));
+        assertEquals(directory, cache.getFile(def.getUUID()).getParent());
+
+        var response = cache.load(def);
+        var loaded = response.getDataSet();
+        assertEquals("\"tag\"", response.getETag());
+        assertNull(response.getLastModified());
+        assertEquals(3, loaded.getRowCount());
+        assertEquals(4, loaded.getColumns().size());
+        for (int i = 0; i < dataSet.getColumns().size(); i++) {
+            assertEquals(dataSet.getColumnByIndex(i).getId(), loaded.getColumnByIndex(i).getId());
+            assertEquals(dataSet.getColumnByIndex(i).getColumnType(), loaded.getColumnByIndex(i).getColumnType());
+            assertEquals(dataSet.getColumnByIndex(i).getValues(), loaded.getColumnByIndex(i).getValues());
+        }
+    }
+
+    @Test
+    public void testDefinitionChanged() {
+        cache.store(def, new ExternalDataSetResponse(newDataSet(), null, null));
+
+        def.setRefreshTime("10minute");
+        assertNull(cache.load(def));
+
+        def.setRefreshTime(null);
+        def.setUrl("http://localhost/other");
+        assertNull(cache.load(def));
+    }
+
+    @Test
+    public void testExpiredAndTouch() throws Exception {
+        def.setRefreshTime("1second");
+        cache.store(def, new ExternalDataSetResponse(newDataSet(), null, null));
+        Thread.sleep(600);
+        cache.touch(def);
+        Thread.sleep(600);
+        assertEquals(1, cache.load(def).getDataSet().getRowCount());
+
+        Thread.sleep(500);
+        assertNull(cache.load(def));
+    }
+
+    @Test
+    public void testMaxAge() throws Exception {
+        cache = new ExternalDataSetDiskCache(directory, 500);
+        cache.store(def, new ExternalDataSetResponse(newDataSet(), null, null));
+        assertEquals(1, cache.load(def).getDataSet().getRowCount());
+
+        Thread.sleep(600);
+        assertNull(cache.load(def));
+    }
+
+    @Test
+    public void testReplaceAndRemoveLoadedFile() {
+        cache.store(def, new ExternalDataSetResponse(newDataSet(), null, null));
+        assertEquals(1, cache.load(def).getDataSet().getRowCount());
+
+        assertTrue(cache.store(def, new ExternalDataSetResponse(newDataSet(), null, null)));
+        cache.remove(def.getUUID());
+        assertFalse(Files.exists(cache.getFile(def.getUUID())));
+    }
+
+    @Test
+    public void testStoreMistypedValue() throws IOException {
+        var dataSet = DataSetFactory.newDataSetBuilder()
+                .number("N")
+                .row(1d)
+                .buildDataSet();
+        dataSet.getColumnById("N").getValues().set(0, "not a number");
+
+        assertFalse(cache.store(def, new ExternalDataSetResponse(dataSet, null, null)));
+        assertFalse(Files.exists(cache.getFile(def.getUUID())));
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testCorruptedFile() throws IOException {
+        Files.write(cache.getFile(def.getUUID()), "not a data set".getBytes(StandardCharsets.UTF_8));
+        assertNull(cache.load(def));
+        assertFalse(Files.exists(cache.getFile(def.getUUID())));
+    }
+
+    @Test
+    public void testProviderWarmStart() throws Exception {
+        var requests = new AtomicInteger();
+        var server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/data", exchange -> {
+            requests.incrementAndGet();
+            var body = "[[\"1\", \"A\"], [\"2\", \"B\"]]".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        def.setUrl("http://localhost:" + server.getAddress().getPort() + "/data");
+        var staticProvider = DataSetCore.get().getStaticDataSetProvider();
+        var scheduler = DataSetCore.get().getScheduler();
+        try {
+            var provider = new ExternalDataSetProvider(ExternalDataSetCaller.get(), staticProvider, scheduler, cache);
+            assertEquals(2, provider.lookupDataSet(def, null).getRowCount());
+            assertEquals(1, requests.get());
+
+            // simulates a restart
+            staticProvider.removeDataSet(def.getUUID());
+            var newProvider = new ExternalDataSetProvider(ExternalDataSetCaller.get(), staticProvider, scheduler, cache);
+            var dataSet = newProvider.lookupDataSet(def, null);
+            assertEquals(2, dataSet.getRowCount());
+            assertEquals("B", dataSet.getValueAt(1, 1));
+            assertEquals(1, requests.get());
+        } finally {
+            staticProvider.removeDataSet(def.getUUID());
+            server.stop(0);
+        }
+    }
+
+    private DataSet newDataSet() {
+        return DataSetFactory.newDataSetBuilder()
+                .label("L")
+                .row("A")
+                .buildDataSet();
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataprovider.external;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.dashbuilder.DataSetCore;
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetLookupFactory;
+import org.dashbuilder.dataset.def.DataSetDefFactory;
+import org.dashbuilder.dataset.def.ExternalDataSetDef;
+import org.dashbuilder.dataset.filter.FilterFactory;
+import org.dashbuilder.dataset.impl.DataSetImpl;
+import org.dashbuilder.scheduler.Scheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ExternalDataSetRefreshTest {
+
+    private static final String ETAG = "\"v1\"";
+
+    private HttpServer server;
+    private ExternalDataSetProvider provider;
+    private ExternalDataSetDef def;
+    private Scheduler scheduler;
+
+    private String content = "[[\"1\", \"A\"], [\"2\", \"B\"]]";
+    private String eTag = ETAG;
+    private List<String> requests = new ArrayList<>();
+
+    @Before
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/data", this::handle);
+        server.start();
+
+        scheduler = DataSetCore.get().getScheduler();
+        scheduler.init(10);
+        provider = new ExternalDataSetProvider(ExternalDataSetCaller.get(),
+                DataSetCore.get().getStaticDataSetProvider(),
+                scheduler);
+        def = (ExternalDataSetDef) DataSetDefFactory.newExternalDataSetDef()
+                .name("refresh")
+                .uuid("refresh")
+                .url("http://localhost:" + server.getAddress().getPort() + "/data")
+                .buildDef();
+        def.setCacheEnabled(true);
+    }
+
+    @After
+    public void shutdown() {
+        provider.staticDataSetProvider.removeDataSet(def.getUUID());
+        scheduler.unscheduleAll();
+        server.stop(0);
+    }
+
+    @Test
+    public void testNotModifiedKeepsDataSetAndIndexes() throws Exception {
+        var lookup = DataSetLookupFactory.newDataSetLookupBuilder()
+                .dataset(def.getUUID())
+                .filter("Column 0", FilterFactory.greaterThan(1.0))
+                .buildLookup();
+        provider.lookupDataSet(def, lookup);
+        var dataSet = provider.staticDataSetProvider.lookupDataSet(def.getUUID(), null);
+        var index = DataSetCore.get().getSharedDataSetOpEngine().getIndexRegistry().get(def.getUUID());
+        assertFalse(provider.isDataSetOutdated(def));
+
+        provider.refreshDataSet(def);
+
+        assertEquals(2, requests.size());
+        assertEquals(ETAG, requests.get(1));
+        assertSame(dataSet, provider.staticDataSetProvider.lookupDataSet(def.getUUID(), null));
+        assertSame(index, DataSetCore.get().getSharedDataSetOpEngine().getIndexRegistry().get(def.getUUID()));
+        assertEquals(1, provider.lookupDataSet(def, lookup).getRowCount());
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    public void testModifiedReplacesDataSet() throws Exception {
+        var dataSet = provider.lookupDataSet(def, null);
+
+        content = "[[\"3\", \"C\"]]";
+        eTag = "\"v2\"";
+        provider.refreshDataSet(def);
+
+        var refreshed = provider.staticDataSetProvider.lookupDataSet(def.getUUID(), null);
+        assertNotSame(dataSet, refreshed);
+        assertEquals(1, refreshed.getRowCount());
+        assertEquals("C", refreshed.getValueAt(0, 1));
+    }
+
+    @Test
+    public void testNoValidatorsInvalidatesDataSet() throws Exception {
+        eTag = null;
+        provider.lookupDataSet(def, null);
+        assertTrue(provider.isDataSetOutdated(def));
+
+        provider.refreshDataSet(def);
+
+        assertNull(provider.staticDataSetProvider.lookupDataSet(def.getUUID(), null));
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    public void testAccumulateWithCursor() throws Exception {
+        def.setAccumulate(true);
+        def.setCursor("Column 0");
+        def.setCacheMaxRows(3);
+        var current = provider.lookupDataSet(def, null);
+        var index = DataSetCore.get().getSharedDataSetOpEngine().getIndexRegistry().get(def.getUUID());
+
+        content = "[[\"3\", \"C\"], [\"4\", \"D\"]]";
+        provider.refreshDataSet(def);
+
+        var dataSet = provider.staticDataSetProvider.lookupDataSet(def.getUUID(), null);
+        assertSame(current, dataSet);
+        assertSame(index, DataSetCore.get().getSharedDataSetOpEngine().getIndexRegistry().get(def.getUUID()));
+        assertEquals("/data?since=2", requests.get(1));
+        assertEquals(3, dataSet.getRowCount());
+        assertEquals(3.0, dataSet.getValueAt(0, 0));
+        assertEquals("D", dataSet.getValueAt(1, 1));
+        assertEquals("A", dataSet.getValueAt(2, 1));
+    }
+
+    @Test
+    public void testAccumulateWhileInUse() throws Exception {
+        def.setAccumulate(true);
+        def.setCursor("Column 0");
+        var current = provider.lookupDataSet(def, null);
+        var index = DataSetCore.get().getSharedDataSetOpEngine().getIndexRegistry().get(def.getUUID());
+
+        content = "[[\"3\", \"C\"]]";
+        index.startLookup();
+        try {
+            provider.refreshDataSet(def);
+        } finally {
+            index.finishLookup();
+        }
+
+        var dataSet = provider.staticDataSetProvider.lookupDataSet(def.getUUID(), null);
+        assertNotSame(current, dataSet);
+        assertEquals(2, current.getRowCount());
+        assertEquals(3, dataSet.getRowCount());
+        assertEquals("C", dataSet.getValueAt(0, 1));
+    }
+
+    @Test
+    public void testAccumulateKeepsClientOrder() throws Exception {
+        def.setCacheMaxRows(4);
+        var current = newDataSet("client", 1, 2, 3);
+        var newRows = newDataSet(null, 4, 5);
+
+        var merged = provider.mergeDataSet(def, current, newRows);
+
+        // The client accumulates the polled rows through the shared engine
+        var engine = DataSetCore.get().getSharedDataSetOpEngine();
+        engine.getIndexRegistry().put(newDataSet("client", 1, 2, 3));
+        try {
+            var accumulated = engine.insertRows("client", newRows, 4);
+            assertEquals(accumulated.getRowCount(), merged.getRowCount());
+            for (int i = 0; i < merged.getRowCount(); i++) {
+                assertEquals(accumulated.getValueAt(i, 0), merged.getValueAt(i, 0));
+            }
+            assertEquals(4.0, merged.getValueAt(0, 0));
+            assertEquals(2.0, merged.getValueAt(3, 0));
+        } finally {
+            engine.getIndexRegistry().remove("client");
+        }
+    }
+
+    @Test
+    public void testAccumulateNoNewRows() throws Exception {
+        def.setAccumulate(true);
+        def.setCursor("Column 0");
+        var dataSet = provider.lookupDataSet(def, null);
+
+        content = "[]";
+        provider.refreshDataSet(def);
+
+        assertSame(dataSet, provider.staticDataSetProvider.lookupDataSet(def.getUUID(), null));
+    }
+
+    private DataSet newDataSet(String uuid, double... values) {
+        var dataSet = new DataSetImpl();
+        dataSet.setUUID(uuid);
+        dataSet.addColumn("value", ColumnType.NUMBER);
+        for (var value : values) {
+            dataSet.addValues(value);
+        }
+        return dataSet;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        var ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        var query = exchange.getRequestURI().getQuery();
+        requests.add(query != null ? exchange.getRequestURI().toString() : String.valueOf(ifNoneMatch));
+        if (eTag != null) {
+            exchange.getResponseHeaders().add("ETag", eTag);
+        }
+        if (eTag != null && eTag.equals(ifNoneMatch)) {
+            exchange.sendResponseHeaders(304, -1);
+        } else {
+            var body = content.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+        exchange.close();
+    }
+}
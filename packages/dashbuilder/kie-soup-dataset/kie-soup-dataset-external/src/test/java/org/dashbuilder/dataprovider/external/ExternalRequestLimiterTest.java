@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.dataprovider.external;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ExternalRequestLimiterTest {
+
+    private static final String HOST = "localhost:8080";
+
+    private ExternalRequestLimiter limiter = new ExternalRequestLimiter(2);
+
+    private List<CompletableFuture<String>> requests = new ArrayList<>();
+
+    @Test
+    public void testRequestsOverLimitAreQueued() {
+        var results = new ArrayList<CompletableFuture<String>>();
+        for (int i = 0; i < 4; i++) {
+            results.add(limiter.submit(HOST, this::newRequest));
+        }
+        assertEquals(2, requests.size());
+        assertEquals(2, limiter.getRunning(HOST));
+
+        requests.get(0).complete("r0");
+        assertEquals("r0", results.get(0).join());
+        assertEquals(3, requests.size());
+        assertEquals(2, limiter.getRunning(HOST));
+
+        requests.get(1).completeExceptionally(new IllegalStateException());
+        assertTrue(results.get(1).isCompletedExceptionally());
+        assertEquals(4, requests.size());
+
+        requests.get(2).complete("r2");
+        requests.get(3).complete("r3");
+        assertEquals("r3", results.get(3).join());
+        assertEquals(0, limiter.getRunning(HOST));
+    }
+
+    @Test
+    public void testHostsAreLimitedSeparately() {
+        limiter.submit(HOST, this::newRequest);
+        limiter.submit(HOST, this::newRequest);
+        var other = limiter.submit("otherhost:8080", () -> CompletableFuture.completedFuture("done"));
+
+        assertEquals("done", other.join());
+        assertEquals(2, limiter.getRunning(HOST));
+        assertEquals(0, limiter.getRunning("otherhost:8080"));
+    }
+
+    @Test
+    public void testFailureToStartReleasesSlot() {
+        var result = limiter.submit(HOST, () -> {
+            throw new IllegalArgumentException();
+        });
+        assertTrue(result.isCompletedExceptionally());
+        assertFalse(limiter.getRunning(HOST) > 0);
+    }
+
+    private CompletableFuture<String> newRequest() {
+        var request = new CompletableFuture<String>();
+        requests.add(request);
+        return request;
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+package org.dashbuilder.dataset.engine;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dashbuilder.dataset.DataColumn;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.engine.filter.DataSetFilterAlgorithm;
+import org.dashbuilder.dataset.engine.function.SumFunction;
+import org.dashbuilder.dataset.engine.group.IntervalBuilder;
+import org.dashbuilder.dataset.engine.group.IntervalBuilderDynamicLabel;
+import org.dashbuilder.dataset.engine.group.IntervalBuilderFixedDate;
+import org.dashbuilder.dataset.engine.group.IntervalBuilderLocator;
+import org.dashbuilder.dataset.engine.group.RowSetIntervalBuilder;
+import org.dashbuilder.dataset.engine.index.DataSetFilterIndex;
+import org.dashbuilder.dataset.engine.index.DataSetFunctionIndex;
+import org.dashbuilder.dataset.engine.index.DataSetGroupIndex;
+import org.dashbuilder.dataset.engine.index.DataSetIndex;
+import org.dashbuilder.dataset.engine.index.DataSetIndexNode;
+import org.dashbuilder.dataset.engine.index.DataSetIntervalIndex;
+import org.dashbuilder.dataset.engine.index.DataSetIntervalSetIndex;
+import org.dashbuilder.dataset.group.AggregateFunction;
+import org.dashbuilder.dataset.group.AggregateFunctionManager;
+import org.dashbuilder.dataset.group.AggregateFunctionType;
+import org.dashbuilder.dataset.group.ColumnGroup;
+import org.dashbuilder.dataset.group.Interval;
+import org.dashbuilder.dataset.impl.RowList;
+
+/**
+ * Inserts new rows at the top of an indexed data set, removing the bottom rows over a given maximum, and keeps the
+ * index tree in sync instead of discarding it.
+ *
+ * <p>Filters, label and fixed date groups, as well as the COUNT, SUM, MIN and MAX values, are updated by looking at
+ * the inserted and removed rows only. The rest of the indexes (sorts, dynamic date groups, nested groups, interval
+ * selections and any other aggregate value) are removed and built again by the next lookup requiring them.</p>
+ *
+ * <p>The update is not synchronized with the lookups: callers must make sure no lookup over the same data set runs
+ * while its rows are inserted, like the client does as it runs on a single thread. The update fails with an
+ * {@link IllegalStateException} if a lookup is in progress (see {@link DataSetIndex#startUpdate()}), and so do the
+ * lookups started during the update, rather than reading a half updated data set.</p>
+ */
+public class DataSetIndexUpdater {
+
+    protected AggregateFunctionManager aggregateFunctionManager;
+    protected IntervalBuilderLocator intervalBuilderLocator;
+    protected DataSetFilterAlgorithm filterAlgorithm;
+
+    public DataSetIndexUpdater(AggregateFunctionManager aggregateFunctionManager,
+                               IntervalBuilderLocator intervalBuilderLocator,
+                               DataSetFilterAlgorithm filterAlgorithm) {
+
+        this.aggregateFunctionManager = aggregateFunctionManager;
+        this.intervalBuilderLocator = intervalBuilderLocator;
+        this.filterAlgorithm = filterAlgorithm;
+    }
+
+    /**
+     * Insert rows at the top of the indexed data set.
+     * @param index The index of the target data set.
+     * @param newRows The rows to insert. Its columns must match the data set ones.
+     * @param maxRows The max. number of rows to keep, or zero (or less) for no limit. The inserted rows are always
+     * kept, even if they exceed the limit.
+     * @throws IllegalStateException If a lookup over the data set is in progress.
+     */
+    public void insertRows(DataSetIndex index, DataSet newRows, int maxRows) {
+        DataSet dataSet = index.getDataSet();
+        List<DataColumn> columns = dataSet.getColumns();
+        if (newRows.getColumns().size() != columns.size()) {
+            throw new IllegalArgumentException("New data is not compatible with existing data.");
+        }
+        int inserted = newRows.getRowCount();
+        if (inserted == 0) {
+            return;
+        }
+        index.startUpdate();
+        try {
+            int rowCount = dataSet.getRowCount();
+            int kept = maxRows > 0 ? Math.max(0, Math.min(rowCount, maxRows - inserted)) : rowCount;
+            if (kept == 0) {
+                // Nothing left from the current rows
+                index.removeChildIndexes();
+                index.removeAggIndexes();
+                for (int i = 0; i < columns.size(); i++) {
+                    List values = columns.get(i).getValues();
+                    values.clear();
+                    values.addAll(newRows.getColumnByIndex(i).getValues());
+                }
+            } else {
+                // Update the indexes while the rows to remove are still there
+                Insertion insertion = new Insertion(dataSet, newRows, kept);
+                insertion.updateNode(index, null, RowList.range(0, inserted));
+
+                for (int i = 0; i < columns.size(); i++) {
+                    List values = columns.get(i).getValues();
+                    values.subList(kept, values.size()).clear();
+                    values.addAll(0, newRows.getColumnByIndex(i).getValues());
+                }
+            }
+            index.updateIndexSize();
+        } finally {
+            index.finishUpdate();
+        }
+    }
+
+    protected boolean isIncremental(IntervalBuilder intervalBuilder) {
+        return intervalBuilder instanceof IntervalBuilderDynamicLabel || intervalBuilder instanceof IntervalBuilderFixedDate;
+    }
+
+    /**
+     * The update of an index tree for a given insertion.
+     */
+    private class Insertion {
+
+        DataSet dataSet;
+        DataSet newRows;
+        int inserted;
+        int kept;
+
+        Insertion(DataSet dataSet, DataSet newRows, int kept) {
+            this.dataSet = dataSet;
+            this.newRows = newRows;
+            this.inserted = newRows.getRowCount();
+            this.kept = kept;
+        }
+
+        /**
+         * Update a node along with its child indexes.
+         * @param node The node to update.
+         * @param rows The current rows of the node (null means all the data set rows).
+         * @param nodeNewRows The inserted rows belonging to the node.
+         */
+        void updateNode(DataSetIndexNode node, List<Integer> rows, RowList nodeNewRows) {
+            RowList removedRows = removedRows(rows);
+            for (Map.Entry<String, Map<AggregateFunctionType, DataSetFunctionIndex>> entry : node.getAggIndexes().entrySet()) {
+                for (Map.Entry<AggregateFunctionType, DataSetFunctionIndex> aggEntry : entry.getValue().entrySet()) {
+                    boolean updated = updateAggValue(aggEntry.getValue(), entry.getKey(), aggEntry.getKey(),
+                            rows, removedRows, nodeNewRows);
+                    if (!updated) {
+                        node.removeIndex(aggEntry.getValue());
+                    }
+                }
+            }
+            for (DataSetFilterIndex filterIndex : node.getFilterIndexes()) {
+                RowList filterNewRows = RowList.of(filterAlgorithm.filter(new RowSet(newRows, nodeNewRows),
+                        filterIndex.getColumnFilter()));
+                updateNode(filterIndex, filterIndex.getRows(), filterNewRows);
+                filterIndex.setRows(shiftRows(filterIndex.getRows(), filterNewRows));
+            }
+            for (DataSetGroupIndex groupIndex : node.getGroupIndexes()) {
+                if (!updateGroup(groupIndex, nodeNewRows)) {
+                    node.removeIndex(groupIndex);
+                }
+            }
+            // Sorted rows can not be updated without sorting them again
+            node.removeSortIndexes();
+        }
+
+        boolean updateGroup(DataSetGroupIndex groupIndex, RowList nodeNewRows) {
+            ColumnGroup columnGroup = groupIndex.getColumnGroup();
+            DataColumn column = columnGroup == null ? null : dataSet.getColumnById(columnGroup.getSourceId());
+            if (column == null) {
+                return false;
+            }
+            IntervalBuilder intervalBuilder = intervalBuilderLocator.lookup(column.getColumnType(), columnGroup.getStrategy());
+            if (!isIncremental(intervalBuilder)) {
+                return false;
+            }
+            List<DataSetIntervalIndex> intervalIndexes = groupIndex.getIntervalIndexes();
+            for (DataSetIntervalIndex intervalIndex : intervalIndexes) {
+                if (intervalIndex instanceof DataSetIntervalSetIndex) {
+                    return false;
+                }
+            }
+            groupIndex.removeChildIndexes();
+            groupIndex.removeAggIndexes();
+
+            Map<String, Interval> newIntervals = new HashMap<>();
+            RowSetIntervalBuilder rowSetBuilder = (RowSetIntervalBuilder) intervalBuilder;
+            for (Interval interval : rowSetBuilder.build(new RowSet(newRows, nodeNewRows), columnGroup)) {
+                newIntervals.put(interval.getName(), interval);
+            }
+            for (DataSetIntervalIndex intervalIndex : intervalIndexes) {
+                Interval interval = newIntervals.remove(intervalIndex.getName());
+                RowList intervalNewRows = interval == null ? new RowList(0) : RowList.of(interval.getRows());
+                updateNode(intervalIndex, intervalIndex.getRows(), intervalNewRows);
+                intervalIndex.setRows(shiftRows(intervalIndex.getRows(), intervalNewRows));
+            }
+            for (Interval interval : newIntervals.values()) {
+                if (!interval.getRows().isEmpty()) {
+                    intervalIndexes.add(new DataSetIntervalIndex(groupIndex, interval));
+                }
+            }
+            if (intervalBuilder instanceof IntervalBuilderDynamicLabel) {
+                // Label intervals only exist for the values present and follow the order of their first row
+                intervalIndexes.removeIf(intervalIndex -> intervalIndex.getRows().isEmpty());
+                intervalIndexes.sort((i1, i2) -> Integer.compare(i1.getRows().get(0), i2.getRows().get(0)));
+            }
+            return true;
+        }
+
+        boolean updateAggValue(DataSetFunctionIndex functionIndex,
+                               String columnId,
+                               AggregateFunctionType type,
+                               List<Integer> rows,
+                               RowList removedRows,
+                               RowList nodeNewRows) {
+
+            DataColumn column = dataSet.getColumnById(columnId);
+            DataColumn newColumn = newRows.getColumnById(columnId);
+            Object value = functionIndex.getValue();
+            if (column == null || newColumn == null || value == null) {
+                return false;
+            }
+            switch (type) {
+                case COUNT: {
+                    double count = ((Number) value).doubleValue() + nodeNewRows.size() - removedRows.size();
+                    functionIndex.setValue(count);
+                    return true;
+                }
+                case SUM: {
+                    AggregateFunction function = aggregateFunctionManager.getFunctionByType(type);
+                    if (!(function instanceof SumFunction)) {
+                        return false;
+                    }
+                    SumFunction sumFunction = (SumFunction) function;
+                    double total = functionIndex.getTotal();
+                    if (Double.isNaN(total)) {
+                        total = sumFunction.sum(column.getValues(), rows);
+                    }
+                    total += sumFunction.sum(newColumn.getValues(), nodeNewRows);
+                    total -= sumFunction.sum(column.getValues(), removedRows);
+                    functionIndex.setTotal(total);
+                    functionIndex.setValue(sumFunction.round(total));
+                    return true;
+                }
+                case MIN:
+                case MAX: {
+                    AggregateFunction function = aggregateFunctionManager.getFunctionByType(type);
+                    int sign = AggregateFunctionType.MIN.equals(type) ? 1 : -1;
+                    Object removed = function.aggregate(column.getValues(), removedRows);
+                    if (removed != null && compare(removed, value) * sign <= 0) {
+                        // The current value might be gone
+                        return false;
+                    }
+                    Object added = function.aggregate(newColumn.getValues(), nodeNewRows);
+                    if (added != null && compare(added, value) * sign < 0) {
+                        functionIndex.setValue(added);
+                    }
+                    return true;
+                }
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * Get the rows of a node (null means all the data set rows) that are about to be removed.
+         */
+        RowList removedRows(List<Integer> rows) {
+            if (rows == null) {
+                return RowList.range(kept, dataSet.getRowCount());
+            }
+            RowList rowList = RowList.of(rows);
+            RowList result = new RowList(0);
+            for (int i = 0; i < rowList.size(); i++) {
+                int row = rowList.getRow(i);
+                if (row >= kept) {
+                    result.addRow(row);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Get the rows of a node once the new rows have been inserted.
+         */
+        RowList shiftRows(List<Integer> rows, RowList nodeNewRows) {
+            RowList rowList = RowList.of(rows);
+            RowList result = new RowList(nodeNewRows.size() + rowList.size());
+            result.addRows(nodeNewRows);
+            for (int i = 0; i < rowList.size(); i++) {
+                int row = rowList.getRow(i);
+                if (row < kept) {
+                    result.addRow(row + inserted);
+                }
+            }
+            result.trimToSize();
+            return result;
+        }
+
+        int compare(Object o1, Object o2) {
+            if (o1 instanceof Number && o2 instanceof Number) {
+                return Double.compare(((Number) o1).doubleValue(), ((Number) o2).doubleValue());
+            }
+            return ((Comparable) o1).compareTo(o2);
+        }
+    }
+
+    /**
+     * The new rows to index, a subset of the inserted data set, as seen by the interval builders and filter
+     * algorithms.
+     */
+    private static class RowSet implements DataSetRowSet {
+
+        DataSet dataSet;
+        List<Integer> rows;
+
+        RowSet(DataSet dataSet, List<Integer> rows) {
+            this.dataSet = dataSet;
+            this.rows = rows;
+        }
+
+        public DataSet getDataSet() {
+            return dataSet;
+        }
+
+        public List<Integer> getRows() {
+            return rows;
+        }
+    }
+}
@@ -29,6 +29,11 @@ import org.dashbuilder.dataset.DataSet;
 public interface DataSetRowSet {
 
     DataSet getDataSet();
+
+    /**
+     * Get the row subset (or null if all the data set rows are included).
+     * <p>The engine holds rows in a compact {@link org.dashbuilder.dataset.impl.RowList} whenever possible.</p>
+     */
     List<Integer> getRows();
 
 }
\ No newline at end of file
@@ -99,11 +99,88 @@ public class SharedDataSetOpEngine implements DataSetOpEngine {
     }
 
     public DataSet execute(String uuid, List<DataSetOp> opList) {
+        DataSetIndex index = indexRegistry.get(uuid);
         DataSetOpListProcessor processor = new DataSetOpListProcessor();
-        processor.setDataSetIndex(indexRegistry.get(uuid));
+        processor.setDataSetIndex(index);
         processor.setOperationList(opList);
-        processor.run();
-        return processor.getDataSet();
+        if (index == null) {
+            processor.run();
+            return processor.getDataSet();
+        }
+        index.startLookup();
+        try {
+            processor.run();
+            return processor.getDataSet();
+        } finally {
+            index.finishLookup();
+        }
+    }
+
+    /**
+     * Insert rows at the top of a registered data set, removing its bottom rows over the given maximum, and update
+     * its indexes instead of building them again (see {@link DataSetIndexUpdater}). Callers must make sure no lookup
+     * over the same data set runs meanwhile.
+     * @return The updated data set or null if no data set is registered with the given uuid.
+     * @throws IllegalStateException If a lookup over the data set is in progress.
+     */
+    public DataSet insertRows(String uuid, DataSet newRows, int maxRows) {
+        DataSetIndex index = indexRegistry.get(uuid);
+        if (index == null) {
+            return null;
+        }
+        new DataSetIndexUpdater(aggregateFunctionManager, intervalBuilderLocator, filterAlgorithm)
+                .insertRows(index, newRows, maxRows);
+        return index.getDataSet();
+    }
+
+    /**
+     * Get the aggregate value of a column over the rows of the given index, calculating and indexing it if not
+     * found in the index.
+     */
+    protected Object calculateFunction(DataColumn column, AggregateFunctionType type, DataSetIndexNode index) {
+        // Preconditions
+        if (type == null) {
+            throw new IllegalArgumentException("No aggregation function specified for the column: " + column.getId());
+        }
+        // Look into the index first
+        if (index != null) {
+            Object sv = index.getAggValue(column.getId(), type);
+            if (sv != null) {
+                return sv;
+            }
+        }
+        // Do the aggregate calculations.
+        AggregateFunction function = aggregateFunctionManager.getFunctionByType(type);
+        if (index == null) {
+            return function.aggregate(column.getValues());
+        }
+        // (unless a concurrent lookup is already calculating the same value)
+        Object buildLock = index.getBuildLock(column.getId() + "_" + type);
+        try {
+            synchronized (buildLock) {
+                Object sv = index.getAggValue(column.getId(), type);
+                if (sv != null) {
+                    return sv;
+                }
+                long begin = chronometer.start();
+                Object aggValue = function.aggregate(column.getValues(), index.getRows());
+                long buildTime = chronometer.stop() - begin;
+
+                // Index the result
+                index.indexAggValue(column.getId(), type, aggValue, buildTime);
+                return aggValue;
+            }
+        } finally {
+            index.releaseBuildLock(buildLock);
+        }
+    }
+
+    /**
+     * Calculates ahead (and indexes) the aggregate values of a column over the rows of every given index, before
+     * they are read by {@link #calculateFunction(DataColumn, AggregateFunctionType, DataSetIndexNode)}. It does
+     * nothing by default, so the values are calculated one by one as they are read.
+     */
+    protected void calculateFunctions(DataColumn column, AggregateFunctionType type, List<? extends DataSetIndexNode> indexes) {
     }
 
     private class DataSetOpListProcessor implements Runnable {
@@ -261,15 +338,26 @@ public class SharedDataSetOpEngine implements DataSetOpEngine {
             if (groupIndex != null) {
                 return groupIndex;
             }
-            // No index match => Build required
-            chronometer.start();
-            IntervalList intervalList = intervalBuilder.build(new InternalHandler(context), columnGroup);
-            chronometer.stop();
-
-            // Index before return.
-            DataSetGroupIndex index = new DataSetGroupIndex(columnGroup, intervalList);
-            index.setBuildTime(chronometer.elapsedTime());
-            return context.index.indexGroup(index);
+            // No index match => Build required (unless a concurrent lookup is already building it)
+            Object buildLock = context.index.getBuildLock(context.index.getGroupKey(columnGroup));
+            try {
+                synchronized (buildLock) {
+                    groupIndex = context.index.getGroupIndex(columnGroup);
+                    if (groupIndex != null) {
+                        return groupIndex;
+                    }
+                    long begin = chronometer.start();
+                    IntervalList intervalList = intervalBuilder.build(new InternalHandler(context), columnGroup);
+                    long buildTime = chronometer.stop() - begin;
+
+                    // Index before return.
+                    DataSetGroupIndex index = new DataSetGroupIndex(columnGroup, intervalList);
+                    index.setBuildTime(buildTime);
+                    return context.index.indexGroup(index);
+                }
+            } finally {
+                context.index.releaseBuildLock(buildLock);
+            }
         }
 
         protected DataSetGroupIndex nestedGroup(DataSetGroup op, DataSetGroupIndex lastGroupIndex, InternalContext context) {
@@ -278,8 +366,25 @@ public class SharedDataSetOpEngine implements DataSetOpEngine {
             DataSetGroupIndex nestedGroupIndex = lastGroupIndex.getGroupIndex(op.getColumnGroup());
             if (nestedGroupIndex != null) return nestedGroupIndex;
 
-            // No index match => Create a brand new group index
-            nestedGroupIndex = new DataSetGroupIndex(op.getColumnGroup());
+            // No index match => Build required (unless a concurrent lookup is already building it)
+            Object buildLock = lastGroupIndex.getBuildLock(lastGroupIndex.getGroupKey(op.getColumnGroup()));
+            try {
+                synchronized (buildLock) {
+                    nestedGroupIndex = lastGroupIndex.getGroupIndex(op.getColumnGroup());
+                    if (nestedGroupIndex != null) {
+                        return nestedGroupIndex;
+                    }
+                    return buildNestedGroup(op, lastGroupIndex, context);
+                }
+            } finally {
+                lastGroupIndex.releaseBuildLock(buildLock);
+            }
+        }
+
+        protected DataSetGroupIndex buildNestedGroup(DataSetGroup op, DataSetGroupIndex lastGroupIndex, InternalContext context) {
+
+            // Create a brand new group index
+            DataSetGroupIndex nestedGroupIndex = new DataSetGroupIndex(op.getColumnGroup());
 
             // Apply the nested group operation on each parent group interval.
             InternalContext nestedContext = new InternalContext(context.dataSet, null);
@@ -353,7 +458,7 @@ public class SharedDataSetOpEngine implements DataSetOpEngine {
 
                 // No index => Filter required
                 if (context.index == null) {
-                    List<Integer> rows = filterAlgorithm.filter(new InternalHandler(context), filter);
+                    List<Integer> rows = filterAlgorithm.filter(context, filter);
                     context.index(op, new DataSetFilterIndex(filter, rows));
                     continue;
                 }
@@ -363,13 +468,24 @@ public class SharedDataSetOpEngine implements DataSetOpEngine {
                     context.index(op, index);
                     continue;
                 }
-                // No index match => Filter required
-                chronometer.start();
-                List<Integer> rows = filterAlgorithm.filter(new InternalHandler(context), filter);
-                chronometer.stop();
-
+                // No index match => Filter required (unless a concurrent lookup is already filtering)
+                DataSetIndexNode node = context.index;
+                Object buildLock = node.getBuildLock(filter);
+                try {
+                    synchronized (buildLock) {
+                        index = node.getFilterIndex(filter);
+                        if (index == null) {
+                            long begin = chronometer.start();
+                            List<Integer> rows = filterAlgorithm.filter(context, filter);
+                            long buildTime = chronometer.stop() - begin;
+                            index = node.indexFilter(filter, rows, buildTime);
+                        }
+                    }
+                } finally {
+                    node.releaseBuildLock(buildLock);
+                }
                 // Index before continue.
-                context.index(op, context.index.indexFilter(filter, rows, chronometer.elapsedTime()));
+                context.index(op, index);
             }
         }
 
@@ -400,13 +516,24 @@ public class SharedDataSetOpEngine implements DataSetOpEngine {
                 context.index(op, sortIndex);
                 return;
             }
-            // No index match => Sort required
-            chronometer.start();
-            List<Integer> orderedRows = sortAlgorithm.sort(context.getDataSet(), context.getRows(), op.getColumnSortList());
-            chronometer.stop();
-
+            // No index match => Sort required (unless a concurrent lookup is already sorting)
+            DataSetIndexNode node = context.index;
+            Object buildLock = node.getBuildLock(op);
+            try {
+                synchronized (buildLock) {
+                    sortIndex = node.getSortIndex(op);
+                    if (sortIndex == null) {
+                        long begin = chronometer.start();
+                        List<Integer> orderedRows = sortAlgorithm.sort(context.getDataSet(), context.getRows(), op.getColumnSortList());
+                        long buildTime = chronometer.stop() - begin;
+                        sortIndex = node.indexSort(op, orderedRows, buildTime);
+                    }
+                }
+            } finally {
+                node.releaseBuildLock(buildLock);
+            }
             // Index before return.
-            context.index(op, context.index.indexSort(op, orderedRows, chronometer.elapsedTime()));
+            context.index(op, sortIndex);
         }
 
         // DATASET BUILD
@@ -511,17 +638,27 @@ public class SharedDataSetOpEngine implements DataSetOpEngine {
                     }
                 }
             }
+            // Include/discard empty intervals
+            List<DataSetIntervalIndex> intervalIdxs = new ArrayList<DataSetIntervalIndex>();
+            for (DataSetIntervalIndex intervalIdx : index.getIntervalIndexes()) {
+                if (!intervalIdx.getRows().isEmpty() || columnGroup.areEmptyIntervalsAllowed()) {
+                    intervalIdxs.add(intervalIdx);
+                }
+            }
+            for (GroupFunction groupFunction : groupFunctions) {
+                String sourceId = groupFunction.getSourceId();
+                AggregateFunctionType columnFunction = groupFunction.getFunction();
+                if (columnFunction != null) {
+                    DataColumn dataColumn = sourceId != null ? dataSet.getColumnById(sourceId) : dataSet.getColumnByIndex(0);
+                    calculateFunctions(dataColumn, columnFunction, intervalIdxs);
+                }
+            }
+
             // Add the aggregate calculations to the result.
-            List<DataSetIntervalIndex> intervalIdxs = index.getIntervalIndexes();
             int row = 0;
             for (int i=0; i<intervalIdxs.size(); i++) {
                 DataSetIntervalIndex intervalIdx = intervalIdxs.get(i);
 
-                // Include/discard empty intervals
-                if (intervalIdx.getRows().isEmpty() && !columnGroup.areEmptyIntervalsAllowed()) {
-                    continue;
-                }
-
                 // Add the aggregate calculations.
                 for (int j=0; j< groupFunctions.size(); j++) {
                     GroupFunction groupFunction = groupFunctions.get(j);
@@ -536,7 +673,7 @@ public class SharedDataSetOpEngine implements DataSetOpEngine {
 
                         // Columns based on aggregation functions
                         if (columnFunction != null) {
-                            Object aggValue = _calculateFunction(dataColumn, groupFunction.getFunction(), intervalIdx);
+                            Object aggValue = calculateFunction(dataColumn, groupFunction.getFunction(), intervalIdx);
                             result.setValueAt(row, j, aggValue);
                         }
                         // Pick up the first column value for the interval
@@ -578,7 +715,7 @@ public class SharedDataSetOpEngine implements DataSetOpEngine {
                     DataColumn dataColumn = dataSet.getColumnById(sourceId);
                     if (dataColumn == null) dataColumn = dataSet.getColumnByIndex(0);
 
-                    Object aggValue = _calculateFunction(dataColumn, gf.getFunction(), index);
+                    Object aggValue = calculateFunction(dataColumn, gf.getFunction(), index);
                     result.setValueAt(0, i, aggValue);
                 }
             } else {
@@ -598,31 +735,6 @@ public class SharedDataSetOpEngine implements DataSetOpEngine {
             return result;
         }
 
-        private Object _calculateFunction(DataColumn column, AggregateFunctionType type, DataSetIndexNode index) {
-            // Preconditions
-            if (type == null) {
-                throw new IllegalArgumentException("No aggregation function specified for the column: " + column.getId());
-            }
-            // Look into the index first
-            if (index != null) {
-                Object sv = index.getAggValue(column.getId(), type);
-                if (sv != null) {
-                    return sv;
-                }
-            }
-            // Do the aggregate calculations.
-            chronometer.start();
-            AggregateFunction function = aggregateFunctionManager.getFunctionByType(type);
-            Object aggValue = function.aggregate(column.getValues(), index.getRows());
-            chronometer.stop();
-
-            // Index the result
-            if (index != null) {
-                index.indexAggValue(column.getId(), type, aggValue, chronometer.elapsedTime());
-            }
-            return aggValue;
-        }
-
         class InternalContext implements DataSetRowSet {
 
             DataSet dataSet = null;
@@ -27,6 +27,10 @@ import java.util.Map;
 import org.dashbuilder.dataset.date.TimeFrame;
 import org.dashbuilder.dataset.filter.CoreFunctionFilter;
 import org.dashbuilder.dataset.filter.CoreFunctionType;
+import org.dashbuilder.dataset.impl.DateColumnValues;
+import org.dashbuilder.dataset.impl.LabelColumnValues;
+import org.dashbuilder.dataset.impl.NumberColumnValues;
+import org.dashbuilder.dataset.impl.TypedColumnValues;
 
 public class CoreFunction extends DataSetFunction {
 
@@ -55,6 +59,17 @@ public class CoreFunction extends DataSetFunction {
     public boolean pass() {
         CoreFunctionType type = coreFunctionFilter.getType();
 
+        // Typed columns are evaluated over its primitive values (when possible)
+        List values = getDataColumn().getValues();
+        if (values instanceof LabelColumnValues) {
+            Boolean result = passLabel(type, (LabelColumnValues) values);
+            if (result != null) return result;
+        }
+        else if (values instanceof NumberColumnValues || values instanceof DateColumnValues) {
+            Boolean result = passOrdered(type, values);
+            if (result != null) return result;
+        }
+
         if (CoreFunctionType.IS_NULL.equals(type)) {
             return isNull(getCurrentValue());
         }
@@ -97,6 +112,113 @@ public class CoreFunction extends DataSetFunction {
         throw new IllegalArgumentException("Core function type not supported: " + type);
     }
 
+    // Typed column fast paths
+
+    private LabelColumnValues _paramCodesValues = null;
+
+    private boolean[] _paramCodes = null;
+
+    private boolean _paramNull = false;
+
+    /**
+     * Evaluates the function on a dictionary encoded column by comparing codes instead of strings.
+     * <p>The codes matching the parameters are found by comparing every parameter against the dictionary with
+     * {@link #compare(Comparable, Comparable)}, so parameters are converted just like in the row by row evaluation.</p>
+     * @return The evaluation result or null if the function type is not supported.
+     */
+    protected Boolean passLabel(CoreFunctionType type, LabelColumnValues values) {
+        int row = getContext().getCurrentRow();
+        boolean isNull = values.isNull(row);
+
+        if (CoreFunctionType.IS_NULL.equals(type)) {
+            return isNull;
+        }
+        if (CoreFunctionType.NOT_NULL.equals(type)) {
+            return !isNull;
+        }
+        boolean equals = CoreFunctionType.EQUALS_TO.equals(type) || CoreFunctionType.IN.equals(type);
+        boolean notEquals = CoreFunctionType.NOT_EQUALS_TO.equals(type) || CoreFunctionType.NOT_IN.equals(type);
+        if (!equals && !notEquals) {
+            return null;
+        }
+        // No parameters to compare => return true
+        if (getParameters().isEmpty()) {
+            return true;
+        }
+        if (_paramCodesValues != values || _paramCodes.length != values.getDictionary().size()) {
+            List<String> dictionary = values.getDictionary();
+            _paramCodesValues = values;
+            _paramCodes = new boolean[dictionary.size()];
+            _paramNull = false;
+            for (Comparable param : getParameters()) {
+                _paramNull |= compare(param, null);
+                for (int code = 0; code < _paramCodes.length; code++) {
+                    _paramCodes[code] |= compare(param, dictionary.get(code));
+                }
+            }
+        }
+        boolean found = isNull ? _paramNull : _paramCodes[values.getCode(row)];
+        return equals ? found : !found;
+    }
+
+    /**
+     * Evaluates the function on a number or date column by comparing the primitive values.
+     * @return The evaluation result or null if the function type or the parameters are not supported.
+     */
+    protected Boolean passOrdered(CoreFunctionType type, List values) {
+        int row = getContext().getCurrentRow();
+        boolean numbers = values instanceof NumberColumnValues;
+        boolean isNull = ((TypedColumnValues) values).isNull(row);
+
+        if (CoreFunctionType.IS_NULL.equals(type)) {
+            return isNull;
+        }
+        if (CoreFunctionType.NOT_NULL.equals(type)) {
+            return !isNull;
+        }
+        boolean greaterThan = CoreFunctionType.GREATER_THAN.equals(type);
+        boolean greaterOrEquals = CoreFunctionType.GREATER_OR_EQUALS_TO.equals(type);
+        boolean lowerThan = CoreFunctionType.LOWER_THAN.equals(type);
+        boolean lowerOrEquals = CoreFunctionType.LOWER_OR_EQUALS_TO.equals(type);
+        boolean between = CoreFunctionType.BETWEEN.equals(type);
+        if (!greaterThan && !greaterOrEquals && !lowerThan && !lowerOrEquals && !between) {
+            return null;
+        }
+        Comparable param0 = getParameter(0);
+        Comparable param1 = between ? getParameter(1) : null;
+        if (!isOrderedParam(param0, numbers) || !isOrderedParam(param1, numbers)) {
+            return null;
+        }
+        double value = 0d;
+        if (!isNull) {
+            value = numbers ? ((NumberColumnValues) values).getDouble(row) : ((DateColumnValues) values).getTime(row);
+        }
+        if (greaterThan || lowerOrEquals) {
+            boolean greater = !isNull && (param0 == null || Double.compare(value, toDouble(param0)) > 0);
+            return greaterThan ? greater : !greater;
+        }
+        if (greaterOrEquals || lowerThan) {
+            boolean greaterOrEq = param0 == null || (!isNull && Double.compare(value, toDouble(param0)) >= 0);
+            return greaterOrEquals ? greaterOrEq : !greaterOrEq;
+        }
+        // Between
+        if (isNull) {
+            return param0 == null;
+        }
+        if (param0 != null && Double.compare(value, toDouble(param0)) < 0) {
+            return false;
+        }
+        return param1 == null || Double.compare(value, toDouble(param1)) <= 0;
+    }
+
+    private boolean isOrderedParam(Comparable param, boolean numbers) {
+        return param == null || (numbers ? param instanceof Number : param instanceof Date);
+    }
+
+    private double toDouble(Comparable param) {
+        return param instanceof Date ? ((Date) param).getTime() : ((Number) param).doubleValue();
+    }
+
     public boolean isNull(Comparable value) {
         return value == null;
     }
@@ -21,7 +21,7 @@ package org.dashbuilder.dataset.engine.filter;
 
 import java.util.List;
 
-import org.dashbuilder.dataset.engine.DataSetHandler;
+import org.dashbuilder.dataset.engine.DataSetRowSet;
 import org.dashbuilder.dataset.filter.ColumnFilter;
 
 /**
@@ -36,5 +36,5 @@ public interface DataSetFilterAlgorithm {
      * @param columnFilter The column filter to apply.
      * @return A list of ordinals containing only the rows that surpass the filter.
      */
-    List<Integer> filter(DataSetHandler ctx, ColumnFilter columnFilter);
+    List<Integer> filter(DataSetRowSet ctx, ColumnFilter columnFilter);
 }
@@ -19,15 +19,15 @@
 
 package org.dashbuilder.dataset.engine.filter;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.dashbuilder.dataset.DataSet;
-import org.dashbuilder.dataset.engine.DataSetHandler;
+import org.dashbuilder.dataset.engine.DataSetRowSet;
 import org.dashbuilder.dataset.filter.ColumnFilter;
 import org.dashbuilder.dataset.filter.CoreFunctionFilter;
 import org.dashbuilder.dataset.filter.CustomFunctionFilter;
 import org.dashbuilder.dataset.filter.LogicalExprFilter;
+import org.dashbuilder.dataset.impl.RowList;
 
 /**
  * Default data set filter algorithm.
@@ -76,31 +76,35 @@ public class DefaultFilterAlgorithm implements DataSetFilterAlgorithm {
      .filter(COUNTRY, equalsTo("Spain"))
 
      */
-    public List<Integer> filter(DataSetHandler ctx, ColumnFilter columnFilter) {
+    public List<Integer> filter(DataSetRowSet ctx, ColumnFilter columnFilter) {
+        DataSet dataSet = ctx.getDataSet();
+        RowList targetRows = ctx.getRows() == null ? null : RowList.of(ctx.getRows());
+        int size = targetRows == null ? dataSet.getRowCount() : targetRows.size();
+
+        RowList result = filter(dataSet, columnFilter, targetRows, 0, size);
+        result.trimToSize();
+        return result;
+    }
+
+    /**
+     * Apply the filter to a range of the target rows.
+     * @param targetRows The rows to filter or null to filter the whole data set.
+     * @param from The first position (inclusive) within the target rows.
+     * @param to The last position (exclusive) within the target rows.
+     * @return The rows passing the filter, in the same order as the target rows.
+     */
+    public RowList filter(DataSet dataSet, ColumnFilter columnFilter, RowList targetRows, int from, int to) {
 
         // Build the data set filter function.
-        DataSet dataSet = ctx.getDataSet();
         DataSetFilterContext dataSetFilterContext = new DataSetFilterContext(dataSet);
         DataSetFunction filterFunction = buildFunction(dataSetFilterContext, columnFilter);
 
-        List<Integer> result = new ArrayList<Integer>();
-
-        // Apply the filter function to the whole data set.
-        if (ctx == null || ctx.getRows() == null) {
-            for (int i = 0; i < dataSet.getRowCount(); i++) {
-                dataSetFilterContext.setCurrentRow(i);
-                if (filterFunction.pass()) {
-                    result.add(i);
-                }
-            }
-        }
-        // Filter only the target rows specified.
-        else {
-            for (Integer targetRow : ctx.getRows()) {
-                dataSetFilterContext.setCurrentRow(targetRow);
-                if (filterFunction.pass()) {
-                    result.add(targetRow);
-                }
+        RowList result = new RowList();
+        for (int i = from; i < to; i++) {
+            int row = targetRows == null ? i : targetRows.getRow(i);
+            dataSetFilterContext.setCurrentRow(row);
+            if (filterFunction.pass()) {
+                result.addRow(row);
             }
         }
         return result;
@@ -19,7 +19,13 @@
 
 package org.dashbuilder.dataset.engine.function;
 
+import java.util.Date;
+
 import org.dashbuilder.dataset.group.AggregateFunction;
+import org.dashbuilder.dataset.impl.DateColumnValues;
+import org.dashbuilder.dataset.impl.NumberColumnValues;
+import org.dashbuilder.dataset.impl.RowList;
+import org.dashbuilder.dataset.impl.TypedColumnValues;
 
 /**
  * Base class for the implementation of aggregate functions.
@@ -38,4 +44,52 @@ public abstract class AbstractFunction implements AggregateFunction {
         double power = Math.pow(10, precission);
         return Math.round(value.doubleValue() * power) / power;
     }
+
+    // Fast paths for typed columns
+
+    /**
+     * Check if the min/max value of the given values can be calculated over its primitive storage.
+     */
+    protected boolean isExtremeSupported(Object values) {
+        return values instanceof NumberColumnValues || values instanceof DateColumnValues;
+    }
+
+    /**
+     * Get the min. or max. value of a typed column.
+     * @param values A number or date typed column.
+     * @param rows The target rows or null to include all the column values.
+     * @param max If true the max. value is returned. Otherwise, the min.
+     * @return The extreme value found or null if all the values are null.
+     */
+    protected Object extreme(TypedColumnValues values, RowList rows, boolean max) {
+        int n = rows == null ? values.size() : rows.size();
+        if (values instanceof NumberColumnValues) {
+            NumberColumnValues numbers = (NumberColumnValues) values;
+            boolean found = false;
+            double result = 0d;
+            for (int i = 0; i < n; i++) {
+                int row = rows == null ? i : rows.getRow(i);
+                if (numbers.isNull(row)) continue;
+                double val = numbers.getDouble(row);
+                if (!found || (max ? val > result : val < result)) {
+                    result = val;
+                    found = true;
+                }
+            }
+            return found ? round(result, precission) : null;
+        }
+        DateColumnValues dates = (DateColumnValues) values;
+        boolean found = false;
+        long result = 0;
+        for (int i = 0; i < n; i++) {
+            int row = rows == null ? i : rows.getRow(i);
+            if (dates.isNull(row)) continue;
+            long val = dates.getTime(row);
+            if (!found || (max ? val > result : val < result)) {
+                result = val;
+                found = true;
+            }
+        }
+        return found ? new Date(result) : null;
+    }
 }
\ No newline at end of file
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.dashbuilder.dataset.group.AggregateFunctionType;
+import org.dashbuilder.dataset.impl.RowList;
 
 /**
  * It calculates the number of distinct occurrences inside a given collection.
@@ -45,16 +46,7 @@ public class DistinctFunction extends AbstractFunction {
         }
 
         // Return the number of distinct items in the collection.
-        Set distincts = new HashSet();
-        Iterator it = values.iterator();
-        while (it.hasNext()) {
-            Object o = it.next();
-            if (distincts.contains(o)) {
-                continue;
-            }
-            distincts.add(o);
-        }
-        return (double) distincts.size();
+        return (double) distinct(values, null).size();
     }
 
     public Object aggregate(List values, List<Integer> rows) {
@@ -69,14 +61,26 @@ public class DistinctFunction extends AbstractFunction {
         }
 
         // Return the number of distinct items in the collection.
+        return (double) distinct(values, rows).size();
+    }
+
+    /**
+     * Get the distinct items in the collection.
+     * @param rows The target rows or null to include all the values.
+     */
+    public Set distinct(List values, List<Integer> rows) {
         Set distincts = new HashSet();
-        for (Integer row : rows) {
-            Object o = values.get(row);
-            if (distincts.contains(o)) {
-                continue;
+        if (rows == null) {
+            Iterator it = values.iterator();
+            while (it.hasNext()) {
+                distincts.add(it.next());
             }
-            distincts.add(o);
+            return distincts;
+        }
+        RowList rowList = RowList.of(rows);
+        for (int i = 0; i < rowList.size(); i++) {
+            distincts.add(values.get(rowList.getRow(i)));
         }
-        return (double) distincts.size();
+        return distincts;
     }
 }
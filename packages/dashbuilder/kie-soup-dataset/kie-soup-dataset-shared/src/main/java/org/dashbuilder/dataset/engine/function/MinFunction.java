@@ -22,6 +22,8 @@ package org.dashbuilder.dataset.engine.function;
 import java.util.List;
 
 import org.dashbuilder.dataset.group.AggregateFunctionType;
+import org.dashbuilder.dataset.impl.RowList;
+import org.dashbuilder.dataset.impl.TypedColumnValues;
 
 /**
  * It calculates the min. number of a set of values.
@@ -40,6 +42,9 @@ public class MinFunction extends AbstractFunction {
         if (values == null || values.isEmpty()) {
             return null;
         }
+        if (isExtremeSupported(values)) {
+            return extreme((TypedColumnValues) values, null, false);
+        }
 
         // Get the min. value from the collection.
         Comparable result = null;
@@ -64,11 +69,15 @@ public class MinFunction extends AbstractFunction {
         if (rows.isEmpty() || values == null || values.isEmpty()) {
             return null;
         }
+        if (isExtremeSupported(values)) {
+            return extreme((TypedColumnValues) values, RowList.of(rows), false);
+        }
 
         // Get the min. value within the target rows.
         Comparable result = null;
-        for (Integer row : rows) {
-            Comparable val = (Comparable) values.get(row);
+        RowList rowList = RowList.of(rows);
+        for (int i = 0; i < rowList.size(); i++) {
+            Comparable val = (Comparable) values.get(rowList.getRow(i));
             if (val == null) {
                 continue;
             }
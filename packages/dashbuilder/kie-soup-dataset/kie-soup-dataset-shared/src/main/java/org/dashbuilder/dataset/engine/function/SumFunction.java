@@ -23,6 +23,8 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.dashbuilder.dataset.group.AggregateFunctionType;
+import org.dashbuilder.dataset.impl.NumberColumnValues;
+import org.dashbuilder.dataset.impl.RowList;
 
 /**
  * It calculates the sum value of a set of numbers.
@@ -41,16 +43,7 @@ public class SumFunction extends AbstractFunction {
         if (values == null || values.isEmpty()) {
             return 0d;
         }
-
-        // Sum the collection.
-        double sum = 0d;
-        Iterator it = values.iterator();
-        while (it.hasNext()) {
-            Number n = (Number) it.next();
-            if (n == null) continue;
-            sum += n.doubleValue();
-        }
-        return round(sum, precission);
+        return round(sum(values, null), precission);
     }
 
     public Object aggregate(List values, List<Integer> rows) {
@@ -63,14 +56,51 @@ public class SumFunction extends AbstractFunction {
         if (values == null || values.isEmpty()) {
             return 0d;
         }
+        return round(sum(values, rows), precission);
+    }
 
-        // Sum the collection.
+    /**
+     * Sum the given values (with no rounding).
+     * @param rows The target rows or null to sum all the values.
+     */
+    public double sum(List values, List<Integer> rows) {
+        if (values instanceof NumberColumnValues) {
+            return sum((NumberColumnValues) values, RowList.of(rows));
+        }
         double sum = 0d;
-        for (Integer row : rows) {
-            Number n = (Number) values.get(row);
+        if (rows == null) {
+            Iterator it = values.iterator();
+            while (it.hasNext()) {
+                Number n = (Number) it.next();
+                if (n == null) continue;
+                sum += n.doubleValue();
+            }
+            return sum;
+        }
+        RowList rowList = RowList.of(rows);
+        for (int i = 0; i < rowList.size(); i++) {
+            Number n = (Number) values.get(rowList.getRow(i));
             if (n == null) continue;
             sum += n.doubleValue();
         }
+        return sum;
+    }
+
+    /**
+     * Round a sum calculated with {@link #sum(List, List)} the same way the aggregated values are.
+     */
+    public Object round(double sum) {
         return round(sum, precission);
     }
-}
\ No newline at end of file
+
+    protected double sum(NumberColumnValues values, RowList rows) {
+        double sum = 0d;
+        int n = rows == null ? values.size() : rows.size();
+        for (int i = 0; i < n; i++) {
+            int row = rows == null ? i : rows.getRow(i);
+            if (values.isNull(row)) continue;
+            sum += values.getDouble(row);
+        }
+        return sum;
+    }
+}
@@ -23,16 +23,21 @@ import java.util.List;
 
 import org.dashbuilder.dataset.DataColumn;
 import org.dashbuilder.dataset.engine.DataSetHandler;
+import org.dashbuilder.dataset.engine.DataSetRowSet;
 import org.dashbuilder.dataset.group.ColumnGroup;
 import org.dashbuilder.dataset.group.Interval;
 
 /**
  * Interval builder for label columns which generates one interval per label.
  */
-public class IntervalBuilderDynamicLabel implements IntervalBuilder {
+public class IntervalBuilderDynamicLabel implements RowSetIntervalBuilder {
 
     public IntervalList build(DataSetHandler ctx, ColumnGroup columnGroup) {
-        IntervalListLabel intervalList = new IntervalListLabel(columnGroup);
+        return build((DataSetRowSet) ctx, columnGroup);
+    }
+
+    public IntervalList build(DataSetRowSet ctx, ColumnGroup columnGroup) {
+        IntervalList intervalList = createIntervalList(columnGroup);
         String columnId = columnGroup.getSourceId();
         List values = ctx.getDataSet().getColumnById(columnId).getValues();
         List<Integer> rows = ctx.getRows();
@@ -41,11 +46,18 @@ public class IntervalBuilderDynamicLabel implements IntervalBuilder {
 
     public IntervalList build(DataColumn dataColumn) {
         ColumnGroup columnGroup = dataColumn.getColumnGroup();
-        IntervalListLabel intervalList = new IntervalListLabel(columnGroup);
+        IntervalList intervalList = createIntervalList(columnGroup);
         List values = dataColumn.getValues();
         return intervalList.indexValues(values, null);
     }
 
+    /**
+     * Creates an empty list which adds a new interval for every label indexed.
+     */
+    public IntervalList createIntervalList(ColumnGroup columnGroup) {
+        return new IntervalListLabel(columnGroup);
+    }
+
     private class IntervalListLabel extends IntervalList {
 
         private IntervalListLabel(ColumnGroup columnGroup) {
@@ -60,7 +72,7 @@ public class IntervalBuilderDynamicLabel implements IntervalBuilder {
                 int index = this.size();
                 this.add(interval = new Interval(name, index));
             }
-            interval.getRows().add(row);
+            interval.addRow(row);
         }
 
         public Interval locateInterval(Object value) {
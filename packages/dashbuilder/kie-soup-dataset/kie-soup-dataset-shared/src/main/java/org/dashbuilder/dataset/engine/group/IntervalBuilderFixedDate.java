@@ -24,6 +24,7 @@ import java.util.List;
 
 import org.dashbuilder.dataset.DataColumn;
 import org.dashbuilder.dataset.engine.DataSetHandler;
+import org.dashbuilder.dataset.engine.DataSetRowSet;
 import org.dashbuilder.dataset.group.ColumnGroup;
 import org.dashbuilder.dataset.group.DateIntervalType;
 
@@ -38,9 +39,13 @@ import static org.dashbuilder.dataset.group.DateIntervalType.SECOND;
  * Interval builder for date columns which generates a fixed number of intervals for a given interval size.
  * <p>The only intervals sizes supported are: QUARTER, MONTH, DAY_OF_WEEK, HOUR, MINUTE and SECOND.</p>
  */
-public class IntervalBuilderFixedDate implements IntervalBuilder {
+public class IntervalBuilderFixedDate implements RowSetIntervalBuilder {
 
     public IntervalList build(DataSetHandler ctx, ColumnGroup columnGroup) {
+        return build((DataSetRowSet) ctx, columnGroup);
+    }
+
+    public IntervalList build(DataSetRowSet ctx, ColumnGroup columnGroup) {
         IntervalList intervalList = _build(columnGroup);
 
         // Index the values
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+package org.dashbuilder.dataset.engine.group;
+
+import org.dashbuilder.dataset.engine.DataSetRowSet;
+import org.dashbuilder.dataset.group.ColumnGroup;
+
+/**
+ * An interval builder which only needs to read the values of the rows to group, so it can build the intervals of
+ * any row subset, not just the ones handled by the operation engine.
+ */
+public interface RowSetIntervalBuilder extends IntervalBuilder {
+
+    /**
+     * Build a list of intervals according to the column group settings. The resulting intervals contain the row
+     * references belonging to it.
+     * @param rowSet The data set rows to group.
+     * @param columnGroup The column group operation to apply.
+     *
+     * @return A list of intervals containing a split of all the values for the given column.
+     */
+    IntervalList build(DataSetRowSet rowSet, ColumnGroup columnGroup);
+}
@@ -26,13 +26,26 @@ import org.dashbuilder.dataset.impl.MemSizeEstimator;
  */
 public class DataSetFunctionIndex extends DataSetIndexElement {
 
+    DataSetIndexNode parent = null;
     Object value = null;
 
+    // Exact (not rounded) total behind a SUM value, kept by the incremental updates.
+    double total = Double.NaN;
+
     public DataSetFunctionIndex(Object value, long buildTime) {
         super(buildTime);
         this.value = value;
     }
 
+    public DataSetIndexNode getParent() {
+        return parent;
+    }
+
+    @Override
+    TransientDataSetIndexRegistry getRegistry() {
+        return parent != null ? parent.getRegistry() : null;
+    }
+
     public Object getValue() {
         return value;
     }
@@ -41,6 +54,14 @@ public class DataSetFunctionIndex extends DataSetIndexElement {
         this.value = value;
     }
 
+    public double getTotal() {
+        return total;
+    }
+
+    public void setTotal(double total) {
+        this.total = total;
+    }
+
     public long getEstimatedSize() {
         long result = super.getEstimatedSize();
         if (value != null) {
@@ -21,12 +21,14 @@ package org.dashbuilder.dataset.engine.index;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.dashbuilder.dataset.engine.group.IntervalList;
 import org.dashbuilder.dataset.engine.index.visitor.DataSetIndexVisitor;
 import org.dashbuilder.dataset.group.ColumnGroup;
 import org.dashbuilder.dataset.group.Interval;
+import org.dashbuilder.dataset.impl.RowList;
 
 /**
  * A DataSet group operation index
@@ -41,7 +43,7 @@ public class DataSetGroupIndex extends DataSetIndexNode implements DataSetInterv
     Object maxValue = null;
 
     // And can (optionally) contains a subset of interval selections.
-    List<DataSetGroupIndex> selectIndexList = null;
+    volatile List<DataSetGroupIndex> selectIndexList = null;
 
     // When the group represents a selection it has a selection key.
     String selectKey = null;
@@ -80,6 +82,10 @@ public class DataSetGroupIndex extends DataSetIndexNode implements DataSetInterv
         intervalIndexList.add(index);
     }
 
+    public ColumnGroup getColumnGroup() {
+        return columnGroup;
+    }
+
     public String getIntervalType() {
         return intervalType;
     }
@@ -148,6 +154,7 @@ public class DataSetGroupIndex extends DataSetIndexNode implements DataSetInterv
     }
 
     public DataSetGroupIndex getSelectionIndex(List<Interval> intervalList) {
+        List<DataSetGroupIndex> selectIndexList = this.selectIndexList;
         if (selectIndexList == null) {
             return null;
         }
@@ -162,14 +169,23 @@ public class DataSetGroupIndex extends DataSetIndexNode implements DataSetInterv
     }
 
     public DataSetGroupIndex indexSelection(List<Interval> intervalList, List<DataSetIntervalIndex> intervalIndexes) {
-        if (selectIndexList == null) {
-            selectIndexList = new ArrayList<DataSetGroupIndex>();
-        }
         String key = buildSelectKey(intervalList);
-        DataSetGroupIndex index = new DataSetGroupIndex(key, intervalIndexes);
-        index.setParent(this);
-        index.setBuildTime(buildTime);
-        selectIndexList.add(index);
+        DataSetGroupIndex index;
+        synchronized (this) {
+            // A concurrent lookup may have indexed the same selection already
+            if (selectIndexList != null) {
+                for (DataSetGroupIndex idx : selectIndexList) {
+                    if (idx.selectKey.equals(key)) {
+                        return idx;
+                    }
+                }
+            }
+            index = new DataSetGroupIndex(key, intervalIndexes);
+            index.setParent(this);
+            index.setBuildTime(buildTime);
+            selectIndexList = copyAndAdd(selectIndexList, index);
+        }
+        indexAdded(index);
         return index;
     }
 
@@ -182,13 +198,39 @@ public class DataSetGroupIndex extends DataSetIndexNode implements DataSetInterv
         return out.toString();
     }
 
+    /**
+     * Removes all the child indexes, the interval selections included.
+     */
+    @Override
+    public void removeChildIndexes() {
+        super.removeChildIndexes();
+        List<DataSetGroupIndex> removed;
+        synchronized (this) {
+            removed = selectIndexList;
+            selectIndexList = null;
+        }
+        indexRemoved(removed);
+    }
+
+    /**
+     * Get the interval selections of this group. The list must be treated as read only.
+     */
+    public List<DataSetGroupIndex> getSelectionIndexes() {
+        List<DataSetGroupIndex> selectIndexList = this.selectIndexList;
+        return selectIndexList == null ? Collections.<DataSetGroupIndex>emptyList() : selectIndexList;
+    }
+
     public List<Integer> getRows() {
         if (intervalIndexList == null || intervalIndexList.isEmpty()) {
             return null;
         }
-        List<Integer> results = new ArrayList<Integer>();
+        int size = 0;
+        for (DataSetIntervalIndex intervalIndex : intervalIndexList) {
+            size += intervalIndex.getRows().size();
+        }
+        RowList results = new RowList(size);
         for (DataSetIntervalIndex intervalIndex : intervalIndexList) {
-            results.addAll(intervalIndex.getRows());
+            results.addRows(intervalIndex.getRows());
         }
         return results;
     }
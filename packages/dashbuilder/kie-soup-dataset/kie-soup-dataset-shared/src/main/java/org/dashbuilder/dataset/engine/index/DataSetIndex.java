@@ -19,6 +19,8 @@
 
 package org.dashbuilder.dataset.engine.index;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.dashbuilder.dataset.DataSet;
 import org.dashbuilder.dataset.engine.index.stats.DataSetIndexStats;
 
@@ -27,6 +29,67 @@ import org.dashbuilder.dataset.engine.index.stats.DataSetIndexStats;
  */
 public abstract class DataSetIndex extends DataSetIndexNode {
 
+    TransientDataSetIndexRegistry registry = null;
+
+    /**
+     * Estimated size (in bytes) of the evictable indexes of this tree, as accounted by the registry.
+     */
+    long accountedTreeSize = 0;
+
+    /**
+     * Number of lookups in progress, or -1 while the data set rows are updated in place.
+     */
+    final AtomicInteger usages = new AtomicInteger();
+
+    @Override
+    TransientDataSetIndexRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Accounts again the size of all the indexes of this tree. To be called once they are updated in place.
+     */
+    public void updateIndexSize() {
+        TransientDataSetIndexRegistry registry = this.registry;
+        if (registry != null) {
+            registry.indexUpdated(this);
+        }
+    }
+
+    /**
+     * Registers a lookup over the data set. Any number of lookups can run concurrently, but not along with an update.
+     * @throws IllegalStateException If the data set rows are being updated.
+     */
+    public void startLookup() {
+        while (true) {
+            int current = usages.get();
+            if (current < 0) {
+                throw new IllegalStateException("Data set " + getDataSet().getUUID() + " is being updated");
+            }
+            if (usages.compareAndSet(current, current + 1)) {
+                return;
+            }
+        }
+    }
+
+    public void finishLookup() {
+        usages.decrementAndGet();
+    }
+
+    /**
+     * Registers an in place update of the data set rows, see {@link org.dashbuilder.dataset.engine.DataSetIndexUpdater}.
+     * @throws IllegalStateException If a lookup or another update is in progress.
+     */
+    public void startUpdate() {
+        if (!usages.compareAndSet(0, -1)) {
+            throw new IllegalStateException("Data set " + getDataSet().getUUID() + " can not be updated while it is in use");
+        }
+    }
+
+    public void finishUpdate() {
+        usages.set(0);
+    }
+
     /**
      * Get the data set referenced by this index.
      */
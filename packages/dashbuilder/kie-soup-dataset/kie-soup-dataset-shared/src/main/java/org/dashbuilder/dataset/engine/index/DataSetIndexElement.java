@@ -38,6 +38,16 @@ public abstract class DataSetIndexElement {
      */
     int reuseHits = 0;
 
+    /**
+     * Logical time of the last access to the element (creation or reuse), as given by the registry's clock.
+     */
+    long lastAccess = 0;
+
+    /**
+     * Estimated size (in bytes) the element was accounted with by the registry.
+     */
+    long accountedSize = 0;
+
     DataSetIndexElement(long buildTime) {
         this.buildTime = buildTime;
     }
@@ -56,6 +66,28 @@ public abstract class DataSetIndexElement {
 
     public void reuseHit() {
         this.reuseHits++;
+        touch();
+    }
+
+    /**
+     * Updates the last access of the element. Elements not yet attached to a registry are left untouched.
+     */
+    void touch() {
+        TransientDataSetIndexRegistry registry = getRegistry();
+        if (registry != null) {
+            lastAccess = registry.nextAccess();
+        }
+    }
+
+    /**
+     * Get the registry holding the index tree this element belongs to, if any.
+     */
+    TransientDataSetIndexRegistry getRegistry() {
+        return null;
+    }
+
+    public long getLastAccess() {
+        return lastAccess;
     }
 
     public long getReuseTime() {
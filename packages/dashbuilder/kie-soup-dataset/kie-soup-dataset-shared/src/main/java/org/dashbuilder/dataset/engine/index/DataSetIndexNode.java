@@ -31,19 +31,24 @@ import org.dashbuilder.dataset.filter.ColumnFilter;
 import org.dashbuilder.dataset.group.AggregateFunctionType;
 import org.dashbuilder.dataset.group.ColumnGroup;
 import org.dashbuilder.dataset.impl.MemSizeEstimator;
+import org.dashbuilder.dataset.impl.RowList;
 import org.dashbuilder.dataset.sort.DataSetSort;
 
 /**
  * A DataSet index node
+ *
+ * <p>The child indexes are stored in copy-on-write collections so they can be read by concurrent lookups
+ * without locking. Insertions and removals are synchronized on the node.</p>
  */
 public abstract class DataSetIndexNode extends DataSetIndexElement {
 
     DataSetIndexNode parent = null;
     List<Integer> rows = null;
-    List<DataSetGroupIndex> groupIndexes = null;
-    List<DataSetSortIndex> sortIndexes = null;
-    List<DataSetFilterIndex> filterIndexes = null;
-    Map<String, Map<AggregateFunctionType, DataSetFunctionIndex>> functionIndexes = null;
+    volatile List<DataSetGroupIndex> groupIndexes = null;
+    volatile List<DataSetSortIndex> sortIndexes = null;
+    volatile List<DataSetFilterIndex> filterIndexes = null;
+    volatile Map<String, Map<AggregateFunctionType, DataSetFunctionIndex>> functionIndexes = null;
+    List<BuildLock> buildLocks = null;
 
     public DataSetIndexNode() {
         this(null, null, 0);
@@ -67,32 +72,65 @@ public abstract class DataSetIndexNode extends DataSetIndexElement {
         return rows;
     }
 
+    @Override
+    TransientDataSetIndexRegistry getRegistry() {
+        return parent != null ? parent.getRegistry() : null;
+    }
+
+    /**
+     * Notifies the registry (if any) about a child index just added to this node.
+     */
+    void indexAdded(DataSetIndexElement index) {
+        TransientDataSetIndexRegistry registry = getRegistry();
+        if (registry != null) {
+            registry.indexAdded(this, index);
+        }
+    }
+
+    /**
+     * Notifies the registry (if any) about child indexes just removed from this node.
+     */
+    void indexRemoved(List<? extends DataSetIndexElement> indexes) {
+        TransientDataSetIndexRegistry registry = getRegistry();
+        if (registry != null && indexes != null) {
+            for (DataSetIndexElement index : indexes) {
+                registry.indexRemoved(this, index);
+            }
+        }
+    }
+
+    public void setRows(List<Integer> rows) {
+        this.rows = rows;
+    }
+
     public long getEstimatedSize() {
         long result = super.getEstimatedSize();
-        if (rows != null) {
-            result += rows.size() * MemSizeEstimator.sizeOfInteger;
-        }
+        result += MemSizeEstimator.sizeOfRows(rows);
         return result;
     }
 
     public void acceptVisitor(DataSetIndexVisitor visitor) {
         super.acceptVisitor(visitor);
 
+        List<DataSetGroupIndex> groupIndexes = this.groupIndexes;
         if (groupIndexes != null) {
             for (DataSetGroupIndex index : groupIndexes) {
                 index.acceptVisitor(visitor);
             }
         }
+        List<DataSetFilterIndex> filterIndexes = this.filterIndexes;
         if (filterIndexes != null) {
             for (DataSetFilterIndex index : filterIndexes) {
                 index.acceptVisitor(visitor);
             }
         }
+        List<DataSetSortIndex> sortIndexes = this.sortIndexes;
         if (sortIndexes != null) {
             for (DataSetSortIndex index : sortIndexes) {
                 index.acceptVisitor(visitor);
             }
         }
+        Map<String, Map<AggregateFunctionType, DataSetFunctionIndex>> functionIndexes = this.functionIndexes;
         if (functionIndexes != null) {
             for (Map<AggregateFunctionType, DataSetFunctionIndex> indexMap : functionIndexes.values()) {
                 for (DataSetFunctionIndex index : indexMap.values()) {
@@ -105,21 +143,29 @@ public abstract class DataSetIndexNode extends DataSetIndexElement {
     // Aggregate function indexes
 
     public DataSetFunctionIndex indexAggValue(String columnId, AggregateFunctionType type, Object value, long buildTime) {
-        if (functionIndexes == null) {
-            functionIndexes = new HashMap<>();
+        DataSetFunctionIndex index = new DataSetFunctionIndex(value, buildTime);
+        index.parent = this;
+        DataSetFunctionIndex replaced;
+        synchronized (this) {
+            Map<String, Map<AggregateFunctionType, DataSetFunctionIndex>> result = functionIndexes == null ?
+                    new HashMap<String, Map<AggregateFunctionType, DataSetFunctionIndex>>() : new HashMap<>(functionIndexes);
+
+            Map<AggregateFunctionType,DataSetFunctionIndex> columnAggFunctions = result.get(columnId);
+            columnAggFunctions = columnAggFunctions == null ?
+                    new EnumMap<AggregateFunctionType, DataSetFunctionIndex>(AggregateFunctionType.class) : new EnumMap<>(columnAggFunctions);
+            replaced = columnAggFunctions.put(type, index);
+            result.put(columnId, columnAggFunctions);
+            functionIndexes = result;
         }
-
-        Map<AggregateFunctionType,DataSetFunctionIndex> columnAggFunctions = functionIndexes.get(columnId);
-        if (columnAggFunctions == null) {
-            functionIndexes.put(columnId, columnAggFunctions = new EnumMap<>(AggregateFunctionType.class));
+        if (replaced != null) {
+            indexRemoved(Collections.singletonList(replaced));
         }
-
-        DataSetFunctionIndex index = new DataSetFunctionIndex(value, buildTime);
-        columnAggFunctions.put(type, index);
+        indexAdded(index);
         return index;
     }
 
     public Object getAggValue(String columnId, AggregateFunctionType type) {
+        Map<String, Map<AggregateFunctionType, DataSetFunctionIndex>> functionIndexes = this.functionIndexes;
         if (functionIndexes == null) return null;
 
         Map<AggregateFunctionType,DataSetFunctionIndex> columnAggFunctions = functionIndexes.get(columnId);
@@ -132,19 +178,162 @@ public abstract class DataSetIndexNode extends DataSetIndexElement {
         return functionIndex.getValue();
     }
 
-    // TODO: coordinate concurrent index modifications
+    /**
+     * Get the aggregate function indexes (by column id) of this node. The map must be treated as read only.
+     */
+    public Map<String, Map<AggregateFunctionType, DataSetFunctionIndex>> getAggIndexes() {
+        Map<String, Map<AggregateFunctionType, DataSetFunctionIndex>> functionIndexes = this.functionIndexes;
+        return functionIndexes == null ? Collections.<String, Map<AggregateFunctionType, DataSetFunctionIndex>>emptyMap() : functionIndexes;
+    }
+
+    /**
+     * Removes all the child indexes (groups, filters and sorts) of this node, keeping its aggregate values.
+     */
+    public void removeChildIndexes() {
+        List<DataSetIndexNode> removed = new ArrayList<DataSetIndexNode>();
+        synchronized (this) {
+            addAll(removed, groupIndexes);
+            addAll(removed, filterIndexes);
+            addAll(removed, sortIndexes);
+            groupIndexes = null;
+            filterIndexes = null;
+            sortIndexes = null;
+        }
+        indexRemoved(removed);
+    }
+
+    /**
+     * Removes all the aggregate values of this node.
+     */
+    public void removeAggIndexes() {
+        List<DataSetFunctionIndex> removed = new ArrayList<DataSetFunctionIndex>();
+        synchronized (this) {
+            if (functionIndexes != null) {
+                for (Map<AggregateFunctionType, DataSetFunctionIndex> indexMap : functionIndexes.values()) {
+                    removed.addAll(indexMap.values());
+                }
+            }
+            functionIndexes = null;
+        }
+        indexRemoved(removed);
+    }
+
+    /**
+     * Removes the given child index (along with all its descendants) from this node.
+     * @return true if the index was found and removed.
+     */
+    public boolean removeIndex(DataSetIndexElement index) {
+        boolean removed = doRemoveIndex(index);
+        if (removed) {
+            indexRemoved(Collections.singletonList(index));
+        }
+        return removed;
+    }
+
+    protected synchronized boolean doRemoveIndex(DataSetIndexElement index) {
+        if (groupIndexes != null && groupIndexes.contains(index)) {
+            groupIndexes = copyAndRemove(groupIndexes, index);
+            return true;
+        }
+        if (filterIndexes != null && filterIndexes.contains(index)) {
+            filterIndexes = copyAndRemove(filterIndexes, index);
+            return true;
+        }
+        if (sortIndexes != null && sortIndexes.contains(index)) {
+            sortIndexes = copyAndRemove(sortIndexes, index);
+            return true;
+        }
+        if (functionIndexes != null) {
+            for (Map.Entry<String, Map<AggregateFunctionType, DataSetFunctionIndex>> entry : functionIndexes.entrySet()) {
+                if (entry.getValue().containsValue(index)) {
+                    Map<AggregateFunctionType, DataSetFunctionIndex> columnAggFunctions = new EnumMap<>(entry.getValue());
+                    columnAggFunctions.values().remove(index);
+                    Map<String, Map<AggregateFunctionType, DataSetFunctionIndex>> result = new HashMap<>(functionIndexes);
+                    result.put(entry.getKey(), columnAggFunctions);
+                    functionIndexes = result;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    protected static <T> void addAll(List<? super T> target, List<T> list) {
+        if (list != null) {
+            target.addAll(list);
+        }
+    }
+
+    protected static <T> List<T> copyAndAdd(List<T> list, T element) {
+        List<T> result = list == null ? new ArrayList<T>() : new ArrayList<T>(list);
+        result.add(element);
+        return result;
+    }
+
+    protected static <T> List<T> copyAndRemove(List<T> list, Object element) {
+        List<T> result = new ArrayList<T>(list);
+        result.remove(element);
+        return result;
+    }
+
+    // Index build locks
+
+    /**
+     * Get the lock to hold while building the child index identified by the given key (a group key, a filter,
+     * a sort operation, ...), so that concurrent lookups wait for the index being built instead of building
+     * it twice. Once the index is built the lock must be released by calling {@link #releaseBuildLock(Object)}.
+     */
+    public synchronized Object getBuildLock(Object key) {
+        if (buildLocks == null) {
+            buildLocks = new ArrayList<BuildLock>();
+        }
+        for (BuildLock lock : buildLocks) {
+            if (lock.key.equals(key)) {
+                return lock;
+            }
+        }
+        BuildLock lock = new BuildLock(key);
+        buildLocks.add(lock);
+        return lock;
+    }
+
+    public synchronized void releaseBuildLock(Object lock) {
+        if (buildLocks != null) {
+            buildLocks.remove(lock);
+        }
+    }
+
+    static class BuildLock {
+
+        final Object key;
+
+        BuildLock(Object key) {
+            this.key = key;
+        }
+    }
 
     // Group indexes
 
+    /**
+     * Get the group indexes of this node. The list must be treated as read only.
+     */
+    public List<DataSetGroupIndex> getGroupIndexes() {
+        List<DataSetGroupIndex> groupIndexes = this.groupIndexes;
+        return groupIndexes == null ? Collections.<DataSetGroupIndex>emptyList() : groupIndexes;
+    }
+
     public DataSetGroupIndex indexGroup(DataSetGroupIndex index) {
-        if (groupIndexes == null) groupIndexes = new ArrayList<DataSetGroupIndex>();
         index.setParent(this);
         index.setBuildTime(buildTime);
-        groupIndexes.add(index);
+        synchronized (this) {
+            groupIndexes = copyAndAdd(groupIndexes, index);
+        }
+        indexAdded(index);
         return index;
     }
 
     public DataSetGroupIndex getGroupIndex(ColumnGroup gc) {
+        List<DataSetGroupIndex> groupIndexes = this.groupIndexes;
         if (groupIndexes == null) return null;
 
         String key = getGroupKey(gc);
@@ -171,17 +360,27 @@ public abstract class DataSetIndexNode extends DataSetIndexElement {
 
     // Filter indexes
 
-    public DataSetFilterIndex indexFilter(ColumnFilter filter, List<Integer> rows, long buildTime) {
-        if (filterIndexes == null) filterIndexes = new ArrayList<DataSetFilterIndex>();
+    /**
+     * Get the filter indexes of this node. The list must be treated as read only.
+     */
+    public List<DataSetFilterIndex> getFilterIndexes() {
+        List<DataSetFilterIndex> filterIndexes = this.filterIndexes;
+        return filterIndexes == null ? Collections.<DataSetFilterIndex>emptyList() : filterIndexes;
+    }
 
+    public DataSetFilterIndex indexFilter(ColumnFilter filter, List<Integer> rows, long buildTime) {
         DataSetFilterIndex index = new DataSetFilterIndex(filter, rows);
         index.setParent(this);
         index.setBuildTime(buildTime);
-        filterIndexes.add(index);
+        synchronized (this) {
+            filterIndexes = copyAndAdd(filterIndexes, index);
+        }
+        indexAdded(index);
         return index;
     }
 
     public DataSetFilterIndex getFilterIndex(ColumnFilter filter) {
+        List<DataSetFilterIndex> filterIndexes = this.filterIndexes;
         if (filterIndexes == null) return null;
 
         for (DataSetFilterIndex index: filterIndexes) {
@@ -196,25 +395,37 @@ public abstract class DataSetIndexNode extends DataSetIndexElement {
     // Sort indexes
 
     public DataSetSortIndex indexSort(DataSetSort sortOp, List<Integer> sortedRows, long buildTime) {
-        if (sortIndexes == null) sortIndexes = new ArrayList<DataSetSortIndex>();
-
         DataSetSortIndex index = new DataSetSortIndex(sortOp, sortedRows);
         index.setParent(this);
         index.setBuildTime(buildTime);
-        sortIndexes.add(index);
 
         // Also create an index for the inverted sort.
         DataSetSort invertedSortOp = sortOp.cloneInstance().invertOrder();
-        List<Integer> invertedRows = new ArrayList<Integer>(sortedRows);
-        Collections.reverse(invertedRows);
+        List<Integer> invertedRows = RowList.of(sortedRows).reverse();
         DataSetSortIndex invertedIndex = new DataSetSortIndex(invertedSortOp, invertedRows);
         invertedIndex.setParent(this);
-        sortIndexes.add(invertedIndex);
 
+        synchronized (this) {
+            List<DataSetSortIndex> result = copyAndAdd(sortIndexes, index);
+            result.add(invertedIndex);
+            sortIndexes = result;
+        }
+        indexAdded(index);
+        indexAdded(invertedIndex);
         return index;
     }
 
+    public void removeSortIndexes() {
+        List<DataSetSortIndex> removed;
+        synchronized (this) {
+            removed = sortIndexes;
+            sortIndexes = null;
+        }
+        indexRemoved(removed);
+    }
+
     public DataSetSortIndex getSortIndex(DataSetSort sortOp) {
+        List<DataSetSortIndex> sortIndexes = this.sortIndexes;
         if (sortIndexes == null) return null;
 
         for (DataSetSortIndex sortIndex : sortIndexes) {
@@ -19,22 +19,90 @@
 
 package org.dashbuilder.dataset.engine.index;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.dashbuilder.dataset.DataSet;
 import org.dashbuilder.dataset.engine.index.spi.DataSetIndexRegistry;
+import org.dashbuilder.dataset.group.AggregateFunctionType;
 import org.dashbuilder.dataset.uuid.UUIDGenerator;
 
+/**
+ * An in-memory data set index registry.
+ *
+ * <p>A maximum index size (in bytes) can be set in order to keep the indexes within a fixed memory envelope.
+ * Only the indexes derived from the data set operations (filter, group, sort &amp; aggregate functions) count
+ * against it since they can always be rebuilt. The data set root indexes are never evicted.</p>
+ *
+ * <p>The size of the evictable indexes is kept as a running total, updated as indexes are added to or removed
+ * from the index trees. Once an insertion exceeds the max. size, the less valuable indexes are evicted until the
+ * total goes below {@link #EVICTION_TARGET} times the max. size. The value of an index grows with its reuse hits
+ * and its build time and decreases with its estimated size and the time since it was last accessed.</p>
+ *
+ * <p>The registry can be accessed by concurrent lookups. Only one thread at a time runs the eviction, any other
+ * thread reaching the max. size check meanwhile just skips it.</p>
+ */
 public class TransientDataSetIndexRegistry implements DataSetIndexRegistry {
 
+    /**
+     * Fraction of the max. size the indexes are reduced to once it is exceeded, so that the next insertions
+     * do not trigger another eviction straight away.
+     */
+    public static final double EVICTION_TARGET = 0.75;
+
     protected UUIDGenerator uuidGenerator;
     protected Map<String,DataSetIndex> indexMap = new HashMap<String, DataSetIndex>();
+    protected AtomicLong accessClock = new AtomicLong();
+    protected long maxIndexSize = 0;
+    protected long indexSize = 0;
+    protected long evictionCount = 0;
+    protected long evictedSize = 0;
+    protected boolean evicting = false;
 
     public TransientDataSetIndexRegistry(UUIDGenerator uuidGenerator) {
         this.uuidGenerator = uuidGenerator;
     }
 
+    /**
+     * The maximum size (in bytes) the evictable indexes are allowed to take, or zero for no limit.
+     */
+    public long getMaxIndexSize() {
+        return maxIndexSize;
+    }
+
+    public void setMaxIndexSize(long maxIndexSize) {
+        this.maxIndexSize = maxIndexSize;
+        checkMaxIndexSize();
+    }
+
+    /**
+     * The estimated size (in bytes) of all the evictable indexes, as accounted when they were added.
+     */
+    public long getIndexSize() {
+        synchronized (indexMap) {
+            return indexSize;
+        }
+    }
+
+    /**
+     * Number of indexes evicted so far.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Estimated size (in bytes) of all the indexes evicted so far.
+     */
+    public long getEvictedSize() {
+        return evictedSize;
+    }
+
     public DataSetIndex put(DataSet dataSet) {
         if (dataSet == null) {
             return null;
@@ -46,12 +114,21 @@ public class TransientDataSetIndexRegistry implements DataSetIndexRegistry {
         }
 
         DataSetIndex dsIndex = new DataSetStaticIndex(dataSet);
-        indexMap.put(uuid, dsIndex);
+        dsIndex.registry = this;
+        dsIndex.lastAccess = nextAccess();
+        DataSetIndex replaced;
+        synchronized (indexMap) {
+            replaced = indexMap.put(uuid, dsIndex);
+            detach(replaced);
+        }
         return dsIndex;
     }
 
     public DataSetIndex get(String uuid) {
-        DataSetIndex index = indexMap.get(uuid);
+        DataSetIndex index;
+        synchronized (indexMap) {
+            index = indexMap.get(uuid);
+        }
         if (index != null) {
             index.reuseHit();
         }
@@ -59,7 +136,261 @@ public class TransientDataSetIndexRegistry implements DataSetIndexRegistry {
     }
 
     public DataSetIndex remove(String uuid) {
-        return indexMap.remove(uuid);
+        synchronized (indexMap) {
+            DataSetIndex index = indexMap.remove(uuid);
+            detach(index);
+            return index;
+        }
     }
-}
 
+    /**
+     * Takes out the given index tree from the size accounting.
+     */
+    protected void detach(DataSetIndex index) {
+        if (index != null && index.registry == this) {
+            indexSize -= index.accountedTreeSize;
+            index.accountedTreeSize = 0;
+            index.registry = null;
+        }
+    }
+
+    /**
+     * Get the next value of the logical clock used to keep track of the index accesses.
+     */
+    long nextAccess() {
+        return accessClock.incrementAndGet();
+    }
+
+    /**
+     * Accounts an index (along with its descendants) just added to the given node and evicts indexes if
+     * the max. size is exceeded.
+     */
+    void indexAdded(DataSetIndexNode parent, DataSetIndexElement index) {
+        index.lastAccess = nextAccess();
+        long size = accountSize(index, true);
+        if (updateIndexSize(parent, size)) {
+            checkMaxIndexSize();
+        }
+    }
+
+    /**
+     * Takes out from the accounting an index (along with its descendants) just removed from the given node.
+     */
+    void indexRemoved(DataSetIndexNode parent, DataSetIndexElement index) {
+        long size = accountSize(index, false);
+        updateIndexSize(parent, -size);
+    }
+
+    /**
+     * Accounts again the sizes of an index tree whose indexes have been updated in place.
+     */
+    void indexUpdated(DataSetIndex index) {
+        long size = accountSize(index, true);
+        if (updateIndexSize(index, size - index.accountedTreeSize)) {
+            checkMaxIndexSize();
+        }
+    }
+
+    /**
+     * Adds the given delta to the size of the tree the given node belongs to.
+     * @return true if the max. size is exceeded.
+     */
+    protected boolean updateIndexSize(DataSetIndexNode node, long delta) {
+        DataSetIndexNode root = node;
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+        synchronized (indexMap) {
+            // Trees already removed from the registry are no longer accounted
+            if (!(root instanceof DataSetIndex) || ((DataSetIndex) root).registry != this) {
+                return false;
+            }
+            ((DataSetIndex) root).accountedTreeSize += delta;
+            indexSize += delta;
+            return maxIndexSize > 0 && indexSize > maxIndexSize;
+        }
+    }
+
+    /**
+     * Get the accounted size of an index subtree.
+     * @param update If true the size of every index is estimated again, otherwise the accounted one is taken.
+     */
+    protected long accountSize(DataSetIndexElement element, boolean update) {
+        if (update) {
+            element.accountedSize = element instanceof DataSetIndex ? 0 : element.getEstimatedSize();
+        }
+        long size = element.accountedSize;
+        if (element instanceof DataSetIndexNode) {
+            DataSetIndexNode node = (DataSetIndexNode) element;
+            for (DataSetIndexNode child : getChildren(node)) {
+                size += accountSize(child, update);
+            }
+            for (Map<AggregateFunctionType, DataSetFunctionIndex> indexMap : node.getAggIndexes().values()) {
+                for (DataSetFunctionIndex index : indexMap.values()) {
+                    size += accountSize(index, update);
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Get the child nodes of a given node, the group intervals and selections included.
+     */
+    protected List<DataSetIndexNode> getChildren(DataSetIndexNode node) {
+        List<DataSetIndexNode> children = new ArrayList<DataSetIndexNode>();
+        children.addAll(node.getGroupIndexes());
+        children.addAll(node.getFilterIndexes());
+        List<DataSetSortIndex> sortIndexes = node.sortIndexes;
+        if (sortIndexes != null) {
+            children.addAll(sortIndexes);
+        }
+        if (node instanceof DataSetGroupIndex) {
+            DataSetGroupIndex groupIndex = (DataSetGroupIndex) node;
+            for (DataSetIntervalIndex interval : groupIndex.getIntervalIndexes()) {
+                // Selections and nested groups share the intervals of other groups
+                if (interval.getParent() == node) {
+                    children.add(interval);
+                }
+            }
+            children.addAll(groupIndex.getSelectionIndexes());
+        }
+        return children;
+    }
+
+    /**
+     * Evicts indexes until the evictable index size is below the max. size (if any).
+     */
+    public void checkMaxIndexSize() {
+        List<DataSetIndex> indexes;
+        synchronized (indexMap) {
+            if (maxIndexSize <= 0 || indexSize <= maxIndexSize || evicting) {
+                return;
+            }
+            evicting = true;
+            indexes = new ArrayList<DataSetIndex>(indexMap.values());
+        }
+        try {
+            evict(indexes, (long) (maxIndexSize * EVICTION_TARGET));
+        } finally {
+            synchronized (indexMap) {
+                evicting = false;
+            }
+        }
+    }
+
+    protected void evict(List<DataSetIndex> indexes, long targetSize) {
+        List<EvictionCandidate> candidates = new ArrayList<EvictionCandidate>();
+        Map<DataSetIndexElement, EvictionCandidate> candidateMap = new HashMap<DataSetIndexElement, EvictionCandidate>();
+        for (DataSetIndex index : indexes) {
+            collectCandidates(index, candidates, candidateMap);
+        }
+
+        final long now = accessClock.get();
+        for (EvictionCandidate candidate : candidates) {
+            candidate.weight = getEvictionWeight(candidate.element, candidate.size, now - candidate.lastAccess);
+        }
+        Collections.sort(candidates, new Comparator<EvictionCandidate>() {
+            public int compare(EvictionCandidate o1, EvictionCandidate o2) {
+                return Double.compare(o1.weight, o2.weight);
+            }
+        });
+
+        for (int i = 0; i < candidates.size() && getIndexSize() > targetSize; i++) {
+            EvictionCandidate candidate = candidates.get(i);
+            if (candidate.evicted || isAncestorEvicted(candidate.parent, candidateMap)) {
+                continue;
+            }
+            // The removal takes the index out of the accounted size
+            if (candidate.parent.removeIndex(candidate.element)) {
+                evictionCount++;
+                evictedSize += candidate.size;
+            }
+            candidate.evicted = true;
+        }
+    }
+    /**
+     * Get how valuable is to keep an index. Indexes are evicted in ascending weight order.
+     * @param element The index
+     * @param size The estimated size of the index including all its descendants
+     * @param idleTime The number of index accesses since the index (or any of its descendants) was last accessed
+     */
+    protected double getEvictionWeight(DataSetIndexElement element, long size, long idleTime) {
+        double frequency = 1 + element.getReuseHits();
+        double cost = 1 + element.getBuildTime();
+        return frequency * cost / ((double) Math.max(size, 1) * (1 + idleTime));
+    }
+
+    protected boolean isAncestorEvicted(DataSetIndexNode node, Map<DataSetIndexElement, EvictionCandidate> candidateMap) {
+        for (DataSetIndexNode n = node; n != null; n = n.getParent()) {
+            EvictionCandidate candidate = candidateMap.get(n);
+            if (candidate != null && candidate.evicted) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Walks the index tree looking for evictable indexes.
+     * @return The estimated size and the last access of the given node subtree.
+     */
+    protected EvictionCandidate collectCandidates(DataSetIndexNode node,
+                                                  List<EvictionCandidate> candidates,
+                                                  Map<DataSetIndexElement, EvictionCandidate> candidateMap) {
+
+        EvictionCandidate result = new EvictionCandidate(node.getParent(), node);
+        result.size = node.accountedSize;
+        result.lastAccess = node.getLastAccess();
+
+        for (DataSetIndexNode child : getChildren(node)) {
+            EvictionCandidate candidate = collectCandidates(child, candidates, candidateMap);
+            if (isEvictable(child)) {
+                candidate.parent = node;
+                candidates.add(candidate);
+                candidateMap.put(child, candidate);
+            }
+            result.add(candidate);
+        }
+        for (Map<AggregateFunctionType, DataSetFunctionIndex> indexMap : node.getAggIndexes().values()) {
+            for (DataSetFunctionIndex index : indexMap.values()) {
+                EvictionCandidate candidate = new EvictionCandidate(node, index);
+                candidate.size = index.accountedSize;
+                candidate.lastAccess = index.getLastAccess();
+                candidates.add(candidate);
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The intervals and the interval selections are part of a group index, they can't be evicted on their own.
+     */
+    protected boolean isEvictable(DataSetIndexNode node) {
+        if (node instanceof DataSetIntervalIndex) {
+            return false;
+        }
+        return !(node instanceof DataSetGroupIndex) || ((DataSetGroupIndex) node).selectKey == null;
+    }
+
+    protected static class EvictionCandidate {
+
+        DataSetIndexNode parent;
+        DataSetIndexElement element;
+        long size = 0;
+        long lastAccess = 0;
+        double weight = 0;
+        boolean evicted = false;
+
+        EvictionCandidate(DataSetIndexNode parent, DataSetIndexElement element) {
+            this.parent = parent;
+            this.element = element;
+        }
+
+        void add(EvictionCandidate child) {
+            size += child.size;
+            lastAccess = Math.max(lastAccess, child.lastAccess);
+        }
+    }
+}
@@ -19,19 +19,23 @@
 
 package org.dashbuilder.dataset.engine.sort;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import org.dashbuilder.dataset.DataColumn;
 import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.impl.RowList;
 import org.dashbuilder.dataset.sort.ColumnSort;
 
 /**
- * A basic sort algorithm takes relies on the default <code>Collections.sort()</code> implementation.
+ * A basic sort algorithm which sorts the row numbers using a stable merge sort (the same algorithm
+ * the legacy <code>Collections.sort()</code> implementation relies on) directly over a primitive array.
  */
 public class CollectionsDataSetSort implements DataSetSortAlgorithm {
 
+    /**
+     * Ranges smaller than this are sorted using insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 7;
 
     public List<Integer> sort(DataSet dataSet, List<ColumnSort> columnSortList) {
         return sort(dataSet, null, columnSortList);
@@ -47,17 +51,55 @@ public class CollectionsDataSetSort implements DataSetSortAlgorithm {
 
             comparator.criteria(column, columnSort.getOrder());
         }
-        // Create the row number list to sort.
-        List<Integer> rows = new ArrayList<Integer>();
+        // Create the row number array to sort.
+        int[] rows;
         if (rowNumbers != null) {
-            rows.addAll(rowNumbers);
+            rows = RowList.of(rowNumbers).toIntArray();
         } else {
-            for (int i=0; i<dataSet.getRowCount(); i++) {
-                rows.add(i);
-            }
+            rows = RowList.range(0, dataSet.getRowCount()).toIntArray();
         }
         // Sort the row numbers.
-        Collections.sort(rows, comparator);
-        return rows;
+        int[] aux = rows.clone();
+        mergeSort(aux, rows, 0, rows.length, comparator);
+        return new RowList(rows, rows.length);
+    }
+
+    /**
+     * Sorts the <code>dest</code> range [low, high) using <code>src</code> (an identical copy) as auxiliary storage.
+     */
+    protected void mergeSort(int[] src, int[] dest, int low, int high, DataSetRowComparator comparator) {
+        int length = high - low;
+
+        // Insertion sort on smallest ranges
+        if (length < INSERTION_SORT_THRESHOLD) {
+            for (int i = low; i < high; i++) {
+                for (int j = i; j > low && comparator.compareRows(dest[j - 1], dest[j]) > 0; j--) {
+                    int tmp = dest[j];
+                    dest[j] = dest[j - 1];
+                    dest[j - 1] = tmp;
+                }
+            }
+            return;
+        }
+
+        // Recursively sort halves of dest into src
+        int mid = (low + high) >>> 1;
+        mergeSort(dest, src, low, mid, comparator);
+        mergeSort(dest, src, mid, high, comparator);
+
+        // If the list is already sorted, just copy from src to dest.
+        if (comparator.compareRows(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, low, dest, low, length);
+            return;
+        }
+
+        // Merge sorted halves (now in src) into dest
+        for (int i = low, p = low, q = mid; i < high; i++) {
+            if (q >= high || (p < mid && comparator.compareRows(src[p], src[q]) <= 0)) {
+                dest[i] = src[p++];
+            } else {
+                dest[i] = src[q++];
+            }
+        }
     }
 }
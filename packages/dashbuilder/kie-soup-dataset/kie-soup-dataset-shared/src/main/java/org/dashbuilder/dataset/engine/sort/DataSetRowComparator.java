@@ -50,6 +50,10 @@ public class DataSetRowComparator implements Comparator<Integer> {
         else if (row1 != null && row2 == null) return 1;
         else if (row1 == null) return 0;
 
+        return compareRows(row1, row2);
+    }
+
+    public int compareRows(int row1, int row2) {
         // Compare the two rows.
         for (int i=0; i<columns.size(); i++) {
             DataColumn column = columns.get(i);
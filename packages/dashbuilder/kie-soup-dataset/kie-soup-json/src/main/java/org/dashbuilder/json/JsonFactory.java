@@ -19,6 +19,8 @@
 
 package org.dashbuilder.json;
 
+import java.io.Reader;
+
 public class JsonFactory {
 
     public JsonString create(String string) {
@@ -52,4 +54,12 @@ public class JsonFactory {
         }
         return new JsonTokenizer(this, jsonString).nextValue();
     }
+
+    public <T extends JsonValue> T parse(Reader reader) throws JsonException {
+        return new JsonTokenizer(this, reader).nextValue();
+    }
+
+    public JsonStreamReader createStreamReader(Reader reader) {
+        return new JsonStreamReader(new JsonTokenizer(this, reader));
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.dashbuilder.json;
+
+import java.io.Reader;
+
+/**
+ * Pull parser reading a JSON document from a {@link Reader} one token at a time.
+ * <p>Containers can be walked element by element and only the values explicitly requested through
+ * {@link #nextValue()} get materialized, so the memory used while reading a large document does not
+ * depend on its total length.</p>
+ */
+public class JsonStreamReader {
+
+    private final JsonTokenizer tokenizer;
+
+    JsonStreamReader(JsonTokenizer tokenizer) {
+        this.tokenizer = tokenizer;
+    }
+
+    /**
+     * Get the type of the next value without consuming it or null if the end of the document was reached.
+     */
+    public JsonType peek() throws JsonException {
+        final int c = tokenizer.nextNonWhitespace();
+        tokenizer.back(c);
+        switch (c) {
+            case -1:
+                return null;
+            case '{':
+                return JsonType.OBJECT;
+            case '[':
+                return JsonType.ARRAY;
+            case '"':
+            case '\'':
+                return JsonType.STRING;
+            case 't':
+            case 'f':
+                return JsonType.BOOLEAN;
+            case 'n':
+            case 'u':
+                return JsonType.NULL;
+            default:
+                return JsonType.NUMBER;
+        }
+    }
+
+    public void beginArray() throws JsonException {
+        expect('[');
+    }
+
+    public void endArray() throws JsonException {
+        expect(']');
+    }
+
+    public void beginObject() throws JsonException {
+        expect('{');
+    }
+
+    public void endObject() throws JsonException {
+        expect('}');
+    }
+
+    /**
+     * Check if the current array or object has more elements. Separators are consumed by this method.
+     */
+    public boolean hasNext() throws JsonException {
+        final int c = tokenizer.nextNonWhitespace();
+        switch (c) {
+            case ',':
+                return true;
+            case ']':
+            case '}':
+            case -1:
+                tokenizer.back(c);
+                return false;
+            default:
+                tokenizer.back(c);
+                return true;
+        }
+    }
+
+    /**
+     * Read the name of the next object member, including the following <code>:</code>.
+     */
+    public String nextName() throws JsonException {
+        final int c = tokenizer.nextNonWhitespace();
+        if (c != '"' && c != '\'') {
+            throw new JsonException("Invalid object: expecting a quoted name");
+        }
+        tokenizer.back(c);
+        final String name = tokenizer.nextString(c);
+        expect(':');
+        return name;
+    }
+
+    /**
+     * Read the next value, including all its children when it is an array or an object.
+     */
+    public <T extends JsonValue> T nextValue() throws JsonException {
+        return tokenizer.nextValue();
+    }
+
+    public void skipValue() throws JsonException {
+        tokenizer.nextValue();
+    }
+
+    private void expect(char expected) throws JsonException {
+        final int c = tokenizer.nextNonWhitespace();
+        if (c != expected) {
+            throw new JsonException("Invalid JSON: expecting '" + expected + "'");
+        }
+    }
+}
@@ -19,9 +19,14 @@
 
 package org.dashbuilder.json;
 
+import java.io.IOException;
+import java.io.Reader;
+
 /**
  * Implementation of parsing a JSON string into instances of {@link
  * org.dashbuilder.json.JsonValue}.
+ * <p>The characters are either taken from a string or pulled on demand from a {@link Reader}
+ * through a fixed size buffer, so large payloads never need to be loaded in memory as a whole.</p>
  */
 class JsonTokenizer {
 
@@ -29,6 +34,8 @@ class JsonTokenizer {
 
     private static final String STOPCHARS = ",:]}/\\\"[{;=#";
 
+    private static final int READ_BUFFER_SIZE = 8192;
+
     private JsonFactory jsonFactory;
 
     private boolean lenient = true;
@@ -38,9 +45,21 @@ class JsonTokenizer {
     private final String json;
     private int position = 0;
 
+    private final Reader reader;
+    private char[] readBuffer;
+    private int readBufferLength = 0;
+
     JsonTokenizer(JsonFactory serverJsonFactory, String json) {
         this.jsonFactory = serverJsonFactory;
         this.json = json;
+        this.reader = null;
+    }
+
+    JsonTokenizer(JsonFactory serverJsonFactory, Reader reader) {
+        this.jsonFactory = serverJsonFactory;
+        this.json = null;
+        this.reader = reader;
+        this.readBuffer = new char[READ_BUFFER_SIZE];
     }
 
     void back(char c) {
@@ -59,6 +78,12 @@ class JsonTokenizer {
             return c;
         }
 
+        if (reader != null) {
+            if (position == readBufferLength && !fillReadBuffer()) {
+                return INVALID_CHAR;
+            }
+            return readBuffer[position++];
+        }
         return position < json.length() ? json.charAt(position++) : INVALID_CHAR;
     }
 
@@ -104,6 +129,8 @@ class JsonTokenizer {
         while (true) {
             c = next();
             switch (c) {
+                case INVALID_CHAR:
+                    throw new JsonException("Unterminated string");
                 case '\r':
                 case '\n':
                     throw new JsonException("");
@@ -306,7 +333,32 @@ class JsonTokenizer {
         throw new JsonException("Invalid literal: \"" + literal + "\"");
     }
 
+    private boolean fillReadBuffer() {
+        try {
+            int len = reader.read(readBuffer, 0, readBuffer.length);
+            while (len == 0) {
+                len = reader.read(readBuffer, 0, readBuffer.length);
+            }
+            position = 0;
+            readBufferLength = Math.max(len, 0);
+            return len > 0;
+        } catch (IOException e) {
+            throw new JsonException(e);
+        }
+    }
+
     private int read(char[] buffer, int pos, int len) {
+        if (reader != null) {
+            int count = 0;
+            while (count < len) {
+                final int c = next();
+                if (c == INVALID_CHAR) {
+                    break;
+                }
+                buffer[pos + count++] = (char) c;
+            }
+            return count == 0 ? -1 : count;
+        }
         int maxLen = Math.min(json.length() - position, len);
         String src = json.substring(position, position + maxLen);
         char result[] = src.toCharArray();
@@ -96,6 +96,11 @@ public class DMNEditorSearchIndex extends BaseEditorSearchIndex<DMNSearchableEle
         return getSubIndex().getSearchableElements();
     }
 
+    @Override
+    protected List<DMNSearchableElement> findSearchResults(final String term) {
+        return getSubIndex().search(term);
+    }
+
     Command getNoResultsFoundCallback() {
         return () -> getSubIndex().onNoResultsFound();
     }
@@ -26,6 +26,7 @@ import java.util.stream.Collectors;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 
 import org.kie.workbench.common.dmn.api.definition.NOPDomainObject;
@@ -33,10 +34,14 @@ import org.kie.workbench.common.dmn.api.definition.model.DRGElement;
 import org.kie.workbench.common.dmn.api.definition.model.TextAnnotation;
 import org.kie.workbench.common.dmn.client.graph.DMNGraphUtils;
 import org.kie.workbench.common.stunner.core.client.canvas.CanvasHandler;
+import org.kie.workbench.common.stunner.core.client.canvas.event.command.CanvasCommandExecutedEvent;
+import org.kie.workbench.common.stunner.core.client.canvas.event.command.CanvasCommandUndoneEvent;
+import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementUpdatedEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.event.selection.CanvasClearSelectionEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.event.selection.CanvasFocusedShapeEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.event.selection.CanvasSelectionEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.event.selection.DomainObjectSelectionEvent;
+import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.definition.Definition;
 import org.uberfire.mvp.Command;
@@ -67,13 +72,51 @@ public class DMNGraphSubIndex implements DMNSubIndex {
         this.domainObjectSelectionEvent = domainObjectSelectionEvent;
     }
 
+    private Diagram indexedDiagram;
+
+    private DMNSearchableElementsIndex index;
+
     @Override
     public List<DMNSearchableElement> getSearchableElements() {
-        return graphUtils
-                .getNodeStream()
-                .map(this::makeElement)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+        return getIndex().getElements();
+    }
+
+    @Override
+    public List<DMNSearchableElement> search(final String term) {
+        return getIndex().search(term);
+    }
+
+    /**
+     * Node names are only changed by commands, which do not tell which nodes they touched; the
+     * index is discarded and rebuilt on the next search. Searches in between are answered from it.
+     */
+    void onCanvasCommandExecuted(final @Observes CanvasCommandExecutedEvent event) {
+        invalidate();
+    }
+
+    void onCanvasCommandUndone(final @Observes CanvasCommandUndoneEvent event) {
+        invalidate();
+    }
+
+    void onCanvasElementUpdated(final @Observes CanvasElementUpdatedEvent event) {
+        invalidate();
+    }
+
+    void invalidate() {
+        index = null;
+    }
+
+    private DMNSearchableElementsIndex getIndex() {
+        final Diagram diagram = getCanvasHandler().map(CanvasHandler::getDiagram).orElse(null);
+        if (null == index || null == diagram || diagram != indexedDiagram) {
+            index = new DMNSearchableElementsIndex(graphUtils
+                                                           .getNodeStream()
+                                                           .map(this::makeElement)
+                                                           .filter(Objects::nonNull)
+                                                           .collect(Collectors.toList()));
+            indexedDiagram = diagram;
+        }
+        return index;
     }
 
     private DMNSearchableElement makeElement(final Node node) {
@@ -22,12 +22,16 @@ package org.kie.workbench.common.dmn.client.editors.search;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 
 import org.kie.workbench.common.dmn.client.editors.expressions.types.context.InformationItemCell.HasNameAndDataTypeCell;
+import org.kie.workbench.common.stunner.core.client.canvas.event.command.CanvasCommandExecutedEvent;
+import org.kie.workbench.common.stunner.core.client.canvas.event.command.CanvasCommandUndoneEvent;
 import org.uberfire.ext.wires.core.grids.client.model.GridCell;
 import org.uberfire.ext.wires.core.grids.client.model.GridCellValue;
 import org.uberfire.ext.wires.core.grids.client.model.GridData;
@@ -43,13 +47,46 @@ public class DMNGridSubIndex implements DMNSubIndex {
         this.dmnGridHelper = dmnGridHelper;
     }
 
+    private Set<GridWidget> indexedGridWidgets;
+
+    private DMNSearchableElementsIndex index;
+
     @Override
     public List<DMNSearchableElement> getSearchableElements() {
-        return dmnGridHelper
-                .getGridWidgets()
-                .stream()
-                .flatMap(gridWidget -> getSearchableElements(gridWidget).stream())
-                .collect(Collectors.toList());
+        return getIndex().getElements();
+    }
+
+    @Override
+    public List<DMNSearchableElement> search(final String term) {
+        return getIndex().search(term);
+    }
+
+    /**
+     * Cell values are only changed by commands, which do not tell which cells they touched; the
+     * index is discarded and rebuilt on the next search. Searches in between are answered from it.
+     */
+    void onCanvasCommandExecuted(final @Observes CanvasCommandExecutedEvent event) {
+        invalidate();
+    }
+
+    void onCanvasCommandUndone(final @Observes CanvasCommandUndoneEvent event) {
+        invalidate();
+    }
+
+    void invalidate() {
+        index = null;
+    }
+
+    private DMNSearchableElementsIndex getIndex() {
+        final Set<GridWidget> gridWidgets = dmnGridHelper.getGridWidgets();
+        if (null == index || !gridWidgets.equals(indexedGridWidgets)) {
+            index = new DMNSearchableElementsIndex(gridWidgets
+                                                           .stream()
+                                                           .flatMap(gridWidget -> getSearchableElements(gridWidget).stream())
+                                                           .collect(Collectors.toList()));
+            indexedGridWidgets = gridWidgets;
+        }
+        return index;
     }
 
     @Override
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.kie.workbench.common.dmn.client.editors.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link DMNSearchableElementsIndex} is an immutable trigram index over the text of a list of
+ * {@link DMNSearchableElement}s. Every upper-cased three character sequence of an element text
+ * maps to the (ascending) positions of the elements containing it, so that a term is answered by
+ * verifying the elements of its rarest trigram only. Results keep the order of the indexed list.
+ */
+public class DMNSearchableElementsIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private static final int[] NO_POSITIONS = new int[0];
+
+    private final List<DMNSearchableElement> elements;
+
+    private final String[] texts;
+
+    private final Map<String, int[]> positionsByGram = new HashMap<>();
+
+    public DMNSearchableElementsIndex(final List<DMNSearchableElement> elements) {
+        this.elements = elements;
+        this.texts = new String[elements.size()];
+
+        final Map<String, Positions> positions = new HashMap<>();
+        for (int i = 0; i < texts.length; i++) {
+            final String text = elements.get(i).getText();
+            texts[i] = null == text ? "" : text.toUpperCase();
+            for (int j = 0; j + GRAM_LENGTH <= texts[i].length(); j++) {
+                positions.computeIfAbsent(texts[i].substring(j, j + GRAM_LENGTH),
+                                          gram -> new Positions()).add(i);
+            }
+        }
+        positions.forEach((gram, p) -> positionsByGram.put(gram, p.toArray()));
+    }
+
+    public List<DMNSearchableElement> getElements() {
+        return elements;
+    }
+
+    /**
+     * Returns the elements whose text contains the given term, ignoring case.
+     * @param term the search term.
+     * @return a new list with the matching elements, in index order.
+     */
+    public List<DMNSearchableElement> search(final String term) {
+
+        final String upperCaseTerm = term.toUpperCase();
+        final List<DMNSearchableElement> results = new ArrayList<>();
+
+        if (upperCaseTerm.length() < GRAM_LENGTH) {
+            for (int i = 0; i < texts.length; i++) {
+                if (texts[i].contains(upperCaseTerm)) {
+                    results.add(elements.get(i));
+                }
+            }
+            return results;
+        }
+
+        int[] candidates = null;
+        for (int j = 0; j + GRAM_LENGTH <= upperCaseTerm.length(); j++) {
+            final int[] positions = positionsByGram.getOrDefault(upperCaseTerm.substring(j, j + GRAM_LENGTH),
+                                                                 NO_POSITIONS);
+            if (null == candidates || positions.length < candidates.length) {
+                candidates = positions;
+            }
+            if (candidates.length == 0) {
+                return results;
+            }
+        }
+
+        for (final int i : candidates) {
+            if (texts[i].contains(upperCaseTerm)) {
+                results.add(elements.get(i));
+            }
+        }
+        return results;
+    }
+
+    private static class Positions {
+
+        private int[] positions = new int[4];
+
+        private int size;
+
+        private void add(final int position) {
+            if (size > 0 && positions[size - 1] == position) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+}
@@ -19,6 +19,9 @@
 
 package org.kie.workbench.common.dmn.client.editors.search;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import org.kie.workbench.common.widgets.client.search.common.HasSearchableElements;
 
 /**
@@ -32,6 +35,20 @@ public interface DMNSubIndex extends HasSearchableElements<DMNSearchableElement>
      */
     void onNoResultsFound();
 
+    /**
+     * Returns the searchable elements matching the given term, in the same order as
+     * {@link #getSearchableElements()}. Sub-indexes that keep a {@link DMNSearchableElementsIndex}
+     * answer it from the index instead of scanning every element.
+     * @param term the search term.
+     * @return a list of matching {@link DMNSearchableElement}s.
+     */
+    default List<DMNSearchableElement> search(final String term) {
+        return getSearchableElements()
+                .stream()
+                .filter(element -> element.matches(term))
+                .collect(Collectors.toList());
+    }
+
     default void onSearchClosed() {
 
     }
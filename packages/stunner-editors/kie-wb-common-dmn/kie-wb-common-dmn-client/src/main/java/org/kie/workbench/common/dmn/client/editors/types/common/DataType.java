@@ -72,6 +72,7 @@ public class DataType extends DataTypeActiveRecord {
 
     void setParentUUID(final String parentUUID) {
         this.parentUUID = parentUUID;
+        refreshIndex();
     }
 
     public String getName() {
@@ -80,6 +81,7 @@ public class DataType extends DataTypeActiveRecord {
 
     public void setName(final String name) {
         this.name = name;
+        refreshIndex();
     }
 
     public String getType() {
@@ -88,6 +90,7 @@ public class DataType extends DataTypeActiveRecord {
 
     void setType(final String type) {
         this.type = type;
+        refreshIndex();
     }
 
     public List<DataType> getSubDataTypes() {
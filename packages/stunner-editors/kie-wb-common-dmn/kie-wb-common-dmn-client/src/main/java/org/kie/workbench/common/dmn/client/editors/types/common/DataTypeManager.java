@@ -436,8 +436,6 @@ public class DataTypeManager {
     }
 
     Optional<DataType> findTopLevelDataTypeWithName(final String typeName) {
-        return dataTypeStore.getTopLevelDataTypes().stream()
-                .filter(data -> Objects.equals(data.getName(), typeName))
-                .findFirst();
+        return dataTypeStore.getTopLevelDataTypeWithName(typeName);
     }
 }
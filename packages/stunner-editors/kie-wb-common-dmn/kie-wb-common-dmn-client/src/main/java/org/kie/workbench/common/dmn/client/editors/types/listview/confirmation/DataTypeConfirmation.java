@@ -91,7 +91,7 @@ public class DataTypeConfirmation {
     }
 
     private boolean isReferencedByAnotherDataType(final DataType dataType) {
-        return dataTypeStore.all().stream().anyMatch(dt -> Objects.equals(dt.getType(), dataType.getName()));
+        return !dataTypeStore.getDataTypesWithType(dataType.getName()).isEmpty();
     }
 
     private boolean hasLostSubDataTypes(final DataType dataType) {
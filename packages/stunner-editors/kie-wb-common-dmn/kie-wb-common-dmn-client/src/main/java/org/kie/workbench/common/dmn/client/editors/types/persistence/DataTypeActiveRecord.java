@@ -20,6 +20,7 @@
 package org.kie.workbench.common.dmn.client.editors.types.persistence;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.kie.workbench.common.dmn.client.editors.common.persistence.ActiveRecord;
 import org.kie.workbench.common.dmn.client.editors.common.persistence.RecordEngine;
@@ -30,6 +31,8 @@ import org.kie.workbench.common.dmn.client.editors.types.common.DataType;
  */
 public abstract class DataTypeActiveRecord extends ActiveRecord<DataType> {
 
+    private DataTypeStore store;
+
     public DataTypeActiveRecord(final RecordEngine<DataType> recordEngine) {
         super(recordEngine);
     }
@@ -43,6 +46,18 @@ public abstract class DataTypeActiveRecord extends ActiveRecord<DataType> {
         return getDataTypeRecordEngine().destroyWithoutDependentTypes(getRecord());
     }
 
+    /**
+     * Refreshes the secondary indexes of the {@link DataTypeStore} where this record is indexed. It must be called
+     * whenever the parent UUID, the name or the type of the record changes.
+     */
+    protected void refreshIndex() {
+        Optional.ofNullable(store).ifPresent(s -> s.refresh(getRecord()));
+    }
+
+    protected void setStore(final DataTypeStore store) {
+        this.store = store;
+    }
+
     private DataTypeRecordEngine getDataTypeRecordEngine() {
         return (DataTypeRecordEngine) getRecordEngine();
     }
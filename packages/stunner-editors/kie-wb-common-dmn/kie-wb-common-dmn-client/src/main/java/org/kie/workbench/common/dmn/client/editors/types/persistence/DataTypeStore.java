@@ -20,11 +20,14 @@
 package org.kie.workbench.common.dmn.client.editors.types.persistence;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
 
 import javax.enterprise.context.ApplicationScoped;
 
@@ -34,24 +37,47 @@ import org.kie.workbench.common.dmn.client.editors.types.common.DataType;
 /**
  * Stores all Data Types loaded in the {@link DataTypesPage}.
  * <p>
- * All entries are indexed by their own UUID.
+ * All entries are indexed by their own UUID. Entries are also indexed by their parent UUID, name and type, and
+ * top-level entries are kept apart. Indexed {@link DataType}s refresh these indexes whenever one of the indexed
+ * properties changes (see {@link DataTypeActiveRecord#refreshIndex()}).
  */
 @ApplicationScoped
 public class DataTypeStore {
 
     private Map<String, DataType> dataTypes = new HashMap<>();
 
+    private final Map<DataType, IndexEntry> indexEntries = new HashMap<>();
+
+    private final Map<String, Set<DataType>> dataTypesByParentUUID = new HashMap<>();
+
+    private final Map<String, Set<DataType>> dataTypesByName = new HashMap<>();
+
+    private final Map<String, Set<DataType>> dataTypesByType = new HashMap<>();
+
+    private final Set<DataType> topLevelDataTypes = new LinkedHashSet<>();
+
     public DataType get(final String uuid) {
         return dataTypes.get(uuid);
     }
 
     public void index(final String uuid,
                       final DataType dataType) {
-        dataTypes.put(uuid, dataType);
+        final DataType previous = dataTypes.put(uuid, dataType);
+        if (previous != null && previous != dataType) {
+            unIndexProperties(previous);
+        }
+        refresh(dataType);
+        dataType.setStore(this);
     }
 
     public void clear() {
+        dataTypes.values().forEach(dataType -> dataType.setStore(null));
         dataTypes.clear();
+        indexEntries.clear();
+        dataTypesByParentUUID.clear();
+        dataTypesByName.clear();
+        dataTypesByType.clear();
+        topLevelDataTypes.clear();
     }
 
     public int size() {
@@ -59,10 +85,18 @@ public class DataTypeStore {
     }
 
     public List<DataType> getTopLevelDataTypes() {
-        return all()
+        return new ArrayList<>(topLevelDataTypes);
+    }
+
+    public Optional<DataType> getTopLevelDataTypeWithName(final String name) {
+        return lookup(dataTypesByName, name)
                 .stream()
-                .filter(DataType::isTopLevel)
-                .collect(Collectors.toList());
+                .filter(topLevelDataTypes::contains)
+                .findFirst();
+    }
+
+    public List<DataType> getDataTypesWithType(final String type) {
+        return new ArrayList<>(lookup(dataTypesByType, type));
     }
 
     public List<DataType> all() {
@@ -70,15 +104,107 @@ public class DataTypeStore {
     }
 
     public void unIndex(final String uuid) {
-        dataTypes.remove(uuid);
+        final DataType dataType = dataTypes.remove(uuid);
+        if (dataType != null) {
+            unIndexProperties(dataType);
+            dataType.setStore(null);
+        }
         subDataTypesUUID(uuid).forEach(this::unIndex);
     }
 
+    /**
+     * Moves the given {@link DataType} to the index entries matching its current parent UUID, name, type and
+     * top-level state.
+     */
+    void refresh(final DataType dataType) {
+
+        final IndexEntry previous = indexEntries.get(dataType);
+        final IndexEntry current = new IndexEntry(dataType);
+
+        if (previous == null) {
+            add(dataTypesByParentUUID, current.parentUUID, dataType);
+            add(dataTypesByName, current.name, dataType);
+            add(dataTypesByType, current.type, dataType);
+        } else {
+            if (!Objects.equals(previous.parentUUID, current.parentUUID)) {
+                remove(dataTypesByParentUUID, previous.parentUUID, dataType);
+                add(dataTypesByParentUUID, current.parentUUID, dataType);
+            }
+            if (!Objects.equals(previous.name, current.name)) {
+                remove(dataTypesByName, previous.name, dataType);
+                add(dataTypesByName, current.name, dataType);
+            }
+            if (!Objects.equals(previous.type, current.type)) {
+                remove(dataTypesByType, previous.type, dataType);
+                add(dataTypesByType, current.type, dataType);
+            }
+        }
+
+        if (current.isTopLevel) {
+            topLevelDataTypes.add(dataType);
+        } else {
+            topLevelDataTypes.remove(dataType);
+        }
+
+        indexEntries.put(dataType, current);
+    }
+
+    private void unIndexProperties(final DataType dataType) {
+        final IndexEntry entry = indexEntries.remove(dataType);
+        if (entry != null) {
+            remove(dataTypesByParentUUID, entry.parentUUID, dataType);
+            remove(dataTypesByName, entry.name, dataType);
+            remove(dataTypesByType, entry.type, dataType);
+            topLevelDataTypes.remove(dataType);
+        }
+    }
+
     private List<String> subDataTypesUUID(final String uuid) {
-        return all()
-                .stream()
-                .filter(dataType -> Objects.equals(dataType.getParentUUID(), uuid))
-                .map(DataType::getUUID)
-                .collect(Collectors.toList());
+        final List<String> uuids = new ArrayList<>();
+        for (final DataType dataType : lookup(dataTypesByParentUUID, uuid)) {
+            uuids.add(dataType.getUUID());
+        }
+        return uuids;
+    }
+
+    private static Set<DataType> lookup(final Map<String, Set<DataType>> index,
+                                        final String key) {
+        return index.getOrDefault(key, Collections.emptySet());
+    }
+
+    private static void add(final Map<String, Set<DataType>> index,
+                            final String key,
+                            final DataType dataType) {
+        index.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(dataType);
+    }
+
+    private static void remove(final Map<String, Set<DataType>> index,
+                               final String key,
+                               final DataType dataType) {
+        final Set<DataType> dataTypes = index.get(key);
+        if (dataTypes != null) {
+            dataTypes.remove(dataType);
+            if (dataTypes.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static class IndexEntry {
+
+        private final String parentUUID;
+
+        private final String name;
+
+        private final String type;
+
+        private final boolean isTopLevel;
+
+        private IndexEntry(final DataType dataType) {
+            this.parentUUID = dataType.getParentUUID();
+            this.name = dataType.getName();
+            this.type = dataType.getType();
+            this.isTopLevel = dataType.isTopLevel();
+        }
     }
 }
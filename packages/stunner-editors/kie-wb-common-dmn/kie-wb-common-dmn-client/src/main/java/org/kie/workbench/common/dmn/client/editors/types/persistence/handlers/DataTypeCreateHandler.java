@@ -103,11 +103,7 @@ public class DataTypeCreateHandler extends DataTypeHandler {
         if (Objects.equals(dataType.getType(), dataTypeManager.structure())) {
             return Optional.of(dataType);
         } else {
-            return dataTypeStore
-                    .getTopLevelDataTypes()
-                    .stream()
-                    .filter(dt -> Objects.equals(dt.getName(), dataType.getType()))
-                    .findFirst();
+            return dataTypeStore.getTopLevelDataTypeWithName(dataType.getType());
         }
     }
 
@@ -93,11 +93,7 @@ public class DataTypeHandler {
     }
 
     private Optional<DataType> findTopLevelDataTypeByName(final String name) {
-        final List<DataType> dataTypes = topLevelDataTypes();
-        return dataTypes
-                .stream()
-                .filter(dataType -> Objects.equals(dataType.getName(), name))
-                .findFirst();
+        return dataTypeStore.getTopLevelDataTypeWithName(name);
     }
 
     private Optional<DataType> getClosestTopLevel(final DataType dataType) {
@@ -113,9 +109,7 @@ public class DataTypeHandler {
     private boolean isClosestTopLevel(final DataType dataType) {
 
         final boolean isTopLevel = dataType.isTopLevel();
-        final boolean isTopLevelField = topLevelDataTypes()
-                .stream()
-                .anyMatch(topLevel -> Objects.equals(topLevel.getName(), dataType.getType()));
+        final boolean isTopLevelField = findTopLevelDataTypeByName(dataType.getType()).isPresent();
 
         return isTopLevel || isTopLevelField;
     }
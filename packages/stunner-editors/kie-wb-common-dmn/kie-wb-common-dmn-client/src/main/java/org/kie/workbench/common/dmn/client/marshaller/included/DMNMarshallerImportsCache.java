@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.kie.workbench.common.dmn.client.marshaller.included;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.kie.workbench.common.dmn.api.editors.included.DMNIncludedModel;
+import org.kie.workbench.common.dmn.api.editors.included.PMMLDocumentMetadata;
+
+/**
+ * Caches what the {@link DMNMarshallerImportsClientHelper} extracts from the DMN and PMML files of the workspace, so
+ * that files whose content did not change are not parsed again by the next editor session.
+ * <p>
+ * Entries are keyed by file path and hold the content they were extracted from; an entry is only returned for the
+ * same content, and a changed file replaces it. Entries of files no longer listed in the workspace are dropped by
+ * {@link #retainDMNFiles(Collection)} and {@link #retainPMMLFiles(Collection)}. Parsed DMN definitions are not cached because the
+ * marshaller prefixes their elements in place with the import name, so each caller gets its own parse. Only the
+ * immutable data extracted from them is kept: the namespace of each DMN file, the {@link DMNIncludedModel}s and the
+ * {@link PMMLDocumentMetadata}.
+ */
+@ApplicationScoped
+public class DMNMarshallerImportsCache {
+
+    private final Map<String, Entry<String>> namespaces = new HashMap<>();
+
+    private final Map<String, Entry<DMNIncludedModel>> dmnIncludedModels = new HashMap<>();
+
+    private final Map<String, Entry<PMMLDocumentMetadata>> pmmlDocuments = new HashMap<>();
+
+    public Optional<String> getNamespace(final String path,
+                                         final String content) {
+        return get(namespaces, path, content);
+    }
+
+    public void putNamespace(final String path,
+                             final String content,
+                             final String namespace) {
+        put(namespaces, path, content, namespace);
+    }
+
+    public Optional<DMNIncludedModel> getDMNIncludedModel(final String path,
+                                                          final String content) {
+        return get(dmnIncludedModels, path, content);
+    }
+
+    public void putDMNIncludedModel(final String path,
+                                    final String content,
+                                    final DMNIncludedModel includedModel) {
+        put(dmnIncludedModels, path, content, includedModel);
+    }
+
+    public Optional<PMMLDocumentMetadata> getPMMLDocumentMetadata(final String path,
+                                                                  final String content) {
+        return get(pmmlDocuments, path, content);
+    }
+
+    public void putPMMLDocumentMetadata(final String path,
+                                        final String content,
+                                        final PMMLDocumentMetadata documentMetadata) {
+        put(pmmlDocuments, path, content, documentMetadata);
+    }
+
+    /**
+     * Drops the entries of the DMN files which are not in the given workspace listing.
+     */
+    public void retainDMNFiles(final Collection<String> paths) {
+        namespaces.keySet().retainAll(paths);
+        dmnIncludedModels.keySet().retainAll(paths);
+    }
+
+    /**
+     * Drops the entries of the PMML files which are not in the given workspace listing.
+     */
+    public void retainPMMLFiles(final Collection<String> paths) {
+        pmmlDocuments.keySet().retainAll(paths);
+    }
+
+    public void clear() {
+        namespaces.clear();
+        dmnIncludedModels.clear();
+        pmmlDocuments.clear();
+    }
+
+    private static <T> Optional<T> get(final Map<String, Entry<T>> entries,
+                                       final String path,
+                                       final String content) {
+        final Entry<T> entry = entries.get(path);
+        if (entry == null || !entry.isExtractedFrom(content)) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.value);
+    }
+
+    private static <T> void put(final Map<String, Entry<T>> entries,
+                                final String path,
+                                final String content,
+                                final T value) {
+        if (content == null || value == null) {
+            entries.remove(path);
+        } else {
+            entries.put(path, new Entry<>(content, value));
+        }
+    }
+
+    private static class Entry<T> {
+
+        private final String content;
+
+        private final T value;
+
+        private Entry(final String content,
+                      final T value) {
+            this.content = content;
+            this.value = value;
+        }
+
+        private boolean isExtractedFrom(final String content) {
+            return this.content.equals(content);
+        }
+    }
+}
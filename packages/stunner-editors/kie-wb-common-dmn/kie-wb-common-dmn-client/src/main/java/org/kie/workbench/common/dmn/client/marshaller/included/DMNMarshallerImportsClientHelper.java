@@ -29,6 +29,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -74,6 +75,7 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
     private final DMNMarshallerImportsContentService dmnImportsContentService;
     private final Promises promises;
     private final DMNIncludedNodeFactory includedModelFactory;
+    private final DMNMarshallerImportsCache importsCache;
 
     private static final Logger LOGGER = Logger.getLogger(DMNMarshallerImportsClientHelper.class.getName());
 
@@ -81,17 +83,19 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
     public DMNMarshallerImportsClientHelper(final DMNMarshallerImportsService dmnImportsService,
                                             final DMNMarshallerImportsContentService dmnImportsContentService,
                                             final Promises promises,
-                                            final DMNIncludedNodeFactory includedModelFactory) {
+                                            final DMNIncludedNodeFactory includedModelFactory,
+                                            final DMNMarshallerImportsCache importsCache) {
         this.dmnImportsService = dmnImportsService;
         this.dmnImportsContentService = dmnImportsContentService;
         this.promises = promises;
         this.includedModelFactory = includedModelFactory;
+        this.importsCache = importsCache;
     }
 
     public Promise<Map<JSITImport, JSITDefinitions>> getImportDefinitionsAsync(final Metadata metadata,
                                                                                final List<JSITImport> imports) {
         if (!imports.isEmpty()) {
-            return loadDMNDefinitions().then(otherDefinitions -> {
+            return loadDMNDefinitions(namespace -> findImportByNamespace(namespace, imports).isPresent()).then(otherDefinitions -> {
                 final Map<JSITImport, JSITDefinitions> importDefinitions = new HashMap<>();
                 for (final Map.Entry<String, JSITDefinitions> entry : otherDefinitions.entrySet()) {
                     final JSITDefinitions def = Js.uncheckedCast(entry.getValue());
@@ -109,15 +113,20 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
         return promises.resolve(Collections.emptyMap());
     }
 
-    private Promise<Map<String, JSITDefinitions>> loadDMNDefinitions() {
+    /**
+     * Parses the DMN files of the workspace whose namespace is accepted by the given filter. Files whose namespace
+     * is known from a previous parse of the same content, and not accepted, are not parsed again.
+     */
+    private Promise<Map<String, JSITDefinitions>> loadDMNDefinitions(final Predicate<String> namespaceFilter) {
         return dmnImportsContentService.getModelsDMNFilesURIs()
                 .then(list -> {
+                    importsCache.retainDMNFiles(Arrays.asList(list));
                     if (list.length == 0) {
                         return promises.resolve(Collections.emptyMap());
                     } else {
                         final Map<String, JSITDefinitions> otherDefinitions = new ConcurrentHashMap<>();
                         return promises.all(Arrays.asList(list),
-                                        (String file) -> loadDefinitionFromFile(file, otherDefinitions))
+                                        (String file) -> loadDefinitionFromFile(file, otherDefinitions, namespaceFilter))
                                 .then(v -> promises.resolve(otherDefinitions))
                                 .catch_(error -> {
                                     LOGGER.severe(error::toString);
@@ -136,7 +145,7 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
         if (includedModels.isEmpty()) {
             callback.onSuccess(result);
         } else {
-            loadDMNDefinitions()
+            loadDMNDefinitions(namespace -> includedModels.stream().anyMatch(model -> Objects.equals(model.getNamespace(), namespace)))
                     .then(existingDefinitions -> promises.all(includedModels, model -> loadNodes(existingDefinitions, model, result))
                             .then(p -> {
                                 callback.onSuccess(result);
@@ -157,9 +166,9 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
                                                      final List<DMNIncludedNode> result) {
         String filePath = "";
         for (final Map.Entry<String, JSITDefinitions> entry : existingDefinitions.entrySet()) {
-            filePath = entry.getKey();
             final JSITDefinitions definitions = Js.uncheckedCast(entry.getValue());
             if (Objects.equals(model.getNamespace(), definitions.getNamespace())) {
+                filePath = entry.getKey();
                 break;
             }
         }
@@ -197,41 +206,57 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
     public void loadModels(final ServiceCallback<List<IncludedModel>> callback) {
         final List<IncludedModel> models = new ArrayList<>();
         dmnImportsContentService.getModelsURIs()
+                .then(items -> {
+                    importsCache.retainDMNFiles(Arrays.asList(items));
+                    importsCache.retainPMMLFiles(Arrays.asList(items));
+                    return promises.resolve(items);
+                })
                 .then(items -> promises.all(Arrays.asList(items), file -> {
                     final String fileName = FileUtils.getFileName(file);
                     if (fileName.endsWith("." + DMNImportTypes.DMN.getFileExtension())) {
                         return dmnImportsContentService.loadFile(file)
-                                .then(fileContent -> promises.create((success, failed) -> dmnImportsService.getWbDefinitions(fileContent, new ServiceCallback<Definitions>() {
-                                    @Override
-                                    public void onSuccess(final Definitions definitions) {
-                                        final String modelPackage = "";
-                                        final String namespace = definitions.getNamespace().getValue();
-                                        final String importType = DMNImportTypes.DMN.getDefaultNamespace();
-                                        final int drgElementCount = definitions.getDrgElement().size();
-                                        final int itemDefinitionCount = definitions.getItemDefinition().size();
-                                        models.add(new DMNIncludedModel(fileName,
-                                                modelPackage,
-                                                file,
-                                                namespace,
-                                                importType,
-                                                drgElementCount,
-                                                itemDefinitionCount));
+                                .then(fileContent -> promises.create((success, failed) -> {
+                                    final Optional<DMNIncludedModel> cachedModel = importsCache.getDMNIncludedModel(file, fileContent);
+                                    if (cachedModel.isPresent()) {
+                                        models.add(cachedModel.get());
                                         success.onInvoke(promises.resolve());
+                                        return;
                                     }
-
-                                    @Override
-                                    public void onError(final ClientRuntimeError error) {
-                                        LOGGER.warning(error::getErrorMessage);
-                                        //Swallow. Since it must try to load other paths.
-                                        success.onInvoke(promises.resolve());
-                                    }
-                                }))).catch_(error -> {
+                                    dmnImportsService.getWbDefinitions(fileContent, new ServiceCallback<Definitions>() {
+                                        @Override
+                                        public void onSuccess(final Definitions definitions) {
+                                            final String modelPackage = "";
+                                            final String namespace = definitions.getNamespace().getValue();
+                                            final String importType = DMNImportTypes.DMN.getDefaultNamespace();
+                                            final int drgElementCount = definitions.getDrgElement().size();
+                                            final int itemDefinitionCount = definitions.getItemDefinition().size();
+                                            final DMNIncludedModel includedModel = new DMNIncludedModel(fileName,
+                                                    modelPackage,
+                                                    file,
+                                                    namespace,
+                                                    importType,
+                                                    drgElementCount,
+                                                    itemDefinitionCount);
+                                            importsCache.putDMNIncludedModel(file, fileContent, includedModel);
+                                            importsCache.putNamespace(file, fileContent, namespace);
+                                            models.add(includedModel);
+                                            success.onInvoke(promises.resolve());
+                                        }
+
+                                        @Override
+                                        public void onError(final ClientRuntimeError error) {
+                                            LOGGER.warning(error::getErrorMessage);
+                                            //Swallow. Since it must try to load other paths.
+                                            success.onInvoke(promises.resolve());
+                                        }
+                                    });
+                                })).catch_(error -> {
                                     LOGGER.severe(error::toString);
                                     return promises.reject(error);
                                 });
                     }
                     if (fileName.endsWith("." + DMNImportTypes.PMML.getFileExtension())) {
-                        return dmnImportsContentService.getPMMLDocumentMetadata(file)
+                        return loadPMMLDocumentMetadata(file)
                                 .then(pmmlDocumentMetadata -> {
                                     int modelCount = pmmlDocumentMetadata.getModels() != null ? pmmlDocumentMetadata.getModels().size() : 0;
                                     models.add(new PMMLIncludedModel(fileName,
@@ -260,11 +285,15 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
     }
 
     private Promise<Void> loadDefinitionFromFile(final String file,
-                                                 final Map<String, JSITDefinitions> otherDefinitions) {
+                                                 final Map<String, JSITDefinitions> otherDefinitions,
+                                                 final Predicate<String> namespaceFilter) {
         return dmnImportsContentService.loadFile(file)
                 .then(xml -> promises.create((success, failure) -> {
-                    if (!isEmpty(xml)) {
-                        final ServiceCallback<JSITDefinitions> callback = Js.uncheckedCast(getCallback(file, otherDefinitions, success));
+                    final Optional<String> cachedNamespace = importsCache.getNamespace(file, xml);
+                    if (cachedNamespace.isPresent() && !namespaceFilter.test(cachedNamespace.get())) {
+                        success.onInvoke(promises.resolve());
+                    } else if (!isEmpty(xml)) {
+                        final ServiceCallback<JSITDefinitions> callback = Js.uncheckedCast(getCallback(file, xml, otherDefinitions, namespaceFilter, success));
                         dmnImportsService.getDMNDefinitions(xml, callback);
                     } else {
                         success.onInvoke(promises.resolve());
@@ -276,13 +305,18 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
     }
 
     private ServiceCallback<Object> getCallback(final String filePath,
+                                                final String xml,
                                                 final Map<String, JSITDefinitions> otherDefinitions,
+                                                final Predicate<String> namespaceFilter,
                                                 final Promise.PromiseExecutorCallbackFn.ResolveCallbackFn<Object> success) {
         return new ServiceCallback<Object>() {
             @Override
             public void onSuccess(final Object item) {
                 final JSITDefinitions def = Js.uncheckedCast(item);
-                otherDefinitions.put(filePath, def);
+                importsCache.putNamespace(filePath, xml, def.getNamespace());
+                if (namespaceFilter.test(def.getNamespace())) {
+                    otherDefinitions.put(filePath, def);
+                }
                 success.onInvoke(promises.resolve());
             }
 
@@ -295,9 +329,14 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
 
     private Optional<JSITImport> findImportByDefinitions(final JSITDefinitions definitions,
                                                          final List<JSITImport> imports) {
+        return findImportByNamespace(definitions.getNamespace(), imports);
+    }
+
+    private Optional<JSITImport> findImportByNamespace(final String namespace,
+                                                       final List<JSITImport> imports) {
         for (int i = 0; i < imports.size(); i++) {
             final JSITImport anImport = Js.uncheckedCast(imports.get(i));
-            if (Objects.equals(anImport.getNamespace(), definitions.getNamespace())) {
+            if (Objects.equals(anImport.getNamespace(), namespace)) {
                 return Optional.of(anImport);
             }
         }
@@ -342,6 +381,7 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
     private Promise<Map<String, PMMLDocumentMetadata>> loadPMMLDefinitions() {
         return dmnImportsContentService.getModelsPMMLFilesURIs().
                 then(files -> {
+                    importsCache.retainPMMLFiles(Arrays.asList(files));
                     if (files.length == 0) {
                         return promises.resolve(Collections.emptyMap());
                     } else {
@@ -361,7 +401,7 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
 
     private Promise<Void> loadPMMLDefinitionFromFile(final String file,
                                                      final Map<String, PMMLDocumentMetadata> definitions) {
-        return dmnImportsContentService.getPMMLDocumentMetadata(file)
+        return loadPMMLDocumentMetadata(file)
                 .then(pmmlDocumentMetadata -> {
                     definitions.put(file, pmmlDocumentMetadata);
                     return promises.resolve();
@@ -371,6 +411,27 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
                 });
     }
 
+    /**
+     * Returns the {@link PMMLDocumentMetadata} of the given file, parsing the loaded content only when it has changed
+     * since the last time it was parsed.
+     */
+    private Promise<PMMLDocumentMetadata> loadPMMLDocumentMetadata(final String file) {
+        return dmnImportsContentService.loadFile(file)
+                .then(content -> {
+                    final Optional<PMMLDocumentMetadata> cachedMetadata = importsCache.getPMMLDocumentMetadata(file, content);
+                    if (cachedMetadata.isPresent()) {
+                        return promises.resolve(cachedMetadata.get());
+                    }
+                    return dmnImportsContentService.getPMMLDocumentMetadata(file, content)
+                            .then(pmmlDocumentMetadata -> {
+                                if (!isEmpty(content)) {
+                                    importsCache.putPMMLDocumentMetadata(file, content, pmmlDocumentMetadata);
+                                }
+                                return promises.resolve(pmmlDocumentMetadata);
+                            });
+                });
+    }
+
     @Override
     public Map<JSITImport, String> getImportXML(final Metadata metadata,
                                                 final List<JSITImport> imports) {
@@ -516,7 +577,7 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
     public void getImportedItemDefinitionsByNamespaceAsync(final String modelName,
                                                            final String namespace,
                                                            final ServiceCallback<List<ItemDefinition>> callback) {
-        loadDMNDefinitions()
+        loadDMNDefinitions(definitionsNamespace -> Objects.equals(definitionsNamespace, namespace))
                 .then(definitions -> {
                     final List<ItemDefinition> result = new ArrayList<>();
                     for (final Map.Entry<String, JSITDefinitions> entry : definitions.entrySet()) {
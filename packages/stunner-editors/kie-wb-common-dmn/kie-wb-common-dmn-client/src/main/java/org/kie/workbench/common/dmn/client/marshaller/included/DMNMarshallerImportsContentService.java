@@ -33,4 +33,10 @@ public interface DMNMarshallerImportsContentService {
     Promise<String[]> getModelsPMMLFilesURIs();
 
     Promise<PMMLDocumentMetadata> getPMMLDocumentMetadata(final String fileUri);
+
+    /**
+     * Same as {@link #getPMMLDocumentMetadata(String)}, for a file whose content has already been loaded.
+     */
+    Promise<PMMLDocumentMetadata> getPMMLDocumentMetadata(final String fileUri,
+                                                          final String fileContent);
 }
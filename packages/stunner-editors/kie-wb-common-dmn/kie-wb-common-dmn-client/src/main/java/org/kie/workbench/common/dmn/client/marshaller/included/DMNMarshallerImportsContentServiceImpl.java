@@ -65,6 +65,12 @@ public class DMNMarshallerImportsContentServiceImpl implements DMNMarshallerImpo
         return promises.resolve();
     }
 
+    @Override
+    public Promise<PMMLDocumentMetadata> getPMMLDocumentMetadata(final String fileUri,
+                                                                 final String fileContent) {
+        return promises.resolve();
+    }
+
     private Path makePath(final String fileUri) {
         return PathFactory.newPath(".", fileUri);
     }
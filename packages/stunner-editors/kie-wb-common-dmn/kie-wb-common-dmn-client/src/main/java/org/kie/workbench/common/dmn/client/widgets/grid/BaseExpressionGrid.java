@@ -57,6 +57,8 @@ import org.kie.workbench.common.dmn.client.widgets.grid.controls.container.CellE
 import org.kie.workbench.common.dmn.client.widgets.grid.controls.list.ListSelectorView;
 import org.kie.workbench.common.dmn.client.widgets.grid.handlers.EditableHeaderGridWidgetEditCellMouseEventHandler;
 import org.kie.workbench.common.dmn.client.widgets.grid.model.BaseUIModelMapper;
+import org.kie.workbench.common.dmn.client.widgets.grid.model.DMNGridData;
+import org.kie.workbench.common.dmn.client.widgets.grid.model.DelegatingGridData;
 import org.kie.workbench.common.dmn.client.widgets.grid.model.ExpressionEditorChanged;
 import org.kie.workbench.common.dmn.client.widgets.grid.model.GridCellTuple;
 import org.kie.workbench.common.dmn.client.widgets.grid.model.GridCellValueTuple;
@@ -78,6 +80,7 @@ import org.kie.workbench.common.stunner.forms.client.event.RefreshFormProperties
 import org.uberfire.ext.wires.core.grids.client.model.GridCellValue;
 import org.uberfire.ext.wires.core.grids.client.model.GridColumn;
 import org.uberfire.ext.wires.core.grids.client.model.GridData;
+import org.uberfire.ext.wires.core.grids.client.model.impl.GridRowGeometry;
 import org.uberfire.ext.wires.core.grids.client.util.ColumnIndexUtilities;
 import org.uberfire.ext.wires.core.grids.client.util.CoordinateUtilities;
 import org.uberfire.ext.wires.core.grids.client.widget.dnd.IsRowDragHandle;
@@ -85,6 +88,7 @@ import org.uberfire.ext.wires.core.grids.client.widget.grid.GridWidget;
 import org.uberfire.ext.wires.core.grids.client.widget.grid.NodeMouseEventHandler;
 import org.uberfire.ext.wires.core.grids.client.widget.grid.impl.DefaultGridWidgetCellSelectorMouseEventHandler;
 import org.uberfire.ext.wires.core.grids.client.widget.grid.renderers.grids.GridRenderer;
+import org.uberfire.ext.wires.core.grids.client.widget.grid.renderers.grids.impl.BaseGridRendererHelper;
 import org.uberfire.ext.wires.core.grids.client.widget.grid.selections.SelectionExtension;
 import org.uberfire.ext.wires.core.grids.client.widget.layer.GridSelectionManager;
 import org.uberfire.ext.wires.core.grids.client.widget.layer.impl.GridLayerRedrawManager;
@@ -153,6 +157,13 @@ public abstract class BaseExpressionGrid<E extends Expression, D extends GridDat
         this.nesting = nesting;
         this.readOnlyProvider = readOnlyProvider;
 
+        //The height of this editor follows that of its rows, so the row holding it is told when they change
+        if (gridData instanceof DMNGridData) {
+            ((DMNGridData) gridData).setParentInformation(parent);
+        } else if (gridData instanceof DelegatingGridData) {
+            ((DelegatingGridData) gridData).setParentInformation(parent);
+        }
+
         doInitialisation();
     }
 
@@ -177,6 +188,21 @@ public abstract class BaseExpressionGrid<E extends Expression, D extends GridDat
         return super.isOnlyVisualChangeAllowed() || readOnlyProvider.isReadOnlyDiagram();
     }
 
+    @Override
+    protected BaseGridRendererHelper getBaseGridRendererHelper() {
+        return new BaseGridRendererHelper(this) {
+            @Override
+            public GridRowGeometry getRowGeometry() {
+                //Use the geometry kept up to date by the model the delegating models wrap
+                final GridData uiModel = getModel();
+                if (uiModel instanceof DelegatingGridData) {
+                    return ((DelegatingGridData) uiModel).getRowGeometry();
+                }
+                return super.getRowGeometry();
+            }
+        };
+    }
+
     @SuppressWarnings("unchecked")
     public <V, HV extends HasValue<V>> Consumer<HV> clearValueConsumer(final boolean updateStunnerTitle,
                                                                        final V emptyValue) {
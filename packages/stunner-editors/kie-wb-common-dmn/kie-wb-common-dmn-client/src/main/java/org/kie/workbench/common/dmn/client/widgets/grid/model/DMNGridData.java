@@ -23,7 +23,21 @@ import org.uberfire.ext.wires.core.grids.client.model.impl.BaseGridData;
 
 public class DMNGridData extends BaseGridData {
 
+    //The cell holding the editor of this model, whose row is told when the height of the editor changes
+    private GridCellTuple parent;
+
     public DMNGridData() {
         super(false);
     }
+
+    public void setParentInformation(final GridCellTuple parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    protected void onRowGeometryChanged() {
+        if (parent != null) {
+            parent.onHeightChanged();
+        }
+    }
 }
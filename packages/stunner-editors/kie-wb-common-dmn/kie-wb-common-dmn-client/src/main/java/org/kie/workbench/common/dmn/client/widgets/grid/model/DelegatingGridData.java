@@ -27,6 +27,7 @@ import org.uberfire.ext.wires.core.grids.client.model.GridCellValue;
 import org.uberfire.ext.wires.core.grids.client.model.GridColumn;
 import org.uberfire.ext.wires.core.grids.client.model.GridData;
 import org.uberfire.ext.wires.core.grids.client.model.GridRow;
+import org.uberfire.ext.wires.core.grids.client.model.impl.GridRowGeometry;
 
 /**
  * A convenience class to support intercepting GridData mutations and defer to Commands.
@@ -39,6 +40,14 @@ public class DelegatingGridData implements GridData {
         this.delegate = delegate;
     }
 
+    public void setParentInformation(final GridCellTuple parent) {
+        delegate.setParentInformation(parent);
+    }
+
+    public GridRowGeometry getRowGeometry() {
+        return delegate.getRowGeometry();
+    }
+
     @Override
     public void moveRowTo(final int index,
                           final GridRow row) {
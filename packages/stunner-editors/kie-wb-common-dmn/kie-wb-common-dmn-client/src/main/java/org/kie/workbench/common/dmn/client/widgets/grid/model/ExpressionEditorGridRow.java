@@ -35,6 +35,9 @@ public class ExpressionEditorGridRow extends BaseGridRow {
 
     private final double defaultHeight;
 
+    //The height computed from the editors in the cells, NaN until computed again after a change
+    private double editorsHeight = Double.NaN;
+
     public ExpressionEditorGridRow() {
         this(DEFAULT_HEIGHT);
     }
@@ -46,9 +49,13 @@ public class ExpressionEditorGridRow extends BaseGridRow {
 
     @Override
     public double getHeight() {
+        if (!Double.isNaN(editorsHeight)) {
+            return editorsHeight;
+        }
+
         long currentTimeMillis = log(LOGGER, " - Pre- ExpressionEditorGridRow.getHeight()");
 
-        final double height = this.getCells()
+        editorsHeight = this.getCells()
                 .values()
                 .stream()
                 .filter(cell -> cell != null && cell.getValue() != null)
@@ -63,6 +70,19 @@ public class ExpressionEditorGridRow extends BaseGridRow {
 
         log(LOGGER, " - Post- ExpressionEditorGridRow.getHeight()", currentTimeMillis);
 
-        return height;
+        return editorsHeight;
+    }
+
+    /**
+     * Called when the height of the editor in one of the cells may have changed.
+     */
+    public void onEditorHeightChanged() {
+        editorsHeight = Double.NaN;
+        heightChanged();
+    }
+
+    @Override
+    protected void onCellsChanged() {
+        onEditorHeightChanged();
     }
 }
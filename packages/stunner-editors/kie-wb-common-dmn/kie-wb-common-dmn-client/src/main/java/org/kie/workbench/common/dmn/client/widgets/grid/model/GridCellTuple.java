@@ -95,10 +95,29 @@ public class GridCellTuple implements RequiresResize {
         return width;
     }
 
+    /**
+     * Tells the row holding this cell that the height of the editor in the cell may have changed.
+     */
+    public void onHeightChanged() {
+        if (gridWidget == null) {
+            return;
+        }
+        final GridData uiModel = gridWidget.getModel();
+        if (uiModel == null || rowIndex < 0 || rowIndex >= uiModel.getRowCount()) {
+            return;
+        }
+        final GridRow row = uiModel.getRow(rowIndex);
+        if (row instanceof ExpressionEditorGridRow) {
+            ((ExpressionEditorGridRow) row).onEditorHeightChanged();
+        }
+    }
+
     @Override
     public void onResize() {
         //This may look like it does nothing; however it forces the column to resize it's children
         final GridColumn<?> parentColumn = gridWidget.getModel().getColumns().get(columnIndex);
         parentColumn.setWidth(parentColumn.getWidth());
+        //The header of the editor may have changed too
+        onHeightChanged();
     }
 }
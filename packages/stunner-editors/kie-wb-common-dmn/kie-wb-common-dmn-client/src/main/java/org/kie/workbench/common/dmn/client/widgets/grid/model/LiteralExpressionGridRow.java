@@ -25,18 +25,31 @@ import static org.kie.workbench.common.dmn.client.widgets.grid.model.BaseHasDyna
 
 public class LiteralExpressionGridRow extends BaseGridRow {
 
+    //The height computed from the cells, NaN until computed again after a change of the cells
+    private double cellsHeight = Double.NaN;
+
     public LiteralExpressionGridRow() {
         super(DEFAULT_HEIGHT);
     }
 
     @Override
     public double getHeight() {
+        if (!Double.isNaN(cellsHeight)) {
+            return cellsHeight;
+        }
         double height = DEFAULT_HEIGHT;
         for (GridCell<?> cell : this.getCells().values()) {
             if (cell instanceof HasDynamicHeight) {
                 height = Math.max(((HasDynamicHeight) cell).getHeight(), height);
             }
         }
+        cellsHeight = height;
         return height;
     }
+
+    @Override
+    protected void onCellsChanged() {
+        cellsHeight = Double.NaN;
+        heightChanged();
+    }
 }
@@ -39,6 +39,8 @@ import org.uberfire.ext.wires.core.grids.client.widget.grid.GridWidget;
 
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -229,6 +231,30 @@ public class DMNGridSubIndexTest {
         verify(dmnGridHelper).highlightCell(1, 0, gridWidget3);
     }
 
+    @Test
+    public void testGetSearchableElementsIsCachedUntilInvalidated() {
+
+        final List<DMNSearchableElement> elements = index.getSearchableElements();
+
+        assertSame(elements, index.getSearchableElements());
+
+        index.invalidate();
+
+        assertNotSame(elements, index.getSearchableElements());
+        assertEquals(7, index.getSearchableElements().size());
+    }
+
+    @Test
+    public void testGetSearchableElementsWhenGridWidgetsChange() {
+
+        final List<DMNSearchableElement> elements = index.getSearchableElements();
+
+        when(dmnGridHelper.getGridWidgets()).thenReturn(asSet(gridWidget1));
+
+        assertNotSame(elements, index.getSearchableElements());
+        assertEquals(2, index.getSearchableElements().size());
+    }
+
     @Test
     public void testGetValue() {
 
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.kie.workbench.common.dmn.client.editors.search;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class DMNSearchableElementsIndexTest {
+
+    private DMNSearchableElement decision;
+
+    private DMNSearchableElement inputData;
+
+    private DMNSearchableElement decisionService;
+
+    private DMNSearchableElement empty;
+
+    private DMNSearchableElementsIndex index;
+
+    @Before
+    public void setup() {
+        decision = makeElement("Approval Decision");
+        inputData = makeElement("Applicant data");
+        decisionService = makeElement("decision service");
+        empty = makeElement(null);
+        index = new DMNSearchableElementsIndex(asList(decision, inputData, decisionService, empty));
+    }
+
+    @Test
+    public void testGetElements() {
+        assertEquals(asList(decision, inputData, decisionService, empty), index.getElements());
+    }
+
+    @Test
+    public void testSearchIgnoresCaseAndKeepsOrder() {
+        assertEquals(asList(decision, decisionService), index.search("DECISION"));
+        assertEquals(asList(decision, decisionService), index.search("cisi"));
+        assertEquals(singletonList(inputData), index.search("cant DA"));
+    }
+
+    @Test
+    public void testSearchWhenTermIsShorterThanAGram() {
+        assertEquals(asList(decision, inputData), index.search("ap"));
+        assertEquals(asList(decision, inputData, decisionService, empty), index.search(""));
+    }
+
+    @Test
+    public void testSearchWhenAllGramsMatchButTermDoesNot() {
+        assertEquals(emptyList(), index.search("decision data"));
+        assertEquals(emptyList(), index.search("ecisionn"));
+    }
+
+    @Test
+    public void testSearchWhenNoElementMatches() {
+        assertEquals(emptyList(), index.search("unknown"));
+    }
+
+    @Test
+    public void testSearchMatchesElementMatches() {
+        final String[] terms = {"a", "de", "ion", "n d", "appro", "service", "xyz", "Applicant data"};
+        for (final String term : terms) {
+            for (final DMNSearchableElement element : asList(decision, inputData, decisionService)) {
+                assertEquals(element.matches(term), index.search(term).contains(element));
+            }
+        }
+    }
+
+    @Test
+    public void testSearchEmptyIndex() {
+        final List<DMNSearchableElement> elements = emptyList();
+        final DMNSearchableElementsIndex emptyIndex = new DMNSearchableElementsIndex(elements);
+
+        assertSame(elements, emptyIndex.getElements());
+        assertEquals(emptyList(), emptyIndex.search("decision"));
+    }
+
+    private DMNSearchableElement makeElement(final String text) {
+        final DMNSearchableElement element = new DMNSearchableElement();
+        element.setText(text);
+        return element;
+    }
+}
@@ -672,13 +672,11 @@ public class DataTypeManagerTest {
 
         final DataType dt1 = mock(DataType.class);
         final String dt1Name = "The Name";
-        when(dt1.getName()).thenReturn(dt1Name);
         final DataType dt2 = mock(DataType.class);
         final String dt2Name = "The Other Name";
-        when(dt2.getName()).thenReturn(dt2Name);
 
-        final List<DataType> store = Arrays.asList(dt1, dt2);
-        when(dataTypeStore.getTopLevelDataTypes()).thenReturn(store);
+        when(dataTypeStore.getTopLevelDataTypeWithName(dt1Name)).thenReturn(Optional.of(dt1));
+        when(dataTypeStore.getTopLevelDataTypeWithName(dt2Name)).thenReturn(Optional.of(dt2));
 
         Optional<DataType> foundDt = manager.findTopLevelDataTypeWithName(dt1Name);
         assertTrue(foundDt.isPresent());
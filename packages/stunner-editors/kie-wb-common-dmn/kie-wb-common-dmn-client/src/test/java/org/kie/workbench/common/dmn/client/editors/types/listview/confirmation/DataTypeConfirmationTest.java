@@ -35,7 +35,7 @@ import org.mockito.Mock;
 import org.uberfire.mocks.EventSourceMock;
 import org.uberfire.mvp.Command;
 
-import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.kie.workbench.common.dmn.client.resources.i18n.DMNEditorConstants.DataTypeManager_Structure;
 import static org.mockito.ArgumentMatchers.any;
@@ -144,7 +144,6 @@ public class DataTypeConfirmationTest {
         final DataType dataType = mock(DataType.class);
         final DataType dataType1 = mock(DataType.class);
         final DataType dataType2 = mock(DataType.class);
-        final List<DataType> allDataTypes = asList(dataType1, dataType2);
         final Command callback = mock(Command.class);
         final String tCity = "tCity";
         final String tPerson = "tPerson";
@@ -154,7 +153,7 @@ public class DataTypeConfirmationTest {
         when(dataType1.getType()).thenReturn(tDocument);
         when(dataType2.getType()).thenReturn(tPerson);
 
-        when(dataTypeStore.all()).thenReturn(allDataTypes);
+        when(dataTypeStore.getDataTypesWithType(tCity)).thenReturn(emptyList());
 
         confirmation.ifIsNotReferencedDataType(dataType, callback);
 
@@ -167,7 +166,6 @@ public class DataTypeConfirmationTest {
         final DataType dataType = mock(DataType.class);
         final DataType dataType1 = mock(DataType.class);
         final DataType dataType2 = mock(DataType.class);
-        final List<DataType> allDataTypes = asList(dataType1, dataType2);
         final FlashMessage warningMessage = mock(FlashMessage.class);
         final Command onSuccess = mock(Command.class);
         final String tCity = "tCity";
@@ -178,7 +176,7 @@ public class DataTypeConfirmationTest {
         when(dataType2.getType()).thenReturn(tPerson);
         when(referencedDataTypeWarningMessage.getFlashMessage(eq(dataType), eq(onSuccess), any())).thenReturn(warningMessage);
 
-        when(dataTypeStore.all()).thenReturn(allDataTypes);
+        when(dataTypeStore.getDataTypesWithType(tCity)).thenReturn(singletonList(dataType1));
 
         confirmation.ifIsNotReferencedDataType(dataType, onSuccess);
 
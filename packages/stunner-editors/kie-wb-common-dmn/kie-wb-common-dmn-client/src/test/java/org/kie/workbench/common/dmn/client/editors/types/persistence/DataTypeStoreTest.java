@@ -20,6 +20,7 @@
 package org.kie.workbench.common.dmn.client.editors.types.persistence;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -28,13 +29,18 @@ import org.kie.workbench.common.dmn.client.editors.types.common.DataType;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.kie.workbench.common.dmn.client.editors.types.common.DataType.TOP_LEVEL_PARENT_UUID;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.Silent.class)
@@ -104,6 +110,77 @@ public class DataTypeStoreTest {
         assertEquals(topLevelDataTypes, singletonList(secondDataType));
     }
 
+    @Test
+    public void testGetTopLevelDataTypeWithName() {
+
+        final DataType tCity = mock(DataType.class);
+        final DataType nestedCity = mock(DataType.class);
+
+        when(tCity.getName()).thenReturn("tCity");
+        when(tCity.isTopLevel()).thenReturn(true);
+        when(nestedCity.getName()).thenReturn("tCity");
+
+        store.index("789", nestedCity);
+        store.index("012", tCity);
+
+        assertEquals(Optional.of(tCity), store.getTopLevelDataTypeWithName("tCity"));
+        assertFalse(store.getTopLevelDataTypeWithName("tPerson").isPresent());
+    }
+
+    @Test
+    public void testGetDataTypesWithType() {
+
+        final DataType city1 = mock(DataType.class);
+        final DataType city2 = mock(DataType.class);
+        final DataType name = mock(DataType.class);
+
+        when(city1.getType()).thenReturn("tCity");
+        when(city2.getType()).thenReturn("tCity");
+        when(name.getType()).thenReturn("string");
+
+        store.index("012", city1);
+        store.index("345", name);
+        store.index("678", city2);
+
+        assertEquals(asList(city1, city2), store.getDataTypesWithType("tCity"));
+        assertEquals(emptyList(), store.getDataTypesWithType("tPerson"));
+
+        store.unIndex("012");
+
+        assertEquals(singletonList(city2), store.getDataTypesWithType("tCity"));
+    }
+
+    @Test
+    public void testIndexIsRefreshedWhenNameChanges() {
+
+        final DataType tCity = spy(new DataType(null));
+
+        doReturn(true).when(tCity).isTopLevel();
+        tCity.setName("tCity");
+        store.index("012", tCity);
+
+        tCity.setName("tTown");
+
+        assertFalse(store.getTopLevelDataTypeWithName("tCity").isPresent());
+        assertEquals(Optional.of(tCity), store.getTopLevelDataTypeWithName("tTown"));
+    }
+
+    @Test
+    public void testIndexIsNotRefreshedAfterClear() {
+
+        final DataType tCity = spy(new DataType(null));
+
+        doReturn(true).when(tCity).isTopLevel();
+        tCity.setName("tCity");
+        store.index("012", tCity);
+        store.clear();
+
+        tCity.setName("tTown");
+
+        assertFalse(store.getTopLevelDataTypeWithName("tTown").isPresent());
+        assertEquals(emptyList(), store.getTopLevelDataTypes());
+    }
+
     @Test
     public void testUnIndex() {
 
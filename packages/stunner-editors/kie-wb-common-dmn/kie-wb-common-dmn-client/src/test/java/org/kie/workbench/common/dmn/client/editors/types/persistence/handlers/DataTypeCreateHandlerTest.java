@@ -239,7 +239,7 @@ public class DataTypeCreateHandlerTest {
         when(dataTypeManager.withDataType(topLevelReference)).thenReturn(topLevelReferenceDataTypeManager);
         when(dataTypeManager.withDataType(updatedDataType)).thenReturn(updatedDataTypeManager);
         when(recordEngine.update(updatedDataType)).thenReturn(expectedAffectedDataTypes);
-        when(dataTypeStore.getTopLevelDataTypes()).thenReturn(singletonList(topLevelReference));
+        when(dataTypeStore.getTopLevelDataTypeWithName(type)).thenReturn(Optional.of(topLevelReference));
         doReturn(updatedDataType).when(handler).updateDataTypeProperties(dataType, parentUUID, itemDefinition);
 
         final List<DataType> actualAffectedDataTypes = handler.insertNested(dataType, reference, itemDefinition);
@@ -325,7 +325,7 @@ public class DataTypeCreateHandlerTest {
         when(tCityTopLevel.getName()).thenReturn(type);
         when(dataTypeStore.get(parentUUID)).thenReturn(expectedParent);
         when(dataTypeManager.structure()).thenReturn(structure);
-        when(dataTypeStore.getTopLevelDataTypes()).thenReturn(singletonList(tCityTopLevel));
+        when(dataTypeStore.getTopLevelDataTypeWithName(type)).thenReturn(Optional.of(tCityTopLevel));
 
         final Optional<DataType> actualParent = handler.lookupAbsoluteParent(reference);
 
@@ -101,7 +101,8 @@ public class DataTypeHandlerTest {
         doReturn(dataType5).when(handler).parent(dataType1);
         doReturn(dataType6).when(handler).parent(dataType2);
         doReturn(dataType6).when(handler).parent(dataType3);
-        when(dataTypeStore.getTopLevelDataTypes()).thenReturn(asList(dataType4, dataType6));
+        when(dataTypeStore.getTopLevelDataTypeWithName("tCity")).thenReturn(Optional.of(dataType4));
+        when(dataTypeStore.getTopLevelDataTypeWithName("tPerson")).thenReturn(Optional.of(dataType6));
 
         final DataType closestTopLevelDataTypeForDataType1 = handler.getClosestTopLevelDataType(dataType1).orElseThrow(UnsupportedOperationException::new);
         final DataType closestTopLevelDataTypeForDataType3 = handler.getClosestTopLevelDataType(dataType3).orElseThrow(UnsupportedOperationException::new);
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.kie.workbench.common.dmn.client.marshaller.included;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.dmn.api.editors.included.PMMLDocumentMetadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.kie.workbench.common.dmn.api.editors.included.DMNImportTypes.PMML;
+
+public class DMNMarshallerImportsCacheTest {
+
+    private static final String PATH = "/src/main/kie/model.dmn";
+
+    private static final String CONTENT = "<definitions namespace=\"https://kie.org/dmn/model\"/>";
+
+    private static final String NAMESPACE = "https://kie.org/dmn/model";
+
+    private DMNMarshallerImportsCache cache;
+
+    @Before
+    public void setup() {
+        cache = new DMNMarshallerImportsCache();
+    }
+
+    @Test
+    public void testGetNamespace() {
+        cache.putNamespace(PATH, CONTENT, NAMESPACE);
+
+        assertEquals(Optional.of(NAMESPACE), cache.getNamespace(PATH, new String(CONTENT)));
+        assertFalse(cache.getNamespace("/src/main/kie/other.dmn", CONTENT).isPresent());
+    }
+
+    @Test
+    public void testGetNamespaceWhenContentChanged() {
+        cache.putNamespace(PATH, CONTENT, NAMESPACE);
+
+        assertFalse(cache.getNamespace(PATH, CONTENT + " ").isPresent());
+        assertFalse(cache.getNamespace(PATH, null).isPresent());
+
+        cache.putNamespace(PATH, CONTENT + " ", "https://kie.org/dmn/renamed");
+
+        assertEquals(Optional.of("https://kie.org/dmn/renamed"), cache.getNamespace(PATH, CONTENT + " "));
+        assertFalse(cache.getNamespace(PATH, CONTENT).isPresent());
+    }
+
+    @Test
+    public void testGetNamespaceWhenContentHasSameHash() {
+        cache.putNamespace(PATH, "Aa", NAMESPACE);
+
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertFalse(cache.getNamespace(PATH, "BB").isPresent());
+        assertEquals(Optional.of(NAMESPACE), cache.getNamespace(PATH, "Aa"));
+    }
+
+    @Test
+    public void testRetainFiles() {
+        final String pmmlPath = "/src/main/kie/model.pmml";
+        cache.putNamespace(PATH, CONTENT, NAMESPACE);
+        cache.putPMMLDocumentMetadata(pmmlPath, CONTENT, new PMMLDocumentMetadata(pmmlPath,
+                                                                                  PMML.getDefaultNamespace(),
+                                                                                  Collections.emptyList()));
+
+        cache.retainDMNFiles(Collections.singletonList(pmmlPath));
+
+        assertFalse(cache.getNamespace(PATH, CONTENT).isPresent());
+        assertTrue(cache.getPMMLDocumentMetadata(pmmlPath, CONTENT).isPresent());
+
+        cache.retainPMMLFiles(Collections.emptyList());
+
+        assertFalse(cache.getPMMLDocumentMetadata(pmmlPath, CONTENT).isPresent());
+    }
+
+    @Test
+    public void testPutNullValue() {
+        cache.putNamespace(PATH, CONTENT, NAMESPACE);
+        cache.putNamespace(PATH, CONTENT, null);
+
+        assertFalse(cache.getNamespace(PATH, CONTENT).isPresent());
+    }
+
+    @Test
+    public void testGetPMMLDocumentMetadata() {
+        final PMMLDocumentMetadata metadata = new PMMLDocumentMetadata(PATH,
+                                                                       PMML.getDefaultNamespace(),
+                                                                       Collections.emptyList());
+        cache.putPMMLDocumentMetadata(PATH, CONTENT, metadata);
+
+        assertSame(metadata, cache.getPMMLDocumentMetadata(PATH, CONTENT).get());
+        assertFalse(cache.getDMNIncludedModel(PATH, CONTENT).isPresent());
+    }
+
+    @Test
+    public void testClear() {
+        cache.putNamespace(PATH, CONTENT, NAMESPACE);
+        cache.putPMMLDocumentMetadata(PATH, CONTENT, new PMMLDocumentMetadata(PATH,
+                                                                              PMML.getDefaultNamespace(),
+                                                                              Collections.emptyList()));
+
+        cache.clear();
+
+        assertFalse(cache.getNamespace(PATH, CONTENT).isPresent());
+        assertFalse(cache.getPMMLDocumentMetadata(PATH, CONTENT).isPresent());
+    }
+}
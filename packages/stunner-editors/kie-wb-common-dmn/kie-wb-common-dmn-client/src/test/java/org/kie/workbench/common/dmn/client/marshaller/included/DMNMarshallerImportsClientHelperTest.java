@@ -106,7 +106,8 @@ public class DMNMarshallerImportsClientHelperTest {
         importsHelper = new DMNMarshallerImportsClientHelper(dmnImportsService,
                 dmnImportsContentService,
                 promises,
-                includedModelFactory);
+                includedModelFactory,
+                new DMNMarshallerImportsCache());
     }
 
     @Test
@@ -130,7 +131,7 @@ public class DMNMarshallerImportsClientHelperTest {
         when(dmnImportsContentService.getModelsURIs()).thenReturn(promises.resolve(new String[]{PMML_PATH}));
         when(dmnImportsContentService.loadFile(PMML_PATH)).thenReturn(promises.resolve(PMML_CONTENT));
         when(dmnImportsContentService.loadFile(PMML_PATH)).thenReturn(promises.resolve(PMML_CONTENT));
-        doReturn(promises.resolve(pmmlDocumentMetadata)).when(dmnImportsContentService).getPMMLDocumentMetadata(PMML_PATH);
+        doReturn(promises.resolve(pmmlDocumentMetadata)).when(dmnImportsContentService).getPMMLDocumentMetadata(eq(PMML_PATH), any());
 
         importsHelper.loadModels(includedModelServiceCallback);
 
@@ -142,6 +143,69 @@ public class DMNMarshallerImportsClientHelperTest {
         assertEquals(0, ((PMMLIncludedModel) modelsCapture.getValue().get(0)).getModelCount().intValue());
     }
 
+    @Test
+    public void loadModelsPMMLFileWhenContentDidNotChange() {
+
+        final PMMLDocumentMetadata pmmlDocumentMetadata = new PMMLDocumentMetadata(PMML_PATH,
+                PMML_FILE,
+                PMML.getDefaultNamespace(),
+                Collections.emptyList());
+
+        when(dmnImportsContentService.getModelsURIs()).thenReturn(promises.resolve(new String[]{PMML_PATH}));
+        when(dmnImportsContentService.loadFile(PMML_PATH)).thenReturn(promises.resolve(PMML_CONTENT));
+        doReturn(promises.resolve(pmmlDocumentMetadata)).when(dmnImportsContentService).getPMMLDocumentMetadata(eq(PMML_PATH), any());
+
+        importsHelper.loadModels(includedModelServiceCallback);
+        importsHelper.loadModels(includedModelServiceCallback);
+
+        verify(dmnImportsContentService, times(2)).loadFile(eq(PMML_PATH));
+        verify(dmnImportsContentService, times(1)).getPMMLDocumentMetadata(PMML_PATH, PMML_CONTENT);
+        verify(dmnImportsContentService, never()).getPMMLDocumentMetadata(PMML_PATH);
+        verify(includedModelServiceCallback, times(2)).onSuccess(modelsCapture.capture());
+        assertEquals(1, modelsCapture.getValue().size());
+        assertEquals(PMML_PATH, modelsCapture.getValue().get(0).getPath());
+    }
+
+    @Test
+    public void loadModelsPMMLFileWhenContentChanged() {
+
+        final PMMLDocumentMetadata pmmlDocumentMetadata = new PMMLDocumentMetadata(PMML_PATH,
+                PMML_FILE,
+                PMML.getDefaultNamespace(),
+                Collections.emptyList());
+
+        when(dmnImportsContentService.getModelsURIs()).thenReturn(promises.resolve(new String[]{PMML_PATH}));
+        when(dmnImportsContentService.loadFile(PMML_PATH)).thenReturn(promises.resolve(PMML_CONTENT), promises.resolve(PMML_CONTENT + " "));
+        doReturn(promises.resolve(pmmlDocumentMetadata)).when(dmnImportsContentService).getPMMLDocumentMetadata(eq(PMML_PATH), any());
+
+        importsHelper.loadModels(includedModelServiceCallback);
+        importsHelper.loadModels(includedModelServiceCallback);
+
+        verify(dmnImportsContentService).getPMMLDocumentMetadata(PMML_PATH, PMML_CONTENT);
+        verify(dmnImportsContentService).getPMMLDocumentMetadata(PMML_PATH, PMML_CONTENT + " ");
+    }
+
+    @Test
+    public void loadModelsPMMLFileWhenFileWasRemoved() {
+
+        final PMMLDocumentMetadata pmmlDocumentMetadata = new PMMLDocumentMetadata(PMML_PATH,
+                PMML_FILE,
+                PMML.getDefaultNamespace(),
+                Collections.emptyList());
+
+        when(dmnImportsContentService.getModelsURIs()).thenReturn(promises.resolve(new String[]{PMML_PATH}),
+                                                                  promises.resolve(new String[0]),
+                                                                  promises.resolve(new String[]{PMML_PATH}));
+        when(dmnImportsContentService.loadFile(PMML_PATH)).thenReturn(promises.resolve(PMML_CONTENT));
+        doReturn(promises.resolve(pmmlDocumentMetadata)).when(dmnImportsContentService).getPMMLDocumentMetadata(eq(PMML_PATH), any());
+
+        importsHelper.loadModels(includedModelServiceCallback);
+        importsHelper.loadModels(includedModelServiceCallback);
+        importsHelper.loadModels(includedModelServiceCallback);
+
+        verify(dmnImportsContentService, times(2)).getPMMLDocumentMetadata(PMML_PATH, PMML_CONTENT);
+    }
+
     @Test
     public void loadModelsInvalidFile() {
         when(dmnImportsContentService.getModelsURIs()).thenReturn(promises.resolve(new String[]{TEXT_PATH}));
@@ -150,6 +214,7 @@ public class DMNMarshallerImportsClientHelperTest {
 
         verify(dmnImportsContentService, never()).loadFile(Mockito.<String>any());
         verify(dmnImportsContentService, never()).getPMMLDocumentMetadata(Mockito.<String>any());
+        verify(dmnImportsContentService, never()).getPMMLDocumentMetadata(Mockito.<String>any(), Mockito.<String>any());
         verify(dmnImportsService, never()).getWbDefinitions(Mockito.<String>any(), any());
     }
 
@@ -192,7 +257,7 @@ public class DMNMarshallerImportsClientHelperTest {
         when(dmnImportsContentService.getModelsPMMLFilesURIs()).thenReturn(promises.resolve(new String[]{PMML_PATH}));
         when(dmnImportsContentService.loadFile(PMML_PATH)).thenReturn(promises.resolve(PMML_CONTENT));
 
-        doReturn(promises.resolve(pmmlDocumentMetadata)).when(dmnImportsContentService).getPMMLDocumentMetadata(PMML_PATH);
+        doReturn(promises.resolve(pmmlDocumentMetadata)).when(dmnImportsContentService).getPMMLDocumentMetadata(eq(PMML_PATH), any());
 
         final List<JSITImport> imports = new ArrayList<>();
         final JSITImport jsImportMock = mock(JSITImport.class);
@@ -229,7 +294,7 @@ public class DMNMarshallerImportsClientHelperTest {
         final List<PMMLIncludedModel> includedModels = Arrays.asList(new PMMLIncludedModel(PMML_MODEL_NAME, "", PMML_PATH, PMML.getDefaultNamespace(), "https://kie.org/pmml#" + PMML_FILE, 0));
         when(dmnImportsContentService.getModelsPMMLFilesURIs()).thenReturn(promises.resolve(new String[]{PMML_PATH}));
         when(dmnImportsContentService.loadFile(PMML_PATH)).thenReturn(promises.resolve(PMML_CONTENT));
-        doReturn(promises.resolve(documentMetadata)).when(dmnImportsContentService).getPMMLDocumentMetadata(PMML_PATH);
+        doReturn(promises.resolve(documentMetadata)).when(dmnImportsContentService).getPMMLDocumentMetadata(eq(PMML_PATH), any());
         importsHelper.getPMMLDocumentsMetadataFromFiles(includedModels, pmmlMetadataServiceCallback);
         verify(pmmlMetadataServiceCallback, times(1)).onSuccess(pmmlDocumentMetadataArgumentCaptor.capture());
         assertEquals(1, pmmlDocumentMetadataArgumentCaptor.getValue().size());
@@ -34,6 +34,7 @@ import org.uberfire.ext.wires.core.grids.client.model.impl.BaseGridRow;
 
 import static org.assertj.core.api.Java6Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(LienzoMockitoTestRunner.class)
@@ -117,4 +118,14 @@ public class DMNGridDataTest {
         assertThat(r.getMaxRowIndex()).isEqualTo(0);
         assertThat(uiModel.getCell(0, 1)).isNull();
     }
+
+    @Test
+    public void testRowGeometryChangesTellParent() {
+        final GridCellTuple parent = mock(GridCellTuple.class);
+        uiModel.setParentInformation(parent);
+
+        uiModel.appendRow(new BaseGridRow());
+
+        verify(parent).onHeightChanged();
+    }
 }
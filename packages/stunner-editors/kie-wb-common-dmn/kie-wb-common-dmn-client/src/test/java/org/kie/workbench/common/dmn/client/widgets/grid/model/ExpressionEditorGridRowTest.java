@@ -33,11 +33,13 @@ import org.kie.workbench.common.dmn.client.editors.expressions.types.context.Exp
 import org.kie.workbench.common.dmn.client.widgets.grid.BaseExpressionGrid;
 import org.mockito.Mock;
 import org.uberfire.ext.wires.core.grids.client.model.GridCell;
+import org.uberfire.ext.wires.core.grids.client.model.GridColumn;
 import org.uberfire.ext.wires.core.grids.client.model.GridRow;
 import org.uberfire.ext.wires.core.grids.client.model.impl.BaseGridCell;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.kie.workbench.common.dmn.client.widgets.grid.model.ExpressionEditorGridRow.DEFAULT_HEIGHT;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
@@ -109,4 +111,22 @@ public class ExpressionEditorGridRowTest {
         when(row.getCells()).thenReturn(cells);
         assertThat(row.getHeight()).isGreaterThan(DEFAULT_HEIGHT);
     }
+
+    @Test
+    public void testRowGeometryFollowsEditorHeight() {
+        when(view.getHeight()).thenReturn(DEFAULT_HEIGHT + 1);
+
+        final DMNGridData uiModel = new DMNGridData();
+        final ExpressionEditorGridRow row = new ExpressionEditorGridRow();
+        uiModel.appendColumn(mock(GridColumn.class));
+        uiModel.appendRow(row);
+        uiModel.setCellValue(0, 0, new ExpressionCellValue(Optional.of(view)));
+
+        assertThat(uiModel.getRowGeometry().getTotalHeight()).isEqualTo(DEFAULT_HEIGHT + 1);
+
+        when(view.getHeight()).thenReturn(DEFAULT_HEIGHT + 2);
+        row.onEditorHeightChanged();
+
+        assertThat(uiModel.getRowGeometry().getTotalHeight()).isEqualTo(DEFAULT_HEIGHT + 2);
+    }
 }
@@ -34,6 +34,7 @@ import org.uberfire.ext.wires.core.grids.client.model.impl.BaseGridData;
 import org.uberfire.ext.wires.core.grids.client.model.impl.BaseGridRow;
 import org.uberfire.ext.wires.core.grids.client.widget.grid.GridWidget;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -113,4 +114,22 @@ public class GridCellTupleTest {
 
         verify(gridColumn).setWidth(100.0);
     }
+
+    @Test
+    public void testOnHeightChangedRecomputesRowHeight() {
+        final ExpressionEditorGridRow row = new ExpressionEditorGridRow();
+        gridData.insertRow(0, row);
+        gridData.setCell(0, 0, () -> new DMNGridCell<>(new ExpressionCellValue(Optional.of(existingEditor))));
+        when(existingEditor.getHeight()).thenReturn(100.0);
+
+        assertThat(row.getHeight()).isEqualTo(100.0);
+
+        when(existingEditor.getHeight()).thenReturn(200.0);
+
+        assertThat(row.getHeight()).isEqualTo(100.0);
+
+        tuple.onHeightChanged();
+
+        assertThat(row.getHeight()).isEqualTo(200.0);
+    }
 }
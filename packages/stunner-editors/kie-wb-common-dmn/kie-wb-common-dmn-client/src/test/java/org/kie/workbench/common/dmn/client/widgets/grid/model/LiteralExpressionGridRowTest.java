@@ -24,6 +24,7 @@ import java.util.Map;
 import org.junit.Test;
 import org.uberfire.ext.wires.core.grids.client.model.GridCell;
 import org.uberfire.ext.wires.core.grids.client.model.GridCellValue;
+import org.uberfire.ext.wires.core.grids.client.model.GridColumn;
 import org.uberfire.ext.wires.core.grids.client.model.GridRow;
 import org.uberfire.ext.wires.core.grids.client.model.impl.BaseGridCell;
 import org.uberfire.ext.wires.core.grids.client.model.impl.BaseGridCellValue;
@@ -31,6 +32,7 @@ import org.uberfire.ext.wires.core.grids.client.model.impl.BaseGridCellValue;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.kie.workbench.common.dmn.client.widgets.grid.model.BaseHasDynamicHeightCell.DEFAULT_HEIGHT;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 
 public class LiteralExpressionGridRowTest {
@@ -77,4 +79,21 @@ public class LiteralExpressionGridRowTest {
         doReturn(cells).when(row).getCells();
         assertThat(row.getHeight()).isEqualTo(DEFAULT_HEIGHT);
     }
+
+    @Test
+    public void testRowGeometryFollowsCells() {
+        final DMNGridData uiModel = new DMNGridData();
+        uiModel.appendColumn(mock(GridColumn.class));
+        uiModel.appendRow(new LiteralExpressionGridRow());
+
+        assertThat(uiModel.getRowGeometry().getTotalHeight()).isEqualTo(DEFAULT_HEIGHT);
+
+        uiModel.setCell(0, 0, () -> new MockHasDynamicHeightCell<>(new BaseGridCellValue<>("cheese")));
+
+        assertThat(uiModel.getRowGeometry().getTotalHeight()).isEqualTo(CELL_HEIGHT);
+
+        uiModel.deleteCell(0, 0);
+
+        assertThat(uiModel.getRowGeometry().getTotalHeight()).isEqualTo(DEFAULT_HEIGHT);
+    }
 }
@@ -85,20 +85,24 @@ public class DMNMarshallerImportsContentServiceKogitoImpl implements DMNMarshall
         }
 
         return loadFile(pmmlFilePath)
-                .then(pmmlFileContent -> {
+                .then(pmmlFileContent -> getPMMLDocumentMetadata(pmmlFilePath, pmmlFileContent));
+    }
 
-                    if (StringUtils.isEmpty(pmmlFileContent)) {
-                        return promises.reject("PMML file " + pmmlFilePath + " content required to be marshalled is empty or null");
-                    }
+    @Override
+    public Promise<PMMLDocumentMetadata> getPMMLDocumentMetadata(final String pmmlFilePath,
+                                                                 final String pmmlFileContent) {
 
-                    try {
-                        final PMMLDocumentData pmmlDocumentData = pmmlEditorMarshallerApi.getPMMLDocumentData(pmmlFileContent);
-                        final PMMLDocumentMetadata pmmlDocumentMetadata = PMMLMarshallerConverter.fromJSInteropToMetadata(pmmlFilePath, pmmlDocumentData);
+        if (StringUtils.isEmpty(pmmlFileContent)) {
+            return promises.reject("PMML file " + pmmlFilePath + " content required to be marshalled is empty or null");
+        }
 
-                        return promises.resolve(pmmlDocumentMetadata);
-                    } catch (final Exception e) {
-                        return promises.reject("Error during marshalling of PMML file " + pmmlFilePath + ": " + e.getMessage());
-                    }
-                });
+        try {
+            final PMMLDocumentData pmmlDocumentData = pmmlEditorMarshallerApi.getPMMLDocumentData(pmmlFileContent);
+            final PMMLDocumentMetadata pmmlDocumentMetadata = PMMLMarshallerConverter.fromJSInteropToMetadata(pmmlFilePath, pmmlDocumentData);
+
+            return promises.resolve(pmmlDocumentMetadata);
+        } catch (final Exception e) {
+            return promises.reject("Error during marshalling of PMML file " + pmmlFilePath + ": " + e.getMessage());
+        }
     }
 }
@@ -42,7 +42,9 @@ import static org.kie.workbench.common.dmn.webapp.kogito.common.client.included.
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(GwtMockitoTestRunner.class)
@@ -125,6 +127,24 @@ public class DMNMarshallerImportsContentServiceKogitoImplTest {
         });
     }
 
+    @Test
+    public void testGetDocumentMetadataFromContent() {
+
+        when(pmmlEditorMarshallerApi.getPMMLDocumentData(CONTENT)).thenReturn(new PMMLDocumentData());
+
+        final Promise<PMMLDocumentMetadata> returnPromise = service.getPMMLDocumentMetadata(PATH, CONTENT);
+
+        verify(service, never()).loadFile(any());
+        assertNotNull(returnPromise);
+        returnPromise.then(pmmlDocumentMetadata -> {
+            assertEquals("test/fileName.pmml", pmmlDocumentMetadata.getPath());
+            return promises.resolve();
+        }).catch_(i -> {
+            fail("Promise should've been resolved!");
+            return promises.resolve();
+        });
+    }
+
     @Test
     public void testGetDocumentMetadataNullFile() {
         getDocumentMetadataInvalidContent(null, CONTENT, "PMML file path cannot be empty or null");
@@ -0,0 +1,299 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * <p>An R-tree like index of values by their bounds.</p>
+ * <p>It's a binary tree of bounding boxes. Values are inserted next to the sibling that least grows the tree
+ * perimeter and the tree is kept balanced by rotations, so values can be added, moved and removed one at a time
+ * while queries only visit the branches which bounds intersect the given point or area.</p>
+ * @param <T> the value type.
+ */
+public class BoundsTree<T> {
+
+    private final Map<T, Box<T>> leaves = new HashMap<>();
+    private Box<T> root;
+
+    public int size() {
+        return leaves.size();
+    }
+
+    public boolean isEmpty() {
+        return leaves.isEmpty();
+    }
+
+    public boolean contains(final T value) {
+        return leaves.containsKey(value);
+    }
+
+    public void clear() {
+        leaves.clear();
+        root = null;
+    }
+
+    /**
+     * Adds the given value, or moves it if already present.
+     */
+    public void put(final T value,
+                    final double minX,
+                    final double minY,
+                    final double maxX,
+                    final double maxY) {
+        Box<T> leaf = leaves.get(value);
+        if (null != leaf) {
+            if (leaf.minX == minX && leaf.minY == minY && leaf.maxX == maxX && leaf.maxY == maxY) {
+                return;
+            }
+            unlink(leaf);
+        } else {
+            leaf = new Box<>(value);
+            leaves.put(value,
+                       leaf);
+        }
+        leaf.minX = minX;
+        leaf.minY = minY;
+        leaf.maxX = maxX;
+        leaf.maxY = maxY;
+        link(leaf);
+    }
+
+    public boolean remove(final T value) {
+        final Box<T> leaf = leaves.remove(value);
+        if (null == leaf) {
+            return false;
+        }
+        unlink(leaf);
+        return true;
+    }
+
+    /**
+     * Accepts the values which bounds contain the given point, in no particular order.
+     */
+    public void query(final double x,
+                      final double y,
+                      final Consumer<T> consumer) {
+        query(x,
+              y,
+              x,
+              y,
+              consumer);
+    }
+
+    /**
+     * Accepts the values which bounds intersect the given area, in no particular order.
+     */
+    public void query(final double minX,
+                      final double minY,
+                      final double maxX,
+                      final double maxY,
+                      final Consumer<T> consumer) {
+        if (null == root) {
+            return;
+        }
+        final Deque<Box<T>> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            final Box<T> box = stack.pop();
+            if (maxX < box.minX || minX > box.maxX || maxY < box.minY || minY > box.maxY) {
+                continue;
+            }
+            if (box.isLeaf()) {
+                consumer.accept(box.value);
+            } else {
+                stack.push(box.left);
+                stack.push(box.right);
+            }
+        }
+    }
+
+    private void link(final Box<T> leaf) {
+        if (null == root) {
+            root = leaf;
+            leaf.parent = null;
+            return;
+        }
+        Box<T> sibling = root;
+        while (!sibling.isLeaf()) {
+            // Cost of pairing the leaf with this box, and what going further down adds to every ancestor.
+            final double combined = perimeter(sibling,
+                                              leaf);
+            final double cost = 2 * combined;
+            final double inherited = 2 * (combined - sibling.perimeter());
+            final double left = cost(sibling.left,
+                                     leaf) + inherited;
+            final double right = cost(sibling.right,
+                                      leaf) + inherited;
+            if (cost < left && cost < right) {
+                break;
+            }
+            sibling = left < right ? sibling.left : sibling.right;
+        }
+        final Box<T> parent = sibling.parent;
+        final Box<T> branch = new Box<>(null);
+        branch.parent = parent;
+        branch.left = sibling;
+        branch.right = leaf;
+        sibling.parent = branch;
+        leaf.parent = branch;
+        if (null == parent) {
+            root = branch;
+        } else {
+            parent.replace(sibling,
+                           branch);
+        }
+        refit(branch);
+    }
+
+    private void unlink(final Box<T> leaf) {
+        final Box<T> parent = leaf.parent;
+        leaf.parent = null;
+        if (null == parent) {
+            root = null;
+            return;
+        }
+        final Box<T> sibling = parent.left == leaf ? parent.right : parent.left;
+        final Box<T> grandParent = parent.parent;
+        sibling.parent = grandParent;
+        if (null == grandParent) {
+            root = sibling;
+        } else {
+            grandParent.replace(parent,
+                                sibling);
+            refit(grandParent);
+        }
+    }
+
+    private void refit(Box<T> box) {
+        while (null != box) {
+            box = balance(box);
+            box.fit();
+            box = box.parent;
+        }
+    }
+
+    /**
+     * Rotates the taller grand child up when the children heights differ by more than one.
+     * Returns the box now placed where the given one was.
+     */
+    private Box<T> balance(final Box<T> box) {
+        if (box.isLeaf() || box.height < 2) {
+            return box;
+        }
+        final int skew = box.right.height - box.left.height;
+        if (skew > 1) {
+            return rotate(box,
+                          box.right,
+                          box.left);
+        }
+        if (skew < -1) {
+            return rotate(box,
+                          box.left,
+                          box.right);
+        }
+        return box;
+    }
+
+    private Box<T> rotate(final Box<T> box,
+                          final Box<T> up,
+                          final Box<T> other) {
+        final Box<T> upLeft = up.left;
+        final Box<T> upRight = up.right;
+        final Box<T> parent = box.parent;
+        up.parent = parent;
+        if (null == parent) {
+            root = up;
+        } else {
+            parent.replace(box,
+                           up);
+        }
+        final Box<T> keep = upLeft.height > upRight.height ? upLeft : upRight;
+        final Box<T> move = keep == upLeft ? upRight : upLeft;
+        up.left = box;
+        up.right = keep;
+        box.parent = up;
+        box.left = other;
+        box.right = move;
+        move.parent = box;
+        box.fit();
+        up.fit();
+        return up;
+    }
+
+    private static double cost(final Box<?> child,
+                               final Box<?> leaf) {
+        final double combined = perimeter(child,
+                                          leaf);
+        return child.isLeaf() ? combined : combined - child.perimeter();
+    }
+
+    private static double perimeter(final Box<?> a,
+                                    final Box<?> b) {
+        return (Math.max(a.maxX, b.maxX) - Math.min(a.minX, b.minX)) + (Math.max(a.maxY, b.maxY) - Math.min(a.minY, b.minY));
+    }
+
+    private static final class Box<T> {
+
+        private final T value;
+        private double minX;
+        private double minY;
+        private double maxX;
+        private double maxY;
+        private int height;
+        private Box<T> parent;
+        private Box<T> left;
+        private Box<T> right;
+
+        private Box(final T value) {
+            this.value = value;
+        }
+
+        private boolean isLeaf() {
+            return null == left;
+        }
+
+        private double perimeter() {
+            return (maxX - minX) + (maxY - minY);
+        }
+
+        private void replace(final Box<T> child,
+                             final Box<T> with) {
+            if (left == child) {
+                left = with;
+            } else {
+                right = with;
+            }
+        }
+
+        private void fit() {
+            height = Math.max(left.height, right.height) + 1;
+            minX = Math.min(left.minX, right.minX);
+            minY = Math.min(left.minY, right.minY);
+            maxX = Math.max(left.maxX, right.maxX);
+            maxY = Math.max(left.maxY, right.maxY);
+        }
+    }
+}
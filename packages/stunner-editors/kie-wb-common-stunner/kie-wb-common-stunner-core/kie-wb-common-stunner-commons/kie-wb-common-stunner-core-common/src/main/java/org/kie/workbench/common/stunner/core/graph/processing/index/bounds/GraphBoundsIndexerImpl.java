@@ -20,7 +20,10 @@
 
 package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
 
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import javax.enterprise.context.Dependent;
@@ -39,12 +42,23 @@ import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.A
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ChildrenTraverseProcessor;
 import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 
+/**
+ * <p>Keeps the absolute bounds of the graph nodes in a {@link BoundsTree}, so point look-ups do not traverse the
+ * whole graph.</p>
+ * <p>The index is kept across builds for the same graph. Building it again just marks it as stale, and the next
+ * look-up traverses the graph once to move, add or remove the nodes which bounds or parents changed meanwhile.</p>
+ */
 @Dependent
 public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
 
     ChildrenTraverseProcessor childrenTraverseProcessor;
+    private final Map<String, NodeBounds> nodeBounds = new HashMap<>();
+    private final BoundsTree<NodeBounds> boundsTree = new BoundsTree<>();
     private Graph<View, Node<View, Edge>> graph;
     private String rootUUID = null;
+    private boolean stale = true;
+    private int traversal = 0;
+    private int order = 0;
 
     @Inject
     public GraphBoundsIndexerImpl(final ChildrenTraverseProcessor childrenTraverseProcessor) {
@@ -53,7 +67,11 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
 
     @Override
     public GraphBoundsIndexerImpl build(final Graph<View, Node<View, Edge>> graph) {
-        this.graph = graph;
+        if (this.graph != graph) {
+            clear();
+            this.graph = graph;
+        }
+        this.stale = true;
         return this;
     }
 
@@ -106,114 +124,132 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
     @Override
     public double[] getTrimmedBounds() {
         final double[] result = new double[]{Double.MAX_VALUE, Double.MAX_VALUE, 0, 0};
-        childrenTraverseProcessor
-                .setRootUUID(this.rootUUID)
-                .traverse(graph,
-                          new GraphBoundIndexerTraverseCallback(new NodeBoundsTraverseCallback() {
-
-                              @Override
-                              public void onNodeTraverse(final Node<View, Edge> node,
-                                                         final double parentX,
-                                                         final double parentY) {
-                                  final String uuid = node.getUUID();
-                                  final boolean isRoot = null != GraphBoundsIndexerImpl.this.rootUUID
-                                          && GraphBoundsIndexerImpl.this.rootUUID.equals(uuid);
-                                  if (!isRoot) {
-                                      final double[] absCoords = getNodeAbsoluteCoordinates(node,
-                                                                                            parentX,
-                                                                                            parentY);
-                                      final double x = absCoords[0];
-                                      final double y = absCoords[1];
-                                      final double w = absCoords[2];
-                                      final double h = absCoords[3];
-                                      if (x < result[0]) {
-                                          result[0] = x;
-                                      }
-                                      if (y < result[1]) {
-                                          result[1] = y;
-                                      }
-                                      if (w > result[2]) {
-                                          result[2] = w;
-                                      }
-                                      if (h > result[3]) {
-                                          result[3] = h;
-                                      }
-                                  }
-                              }
-                          }));
+        update();
+        for (NodeBounds bounds : nodeBounds.values()) {
+            if (isInsideRoot(bounds)) {
+                if (bounds.ulX < result[0]) {
+                    result[0] = bounds.ulX;
+                }
+                if (bounds.ulY < result[1]) {
+                    result[1] = bounds.ulY;
+                }
+                if (bounds.lrX > result[2]) {
+                    result[2] = bounds.lrX;
+                }
+                if (bounds.lrY > result[3]) {
+                    result[3] = bounds.lrY;
+                }
+            }
+        }
         return result;
     }
 
+    /**
+     * Returns the node at the given point which comes last in the graph traversal, that is the inner most one.
+     * The root node, if any, is at any point.
+     */
     @SuppressWarnings("unchecked")
     public Node<View<?>, Edge> findElementAt(final double x,
                                              final double y) {
-        final Node[] result = new Node[1];
-        childrenTraverseProcessor.traverse(graph,
-                                           new GraphBoundIndexerTraverseCallback(new NodeBoundsTraverseCallback() {
-
-                                               @Override
-                                               public void onNodeTraverse(final Node<View, Edge> node,
-                                                                          final double parentX,
-                                                                          final double parentY) {
-                                                   if (isNodeAt(node,
-                                                                parentX,
-                                                                parentY,
-                                                                x,
-                                                                y)) {
-                                                       result[0] = node;
-                                                   }
-                                               }
-                                           }));
-        return result[0];
+        update();
+        final NodeBounds[] result = new NodeBounds[1];
+        if (null != rootUUID) {
+            result[0] = nodeBounds.get(rootUUID);
+        }
+        boundsTree.query(x,
+                         y,
+                         bounds -> {
+                             if (null == result[0] || bounds.order > result[0].order) {
+                                 result[0] = bounds;
+                             }
+                         });
+        return null != result[0] ? (Node) result[0].node : null;
     }
 
-    private Point2D getNodeCoordinates(final Node node) {
-        if (null != node) {
-            final Object content = node.getContent();
-            if (content instanceof View) {
-                final View viewContent = (View) content;
-                return GraphUtils.getPosition(viewContent);
+    private void update() {
+        if (!stale || null == graph) {
+            return;
+        }
+        stale = false;
+        traversal++;
+        order = 0;
+        childrenTraverseProcessor.setRootUUID(null);
+        childrenTraverseProcessor.traverse(graph,
+                                           new GraphBoundIndexerTraverseCallback(this::indexNode));
+        final Iterator<NodeBounds> entries = nodeBounds.values().iterator();
+        while (entries.hasNext()) {
+            final NodeBounds entry = entries.next();
+            if (entry.traversal != traversal) {
+                boundsTree.remove(entry);
+                entries.remove();
             }
         }
-        return null;
     }
 
-    private double[] getNodeAbsoluteCoordinates(final Node node,
-                                                final double parentX,
-                                                final double parentY) {
-        final View content = (View) node.getContent();
-        final Bounds bounds = content.getBounds();
+    private void indexNode(final Node<View, Edge> node,
+                           final Node<View, Edge> parent,
+                           final double parentX,
+                           final double parentY) {
+        final Object content = node.getContent();
+        final Bounds bounds = content instanceof View ? ((View) content).getBounds() : null;
+        if (null == bounds) {
+            return;
+        }
+        NodeBounds entry = nodeBounds.get(node.getUUID());
+        if (null == entry) {
+            entry = new NodeBounds();
+            nodeBounds.put(node.getUUID(),
+                           entry);
+        }
         final Bound ulBound = bounds.getUpperLeft();
         final Bound lrBound = bounds.getLowerRight();
-        final double ulX = ulBound.getX() + parentX;
-        final double ulY = ulBound.getY() + parentY;
-        final double lrX = lrBound.getX() + parentX;
-        final double lrY = lrBound.getY() + parentY;
-        return new double[]{ulX, ulY, lrX, lrY};
+        entry.node = node;
+        entry.parent = null != parent ? parent.getUUID() : null;
+        entry.order = order++;
+        entry.traversal = traversal;
+        entry.ulX = ulBound.getX() + parentX;
+        entry.ulY = ulBound.getY() + parentY;
+        entry.lrX = lrBound.getX() + parentX;
+        entry.lrY = lrBound.getY() + parentY;
+        boundsTree.put(entry,
+                       entry.ulX,
+                       entry.ulY,
+                       entry.lrX,
+                       entry.lrY);
     }
 
-    private boolean isNodeAt(final Node node,
-                             final double parentX,
-                             final double parentY,
-                             final double mouseX,
-                             final double mouseY) {
-        if (null != rootUUID && node.getUUID().equals(rootUUID)) {
+    private boolean isInsideRoot(final NodeBounds bounds) {
+        if (null == rootUUID) {
             return true;
         }
-        final double[] absoluteCoords = getNodeAbsoluteCoordinates(node,
-                                                                   parentX,
-                                                                   parentY);
-        final double ulX = absoluteCoords[0];
-        final double ulY = absoluteCoords[1];
-        final double lrX = absoluteCoords[2];
-        final double lrY = absoluteCoords[3];
-        if (mouseX >= ulX && mouseX <= lrX &&
-                mouseY >= ulY && mouseY <= lrY) {
-            return true;
+        String parent = bounds.parent;
+        while (null != parent) {
+            if (rootUUID.equals(parent)) {
+                return true;
+            }
+            final NodeBounds parentBounds = nodeBounds.get(parent);
+            parent = null != parentBounds ? parentBounds.parent : null;
         }
         return false;
     }
 
+    private void clear() {
+        nodeBounds.clear();
+        boundsTree.clear();
+        stale = true;
+    }
+
+    private Point2D getNodeCoordinates(final Node node) {
+        if (null != node) {
+            final Object content = node.getContent();
+            if (content instanceof View) {
+                final View viewContent = (View) content;
+                return GraphUtils.getPosition(viewContent);
+            }
+        }
+        return null;
+    }
+
     @Override
     public GraphBoundsIndexer setRootUUID(final String uuid) {
         this.rootUUID = uuid;
@@ -222,16 +258,33 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
 
     @Override
     public void destroy() {
+        clear();
         this.graph = null;
         this.rootUUID = null;
         this.childrenTraverseProcessor = null;
     }
 
-    private abstract class NodeBoundsTraverseCallback {
+    /**
+     * The absolute bounds of a node, as found by the last traversal.
+     */
+    private static class NodeBounds {
+
+        private Node<View, Edge> node;
+        private String parent;
+        private int order;
+        private int traversal;
+        private double ulX;
+        private double ulY;
+        private double lrX;
+        private double lrY;
+    }
+
+    private interface NodeBoundsTraverseCallback {
 
-        public abstract void onNodeTraverse(final Node<View, Edge> node,
-                                            final double parentX,
-                                            final double parentY);
+        void onNodeTraverse(final Node<View, Edge> node,
+                            final Node<View, Edge> parent,
+                            final double parentX,
+                            final double parentY);
     }
 
     private class GraphBoundIndexerTraverseCallback extends AbstractChildrenTraverseCallback<Node<View, Edge>, Edge<Child, Node>> {
@@ -262,9 +315,13 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
         private void onStartNodeTraversal(final Optional<List<Node<View, Edge>>> parents,
                                           final Node<View, Edge> node) {
             final double[] parentLocation = {0, 0};
+            final Node<View, Edge> parent = parents
+                    .filter(list -> !list.isEmpty())
+                    .map(list -> list.get(list.size() - 1))
+                    .orElse(null);
             if (parents.isPresent()) {
-                parents.get().forEach(parent -> {
-                    final Point2D nodeCoordinates = getNodeCoordinates(parent);
+                parents.get().forEach(p -> {
+                    final Point2D nodeCoordinates = getNodeCoordinates(p);
                     if (null != nodeCoordinates) {
                         parentLocation[0] += nodeCoordinates.getX();
                         parentLocation[1] += nodeCoordinates.getY();
@@ -272,6 +329,7 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
                 });
             }
             callback.onNodeTraverse(node,
+                                    parent,
                                     parentLocation[0],
                                     parentLocation[1]);
         }
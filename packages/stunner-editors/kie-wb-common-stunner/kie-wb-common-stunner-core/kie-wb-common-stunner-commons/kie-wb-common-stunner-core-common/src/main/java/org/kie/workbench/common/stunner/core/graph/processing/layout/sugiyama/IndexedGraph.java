@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+package org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.kie.workbench.common.stunner.core.graph.processing.layout.Vertex;
+
+/**
+ * An int indexed snapshot of the vertices and edges of a {@link LayeredGraph}.
+ * Each vertex and edge is given an index, and the edges of each vertex are kept in arrays,
+ * so the layout steps can walk the graph without scanning the whole edges list for every vertex.
+ * <p>
+ * Edges are indexed in the order they have in the edges list, and the adjacency arrays keep that order.
+ * The snapshot is not updated if the edges list changes later on.
+ */
+public final class IndexedGraph {
+
+    private final Map<String, Integer> indexes;
+    private final List<String> ids;
+    private final int[] edgesFrom;
+    private final int[] edgesTo;
+    private final int[][] incidentEdges;
+    private final int[][] outgoingEdges;
+    private final int maxIncidentEdges;
+    private final int[] positions;
+    private final int[] positioned;
+    private int positionedCount;
+
+    /**
+     * Indexes the vertices of the given layers and the given edges.
+     * @param layers The layers.
+     * @param edges The edges connecting the vertices in the layers.
+     * @return The indexed graph.
+     */
+    public static IndexedGraph of(final List<GraphLayer> layers,
+                                  final List<OrientedEdge> edges) {
+        final List<String> vertices = new ArrayList<>();
+        for (final GraphLayer layer : layers) {
+            for (final Vertex vertex : layer.getVertices()) {
+                vertices.add(vertex.getId());
+            }
+        }
+        return new IndexedGraph(vertices, edges);
+    }
+
+    /**
+     * Constructor.
+     * @param vertices The vertices, which get the indexes in the same order. Vertices only found as the end of
+     * some edge are indexed after them.
+     * @param edges The edges.
+     */
+    public IndexedGraph(final List<String> vertices,
+                        final List<OrientedEdge> edges) {
+        this.indexes = new HashMap<>();
+        this.ids = new ArrayList<>(vertices.size());
+        for (final String vertex : vertices) {
+            index(vertex);
+        }
+
+        final int edgesCount = edges.size();
+        this.edgesFrom = new int[edgesCount];
+        this.edgesTo = new int[edgesCount];
+        for (int i = 0; i < edgesCount; i++) {
+            final OrientedEdge edge = edges.get(i);
+            edgesFrom[i] = index(edge.getFromVertexId());
+            edgesTo[i] = index(edge.getToVertexId());
+        }
+
+        final int size = ids.size();
+        final int[] incidentCount = new int[size];
+        final int[] outgoingCount = new int[size];
+        for (int i = 0; i < edgesCount; i++) {
+            incidentCount[edgesFrom[i]]++;
+            if (edgesTo[i] != edgesFrom[i]) {
+                incidentCount[edgesTo[i]]++;
+            }
+            outgoingCount[edgesFrom[i]]++;
+        }
+
+        this.incidentEdges = new int[size][];
+        this.outgoingEdges = new int[size][];
+        int maxIncident = 0;
+        for (int v = 0; v < size; v++) {
+            incidentEdges[v] = new int[incidentCount[v]];
+            outgoingEdges[v] = new int[outgoingCount[v]];
+            maxIncident = Math.max(maxIncident, incidentCount[v]);
+        }
+        this.maxIncidentEdges = maxIncident;
+
+        Arrays.fill(incidentCount, 0);
+        Arrays.fill(outgoingCount, 0);
+        for (int i = 0; i < edgesCount; i++) {
+            final int from = edgesFrom[i];
+            final int to = edgesTo[i];
+            incidentEdges[from][incidentCount[from]++] = i;
+            if (to != from) {
+                incidentEdges[to][incidentCount[to]++] = i;
+            }
+            outgoingEdges[from][outgoingCount[from]++] = i;
+        }
+
+        // Keeps a single outgoing edge, the first one, for each target vertex.
+        final int[] lastSource = new int[size];
+        Arrays.fill(lastSource, -1);
+        for (int v = 0; v < size; v++) {
+            final int[] outgoing = outgoingEdges[v];
+            int distinct = 0;
+            for (final int edge : outgoing) {
+                final int to = edgesTo[edge];
+                if (lastSource[to] != v) {
+                    lastSource[to] = v;
+                    outgoing[distinct++] = edge;
+                }
+            }
+            if (distinct < outgoing.length) {
+                outgoingEdges[v] = Arrays.copyOf(outgoing, distinct);
+            }
+        }
+
+        this.positions = new int[size];
+        this.positioned = new int[size];
+        Arrays.fill(positions, -1);
+    }
+
+    private int index(final String vertex) {
+        final Integer index = indexes.get(vertex);
+        if (null != index) {
+            return index;
+        }
+        final int newIndex = ids.size();
+        indexes.put(vertex, newIndex);
+        ids.add(vertex);
+        return newIndex;
+    }
+
+    /**
+     * @return The number of vertices.
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * @param vertexId The id of the vertex.
+     * @return The index of the vertex, or -1 if it is not in the graph.
+     */
+    public int indexOf(final String vertexId) {
+        final Integer index = indexes.get(vertexId);
+        return null != index ? index : -1;
+    }
+
+    public String getId(final int vertex) {
+        return ids.get(vertex);
+    }
+
+    /**
+     * @param edge The index of the edge.
+     * @return The index of the vertex the edge comes from.
+     */
+    public int getFrom(final int edge) {
+        return edgesFrom[edge];
+    }
+
+    /**
+     * @param edge The index of the edge.
+     * @return The index of the vertex the edge goes to.
+     */
+    public int getTo(final int edge) {
+        return edgesTo[edge];
+    }
+
+    /**
+     * @param vertex The index of the vertex.
+     * @return The indexes of the edges coming from or going to the vertex. Do not modify it.
+     */
+    public int[] getIncidentEdges(final int vertex) {
+        return incidentEdges[vertex];
+    }
+
+    /**
+     * @param vertex The index of the vertex.
+     * @return The indexes of the edges coming from the vertex, only the first one for each vertex they go to.
+     * Do not modify it.
+     */
+    public int[] getOutgoingEdges(final int vertex) {
+        return outgoingEdges[vertex];
+    }
+
+    /**
+     * @return The largest number of incident edges of a vertex.
+     */
+    public int getMaxIncidentEdges() {
+        return maxIncidentEdges;
+    }
+
+    /**
+     * @param layer The layer.
+     * @return The index of the vertex at each position of the layer, or -1 for the vertices not in the graph.
+     */
+    public int[] indexesOf(final GraphLayer layer) {
+        final List<Vertex> vertices = layer.getVertices();
+        final int[] layerIndexes = new int[vertices.size()];
+        for (int i = 0; i < layerIndexes.length; i++) {
+            layerIndexes[i] = indexOf(vertices.get(i).getId());
+        }
+        return layerIndexes;
+    }
+
+    /**
+     * Finds the position in the given layer of each vertex.
+     * @param layer The layer.
+     * @return The position of each vertex in the layer, by vertex index, or -1 for the vertices not in the layer.
+     * The array is reused by the next call, so do not keep nor modify it.
+     */
+    public int[] getPositions(final GraphLayer layer) {
+        return getPositions(indexesOf(layer));
+    }
+
+    /**
+     * Finds the position in a layer of each vertex.
+     * @param layerIndexes The index of the vertex at each position of the layer, as given by
+     * {@link #indexesOf(GraphLayer)}.
+     * @return The position of each vertex in the layer, by vertex index, or -1 for the vertices not in the layer.
+     * The array is reused by the next call, so do not keep nor modify it.
+     */
+    public int[] getPositions(final int[] layerIndexes) {
+        for (int i = 0; i < positionedCount; i++) {
+            positions[positioned[i]] = -1;
+        }
+        positionedCount = 0;
+
+        for (int i = 0; i < layerIndexes.length; i++) {
+            final int vertex = layerIndexes[i];
+            if (vertex >= 0 && positions[vertex] < 0) {
+                positions[vertex] = i;
+                positioned[positionedCount++] = vertex;
+            }
+        }
+        return positions;
+    }
+}
@@ -24,7 +24,9 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.kie.workbench.common.stunner.core.graph.processing.layout.LayoutService;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.OrientedEdgeImpl;
@@ -41,6 +43,8 @@ public class LayeredGraph implements ReorderedGraph {
     private final List<GraphLayer> layers;
     private final HashMap<String, Integer> verticesWidth;
     private final HashMap<String, Integer> verticesHeight;
+    private final Set<String> verticesIds;
+    private final Map<String, Set<String>> edgesTargets;
     int DEFAULT_VERTEX_WIDTH = 100;
     int DEFAULT_VERTEX_HEIGHT = 50;
 
@@ -53,6 +57,8 @@ public class LayeredGraph implements ReorderedGraph {
         this.layers = new ArrayList<>();
         this.verticesWidth = new HashMap<>();
         this.verticesHeight = new HashMap<>();
+        this.verticesIds = new HashSet<>();
+        this.edgesTargets = new HashMap<>();
     }
 
     /**
@@ -71,16 +77,22 @@ public class LayeredGraph implements ReorderedGraph {
         addEdge(new OrientedEdgeImpl(from, to));
     }
 
+    /**
+     * Adds the edge, and its vertices, if not added yet.
+     * Duplicated edges are detected by looking up the edges already added through this method, so the graph
+     * can be built in linear time.
+     * @param edge The edge.
+     */
     public void addEdge(final OrientedEdgeImpl edge) {
-        if (!this.edges.contains(edge)) {
+        if (this.edgesTargets.computeIfAbsent(edge.getFromVertexId(), v -> new HashSet<>()).add(edge.getToVertexId())) {
             this.edges.add(edge);
         }
 
-        if (!this.vertices.contains(edge.getFromVertexId())) {
+        if (this.verticesIds.add(edge.getFromVertexId())) {
             this.vertices.add(edge.getFromVertexId());
         }
 
-        if (!this.vertices.contains(edge.getToVertexId())) {
+        if (this.verticesIds.add(edge.getToVertexId())) {
             this.vertices.add(edge.getToVertexId());
         }
     }
@@ -116,31 +128,34 @@ public class LayeredGraph implements ReorderedGraph {
     }
 
     public boolean isAcyclic() {
-        final HashSet<String> visited = new HashSet<>();
-        for (final String vertex : this.vertices) {
-            if (leadsToACycle(vertex, visited)) {
+        final IndexedGraph graph = new IndexedGraph(this.vertices, this.edges);
+        final byte[] visitState = new byte[graph.size()];
+        for (int vertex = 0; vertex < graph.size(); vertex++) {
+            if (leadsToACycle(graph, vertex, visitState)) {
                 return false;
             }
         }
         return true;
     }
 
-    private boolean leadsToACycle(final String vertex,
-                                  final HashSet<String> visited) {
-        if (visited.contains(vertex)) {
-            return true;
+    /**
+     * Searches for a cycle, reaching a vertex still being visited, visiting each vertex once.
+     * The visit state is 0 for not visited vertices, 1 while visiting and 2 once visited.
+     */
+    private static boolean leadsToACycle(final IndexedGraph graph,
+                                         final int vertex,
+                                         final byte[] visitState) {
+        if (visitState[vertex] != 0) {
+            return visitState[vertex] == 1;
         }
 
-        visited.add(vertex);
-
-        final String[] verticesFromThis = getVerticesFrom(vertex);
-        for (final String nextVertex : verticesFromThis) {
-            if (leadsToACycle(nextVertex, visited)) {
+        visitState[vertex] = 1;
+        for (final int edge : graph.getOutgoingEdges(vertex)) {
+            if (leadsToACycle(graph, graph.getTo(edge), visitState)) {
                 return true;
             }
         }
-
-        visited.remove(vertex);
+        visitState[vertex] = 2;
         return false;
     }
 
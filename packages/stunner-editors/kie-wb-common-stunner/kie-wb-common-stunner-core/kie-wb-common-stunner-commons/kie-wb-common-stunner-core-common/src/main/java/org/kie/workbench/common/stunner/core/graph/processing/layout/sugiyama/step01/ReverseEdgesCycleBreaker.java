@@ -20,13 +20,14 @@
 
 package org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step01;
 
-import java.util.HashSet;
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.enterprise.inject.Default;
 
 import org.kie.workbench.common.stunner.core.graph.processing.layout.OrientedEdgeImpl;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.ReorderedGraph;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.IndexedGraph;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.LayeredGraph;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.OrientedEdge;
 
@@ -36,12 +37,14 @@ import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.Or
 @Default
 public final class ReverseEdgesCycleBreaker implements CycleBreaker {
 
-    private LayeredGraph graph;
-    private final HashSet<String> visitedVertices;
+    private static final byte NOT_VISITED = 0;
+    private static final byte VISITING = 1;
+    private static final byte VISITED = 2;
 
-    public ReverseEdgesCycleBreaker() {
-        this.visitedVertices = new HashSet<>();
-    }
+    private IndexedGraph graph;
+    private byte[] visitState;
+    private int[] reversedEdges;
+    private int reversedCount;
 
     /**
      * Breaks all cycles found in a cyclic graph to make it acyclic.
@@ -49,54 +52,63 @@ public final class ReverseEdgesCycleBreaker implements CycleBreaker {
      */
     @Override
     public void breakCycle(final ReorderedGraph graph) {
-        this.graph = (LayeredGraph) graph;
+        final LayeredGraph layered = (LayeredGraph) graph;
+        final List<OrientedEdge> edges = layered.getEdges();
+        this.graph = new IndexedGraph(layered.getVertices(), edges);
+        this.visitState = new byte[this.graph.size()];
+        this.reversedEdges = new int[edges.size()];
+        this.reversedCount = 0;
 
-        for (final String vertex : this.graph.getVertices()) {
-            visit(vertex);
+        for (int vertex = 0; vertex < this.graph.size(); vertex++) {
+            if (visitState[vertex] == NOT_VISITED) {
+                visit(vertex);
+            }
+        }
+
+        if (reversedCount > 0) {
+            reverseEdges(edges);
         }
     }
 
     /**
-     * Visit a vertex searching for acyclic paths.
+     * Visit a vertex searching for cycles, which are found when reaching a vertex still being visited.
+     * Each vertex is visited once, the edges that close a cycle are recorded to be reversed later on.
      * @param vertex The vertex to visit.
-     * @return true if the path is acyclic, false if is cyclic.
      */
-    private boolean visit(final String vertex) {
-        if (visitedVertices.contains(vertex)) {
-            // Found a cycle.
-            return false;
-        }
-        visitedVertices.add(vertex);
-
-        final String[] verticesFromThis = getVerticesFrom(vertex);
-        for (final String nextVertex : verticesFromThis) {
-            if (!visit(nextVertex)) {
-                final OrientedEdge toReverse = this.graph.getEdges()
-                        .stream()
-                        .filter(edge -> Objects.equals(edge.getFromVertexId(), vertex)
-                                && Objects.equals(edge.getToVertexId(), nextVertex))
-                        .findFirst()
-                        .orElse(null);
-
-                if (toReverse != null) {
-                    this.graph.getEdges().remove(toReverse);
-                    final OrientedEdge reversed = new OrientedEdgeImpl(toReverse.getToVertexId(), toReverse.getFromVertexId());
-                    this.graph.getEdges().add(reversed);
-                }
+    private void visit(final int vertex) {
+        visitState[vertex] = VISITING;
+
+        for (final int edge : graph.getOutgoingEdges(vertex)) {
+            final int nextVertex = graph.getTo(edge);
+            if (visitState[nextVertex] == VISITING) {
+                // Found a cycle.
+                reversedEdges[reversedCount++] = edge;
+            } else if (visitState[nextVertex] == NOT_VISITED) {
+                visit(nextVertex);
             }
         }
 
-        visitedVertices.remove(vertex);
-        return true;
+        visitState[vertex] = VISITED;
     }
 
-    private String[] getVerticesFrom(final String vertex) {
-        final HashSet<String> verticesFrom = new HashSet<>();
-        for (final OrientedEdge edge : this.graph.getEdges()) {
-            if (Objects.equals(edge.getFromVertexId(), vertex)) {
-                verticesFrom.add(edge.getToVertexId());
+    private void reverseEdges(final List<OrientedEdge> edges) {
+        final boolean[] reversed = new boolean[edges.size()];
+        for (int i = 0; i < reversedCount; i++) {
+            reversed[reversedEdges[i]] = true;
+        }
+
+        final List<OrientedEdge> result = new ArrayList<>(edges.size());
+        for (int i = 0; i < edges.size(); i++) {
+            if (!reversed[i]) {
+                result.add(edges.get(i));
             }
         }
-        return verticesFrom.toArray(new String[0]);
+        for (int i = 0; i < reversedCount; i++) {
+            final OrientedEdge toReverse = edges.get(reversedEdges[i]);
+            result.add(new OrientedEdgeImpl(toReverse.getToVertexId(), toReverse.getFromVertexId()));
+        }
+
+        edges.clear();
+        edges.addAll(result);
     }
 }
\ No newline at end of file
@@ -21,9 +21,8 @@
 package org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step02;
 
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Objects;
 
 import javax.enterprise.inject.Default;
 
@@ -31,6 +30,7 @@ import org.kie.workbench.common.stunner.core.graph.processing.layout.ReorderedGr
 import org.kie.workbench.common.stunner.core.graph.processing.layout.Vertex;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.GraphLayer;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.GraphLayerImpl;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.IndexedGraph;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.LayeredGraph;
 
 /**
@@ -40,13 +40,10 @@ import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.La
 public final class LongestPathVertexLayerer implements VertexLayerer {
 
     private Vertex[] vertices;
-    private final HashMap<String, Integer> vertexHeight;
+    private int[] vertexHeight;
+    private IndexedGraph indexedGraph;
     private LayeredGraph graph;
 
-    public LongestPathVertexLayerer() {
-        this.vertexHeight = new HashMap<>();
-    }
-
     /**
      * Create layers for the graph and assign each vertex to a layer.
      * @param graph The graph.
@@ -54,38 +51,37 @@ public final class LongestPathVertexLayerer implements VertexLayerer {
     @Override
     public void createLayers(final ReorderedGraph graph) {
         this.graph = (LayeredGraph) graph;
-        this.vertices = new Vertex[this.graph.getVertices().size()];
+        final List<String> graphVertices = this.graph.getVertices();
+        this.indexedGraph = new IndexedGraph(graphVertices, this.graph.getEdges());
+        this.vertices = new Vertex[graphVertices.size()];
+        this.vertexHeight = new int[graphVertices.size()];
 
-        for (int i = 0; i < this.graph.getVertices().size(); i++) {
-            final String v = this.graph.getVertices().get(i);
-            this.vertices[i] = new Vertex(v);
-            this.vertexHeight.put(v, -1);
+        for (int i = 0; i < graphVertices.size(); i++) {
+            this.vertices[i] = new Vertex(graphVertices.get(i));
         }
+        Arrays.fill(this.vertexHeight, -1);
 
-        for (final Vertex vertex : this.vertices) {
-            visit(vertex);
+        for (int i = 0; i < this.vertices.length; i++) {
+            visit(i);
         }
     }
 
-    private int visit(final Vertex vertex) {
-        final int height = this.vertexHeight.getOrDefault(vertex.getId(), 0);
+    private int visit(final int vertex) {
+        final int height = this.vertexHeight[vertex];
         if (height >= 0) {
             return height;
         }
 
         int maxHeight = 1;
 
-        final String[] verticesFromHere = graph.getVerticesFrom(vertex.getId());
-        for (final String nextVertex : verticesFromHere) {
-            if (!Objects.equals(nextVertex, vertex.getId())) {
-                final Vertex next = Arrays.stream(this.vertices)
-                        .filter(f -> Objects.equals(f.getId(), nextVertex))
-                        .findFirst()
-                        .orElseThrow(() -> new NoSuchElementException(
-                                "Can not found the vertex pointed in other side of the OrientedEdge."
-                        ));
-
-                final int targetHeight = visit(next);
+        for (final int edge : indexedGraph.getOutgoingEdges(vertex)) {
+            final int nextVertex = indexedGraph.getTo(edge);
+            if (nextVertex != vertex) {
+                if (nextVertex >= this.vertices.length) {
+                    throw new NoSuchElementException("Can not found the vertex pointed in other side of the OrientedEdge.");
+                }
+
+                final int targetHeight = visit(nextVertex);
                 maxHeight = Math.max(maxHeight, targetHeight + 1);
             }
         }
@@ -94,7 +90,7 @@ public final class LongestPathVertexLayerer implements VertexLayerer {
         return maxHeight;
     }
 
-    private void addToLayer(final Vertex vertex,
+    private void addToLayer(final int vertex,
                             final int height) {
         for (int i = this.graph.getLayers().size(); i < height; i++) {
             this.graph.getLayers().add(0, new GraphLayerImpl());
@@ -103,7 +99,7 @@ public final class LongestPathVertexLayerer implements VertexLayerer {
         final int level = this.graph.getLayers().size() - height;
         final GraphLayer layer = this.graph.getLayers().get(level);
         layer.setLevel(height);
-        layer.addVertex(vertex);
-        vertexHeight.put(vertex.getId(), height);
+        layer.addVertex(this.vertices[vertex]);
+        vertexHeight[vertex] = height;
     }
 }
\ No newline at end of file
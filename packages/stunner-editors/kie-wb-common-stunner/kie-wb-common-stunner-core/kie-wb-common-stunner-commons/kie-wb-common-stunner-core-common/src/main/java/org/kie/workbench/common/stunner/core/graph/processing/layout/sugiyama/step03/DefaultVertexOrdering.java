@@ -21,9 +21,11 @@
 package org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step03;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Objects;
 
 import javax.enterprise.inject.Default;
 import javax.inject.Inject;
@@ -32,11 +34,10 @@ import org.kie.workbench.common.stunner.core.graph.processing.layout.OrientedEdg
 import org.kie.workbench.common.stunner.core.graph.processing.layout.ReorderedGraph;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.Vertex;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.GraphLayer;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.IndexedGraph;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.LayeredGraph;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.OrientedEdge;
 
-import static java.util.stream.Collectors.toList;
-
 /**
  * Order vertices inside layers trying to reduce crossing between edges.
  */
@@ -77,23 +78,19 @@ public final class DefaultVertexOrdering implements VertexOrdering {
         final LayeredGraph layered = (LayeredGraph) graph;
         final List<OrientedEdge> edges = graph.getEdges();
         final List<GraphLayer> virtualized = createVirtual(edges, layered);
-        List<GraphLayer> best = clone(virtualized);
+        final IndexedGraph indexed = IndexedGraph.of(virtualized, edges);
 
-        final Object[][] nestedBestRanks = new Object[virtualized.size()][];
         // Starts with the current order
-        for (int i = 0; i < nestedBestRanks.length; i++) {
-            final GraphLayer layer = best.get(i);
-            nestedBestRanks[i] = new Object[layer.getVertices().size()];
-            for (int j = 0; j < layer.getVertices().size(); j++) {
-                nestedBestRanks[i][j] = layer.getVertices().get(j);
-            }
-        }
+        List<GraphLayer> best = clone(virtualized);
+        int bestCrossing = this.crossingCount.crossing(best, indexed);
 
         for (int i = 0; i < MAX_ITERATIONS; i++) {
             this.vertexPositioning.positionVertices(virtualized, edges, i);
-            this.verticesTransposer.transpose(virtualized, edges, i);
-            if (this.crossingCount.crossing(best, edges) > this.crossingCount.crossing(virtualized, edges)) {
+            this.verticesTransposer.transpose(virtualized, indexed, i);
+            final int crossing = this.crossingCount.crossing(virtualized, indexed);
+            if (bestCrossing > crossing) {
                 best = clone(virtualized);
+                bestCrossing = crossing;
             } else {
                 break;
             }
@@ -121,55 +118,139 @@ public final class DefaultVertexOrdering implements VertexOrdering {
                                            final LayeredGraph graph) {
         int virtualIndex = 0;
         final List<GraphLayer> virtualized = clone(graph.getLayers());
+        final VirtualizedEdges virtualizedEdges = new VirtualizedEdges(virtualized, edges);
 
         for (int i = 0; i < virtualized.size() - 1; i++) {
             final GraphLayer currentLayer = virtualized.get(i);
             final GraphLayer nextLayer = virtualized.get(i + 1);
             for (final Vertex vertex : currentLayer.getVertices()) {
 
-                final List<OrientedEdge> outgoing = edges.stream()
-                        .filter(e -> Objects.equals(e.getFromVertexId(), vertex.getId()))
-                        .filter(e -> Math.abs(getLayerNumber(e.getToVertexId(), virtualized) - getLayerNumber(vertex.getId(), virtualized)) > 1)
-                        .collect(toList());
-
-                final List<OrientedEdge> incoming = edges.stream()
-                        .filter(e -> Objects.equals(e.getToVertexId(), vertex.getId()))
-                        .filter(e -> Math.abs(getLayerNumber(e.getFromVertexId(), virtualized) - getLayerNumber(vertex.getId(), virtualized)) > 1)
-                        .collect(toList());
+                final List<OrientedEdge> outgoing = virtualizedEdges.getLongEdges(vertex.getId(), true);
+                final List<OrientedEdge> incoming = virtualizedEdges.getLongEdges(vertex.getId(), false);
 
                 for (final OrientedEdge edge : outgoing) {
                     final Vertex virtualVertex = new Vertex("V" + virtualIndex++, true);
                     nextLayer.getVertices().add(virtualVertex);
-                    edges.remove(edge);
+                    virtualizedEdges.addVertex(virtualVertex.getId(), nextLayer);
+                    virtualizedEdges.remove(edge);
                     final OrientedEdge v1 = new OrientedEdgeImpl(edge.getFromVertexId(), virtualVertex.getId());
                     final OrientedEdge v2 = new OrientedEdgeImpl(virtualVertex.getId(), edge.getToVertexId());
-                    edges.add(v1);
-                    edges.add(v2);
+                    virtualizedEdges.add(v1);
+                    virtualizedEdges.add(v2);
                 }
 
                 for (final OrientedEdge edge : incoming) {
                     final Vertex virtualVertex = new Vertex("V" + virtualIndex++, true);
                     nextLayer.getVertices().add(virtualVertex);
-                    edges.remove(edge);
+                    virtualizedEdges.addVertex(virtualVertex.getId(), nextLayer);
+                    virtualizedEdges.remove(edge);
                     final OrientedEdge v1 = new OrientedEdgeImpl(virtualVertex.getId(), edge.getToVertexId());
                     final OrientedEdge v2 = new OrientedEdgeImpl(edge.getFromVertexId(), virtualVertex.getId());
-                    edges.add(v1);
-                    edges.add(v2);
+                    virtualizedEdges.add(v1);
+                    virtualizedEdges.add(v2);
                 }
             }
         }
 
+        virtualizedEdges.apply(edges);
         return virtualized;
     }
 
-    private int getLayerNumber(final String vertex,
-                               final List<GraphLayer> layers) {
-        final GraphLayer layer = layers
-                .stream()
-                .filter(l -> l.getVertices().stream().anyMatch(v -> Objects.equals(v.getId(), vertex)))
-                .findFirst()
-                .orElseThrow(() -> new NoSuchElementException("Can not found the layer of the vertex."));
+    /**
+     * Keeps the edges of each vertex, and the level of each vertex, while virtual vertices are created, so
+     * the long edges of a vertex can be found without going through all the edges and layers.
+     * Edges are kept in the order they would have in the edges list.
+     */
+    private static class VirtualizedEdges {
+
+        private final Map<String, Integer> levels;
+        private final Map<String, List<OrientedEdge>> outgoingEdges;
+        private final Map<String, List<OrientedEdge>> incomingEdges;
+        private final List<OrientedEdge> addedEdges;
+        private final Map<OrientedEdge, Boolean> removedEdges;
 
-        return layer.getLevel();
+        private VirtualizedEdges(final List<GraphLayer> layers,
+                                 final List<OrientedEdge> edges) {
+            this.levels = new HashMap<>();
+            this.outgoingEdges = new HashMap<>();
+            this.incomingEdges = new HashMap<>();
+            this.addedEdges = new ArrayList<>();
+            this.removedEdges = new IdentityHashMap<>();
+            for (final GraphLayer layer : layers) {
+                for (final Vertex vertex : layer.getVertices()) {
+                    addVertex(vertex.getId(), layer);
+                }
+            }
+            for (final OrientedEdge edge : edges) {
+                link(edge);
+            }
+        }
+
+        private void addVertex(final String vertex,
+                               final GraphLayer layer) {
+            levels.putIfAbsent(vertex, layer.getLevel());
+        }
+
+        private List<OrientedEdge> getLongEdges(final String vertex,
+                                                final boolean outgoing) {
+            final List<OrientedEdge> vertexEdges = (outgoing ? outgoingEdges : incomingEdges).get(vertex);
+            final List<OrientedEdge> longEdges = new ArrayList<>();
+            if (null != vertexEdges) {
+                final int level = getLayerNumber(vertex);
+                for (final OrientedEdge edge : vertexEdges) {
+                    final String otherVertex = outgoing ? edge.getToVertexId() : edge.getFromVertexId();
+                    if (Math.abs(getLayerNumber(otherVertex) - level) > 1) {
+                        longEdges.add(edge);
+                    }
+                }
+            }
+            return longEdges;
+        }
+
+        private void add(final OrientedEdge edge) {
+            addedEdges.add(edge);
+            link(edge);
+        }
+
+        private void remove(final OrientedEdge edge) {
+            removedEdges.put(edge, Boolean.TRUE);
+            outgoingEdges.get(edge.getFromVertexId()).remove(edge);
+            incomingEdges.get(edge.getToVertexId()).remove(edge);
+        }
+
+        private void link(final OrientedEdge edge) {
+            outgoingEdges.computeIfAbsent(edge.getFromVertexId(), v -> new ArrayList<>()).add(edge);
+            incomingEdges.computeIfAbsent(edge.getToVertexId(), v -> new ArrayList<>()).add(edge);
+        }
+
+        /**
+         * Updates the edges list, removing the edges split by virtual vertices and appending the new ones.
+         */
+        private void apply(final List<OrientedEdge> edges) {
+            if (addedEdges.isEmpty()) {
+                return;
+            }
+            final List<OrientedEdge> result = new ArrayList<>(edges.size() + addedEdges.size());
+            for (final OrientedEdge edge : edges) {
+                if (!removedEdges.containsKey(edge)) {
+                    result.add(edge);
+                }
+            }
+            for (final OrientedEdge edge : addedEdges) {
+                if (!removedEdges.containsKey(edge)) {
+                    result.add(edge);
+                }
+            }
+            edges.clear();
+            edges.addAll(result);
+        }
+
+        private int getLayerNumber(final String vertex) {
+            final Integer level = levels.get(vertex);
+            if (null == level) {
+                throw new NoSuchElementException("Can not found the layer of the vertex.");
+            }
+            return level;
+        }
     }
 }
\ No newline at end of file
@@ -20,11 +20,12 @@
 
 package org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step03;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
+import org.kie.workbench.common.stunner.core.graph.processing.layout.Vertex;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.GraphLayer;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.IndexedGraph;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.OrientedEdge;
 
 /**
@@ -47,8 +48,24 @@ public class LayerCrossingCount {
     public int crossing(final List<OrientedEdge> edges,
                         final GraphLayer north,
                         final GraphLayer south) {
+        return crossing(IndexedGraph.of(Arrays.asList(north, south), edges),
+                        north,
+                        south);
+    }
 
-        final Object[] entries = flat(edges, north, south);
+    /**
+     * Counts the edges crossing considering two layers.
+     * @param graph The indexed graph, with the vertices of both layers.
+     * @param north The north layer.
+     * @param south The south layer.
+     * @return The total of edges crossing.
+     */
+    int crossing(final IndexedGraph graph,
+                 final GraphLayer north,
+                 final GraphLayer south) {
+
+        final int[] southPositions = graph.getPositions(south);
+        final int[] entries = new int[graph.getMaxIncidentEdges()];
 
         int firstIndex = 1;
         while (firstIndex < south.getVertices().size()) {
@@ -60,61 +77,216 @@ public class LayerCrossingCount {
 
         int crossings = 0;
 
-        for (final Object entry : entries) {
-            int index = ((Integer) entry) + firstIndex;
-            if (index < 0) {
-                continue;
-            }
-            tree[index] += DEFAULT_VERTEX_WEIGHT;
-            int weightSum = 0;
-            while (index > 0) {
-                if (index % 2 != 0) {
-                    weightSum += tree[index + 1];
+        for (final Vertex vertex : north.getVertices()) {
+            final int entriesCount = flat(graph, graph.indexOf(vertex.getId()), southPositions, entries);
+
+            for (int i = 0; i < entriesCount; i++) {
+                int index = entries[i] + firstIndex;
+                if (index < 0) {
+                    continue;
                 }
-                index = (index - 1) >> 1;
                 tree[index] += DEFAULT_VERTEX_WEIGHT;
+                int weightSum = 0;
+                while (index > 0) {
+                    if (index % 2 != 0) {
+                        weightSum += tree[index + 1];
+                    }
+                    index = (index - 1) >> 1;
+                    tree[index] += DEFAULT_VERTEX_WEIGHT;
+                }
+                crossings += DEFAULT_VERTEX_WEIGHT * weightSum;
             }
-            crossings += DEFAULT_VERTEX_WEIGHT * weightSum;
         }
 
         return crossings;
     }
 
+    /**
+     * Keeps what is needed to know how the edges crossing between two layers changes when swapping neighbouring
+     * vertices in the south layer, so each swap is evaluated by looking only at the edges of the swapped vertices.
+     * @param graph The indexed graph, with the vertices of both layers.
+     * @param north The index of the vertex at each position of the north layer.
+     * @param south The index of the vertex at each position of the south layer, the one with the vertices to swap.
+     * @return The swaps of the south layer.
+     */
+    SouthLayerSwaps swaps(final IndexedGraph graph,
+                          final int[] north,
+                          final int[] south) {
+        return new SouthLayerSwaps(graph, north, south);
+    }
+
     /**
      * Counts the total of edges crossing in all layers.
      * @param layers Existing layers.
-     * @param edges Existing edges.
+     * @param graph The indexed graph, with the vertices of all layers.
      * @return The sum of edges crossing between all layers.
      */
     int crossing(final List<GraphLayer> layers,
-                 final List<OrientedEdge> edges) {
+                 final IndexedGraph graph) {
         int crossingCount = 0;
         for (int i = 1; i < layers.size(); i++) {
-            crossingCount += crossing(edges, layers.get(i - 1), layers.get(i));
+            crossingCount += crossing(graph, layers.get(i - 1), layers.get(i));
         }
         return crossingCount;
     }
 
-    private Object[] flat(final List<OrientedEdge> edges,
-                          final GraphLayer north,
-                          final GraphLayer south) {
+    /**
+     * Puts in the entries the position in the south layer of the vertices connected to a north vertex, sorted.
+     * Edges are taken by the vertex they go to if it is in the south layer, otherwise by the one they come from,
+     * which is -1 when none of them is in the south layer.
+     * @return The number of entries.
+     */
+    private static int flat(final IndexedGraph graph,
+                            final int vertex,
+                            final int[] southPositions,
+                            final int[] entries) {
+        if (vertex < 0) {
+            return 0;
+        }
 
-        final ArrayList<String> southPos = new ArrayList<>(south.getVertices().size());
-        for (int i = 0; i < south.getVertices().size(); i++) {
-            southPos.add(south.getVertices().get(i).getId());
+        final int[] connectedEdges = graph.getIncidentEdges(vertex);
+        for (int i = 0; i < connectedEdges.length; i++) {
+            final int edge = connectedEdges[i];
+            final int toPosition = southPositions[graph.getTo(edge)];
+            entries[i] = toPosition >= 0 ? toPosition : southPositions[graph.getFrom(edge)];
         }
+        Arrays.sort(entries, 0, connectedEdges.length);
+        return connectedEdges.length;
+    }
+
+    /**
+     * Evaluates swaps in the south layer the same way {@link #crossing(IndexedGraph, GraphLayer, GraphLayer)} would
+     * count them. Swapping neighbouring vertices only changes the crossing between the edges of those two vertices,
+     * plus, when the swap is at the last internal node of the tree, the entries of edges not reaching the south
+     * layer that are counted in that node.
+     */
+    static final class SouthLayerSwaps {
+
+        /**
+         * The positions in the north layer of the edges entries of each vertex in the south layer, sorted, from
+         * entriesStart[slot] to entriesStart[slot + 1], where the slot is the vertex position before any swap.
+         */
+        private final int[] entries;
+        private final int[] entriesStart;
+
+        /**
+         * For each slot, the sum for each of its entries of the entries not reaching the south layer which are
+         * counted before it.
+         */
+        private final int[] entriesOutsideBefore;
+
+        /**
+         * The slot of the vertex at each position.
+         */
+        private final int[] slots;
 
-        return north.getVertices().stream().flatMap(v -> {
-            List<OrientedEdge> connectedEdges = edges.stream()
-                    .filter(e -> (e.getToVertexId().equals(v.getId()) || e.getFromVertexId().equals(v.getId())))
-                    .collect(Collectors.toList());
+        private final int outsidePosition;
 
-            return connectedEdges.stream().map(e -> {
-                if (southPos.contains(e.getToVertexId())) {
-                    return southPos.indexOf(e.getToVertexId());
+        private SouthLayerSwaps(final IndexedGraph graph,
+                                final int[] north,
+                                final int[] south) {
+            final int southSize = south.length;
+            final int[] southPositions = graph.getPositions(south);
+            this.entriesStart = new int[southSize + 1];
+            for (final int vertex : north) {
+                if (vertex >= 0) {
+                    for (final int edge : graph.getIncidentEdges(vertex)) {
+                        final int position = southPosition(graph, edge, southPositions);
+                        if (position >= 0) {
+                            entriesStart[position + 1]++;
+                        }
+                    }
                 }
-                return southPos.indexOf(e.getFromVertexId());
-            }).sorted();
-        }).toArray();
+            }
+            for (int i = 0; i < southSize; i++) {
+                entriesStart[i + 1] += entriesStart[i];
+            }
+
+            this.entries = new int[entriesStart[southSize]];
+            this.entriesOutsideBefore = new int[southSize];
+            final int[] entriesEnd = Arrays.copyOf(entriesStart, southSize);
+
+            int entriesOutside = 0;
+            for (int i = 0; i < north.length; i++) {
+                if (north[i] < 0) {
+                    continue;
+                }
+                final int[] edges = graph.getIncidentEdges(north[i]);
+                // entries not reaching the south layer are sorted first
+                for (final int edge : edges) {
+                    if (southPosition(graph, edge, southPositions) < 0) {
+                        entriesOutside++;
+                    }
+                }
+                for (final int edge : edges) {
+                    final int position = southPosition(graph, edge, southPositions);
+                    if (position >= 0) {
+                        entries[entriesEnd[position]++] = i;
+                        entriesOutsideBefore[position] += entriesOutside;
+                    }
+                }
+            }
+
+            this.slots = new int[southSize];
+            for (int i = 0; i < southSize; i++) {
+                slots[i] = i;
+            }
+
+            int firstIndex = 1;
+            while (firstIndex < southSize) {
+                firstIndex <<= 1;
+            }
+            // entries not reaching the south layer are counted as if they were between the two last positions
+            this.outsidePosition = firstIndex - 2;
+        }
+
+        /**
+         * Gets how the edges crossing changes when swapping the vertex at the given position with the previous one.
+         * @param position The position in the south layer, greater than zero.
+         * @return The difference between the crossing after and before the swap.
+         */
+        int getCrossingChange(final int position) {
+            final int previous = slots[position - 1];
+            final int current = slots[position];
+            int change = countBefore(previous, current) - countBefore(current, previous);
+            if (position == outsidePosition) {
+                change += entriesOutsideBefore[current] - entriesOutsideBefore[previous];
+            }
+            return DEFAULT_VERTEX_WEIGHT * DEFAULT_VERTEX_WEIGHT * change;
+        }
+
+        /**
+         * Swaps the vertex at the given position with the previous one.
+         * @param position The position in the south layer, greater than zero.
+         */
+        void swap(final int position) {
+            final int slot = slots[position - 1];
+            slots[position - 1] = slots[position];
+            slots[position] = slot;
+        }
+
+        private static int southPosition(final IndexedGraph graph,
+                                         final int edge,
+                                         final int[] southPositions) {
+            final int toPosition = southPositions[graph.getTo(edge)];
+            return toPosition >= 0 ? toPosition : southPositions[graph.getFrom(edge)];
+        }
+
+        /**
+         * Counts the pairs of entries where the one of the first slot is before the one of the second slot.
+         */
+        private int countBefore(final int firstSlot,
+                                final int secondSlot) {
+            final int firstEnd = entriesStart[firstSlot + 1];
+            int count = 0;
+            int i = entriesStart[firstSlot];
+            for (int j = entriesStart[secondSlot]; j < entriesStart[secondSlot + 1]; j++) {
+                while (i < firstEnd && entries[i] < entries[j]) {
+                    i++;
+                }
+                count += i - entriesStart[firstSlot];
+            }
+            return count;
+        }
     }
 }
\ No newline at end of file
@@ -20,15 +20,15 @@
 
 package org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step03;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
 
 import javax.enterprise.inject.Default;
 
 import org.kie.workbench.common.stunner.core.graph.processing.layout.Vertex;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.GraphLayer;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.IndexedGraph;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.OrientedEdge;
 
 /**
@@ -49,12 +49,15 @@ public class MedianVertexLayerPositioning implements VertexLayerPositioning {
                                  final List<OrientedEdge> edges,
                                  final int currentIteration) {
 
+        final IndexedGraph graph = IndexedGraph.of(layers, edges);
+
         if ((currentIteration % 2 == 0)) {
             for (int j = layers.size() - 1; j >= 1; j--) {
                 final GraphLayer currentLayer = layers.get(j);
+                final int[] positions = graph.getPositions(layers.get(j - 1));
                 for (final Vertex vertex : currentLayer.getVertices()) {
                     //positionVertices value of vertices in rank r-1 connected to v
-                    final double median = calculateMedianOfVerticesConnectedTo(vertex.getId(), layers.get(j - 1), edges);
+                    final double median = calculateMedianOfVerticesConnectedTo(graph.indexOf(vertex.getId()), positions, graph);
                     vertex.setMedian(median);
                 }
 
@@ -64,9 +67,10 @@ public class MedianVertexLayerPositioning implements VertexLayerPositioning {
         } else {
             for (int j = 0; j < layers.size() - 1; j++) {
                 final GraphLayer currentLayer = layers.get(j);
+                final int[] positions = graph.getPositions(layers.get(j + 1));
 
                 for (final Vertex vertex : layers.get(j).getVertices()) {
-                    final double median = calculateMedianOfVerticesConnectedTo(vertex.getId(), layers.get(j + 1), edges);
+                    final double median = calculateMedianOfVerticesConnectedTo(graph.indexOf(vertex.getId()), positions, graph);
                     vertex.setMedian(median);
                 }
 
@@ -85,39 +89,59 @@ public class MedianVertexLayerPositioning implements VertexLayerPositioning {
     public double calculateMedianOfVerticesConnectedTo(final String vertex,
                                                        final GraphLayer layer,
                                                        final List<OrientedEdge> edges) {
-        final List<Integer> connectedVerticesIndex = new ArrayList<>();
-        final List<Vertex> vertices = layer.getVertices();
-        for (int i = 0; i < vertices.size(); i++) {
-            final Vertex vertexInLayer = vertices.get(i);
-
-            final boolean hasConnection = edges.stream()
-                    .anyMatch(e -> e.isLinkedWithVertexId(vertexInLayer.getId()) && e.isLinkedWithVertexId(vertex));
+        final IndexedGraph graph = new IndexedGraph(Collections.singletonList(vertex), edges);
+        return calculateMedianOfVerticesConnectedTo(graph.indexOf(vertex),
+                                                    graph.getPositions(layer),
+                                                    graph);
+    }
 
-            if (hasConnection) {
-                connectedVerticesIndex.add(i);
+    /**
+     * Calculates the median position of a vertex connected to a neighborhood layer.
+     * @param vertex The index of the vertex.
+     * @param positions The positions of the vertices in the neighborhood layer, as given by the indexed graph.
+     * @param graph The indexed graph.
+     * @return The median position. -1 (out of bounds) if there is no connection.
+     */
+    private static double calculateMedianOfVerticesConnectedTo(final int vertex,
+                                                               final int[] positions,
+                                                               final IndexedGraph graph) {
+        final int[] connectedEdges = graph.getIncidentEdges(vertex);
+        final int[] connectedVerticesIndex = new int[connectedEdges.length * 2];
+        int connected = 0;
+        for (final int edge : connectedEdges) {
+            final int fromPosition = positions[graph.getFrom(edge)];
+            if (fromPosition >= 0) {
+                connectedVerticesIndex[connected++] = fromPosition;
+            }
+            final int toPosition = positions[graph.getTo(edge)];
+            if (toPosition >= 0) {
+                connectedVerticesIndex[connected++] = toPosition;
             }
         }
 
-        final int size = connectedVerticesIndex.size();
+        // each vertex in the layer counts once, even if linked by many edges
+        Arrays.sort(connectedVerticesIndex, 0, connected);
+        int size = 0;
+        for (int i = 0; i < connected; i++) {
+            if (size == 0 || connectedVerticesIndex[size - 1] != connectedVerticesIndex[i]) {
+                connectedVerticesIndex[size++] = connectedVerticesIndex[i];
+            }
+        }
 
         if (size == 0) {
-            final Optional<Vertex> first = layer.getVertices()
-                    .stream()
-                    .filter(v -> Objects.equals(v.getId(), vertex))
-                    .findFirst();
-            return first.map(vertex1 -> layer.getVertices().indexOf(vertex1)).orElse(-1);
+            return positions[vertex];
         }
 
         if (size == 1) {
-            return connectedVerticesIndex.get(0);
+            return connectedVerticesIndex[0];
         }
 
         final double median;
 
         if (size % 2 == 0) {
-            median = ((double) connectedVerticesIndex.get(size / 2) + (double) connectedVerticesIndex.get(size / 2 - 1)) / 2;
+            median = ((double) connectedVerticesIndex[size / 2] + (double) connectedVerticesIndex[size / 2 - 1]) / 2;
         } else {
-            median = (double) connectedVerticesIndex.get(size / 2);
+            median = (double) connectedVerticesIndex[size / 2];
         }
 
         return median;
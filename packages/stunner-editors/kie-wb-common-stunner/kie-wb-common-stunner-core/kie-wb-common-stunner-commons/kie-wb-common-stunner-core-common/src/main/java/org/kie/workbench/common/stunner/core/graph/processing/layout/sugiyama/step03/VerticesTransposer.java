@@ -27,7 +27,7 @@ import javax.inject.Inject;
 
 import org.kie.workbench.common.stunner.core.graph.processing.layout.Vertex;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.GraphLayer;
-import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.OrientedEdge;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.IndexedGraph;
 
 /**
  * Transpose vertices inside a layer in order to reduce edge crossing.
@@ -44,54 +44,55 @@ public class VerticesTransposer {
     /**
      * Transpose neighbouring vertices inside layers trying to reduce crossing.
      * @param layers The layers with vertices.
-     * @param edges The edges connecting vertices.
+     * @param graph The indexed graph, with the vertices of all layers.
      */
     void transpose(final List<GraphLayer> layers,
-                   final List<OrientedEdge> edges,
+                   final IndexedGraph graph,
                    final int currentIteration) {
 
         boolean improved = true;
         final boolean bottomUp = (currentIteration % 2) == 0;
+        final int[][] layersVertices = new int[layers.size()][];
+        for (int i = 0; i < layersVertices.length; i++) {
+            layersVertices[i] = graph.indexesOf(layers.get(i));
+        }
 
         while (improved) {
             improved = false;
 
             if (bottomUp) {
                 for (int index = layers.size() - 1; index > 0; index--) {
-                    final GraphLayer current;
-                    final GraphLayer previous;
-                    current = layers.get(index - 1);
-                    previous = layers.get(index);
-                    improved = doTranspose(current, previous, edges);
+                    final GraphLayer current = layers.get(index - 1);
+                    improved = doTranspose(current, layersVertices[index - 1], layersVertices[index], graph);
                 }
             } else {
                 for (int index = 1; index < layers.size(); index++) {
-                    final GraphLayer current;
-                    final GraphLayer previous;
-                    current = layers.get(index);
-                    previous = layers.get(index - 1);
-                    improved = doTranspose(current, previous, edges);
+                    final GraphLayer current = layers.get(index);
+                    improved = doTranspose(current, layersVertices[index], layersVertices[index - 1], graph);
                 }
             }
         }
     }
 
     private boolean doTranspose(final GraphLayer current,
-                                final GraphLayer previous,
-                                final List<OrientedEdge> edges) {
+                                final int[] currentVertices,
+                                final int[] previousVertices,
+                                final IndexedGraph graph) {
 
         final List<Vertex> vertices = current.getVertices();
+        if (vertices.size() < 2) {
+            return false;
+        }
+
+        final LayerCrossingCount.SouthLayerSwaps swaps = this.crossingCount.swaps(graph, previousVertices, currentVertices);
         boolean improved = false;
         for (int i = 1; i < vertices.size(); i++) {
-
-            final int currentCrossing = this.crossingCount.crossing(edges, previous, current);
-
-            Collections.swap(vertices, i, i - 1);
-
-            final int newCrossing = this.crossingCount.crossing(edges, previous, current);
-            if (newCrossing >= currentCrossing) {
-                Collections.swap(vertices, i - 1, i);
-            } else {
+            if (swaps.getCrossingChange(i) < 0) {
+                Collections.swap(vertices, i, i - 1);
+                swaps.swap(i);
+                final int vertex = currentVertices[i];
+                currentVertices[i] = currentVertices[i - 1];
+                currentVertices[i - 1] = vertex;
                 improved = true;
             }
         }
@@ -20,7 +20,9 @@
 
 package org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step04;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -185,13 +187,7 @@ public class DefaultVertexPositioning implements VertexPositioning {
                                          final Set<Vertex> vertices) {
         final Set<String> ids = vertices.stream().map(Vertex::getId).collect(Collectors.toSet());
         for (final GraphLayer layer : layers) {
-            for (int i = 0; i < layer.getVertices().size(); i++) {
-                final Vertex existingVertex = layer.getVertices().get(i);
-                if (!ids.contains(existingVertex.getId())) {
-                    layer.getVertices().remove(existingVertex);
-                    i--;
-                }
-            }
+            layer.getVertices().removeIf(v -> !ids.contains(v.getId()));
         }
     }
 
@@ -264,15 +260,61 @@ public class DefaultVertexPositioning implements VertexPositioning {
         return false;
     }
 
+    /**
+     * Removes the virtual vertices, replacing each chain of edges real->virtual->...->virtual->real by a
+     * single real->real edge. Each chain is followed once, so it takes linear time in the number of edges.
+     * @param edges The edges, updated in place.
+     * @param vertices The vertices, the virtual ones are removed.
+     */
     public void removeVirtualVertices(final List<OrientedEdge> edges,
                                       final Set<Vertex> vertices) {
-        while (vertices.stream().anyMatch(Vertex::isVirtual)) {
-            for (int i = 0; i < edges.size(); i++) {
-                if (removeVirtualVertex(edges.get(i), edges, vertices)) {
-                    i--;
+        final Set<String> virtualVertices = new HashSet<>();
+        for (final Vertex vertex : vertices) {
+            if (vertex.isVirtual()) {
+                virtualVertices.add(vertex.getId());
+            }
+        }
+        if (virtualVertices.isEmpty()) {
+            return;
+        }
+
+        final Map<String, OrientedEdge> virtualOutgoing = new HashMap<>();
+        for (final OrientedEdge edge : edges) {
+            if (virtualVertices.contains(edge.getFromVertexId())) {
+                virtualOutgoing.putIfAbsent(edge.getFromVertexId(), edge);
+            }
+        }
+
+        final List<OrientedEdge> realEdges = new ArrayList<>(edges.size());
+        final List<OrientedEdge> newEdges = new ArrayList<>();
+        for (final OrientedEdge edge : edges) {
+            if (virtualVertices.contains(edge.getFromVertexId())) {
+                continue;
+            }
+            if (!virtualVertices.contains(edge.getToVertexId())) {
+                realEdges.add(edge);
+                continue;
+            }
+
+            // this_vertex->virtual->...->real
+            String to = edge.getToVertexId();
+            int remaining = virtualVertices.size();
+            while (virtualVertices.contains(to) && remaining-- > 0) {
+                final OrientedEdge otherSide = virtualOutgoing.get(to);
+                if (null == otherSide) {
+                    break;
                 }
+                to = otherSide.getToVertexId();
+            }
+            if (!virtualVertices.contains(to)) {
+                newEdges.add(new OrientedEdgeImpl(edge.getFromVertexId(), to));
             }
         }
+
+        edges.clear();
+        edges.addAll(realEdges);
+        edges.addAll(newEdges);
+        vertices.removeIf(Vertex::isVirtual);
     }
 
     void calculateParentVerticesSize(final Graph<?, ?> graph,
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+package org.kie.workbench.common.stunner.core.graph.processing.indexing.bounds;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.stunner.core.graph.processing.index.bounds.BoundsTree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BoundsTreeTest {
+
+    private BoundsTree<String> tested;
+
+    @Before
+    public void setup() {
+        tested = new BoundsTree<>();
+    }
+
+    @Test
+    public void testQueryPoint() {
+        tested.put("a", 0, 0, 100, 100);
+        tested.put("b", 50, 50, 150, 150);
+        tested.put("c", 200, 200, 300, 300);
+        assertEquals(set("a"), query(10, 10));
+        assertEquals(set("a", "b"), query(100, 100));
+        assertEquals(set("c"), query(250, 300));
+        assertEquals(set(), query(175, 175));
+    }
+
+    @Test
+    public void testQueryArea() {
+        tested.put("a", 0, 0, 100, 100);
+        tested.put("b", 50, 50, 150, 150);
+        tested.put("c", 200, 200, 300, 300);
+        final Set<String> result = new HashSet<>();
+        tested.query(120, 120, 210, 210, result::add);
+        assertEquals(set("b", "c"), result);
+    }
+
+    @Test
+    public void testMoveAndRemove() {
+        tested.put("a", 0, 0, 100, 100);
+        tested.put("b", 50, 50, 150, 150);
+        tested.put("a", 500, 500, 600, 600);
+        assertEquals(2, tested.size());
+        assertEquals(set("b"), query(75, 75));
+        assertEquals(set("a"), query(550, 550));
+        assertTrue(tested.remove("a"));
+        assertFalse(tested.remove("a"));
+        assertFalse(tested.contains("a"));
+        assertEquals(set(), query(550, 550));
+        tested.clear();
+        assertTrue(tested.isEmpty());
+        assertEquals(set(), query(75, 75));
+    }
+
+    @Test
+    public void testQueryMatchesBruteForce() {
+        final Random random = new Random(7);
+        final double[][] bounds = new double[500][];
+        for (int step = 0; step < 5000; step++) {
+            final int i = random.nextInt(bounds.length);
+            if (null != bounds[i] && random.nextInt(4) == 0) {
+                tested.remove("v" + i);
+                bounds[i] = null;
+            } else {
+                final double x = random.nextInt(2000);
+                final double y = random.nextInt(2000);
+                bounds[i] = new double[]{x, y, x + random.nextInt(200), y + random.nextInt(200)};
+                tested.put("v" + i, bounds[i][0], bounds[i][1], bounds[i][2], bounds[i][3]);
+            }
+            if (step % 50 == 0) {
+                final double x = random.nextInt(2200);
+                final double y = random.nextInt(2200);
+                final Set<String> expected = new HashSet<>();
+                for (int j = 0; j < bounds.length; j++) {
+                    final double[] b = bounds[j];
+                    if (null != b && x >= b[0] && x <= b[2] && y >= b[1] && y <= b[3]) {
+                        expected.add("v" + j);
+                    }
+                }
+                assertEquals(expected, query(x, y));
+            }
+        }
+    }
+
+    private Set<String> query(final double x,
+                              final double y) {
+        final Set<String> result = new HashSet<>();
+        tested.query(x, y, result::add);
+        return result;
+    }
+
+    private static Set<String> set(final String... values) {
+        final Set<String> result = new HashSet<>();
+        for (String value : values) {
+            result.add(value);
+        }
+        return result;
+    }
+}
@@ -27,6 +27,7 @@ import org.kie.workbench.common.stunner.core.TestingGraphInstanceBuilder;
 import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
 import org.kie.workbench.common.stunner.core.graph.Edge;
 import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.Bounds;
 import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
 import org.kie.workbench.common.stunner.core.graph.processing.index.bounds.GraphBoundsIndexerImpl;
@@ -39,6 +40,12 @@ import org.mockito.junit.MockitoJUnitRunner;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @RunWith(MockitoJUnitRunner.Silent.class)
 public class GraphBoundsIndexerImplTest {
@@ -131,4 +138,48 @@ public class GraphBoundsIndexerImplTest {
                      size[1],
                      0.001);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetAtAfterNodeMoved() {
+        final View content = (View) graphInstanceParent.startNode.getContent();
+        final Bounds bounds = content.getBounds();
+        content.setBounds(Bounds.create(500,
+                                        500,
+                                        600,
+                                        600));
+        graphBoundsIndexerImpl.build(graphInstanceParent.graph);
+        assertEquals(graphInstanceParent.startNode,
+                     graphBoundsIndexerImpl.getAt(550,
+                                                  550));
+        content.setBounds(bounds);
+        graphBoundsIndexerImpl.build(graphInstanceParent.graph);
+        assertNull(graphBoundsIndexerImpl.getAt(550,
+                                                550));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGraphTraversedOncePerBuild() {
+        final ChildrenTraverseProcessor childrenTraverseProcessor = mock(ChildrenTraverseProcessor.class,
+                                                                         delegatesTo(new ChildrenTraverseProcessorImpl(new TreeWalkTraverseProcessorImpl())));
+        final GraphBoundsIndexerImpl tested = new GraphBoundsIndexerImpl(childrenTraverseProcessor);
+        tested.build(graphInstanceParent.graph);
+        tested.getAt(50,
+                     50);
+        tested.getAt(50,
+                     50,
+                     10,
+                     10,
+                     graphInstanceParent.parentNode);
+        tested.getTrimmedBounds();
+        verify(childrenTraverseProcessor,
+               times(1)).traverse(eq(graphInstanceParent.graph),
+                                  any());
+        tested.build(graphInstanceParent.graph);
+        tested.getAt(50,
+                     50);
+        verify(childrenTraverseProcessor,
+               times(2)).traverse(eq(graphInstanceParent.graph),
+                                  any());
+    }
+}
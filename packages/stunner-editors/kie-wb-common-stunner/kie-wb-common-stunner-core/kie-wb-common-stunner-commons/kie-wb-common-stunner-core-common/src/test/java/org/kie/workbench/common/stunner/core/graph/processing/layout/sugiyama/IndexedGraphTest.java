@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+package org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.OrientedEdgeImpl;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.Vertex;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(MockitoJUnitRunner.class)
+public class IndexedGraphTest {
+
+    private IndexedGraph tested;
+
+    @Before
+    public void setup() {
+        final List<OrientedEdge> edges = Arrays.asList(new OrientedEdgeImpl("A", "B"),
+                                                       new OrientedEdgeImpl("A", "C"),
+                                                       new OrientedEdgeImpl("A", "B"),
+                                                       new OrientedEdgeImpl("C", "C"),
+                                                       new OrientedEdgeImpl("B", "D"));
+        tested = new IndexedGraph(Arrays.asList("A", "B", "C"), edges);
+    }
+
+    @Test
+    public void testIndexes() {
+        assertEquals(4, tested.size());
+        assertEquals(0, tested.indexOf("A"));
+        assertEquals(1, tested.indexOf("B"));
+        assertEquals(2, tested.indexOf("C"));
+        // only found as the end of an edge
+        assertEquals(3, tested.indexOf("D"));
+        assertEquals(-1, tested.indexOf("E"));
+        assertEquals("D", tested.getId(3));
+    }
+
+    @Test
+    public void testEdges() {
+        assertEquals(0, tested.getFrom(1));
+        assertEquals(2, tested.getTo(1));
+        assertArrayEquals(new int[]{0, 1, 2}, tested.getIncidentEdges(0));
+        assertArrayEquals(new int[]{0, 2, 4}, tested.getIncidentEdges(1));
+        // self loops are incident once
+        assertArrayEquals(new int[]{1, 3}, tested.getIncidentEdges(2));
+        assertEquals(3, tested.getMaxIncidentEdges());
+    }
+
+    @Test
+    public void testOutgoingEdges() {
+        // only the first edge to each vertex
+        assertArrayEquals(new int[]{0, 1}, tested.getOutgoingEdges(0));
+        assertArrayEquals(new int[]{4}, tested.getOutgoingEdges(1));
+        assertArrayEquals(new int[]{3}, tested.getOutgoingEdges(2));
+        assertArrayEquals(new int[0], tested.getOutgoingEdges(3));
+    }
+
+    @Test
+    public void testGetPositions() {
+        final GraphLayerImpl layer = new GraphLayerImpl(0);
+        layer.addNewVertex("C");
+        layer.addNewVertex("E");
+        layer.addNewVertex("A");
+
+        assertArrayEquals(new int[]{2, -1, 0, -1}, tested.getPositions(layer));
+
+        layer.getVertices().add(0, new Vertex("D"));
+        assertArrayEquals(new int[]{3, -1, 1, 0}, tested.getPositions(layer));
+    }
+}
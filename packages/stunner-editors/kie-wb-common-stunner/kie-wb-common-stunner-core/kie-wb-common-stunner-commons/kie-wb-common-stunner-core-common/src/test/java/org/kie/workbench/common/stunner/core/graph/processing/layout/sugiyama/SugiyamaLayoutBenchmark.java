@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+package org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.GraphProcessor;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step01.ReverseEdgesCycleBreaker;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step02.LongestPathVertexLayerer;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step03.DefaultVertexOrdering;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step03.LayerCrossingCount;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step03.MedianVertexLayerPositioning;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step03.VerticesTransposer;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step04.DefaultVertexPositioning;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step04.LayerArrangement;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures each step of the Sugiyama layout on generated process-like graphs: mostly a flow going forward, with
+ * some gateways joining branches and a few loops back.
+ * <p>
+ * It is not part of the regular build, run it with the <code>benchmarks</code> profile:
+ * <code>mvn test -Pbenchmarks -Dtest=SugiyamaLayoutBenchmark</code>. The graph sizes and the random seed can be changed with
+ * the <code>nodes</code> (comma separated) and <code>seed</code> system properties.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SugiyamaLayoutBenchmark {
+
+    private static final String NODES = System.getProperty("nodes", "100,500,1000,2500,5000");
+
+    private static final long SEED = Long.getLong("seed", 42L);
+
+    @Test
+    public void benchmarkLayout() {
+        // warm up on a small graph
+        layout(generate(200, SEED));
+
+        for (final String nodes : NODES.split(",")) {
+            final int count = Integer.parseInt(nodes.trim());
+            final LayeredGraph graph = generate(count, SEED);
+            final int edges = graph.getEdges().size();
+            final long[] nanos = layout(graph);
+
+            System.out.println(String.format("Sugiyama layout with %d nodes, %d edges: cycles %.1f ms, layers %.1f ms, ordering %.1f ms, positioning %.1f ms, total %.1f ms (%d layers)",
+                                             count, edges, nanos[0] / 1e6, nanos[1] / 1e6, nanos[2] / 1e6, nanos[3] / 1e6,
+                                             (nanos[0] + nanos[1] + nanos[2] + nanos[3]) / 1e6, graph.getLayers().size()));
+            assertTrue(graph.isAcyclic());
+        }
+    }
+
+    private static long[] layout(final LayeredGraph graph) {
+        final long[] nanos = new long[4];
+
+        long start = System.nanoTime();
+        new ReverseEdgesCycleBreaker().breakCycle(graph);
+        nanos[0] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        new LongestPathVertexLayerer().createLayers(graph);
+        nanos[1] = System.nanoTime() - start;
+
+        final LayerCrossingCount crossingCount = new LayerCrossingCount();
+        final DefaultVertexOrdering ordering = new DefaultVertexOrdering(new MedianVertexLayerPositioning(),
+                                                                         crossingCount,
+                                                                         new VerticesTransposer(crossingCount));
+        start = System.nanoTime();
+        ordering.orderVertices(graph);
+        nanos[2] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        new DefaultVertexPositioning().calculateVerticesPositions(graph,
+                                                                  LayerArrangement.TopDown,
+                                                                  mock(GraphProcessor.class),
+                                                                  mock(Graph.class));
+        nanos[3] = System.nanoTime() - start;
+        return nanos;
+    }
+
+    /**
+     * Each node is connected from one of the few nodes before it, about a quarter of the nodes also join a
+     * second branch, and about 2% of the nodes loop back to an earlier one.
+     */
+    private static LayeredGraph generate(final int nodes,
+                                         final long seed) {
+        final Random random = new Random(seed);
+        final LayeredGraph graph = new LayeredGraph();
+        for (int i = 1; i < nodes; i++) {
+            final String node = "n" + i;
+            graph.addEdge("n" + (i - 1 - random.nextInt(Math.min(i, 20))), node);
+            if (random.nextInt(4) == 0) {
+                graph.addEdge("n" + (i - 1 - random.nextInt(Math.min(i, 50))), node);
+            }
+            if (random.nextInt(50) == 0) {
+                graph.addEdge(node, "n" + random.nextInt(i));
+            }
+        }
+        return graph;
+    }
+}
@@ -21,6 +21,8 @@
 package org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step03;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.assertj.core.api.Assertions;
@@ -30,6 +32,7 @@ import org.kie.workbench.common.stunner.core.graph.processing.layout.OrientedEdg
 import org.kie.workbench.common.stunner.core.graph.processing.layout.Vertex;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.GraphLayer;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.GraphLayerImpl;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.IndexedGraph;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.LayeredGraph;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.OrientedEdge;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -419,4 +422,40 @@ public class VertexOrderingTest {
 
         assertEquals(0, result);
     }
+
+    @Test
+    public void testSwapsCrossingChange() {
+
+        final GraphLayerImpl top = new GraphLayerImpl(0);
+        top.addNewVertex("A");
+        top.addNewVertex("B");
+        top.addNewVertex("C");
+
+        final GraphLayerImpl bottom = new GraphLayerImpl(1);
+        bottom.addNewVertex("D");
+        bottom.addNewVertex("E");
+        bottom.addNewVertex("F");
+        bottom.addNewVertex("G");
+
+        final List<OrientedEdge> edges = new ArrayList<>();
+        edges.add(new OrientedEdgeImpl("A", "F"));
+        edges.add(new OrientedEdgeImpl("A", "G"));
+        edges.add(new OrientedEdgeImpl("B", "E"));
+        edges.add(new OrientedEdgeImpl("D", "B"));
+        edges.add(new OrientedEdgeImpl("C", "D"));
+        // not reaching the bottom layer
+        edges.add(new OrientedEdgeImpl("X", "C"));
+
+        final IndexedGraph graph = IndexedGraph.of(Arrays.asList(top, bottom), edges);
+        final LayerCrossingCount cc = new LayerCrossingCount();
+        final LayerCrossingCount.SouthLayerSwaps swaps = cc.swaps(graph, graph.indexesOf(top), graph.indexesOf(bottom));
+
+        for (int i = 1; i < bottom.getVertices().size(); i++) {
+            final int before = cc.crossing(graph, top, bottom);
+            Collections.swap(bottom.getVertices(), i, i - 1);
+            final int after = cc.crossing(graph, top, bottom);
+            assertEquals(after - before, swaps.getCrossingChange(i));
+            swaps.swap(i);
+        }
+    }
 }
\ No newline at end of file
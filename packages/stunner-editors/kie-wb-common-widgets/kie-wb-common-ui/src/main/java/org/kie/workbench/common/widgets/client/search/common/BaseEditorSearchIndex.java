@@ -206,14 +206,21 @@ public abstract class BaseEditorSearchIndex<T extends Searchable> implements Edi
 
     private void loadSearchResults(final String term) {
 
-        final List<T> searchableElements = getSearchableElements();
+        final List<T> searchResults = findSearchResults(term);
 
         updateCurrentHashcode();
-        updateResultsState(term, searchableElements);
-    }
-
-    private void updateResultsState(final String term, final List<T> searchableElements) {
-        results = searchableElements
+        results = searchResults;
+    }
+
+    /**
+     * Returns the elements matching the given term, in the order they are navigated.
+     * By default the list returned by {@link #getSearchableElements()} is filtered; indexes
+     * that keep their elements indexed may answer the query without a full scan.
+     * @param term the search term.
+     * @return a list of matching {@link Searchable} elements.
+     */
+    protected List<T> findSearchResults(final String term) {
+        return getSearchableElements()
                 .stream()
                 .filter(element -> element.matches(term))
                 .collect(Collectors.toList());
@@ -43,7 +43,7 @@ public final class LayerRedrawManager {
                 m_layers = new NFastArrayList<Layer>();
 
                 for (int i = 0; i < size; i++) {
-                    list.get(i).unBatchScheduled().draw();
+                    list.get(i).unBatchScheduled().drawBatched();
                 }
             }
         };
@@ -105,7 +105,7 @@ public class Arc extends Shape<Arc> {
     public Arc setRadius(final double radius) {
         this.radius = radius;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -135,7 +135,7 @@ public class Arc extends Shape<Arc> {
     public Arc setStartAngle(final double angle) {
         this.startAngle = angle;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -156,7 +156,7 @@ public class Arc extends Shape<Arc> {
     public Arc setEndAngle(final double angle) {
         this.endAngle = angle;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -177,7 +177,7 @@ public class Arc extends Shape<Arc> {
     public Arc setCounterClockwise(final boolean counterClockwise) {
         this.counterClockwise = counterClockwise;
 
-        return this;
+        return refresh();
     }
 
     @Override
@@ -333,6 +333,8 @@ public class Arrow extends Shape<Arrow> {
 
     private void invalidatePolygon() {
         m_polygon = null;
+
+        boundsChanged();
     }
 
     private Point2DArray getPolygon() {
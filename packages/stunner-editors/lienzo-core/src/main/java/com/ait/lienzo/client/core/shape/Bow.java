@@ -133,7 +133,7 @@ public class Bow extends Shape<Bow> {
     public Bow setInnerRadius(final double radius) {
         this.innerRadius = radius;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -154,7 +154,7 @@ public class Bow extends Shape<Bow> {
     public Bow setOuterRadius(final double radius) {
         this.outerRadius = radius;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -175,7 +175,7 @@ public class Bow extends Shape<Bow> {
     public Bow setStartAngle(final double angle) {
         this.startAngle = angle;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -196,7 +196,7 @@ public class Bow extends Shape<Bow> {
     public Bow setEndAngle(final double angle) {
         this.endAngle = angle;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -217,7 +217,7 @@ public class Bow extends Shape<Bow> {
     public Bow setCounterClockwise(final boolean counterClockwise) {
         this.counterClockwise = counterClockwise;
 
-        return this;
+        return refresh();
     }
 
     @Override
@@ -113,7 +113,7 @@ public class Chord extends Shape<Chord> {
     public Chord setRadius(final double radius) {
         this.radius = radius;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -143,7 +143,7 @@ public class Chord extends Shape<Chord> {
     public Chord setStartAngle(final double angle) {
         this.startAngle = angle;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -164,7 +164,7 @@ public class Chord extends Shape<Chord> {
     public Chord setEndAngle(final double angle) {
         this.endAngle = angle;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -185,7 +185,7 @@ public class Chord extends Shape<Chord> {
     public Chord setCounterClockwise(final boolean counterClockwise) {
         this.counterClockwise = counterClockwise;
 
-        return this;
+        return refresh();
     }
 
     @Override
@@ -87,7 +87,7 @@ public class Circle extends Shape<Circle> {
     public Circle setRadius(final double radius) {
         this.radius = radius;
 
-        return this;
+        return refresh();
     }
 
     /**
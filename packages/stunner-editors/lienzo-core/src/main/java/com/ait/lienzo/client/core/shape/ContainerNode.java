@@ -110,6 +110,16 @@ public abstract class ContainerNode<M extends IDrawable<?>, T extends ContainerN
         return m_bbox;
     }
 
+    /**
+     * Re-indexes a child whose bounds may have changed, if the storage engine is spatially indexed.
+     */
+    @SuppressWarnings("unchecked")
+    void refreshChild(final Node<?> child) {
+        if ((null != m_stor) && (m_stor.isSpatiallyIndexed())) {
+            m_stor.refresh((M) child);
+        }
+    }
+
     /**
      * Adds a primitive to the collection.
      * <p>
@@ -125,6 +135,8 @@ public abstract class ContainerNode<M extends IDrawable<?>, T extends ContainerN
 
         getStorageEngine().add(child);
 
+        boundsChanged();
+
         return cast();
     }
 
@@ -143,6 +155,8 @@ public abstract class ContainerNode<M extends IDrawable<?>, T extends ContainerN
 
         getStorageEngine().remove(child);
 
+        boundsChanged();
+
         return cast();
     }
 
@@ -157,6 +171,8 @@ public abstract class ContainerNode<M extends IDrawable<?>, T extends ContainerN
     public T removeAll() {
         getStorageEngine().clear();
 
+        boundsChanged();
+
         return cast();
     }
 
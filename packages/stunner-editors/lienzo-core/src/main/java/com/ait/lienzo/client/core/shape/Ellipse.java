@@ -108,7 +108,7 @@ public class Ellipse extends Shape<Ellipse> {
     public Ellipse setWidth(final double width) {
         this.width = width;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -129,7 +129,7 @@ public class Ellipse extends Shape<Ellipse> {
     public Ellipse setHeight(final double height) {
         this.height = height;
 
-        return this;
+        return refresh();
     }
 
     @Override
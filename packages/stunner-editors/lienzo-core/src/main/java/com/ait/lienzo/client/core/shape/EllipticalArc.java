@@ -111,7 +111,7 @@ public class EllipticalArc extends Shape<EllipticalArc> {
     public EllipticalArc setRadiusX(final double radiusX) {
         this.radiusX = radiusX;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -132,7 +132,7 @@ public class EllipticalArc extends Shape<EllipticalArc> {
     public EllipticalArc setRadiusY(final double radiusY) {
         this.radiusY = radiusY;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -162,7 +162,7 @@ public class EllipticalArc extends Shape<EllipticalArc> {
     public EllipticalArc setStartAngle(final double angle) {
         this.startAngle = angle;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -183,7 +183,7 @@ public class EllipticalArc extends Shape<EllipticalArc> {
     public EllipticalArc setEndAngle(final double angle) {
         this.endAngle = angle;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -204,7 +204,7 @@ public class EllipticalArc extends Shape<EllipticalArc> {
     public EllipticalArc setCounterClockwise(final boolean counterClockwise) {
         this.counterClockwise = counterClockwise;
 
-        return this;
+        return refresh();
     }
 
     @Override
@@ -141,7 +141,7 @@ public class IsoscelesTrapezoid extends Shape<IsoscelesTrapezoid> {
     public IsoscelesTrapezoid refresh() {
         m_list.clear();
 
-        return this;
+        return super.refresh();
     }
 
     public IsoscelesTrapezoid setTopWidth(final double topWidth) {
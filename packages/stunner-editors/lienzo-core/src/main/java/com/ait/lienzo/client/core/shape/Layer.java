@@ -28,10 +28,13 @@ import com.ait.lienzo.client.core.shape.storage.IStorageEngine;
 import com.ait.lienzo.client.core.shape.storage.PrimitiveFastArrayStorageEngine;
 import com.ait.lienzo.client.core.style.Style;
 import com.ait.lienzo.client.core.types.BoundingBox;
+import com.ait.lienzo.client.core.types.BoundingPoints;
 import com.ait.lienzo.client.core.types.ColorKeyRotor;
 import com.ait.lienzo.client.core.types.ImageDataPixelColor;
 import com.ait.lienzo.client.core.types.OnLayerAfterDraw;
 import com.ait.lienzo.client.core.types.OnLayerBeforeDraw;
+import com.ait.lienzo.client.core.types.Point2D;
+import com.ait.lienzo.client.core.types.Shadow;
 import com.ait.lienzo.client.core.types.Transform;
 import com.ait.lienzo.shared.core.types.DataURLType;
 import com.ait.lienzo.shared.core.types.LayerClearMode;
@@ -53,6 +56,10 @@ import elemental2.dom.HTMLDivElement;
  */
 public class Layer extends ContainerNode<IPrimitive<?>, Layer> {
 
+    static final double VISIBLE_BOUNDS_MARGIN = 32;
+
+    static final double DAMAGE_MARGIN = 2;
+
     private int m_wide = 0;
 
     private int m_high = 0;
@@ -79,6 +86,14 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer> {
 
     private final ColorKeyRotor m_c_rotor = new ColorKeyRotor();
 
+    private BoundingBox m_damage;
+
+    private boolean m_redrawAll = false;
+
+    private BoundingBox m_hitDamage;
+
+    private boolean m_hitAll = false;
+
     private final NFastStringMap<Shape<?>> m_shape_color_map = new NFastStringMap<>();
 
     private static long idCounter;
@@ -147,6 +162,8 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer> {
                 m_select = new SelectionLayer();
 
                 m_select.setPixelSize(getWidth(), getHeight());
+
+                m_hitAll = true;
             }
             return m_select;
         }
@@ -163,6 +180,8 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer> {
      */
     public Shape<?> findShapeAtPoint(final int x, final int y) {
         if (isVisible()) {
+            drawSelectionLayer();
+
             final SelectionLayer selection = getSelectionLayer();
 
             if (null != selection) {
@@ -350,6 +369,8 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer> {
 
             if ((!isSelection()) && (null != m_select)) {
                 m_select.setPixelSize(wide, high);
+
+                m_hitAll = true;
             }
         }
     }
@@ -565,67 +586,269 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer> {
                     draw = m_olbd.onLayerBeforeDraw(this);
                 }
                 if (draw) {
-                    Transform transform = null;
-
-                    final Viewport viewport = getViewport();
+                    drawArea(context, null);
 
-                    if ((isTransformable()) && (null != viewport)) {
-                        transform = viewport.getTransform();
+                    if (null != m_olad) {
+                        m_olad.onLayerAfterDraw(this);
                     }
-                    context.save();
+                    invalidateSelectionLayer(null);
+                }
+            }
+        }
+        if (context == getContext()) {
+            m_damage = null;
 
-                    if (null != transform) {
-                        context.transform(transform);
-                    }
-                    final BoundingBox bbox = getStorageBounds();
+            m_redrawAll = false;
+        }
+        return this;
+    }
 
-                    IPathClipper vclp = null;
+    /**
+     * Draws what was scheduled since the last draw: the whole layer if {@link #batch()} was called,
+     * otherwise only the areas passed to {@link #damage(BoundingBox)}.
+     */
+    public Layer drawBatched() {
+        final BoundingBox damage = m_damage;
 
-                    if (null != viewport) {
-                        vclp = viewport.getPathClipper();
+        if ((m_redrawAll) || (null == damage) || (!isClearLayerBeforeDraw())) {
+            return draw();
+        }
+        m_damage = null;
 
-                        if ((null != vclp) && (vclp.isActive())) {
-                            vclp.clip(context);
-                        }
-                    }
-                    final IPathClipper lclp = getPathClipper();
+        if ((LienzoCore.IS_CANVAS_SUPPORTED) && (isVisible())) {
+            final BoundingBox area = getCanvasArea(damage, getDrawTransform());
 
-                    if ((null != lclp) && (lclp.isActive())) {
-                        lclp.clip(context);
-                    }
-                    drawWithTransforms(context, 1, bbox);
+            if (null == area) {
+                return this;
+            }
+            if ((area.getWidth() >= m_wide) && (area.getHeight() >= m_high)) {
+                return draw();
+            }
+            boolean draw = true;
 
-                    context.restore();
+            if (null != m_olbd) {
+                draw = m_olbd.onLayerBeforeDraw(this);
+            }
+            if (draw) {
+                drawArea(getContext(), area);
 
-                    if (null != m_olad) {
-                        m_olad.onLayerAfterDraw(this);
-                    }
-                    final SelectionLayer selection = getSelectionLayer();
+                if (null != m_olad) {
+                    m_olad.onLayerAfterDraw(this);
+                }
+                invalidateSelectionLayer(damage);
+            }
+        }
+        return this;
+    }
 
-                    if (null != selection) {
-                        selection.clear();
+    /**
+     * Draws the primitives of this layer. When an area of the canvas is given, in pixels, it is cleared and
+     * drawing is clipped to it; otherwise the caller is in charge of clearing.
+     */
+    private void drawArea(final Context2D context, final BoundingBox area) {
+        final Transform transform = getDrawTransform();
 
-                        context = selection.getContext();
+        context.save();
 
-                        context.save();
+        if (null != area) {
+            context.beginPath();
 
-                        if (null != transform) {
-                            context.transform(transform);
-                        }
-                        if ((null != vclp) && (vclp.isActive())) {
-                            vclp.clip(context);
-                        }
-                        if ((null != lclp) && (lclp.isActive())) {
-                            lclp.clip(context);
-                        }
-                        drawWithTransforms(context, 1, bbox);
+            context.rect(area.getX(), area.getY(), area.getWidth(), area.getHeight());
 
-                        context.restore();
-                    }
-                }
+            context.clip();
+
+            context.clearRect(area.getX(), area.getY(), area.getWidth(), area.getHeight());
+        }
+        if (null != transform) {
+            context.transform(transform);
+        }
+        BoundingBox bbox = getStorageBounds();
+
+        if (null == bbox) {
+            if (null != area) {
+                bbox = getLayerArea(area, transform);
+            } else if (getStorageEngine().isSpatiallyIndexed()) {
+                bbox = getVisibleBounds(transform);
             }
         }
-        return this;
+        final Viewport viewport = getViewport();
+
+        if (null != viewport) {
+            final IPathClipper vclp = viewport.getPathClipper();
+
+            if ((null != vclp) && (vclp.isActive())) {
+                vclp.clip(context);
+            }
+        }
+        final IPathClipper lclp = getPathClipper();
+
+        if ((null != lclp) && (lclp.isActive())) {
+            lclp.clip(context);
+        }
+        drawWithTransforms(context, 1, bbox);
+
+        context.restore();
+    }
+
+    private Transform getDrawTransform() {
+        final Viewport viewport = getViewport();
+
+        if ((isTransformable()) && (null != viewport)) {
+            return viewport.getTransform();
+        }
+        return null;
+    }
+
+    /**
+     * Schedules the redraw of the given area, in layer coordinates, on the next animation frame. Unlike
+     * {@link #batch()}, only that area of the canvas is cleared and drawn, and the {@link SelectionLayer} is
+     * updated the next time a shape is looked up. A full redraw scheduled in the same frame takes over.
+     */
+    public Layer damage(final BoundingBox area) {
+        if (null == area) {
+            return batch();
+        }
+        if (null == m_damage) {
+            m_damage = BoundingBox.fromBoundingBox(area);
+        } else {
+            m_damage.addBoundingBox(area);
+        }
+        return LayerRedrawManager.get().schedule(this);
+    }
+
+    /**
+     * Schedules the redraw of the area covered by the given primitive, see {@link #damage(BoundingBox)}.
+     * The area is taken when called, so call it before changes shrinking or moving the primitive and
+     * after changes growing or moving it.
+     */
+    public Layer damage(final IPrimitive<?> primitive) {
+        final BoundingPoints points = primitive.getComputedBoundingPoints();
+
+        if (null == points) {
+            return batch();
+        }
+        final BoundingBox bbox = points.getBoundingBox();
+
+        final double minx = bbox.getMinX();
+
+        final double miny = bbox.getMinY();
+
+        final double maxx = bbox.getMaxX();
+
+        final double maxy = bbox.getMaxY();
+
+        if ((Double.isNaN(minx + miny + maxx + maxy)) || (Double.isInfinite(minx + miny + maxx + maxy)) || (minx > maxx) || (miny > maxy)) {
+            return this;
+        }
+        double margin = 0;
+
+        if (primitive instanceof Shape) {
+            final Shape<?> shape = (Shape<?>) primitive;
+
+            margin = Math.max(shape.getStrokeWidth(), 0);
+
+            final Shadow shadow = shape.getShadow();
+
+            if (null != shadow) {
+                final Point2D offset = shadow.getOffset();
+
+                margin += shadow.getBlur() + ((null != offset) ? Math.max(Math.abs(offset.getX()), Math.abs(offset.getY())) : 0);
+            }
+        }
+        return damage(BoundingBox.fromDoubles(minx - margin, miny - margin, maxx + margin, maxy + margin));
+    }
+
+    /**
+     * Returns the pixels of the canvas covering the given area in layer coordinates, rounded out and widened by
+     * {@link #DAMAGE_MARGIN} for anti-aliasing, or null if none are visible.
+     */
+    BoundingBox getCanvasArea(final BoundingBox damage, final Transform transform) {
+        final BoundingBox bbox = (null == transform) ? damage : new BoundingPoints(damage).transform(transform).getBoundingBox();
+
+        final double minx = Math.max(0, Math.floor(bbox.getMinX() - DAMAGE_MARGIN));
+
+        final double miny = Math.max(0, Math.floor(bbox.getMinY() - DAMAGE_MARGIN));
+
+        final double maxx = Math.min(m_wide, Math.ceil(bbox.getMaxX() + DAMAGE_MARGIN));
+
+        final double maxy = Math.min(m_high, Math.ceil(bbox.getMaxY() + DAMAGE_MARGIN));
+
+        if ((minx >= maxx) || (miny >= maxy)) {
+            return null;
+        }
+        return BoundingBox.fromDoubles(minx, miny, maxx, maxy);
+    }
+
+    private BoundingBox getLayerArea(final BoundingBox area, final Transform transform) {
+        if ((null == transform) || (transform.isIdentity())) {
+            return area;
+        }
+        if (Math.abs(transform.getDeterminant()) <= Double.MIN_VALUE) {
+            return null;
+        }
+        return new BoundingPoints(area).transform(transform.getInverse()).getBoundingBox();
+    }
+
+    /**
+     * Marks the given area, or the whole {@link SelectionLayer} if null, as needing a redraw. Hit testing
+     * redraws it lazily unless the selection layer is shown, which is only meant for debugging.
+     */
+    private void invalidateSelectionLayer(final BoundingBox damage) {
+        if (null == damage) {
+            m_hitAll = true;
+
+            m_hitDamage = null;
+        } else if (!m_hitAll) {
+            if (null == m_hitDamage) {
+                m_hitDamage = BoundingBox.fromBoundingBox(damage);
+            } else {
+                m_hitDamage.addBoundingBox(damage);
+            }
+        }
+        if (isShowSelectionLayer()) {
+            drawSelectionLayer();
+        }
+    }
+
+    private void drawSelectionLayer() {
+        if ((!m_hitAll) && (null == m_hitDamage)) {
+            return;
+        }
+        final SelectionLayer selection = getSelectionLayer();
+
+        if (null == selection) {
+            return;
+        }
+        BoundingBox area = null;
+
+        if (!m_hitAll) {
+            area = getCanvasArea(m_hitDamage, getDrawTransform());
+        }
+        final boolean all = m_hitAll;
+
+        m_hitAll = false;
+
+        m_hitDamage = null;
+
+        if (all) {
+            selection.clear();
+
+            drawArea(selection.getContext(), null);
+        } else if (null != area) {
+            drawArea(selection.getContext(), area);
+        }
+    }
+
+    /**
+     * Returns the area of this layer shown by the viewport, in layer coordinates, widened by
+     * {@link #VISIBLE_BOUNDS_MARGIN} pixels so strokes and shadows crossing the edges are still drawn.
+     * Returns null when the layer has no size yet or the transform can't be inverted.
+     */
+    BoundingBox getVisibleBounds(final Transform transform) {
+        if ((m_wide <= 0) || (m_high <= 0)) {
+            return null;
+        }
+        return getLayerArea(BoundingBox.fromDoubles(-VISIBLE_BOUNDS_MARGIN, -VISIBLE_BOUNDS_MARGIN, m_wide + VISIBLE_BOUNDS_MARGIN, m_high + VISIBLE_BOUNDS_MARGIN), transform);
     }
 
     /**
@@ -636,6 +859,8 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer> {
      */
     @Override
     public Layer batch() {
+        m_redrawAll = true;
+
         return LayerRedrawManager.get().schedule(this);
     }
 
@@ -67,6 +67,8 @@ public class Line extends AbstractOffsetMultiPointShape<Line> {
 
     @Override
     public Line refresh() {
+        boundsChanged();
+
         return cast();
     }
 
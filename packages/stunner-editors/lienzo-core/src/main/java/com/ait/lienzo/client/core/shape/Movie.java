@@ -543,7 +543,7 @@ public class Movie extends Shape<Movie> implements ImageDataFilterable<Movie> {
 
         setSizes();
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -576,7 +576,7 @@ public class Movie extends Shape<Movie> implements ImageDataFilterable<Movie> {
 
         setSizes();
 
-        return this;
+        return refresh();
     }
 
     /**
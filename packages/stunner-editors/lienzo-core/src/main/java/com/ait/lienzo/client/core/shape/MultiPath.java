@@ -157,6 +157,8 @@ public class MultiPath extends AbstractMultiPathPartShape<MultiPath> {
 
     @Override
     public MultiPath refresh() {
+        boundsChanged();
+
         return this;
     }
 
@@ -237,11 +237,13 @@ public abstract class Node<T extends Node<T>> implements IDrawable<T> {
 
     public final T setX(final double x) {
         this.x = x;
+        boundsChanged();
         return cast();
     }
 
     public final T setY(final double y) {
         this.y = y;
+        boundsChanged();
         return cast();
     }
 
@@ -261,6 +263,7 @@ public abstract class Node<T extends Node<T>> implements IDrawable<T> {
 
     public final T setRotation(final double radians) {
         this.rotation = radians;
+        boundsChanged();
         return cast();
     }
 
@@ -270,6 +273,7 @@ public abstract class Node<T extends Node<T>> implements IDrawable<T> {
 
     public final T setRotationDegrees(final double degrees) {
         this.rotation = Geometry.toRadians(degrees);
+        boundsChanged();
         return cast();
     }
 
@@ -306,6 +310,7 @@ public abstract class Node<T extends Node<T>> implements IDrawable<T> {
 
     public final T setScale(final Point2D scale) {
         this.scale = scale;
+        boundsChanged();
         return cast();
     }
 
@@ -330,6 +335,7 @@ public abstract class Node<T extends Node<T>> implements IDrawable<T> {
 
     public final T setShear(final Point2D shear) {
         this.shear = shear;
+        boundsChanged();
         return cast();
     }
 
@@ -339,6 +345,7 @@ public abstract class Node<T extends Node<T>> implements IDrawable<T> {
 
     public final T setOffset(final Point2D offset) {
         this.offset = offset;
+        boundsChanged();
         return cast();
     }
 
@@ -495,6 +502,7 @@ public abstract class Node<T extends Node<T>> implements IDrawable<T> {
 
     @Override
     public T refresh() {
+        boundsChanged();
         return cast();
     }
 
@@ -502,6 +510,28 @@ public abstract class Node<T extends Node<T>> implements IDrawable<T> {
         m_parent = parent;
     }
 
+    /**
+     * Lets the spatially indexed containers holding this node, directly or through a group, know its bounds
+     * may have changed.
+     */
+    void boundsChanged() {
+        Node<?> node = this;
+
+        Node<?> parent = m_parent;
+
+        while (null != parent) {
+            if (parent instanceof ContainerNode) {
+                ((ContainerNode<?, ?>) parent).refreshChild(node);
+            }
+            if (parent instanceof Layer) {
+                return;
+            }
+            node = parent;
+
+            parent = parent.m_parent;
+        }
+    }
+
     public final boolean isAnimating() {
         return m_opts.isAnimating();
     }
@@ -916,6 +946,7 @@ public abstract class Node<T extends Node<T>> implements IDrawable<T> {
 
     public T setTransform(final Transform transform) {
         this.transform = transform;
+        boundsChanged();
         return cast();
     }
 
@@ -145,7 +145,7 @@ public class Parallelogram extends Shape<Parallelogram> {
     public Parallelogram refresh() {
         m_list.clear();
 
-        return this;
+        return super.refresh();
     }
 
     /**
@@ -1445,7 +1445,7 @@ public class Picture extends AbstractImageShape<Picture> implements ImageDataFil
     public Picture setClippedImageWidth(int clippedImageWidth) {
         this.clippedImageWidth = clippedImageWidth;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -1470,7 +1470,7 @@ public class Picture extends AbstractImageShape<Picture> implements ImageDataFil
     public Picture setClippedImageHeight(int clippedImageHeight) {
         this.clippedImageHeight = clippedImageHeight;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -1493,7 +1493,7 @@ public class Picture extends AbstractImageShape<Picture> implements ImageDataFil
     public Picture setClippedImageDestinationWidth(int clippedImageDestinationWidth) {
         this.clippedImageDestinationWidth = clippedImageDestinationWidth;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -1530,7 +1530,7 @@ public class Picture extends AbstractImageShape<Picture> implements ImageDataFil
     public Picture setClippedImageDestinationHeight(int clippedImageDestinationHeight) {
         this.clippedImageDestinationHeight = clippedImageDestinationHeight;
 
-        return this;
+        return refresh();
     }
 
     public Picture reFilter(final PictureFilteredHandler handler) {
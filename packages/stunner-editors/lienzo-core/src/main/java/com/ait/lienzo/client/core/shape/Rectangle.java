@@ -134,7 +134,7 @@ public class Rectangle extends Shape<Rectangle> {
     public Rectangle setWidth(final double width) {
         this.width = width;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -155,7 +155,7 @@ public class Rectangle extends Shape<Rectangle> {
     public Rectangle setHeight(final double height) {
         this.height = height;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -154,7 +154,7 @@ public class RegularPolygon extends Shape<RegularPolygon> {
     public RegularPolygon refresh() {
         m_list.clear();
 
-        return this;
+        return super.refresh();
     }
 
     /**
@@ -127,7 +127,7 @@ public class Ring extends Shape<Ring> {
     public Ring setInnerRadius(final double radius) {
         this.innerRadius = radius;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -148,7 +148,7 @@ public class Ring extends Shape<Ring> {
     public Ring setOuterRadius(final double radius) {
         this.outerRadius = radius;
 
-        return this;
+        return refresh();
     }
 
     @Override
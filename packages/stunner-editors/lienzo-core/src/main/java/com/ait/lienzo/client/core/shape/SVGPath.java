@@ -504,7 +504,7 @@ public class SVGPath extends Shape<SVGPath> {
         if (false == path.equals(m_path)) {
             parse(m_path = path);
         }
-        return this;
+        return refresh();
     }
 
     @Override
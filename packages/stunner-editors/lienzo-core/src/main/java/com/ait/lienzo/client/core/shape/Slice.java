@@ -124,7 +124,7 @@ public class Slice extends Shape<Slice> {
     public Slice setRadius(final double radius) {
         this.radius = radius;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -154,7 +154,7 @@ public class Slice extends Shape<Slice> {
     public Slice setStartAngle(final double angle) {
         this.startAngle = angle;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -175,7 +175,7 @@ public class Slice extends Shape<Slice> {
     public Slice setEndAngle(final double angle) {
         this.endAngle = angle;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -196,7 +196,7 @@ public class Slice extends Shape<Slice> {
     public Slice setCounterClockwise(final boolean counterClockwise) {
         this.counterClockwise = counterClockwise;
 
-        return this;
+        return refresh();
     }
 
     @Override
@@ -145,7 +145,7 @@ public class Star extends Shape<Star> {
     public Star refresh() {
         m_list.clear();
 
-        return this;
+        return super.refresh();
     }
 
     /**
@@ -192,7 +192,7 @@ public class Star extends Shape<Star> {
     public Star setInnerRadius(final double radius) {
         this.innerRadius = radius;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -213,7 +213,7 @@ public class Star extends Shape<Star> {
     public Star setOuterRadius(final double radius) {
         this.outerRadius = radius;
 
-        return this;
+        return refresh();
     }
 
     public double getCornerRadius() {
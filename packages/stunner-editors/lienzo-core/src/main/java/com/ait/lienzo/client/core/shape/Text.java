@@ -396,7 +396,7 @@ public class Text extends Shape<Text> {
     public Text setText(String text) {
         this.text = text;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -419,7 +419,7 @@ public class Text extends Shape<Text> {
         }
         this.fontFamily = family;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -443,7 +443,7 @@ public class Text extends Shape<Text> {
         }
         this.fontStyle = style;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -467,7 +467,7 @@ public class Text extends Shape<Text> {
         }
         this.fontSize = size;
 
-        return this;
+        return refresh();
     }
 
     public Text setTextUnit(TextUnit unit) {
@@ -476,7 +476,7 @@ public class Text extends Shape<Text> {
         }
         this.textUnit = unit;
 
-        return this;
+        return refresh();
     }
 
     public TextUnit getTextUnit() {
@@ -501,7 +501,7 @@ public class Text extends Shape<Text> {
     public Text setTextAlign(TextAlign align) {
         this.textAlign = align;
 
-        return this;
+        return refresh();
     }
 
     /**
@@ -522,7 +522,7 @@ public class Text extends Shape<Text> {
     public Text setTextBaseLine(TextBaseLine baseLine) {
         this.textBaseLine = baseLine;
 
-        return this;
+        return refresh();
     }
 
     @Override
@@ -541,6 +541,6 @@ public class Text extends Shape<Text> {
 
     public Text setWrapper(final ITextWrapper wrapper) {
         this.wrapper = wrapper;
-        return this;
+        return refresh();
     }
 }
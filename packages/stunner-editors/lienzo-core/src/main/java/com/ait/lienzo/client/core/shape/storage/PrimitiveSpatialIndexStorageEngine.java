@@ -0,0 +1,304 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+package com.ait.lienzo.client.core.shape.storage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.ait.lienzo.client.core.shape.IPrimitive;
+import com.ait.lienzo.client.core.types.BoundingBox;
+import com.ait.lienzo.client.core.types.BoundingPoints;
+import com.ait.lienzo.tools.client.collection.NFastArrayList;
+
+/**
+ * Storage engine keeping the primitives in a {@link QuadTree} by their bounding box, so
+ * {@link #getChildren(BoundingBox)} returns only the ones intersecting the given bounds, still in drawing order.
+ * <p>
+ * Meant for layers: the bounds are in the coordinates of the layer, which computes them from the visible area of
+ * its viewport. Bounding boxes are computed lazily and refreshed when a primitive, or any node inside it, is moved,
+ * rotated, scaled, resized through its geometry attributes or refreshed. Any other change affecting the size of a
+ * primitive must be followed by a call to {@link #refresh(IPrimitive)}.
+ */
+public class PrimitiveSpatialIndexStorageEngine extends AbstractStorageEngine<IPrimitive<?>> {
+
+    private final NFastArrayList<IPrimitive<?>> m_list = new NFastArrayList<>();
+
+    private final Map<IPrimitive<?>, Slot> m_slots = new HashMap<>();
+
+    private final QuadTree<Slot> m_tree = new QuadTree<>();
+
+    private final Set<Slot> m_unbounded = new HashSet<>();
+
+    private final List<Slot> m_dirty = new ArrayList<>();
+
+    private boolean m_ordered = true;
+
+    private int m_top;
+
+    private int m_bottom = -1;
+
+    public PrimitiveSpatialIndexStorageEngine() {
+        super(StorageEngineType.PRIMITIVE_SPATIAL_INDEX_STORAGE_ENGINE);
+    }
+
+    protected PrimitiveSpatialIndexStorageEngine(final Object node) {
+        super(StorageEngineType.PRIMITIVE_SPATIAL_INDEX_STORAGE_ENGINE, node);
+    }
+
+    @Override
+    public int size() {
+        return m_list.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return m_list.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        m_list.clear();
+
+        m_slots.clear();
+
+        m_tree.clear();
+
+        m_unbounded.clear();
+
+        m_dirty.clear();
+
+        m_ordered = true;
+
+        m_top = 0;
+
+        m_bottom = -1;
+    }
+
+    @Override
+    public boolean contains(final IPrimitive<?> item) {
+        return m_slots.containsKey(item);
+    }
+
+    @Override
+    public void add(final IPrimitive<?> item) {
+        if (m_slots.containsKey(item)) {
+            return;
+        }
+        final Slot slot = new Slot(item, m_top++);
+
+        m_list.add(item);
+
+        m_slots.put(item, slot);
+
+        invalidate(slot);
+    }
+
+    @Override
+    public void remove(final IPrimitive<?> item) {
+        final Slot slot = m_slots.remove(item);
+
+        if (null != slot) {
+            m_list.remove(item);
+
+            m_tree.remove(slot);
+
+            m_unbounded.remove(slot);
+
+            slot.dirty = false;
+        }
+    }
+
+    @Override
+    public void refresh(final IPrimitive<?> item) {
+        final Slot slot = m_slots.get(item);
+
+        if (null != slot) {
+            invalidate(slot);
+        }
+    }
+
+    @Override
+    public void refresh() {
+        for (Slot slot : m_slots.values()) {
+            invalidate(slot);
+        }
+    }
+
+    @Override
+    public NFastArrayList<IPrimitive<?>> getChildren() {
+        return m_list;
+    }
+
+    @Override
+    public NFastArrayList<IPrimitive<?>> getChildren(final BoundingBox bounds) {
+        if (null == bounds) {
+            return m_list;
+        }
+        index();
+
+        final List<Slot> found = m_tree.query(bounds, new ArrayList<>(m_unbounded));
+
+        if (found.size() == m_list.size()) {
+            return m_list;
+        }
+        if (!m_ordered) {
+            reorder();
+        }
+        Collections.sort(found, (a, b) -> Integer.compare(a.order, b.order));
+
+        final NFastArrayList<IPrimitive<?>> list = new NFastArrayList<>();
+
+        for (Slot slot : found) {
+            list.add(slot.item);
+        }
+        return list;
+    }
+
+    @Override
+    public boolean isSpatiallyIndexed() {
+        return true;
+    }
+
+    @Override
+    public void moveUp(final IPrimitive<?> item) {
+        m_list.moveUp(item);
+
+        m_ordered = false;
+    }
+
+    @Override
+    public void moveDown(final IPrimitive<?> item) {
+        m_list.moveDown(item);
+
+        m_ordered = false;
+    }
+
+    @Override
+    public void moveToTop(final IPrimitive<?> item) {
+        final Slot slot = m_slots.get(item);
+
+        if (null != slot) {
+            m_list.moveToTop(item);
+
+            slot.order = m_top++;
+        }
+    }
+
+    @Override
+    public void moveToBottom(final IPrimitive<?> item) {
+        final Slot slot = m_slots.get(item);
+
+        if (null != slot) {
+            m_list.moveToBottom(item);
+
+            slot.order = m_bottom--;
+        }
+    }
+
+    private void invalidate(final Slot slot) {
+        if (!slot.dirty) {
+            slot.dirty = true;
+
+            m_dirty.add(slot);
+        }
+    }
+
+    private void index() {
+        final int size = m_dirty.size();
+
+        for (int i = 0; i < size; i++) {
+            final Slot slot = m_dirty.get(i);
+
+            if (slot.dirty) {
+                slot.dirty = false;
+
+                final BoundingBox bbox = getBoundingBox(slot.item);
+
+                if (null == bbox) {
+                    m_tree.remove(slot);
+
+                    m_unbounded.add(slot);
+                } else {
+                    m_unbounded.remove(slot);
+
+                    m_tree.put(slot, bbox);
+                }
+            }
+        }
+        m_dirty.clear();
+    }
+
+    private void reorder() {
+        final int size = m_list.size();
+
+        for (int i = 0; i < size; i++) {
+            m_slots.get(m_list.get(i)).order = i;
+        }
+        m_top = size;
+
+        m_bottom = -1;
+
+        m_ordered = true;
+    }
+
+    /**
+     * Primitives with no usable bounding box, like empty groups, are never culled.
+     */
+    private static BoundingBox getBoundingBox(final IPrimitive<?> item) {
+        final BoundingPoints points = item.getBoundingPoints();
+
+        if (null == points) {
+            return null;
+        }
+        final BoundingBox bbox = points.getBoundingBox();
+
+        if ((null == bbox) || !isFinite(bbox.getMinX()) || !isFinite(bbox.getMinY()) || !isFinite(bbox.getMaxX()) || !isFinite(bbox.getMaxY())) {
+            return null;
+        }
+        if ((bbox.getMinX() > bbox.getMaxX()) || (bbox.getMinY() > bbox.getMaxY())) {
+            return null;
+        }
+        return bbox;
+    }
+
+    private static boolean isFinite(final double value) {
+        return !Double.isNaN(value) && !Double.isInfinite(value);
+    }
+
+    private static final class Slot {
+
+        private final IPrimitive<?> item;
+
+        private int order;
+
+        private boolean dirty;
+
+        private Slot(final IPrimitive<?> item, final int order) {
+            this.item = item;
+            this.order = order;
+        }
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+package com.ait.lienzo.client.core.shape.storage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ait.lienzo.client.core.types.BoundingBox;
+
+/**
+ * Region quadtree mapping items to their bounding boxes.
+ * <p>
+ * Every item is kept in the smallest quad fully containing its box, so items of any size can be stored and a
+ * quad holding an item never needs to be split or merged because of it. The root grows as needed, so there are
+ * no world bounds to set up front.
+ *
+ * @param <M> the item type, compared by identity unless it overrides equals.
+ */
+public class QuadTree<M> {
+
+    static final int MAX_ITEMS = 8;
+
+    static final double MIN_SIZE = 16;
+
+    private final Map<M, Item<M>> m_items = new HashMap<>();
+
+    private Quad<M> m_root;
+
+    public int size() {
+        return m_items.size();
+    }
+
+    public boolean isEmpty() {
+        return m_items.isEmpty();
+    }
+
+    public boolean contains(final M value) {
+        return m_items.containsKey(value);
+    }
+
+    public void clear() {
+        m_items.clear();
+
+        m_root = null;
+    }
+
+    /**
+     * Inserts the given value or moves it if already present.
+     */
+    public void put(final M value, final BoundingBox bbox) {
+        put(value, bbox.getMinX(), bbox.getMinY(), bbox.getMaxX(), bbox.getMaxY());
+    }
+
+    public void put(final M value, final double minx, final double miny, final double maxx, final double maxy) {
+        Item<M> item = m_items.get(value);
+
+        if (null != item) {
+            if ((item.minx == minx) && (item.miny == miny) && (item.maxx == maxx) && (item.maxy == maxy)) {
+                return;
+            }
+            unlink(item);
+        } else {
+            item = new Item<>(value);
+
+            m_items.put(value, item);
+        }
+        item.minx = minx;
+        item.miny = miny;
+        item.maxx = maxx;
+        item.maxy = maxy;
+
+        link(item);
+    }
+
+    public boolean remove(final M value) {
+        final Item<M> item = m_items.remove(value);
+
+        if (null == item) {
+            return false;
+        }
+        unlink(item);
+
+        return true;
+    }
+
+    /**
+     * Adds to the result the values whose bounding box intersects the given one, in no particular order.
+     */
+    public <C extends Collection<? super M>> C query(final BoundingBox bounds, final C result) {
+        if (null != m_root) {
+            query(m_root, bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY(), result);
+        }
+        return result;
+    }
+
+    int depth() {
+        return null == m_root ? 0 : m_root.depth();
+    }
+
+    private void link(final Item<M> item) {
+        if (null == m_root) {
+            double size = MIN_SIZE;
+
+            while ((size < (item.maxx - item.minx)) || (size < (item.maxy - item.miny))) {
+                size *= 2;
+            }
+            m_root = new Quad<>(null, item.minx, item.miny, size);
+        }
+        while (!m_root.contains(item)) {
+            grow(item);
+        }
+        Quad<M> quad = m_root;
+
+        while (true) {
+            quad.count++;
+
+            if (null == quad.children) {
+                quad.items.add(item);
+
+                item.quad = quad;
+
+                if ((quad.items.size() > MAX_ITEMS) && ((quad.size / 2) >= MIN_SIZE)) {
+                    split(quad);
+                }
+                return;
+            }
+            final Quad<M> child = quad.children[quad.indexOf(item)];
+
+            if (child.contains(item)) {
+                quad = child;
+            } else {
+                quad.items.add(item);
+
+                item.quad = quad;
+
+                return;
+            }
+        }
+    }
+
+    private void unlink(final Item<M> item) {
+        Quad<M> quad = item.quad;
+
+        quad.items.remove(item);
+
+        item.quad = null;
+
+        Quad<M> merge = null;
+
+        while (null != quad) {
+            quad.count--;
+
+            if ((null != quad.children) && (quad.count <= (MAX_ITEMS / 2))) {
+                merge = quad;
+            }
+            quad = quad.parent;
+        }
+        if (m_root.count == 0) {
+            m_root = null;
+        } else if (null != merge) {
+            merge(merge, merge);
+        }
+    }
+
+    private void grow(final Item<M> item) {
+        final Quad<M> root = m_root;
+
+        final boolean left = item.minx < root.x;
+
+        final boolean up = item.miny < root.y;
+
+        final Quad<M> quad = new Quad<>(null, left ? root.x - root.size : root.x, up ? root.y - root.size : root.y, root.size * 2);
+
+        quad.split();
+
+        quad.children[(left ? 1 : 0) + (up ? 2 : 0)] = root;
+
+        quad.count = root.count;
+
+        root.parent = quad;
+
+        m_root = quad;
+    }
+
+    private void split(final Quad<M> quad) {
+        quad.split();
+
+        final List<Item<M>> items = quad.items;
+
+        quad.items = new ArrayList<>();
+
+        for (Item<M> item : items) {
+            final Quad<M> child = quad.children[quad.indexOf(item)];
+
+            if (child.contains(item)) {
+                child.items.add(item);
+
+                child.count++;
+
+                item.quad = child;
+            } else {
+                quad.items.add(item);
+            }
+        }
+    }
+
+    private void merge(final Quad<M> target, final Quad<M> quad) {
+        if (null != quad.children) {
+            for (Quad<M> child : quad.children) {
+                for (Item<M> item : child.items) {
+                    target.items.add(item);
+
+                    item.quad = target;
+                }
+                merge(target, child);
+            }
+            quad.children = null;
+        }
+    }
+
+    private void query(final Quad<M> quad, final double minx, final double miny, final double maxx, final double maxy, final Collection<? super M> result) {
+        if (quad.count == 0) {
+            return;
+        }
+        if ((minx <= quad.x) && (miny <= quad.y) && (maxx >= (quad.x + quad.size)) && (maxy >= (quad.y + quad.size))) {
+            collect(quad, result);
+
+            return;
+        }
+        for (Item<M> item : quad.items) {
+            if ((item.minx <= maxx) && (item.maxx >= minx) && (item.miny <= maxy) && (item.maxy >= miny)) {
+                result.add(item.value);
+            }
+        }
+        if (null != quad.children) {
+            for (Quad<M> child : quad.children) {
+                if ((child.x <= maxx) && ((child.x + child.size) >= minx) && (child.y <= maxy) && ((child.y + child.size) >= miny)) {
+                    query(child, minx, miny, maxx, maxy, result);
+                }
+            }
+        }
+    }
+
+    private void collect(final Quad<M> quad, final Collection<? super M> result) {
+        for (Item<M> item : quad.items) {
+            result.add(item.value);
+        }
+        if (null != quad.children) {
+            for (Quad<M> child : quad.children) {
+                if (child.count > 0) {
+                    collect(child, result);
+                }
+            }
+        }
+    }
+
+    private static final class Item<M> {
+
+        private final M value;
+
+        private double minx;
+
+        private double miny;
+
+        private double maxx;
+
+        private double maxy;
+
+        private Quad<M> quad;
+
+        private Item(final M value) {
+            this.value = value;
+        }
+    }
+
+    private static final class Quad<M> {
+
+        private final double x;
+
+        private final double y;
+
+        private final double size;
+
+        private Quad<M> parent;
+
+        private Quad<M>[] children;
+
+        private List<Item<M>> items = new ArrayList<>();
+
+        private int count;
+
+        private Quad(final Quad<M> parent, final double x, final double y, final double size) {
+            this.parent = parent;
+            this.x = x;
+            this.y = y;
+            this.size = size;
+        }
+
+        private boolean contains(final Item<M> item) {
+            return (item.minx >= x) && (item.miny >= y) && (item.maxx <= (x + size)) && (item.maxy <= (y + size));
+        }
+
+        private int indexOf(final Item<M> item) {
+            final double half = size / 2;
+
+            return (item.minx >= (x + half) ? 1 : 0) + (item.miny >= (y + half) ? 2 : 0);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void split() {
+            final double half = size / 2;
+
+            children = new Quad[]{
+                    new Quad<>(this, x, y, half),
+                    new Quad<>(this, x + half, y, half),
+                    new Quad<>(this, x, y + half, half),
+                    new Quad<>(this, x + half, y + half, half)
+            };
+        }
+
+        private int depth() {
+            int depth = 0;
+
+            if (null != children) {
+                for (Quad<M> child : children) {
+                    depth = Math.max(depth, child.depth());
+                }
+            }
+            return depth + 1;
+        }
+    }
+}
@@ -26,6 +26,8 @@ public class StorageEngineType implements IStringValued {
 
     public static final StorageEngineType PRIMITIVE_FAST_ARRAY_STORAGE_ENGINE = new StorageEngineType("PrimitiveFastArrayStorageEngine");
 
+    public static final StorageEngineType PRIMITIVE_SPATIAL_INDEX_STORAGE_ENGINE = new StorageEngineType("PrimitiveSpatialIndexStorageEngine");
+
     private final String m_value;
 
     protected StorageEngineType(final String value) {
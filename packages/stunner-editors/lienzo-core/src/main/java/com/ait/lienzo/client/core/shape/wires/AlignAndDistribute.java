@@ -45,7 +45,8 @@ import com.ait.lienzo.client.core.types.Point2DArray;
  * It's possible to control the style of the guideline when drawn. By using the style setter methods of this class.
  * <p>
  * The circa property controls the number of pixes to search from the current position. For instance a circle of 4, will search 4 pixels
- * above and 4 pixels below the current y position, as well as 4 pixels to the left and 4 pixels to the right. As soon as the first index has a match, the search stops and snapping is done to that offset.
+ * above and 4 pixels below the current y position, as well as 4 pixels to the left and 4 pixels to the right. Snapping is done to the nearest offset any index has a match at.
+ * Every index keeps its positions sorted, so that nearest match is found with a binary search per index whatever the circa.
  * <p>
  * The implementation is fairly generic and uses shape.getBoundingPoints().getBoundingBox() to do it's work.
  * The reason for getBoundPoints, is that the x/y of a Circle is at the center, where as other shapes are top left - getBoundingPoints normalises this to top left.
@@ -57,29 +58,29 @@ import com.ait.lienzo.client.core.types.Point2DArray;
  */
 public class AlignAndDistribute {
 
-    private Map<Double, LinkedList<AlignAndDistributeControl>> m_leftIndex;
+    private PositionIndex<AlignAndDistributeControl> m_leftIndex;
 
-    private Map<Double, LinkedList<AlignAndDistributeControl>> m_hCenterIndex;
+    private PositionIndex<AlignAndDistributeControl> m_hCenterIndex;
 
-    private Map<Double, LinkedList<AlignAndDistributeControl>> m_rightIndex;
+    private PositionIndex<AlignAndDistributeControl> m_rightIndex;
 
-    private Map<Double, LinkedList<AlignAndDistributeControl>> m_topIndex;
+    private PositionIndex<AlignAndDistributeControl> m_topIndex;
 
-    private Map<Double, LinkedList<AlignAndDistributeControl>> m_vCenterIndex;
+    private PositionIndex<AlignAndDistributeControl> m_vCenterIndex;
 
-    private Map<Double, LinkedList<AlignAndDistributeControl>> m_bottomIndex;
+    private PositionIndex<AlignAndDistributeControl> m_bottomIndex;
 
-    private Map<Double, LinkedList<DistributionEntry>> m_leftDistIndex;
+    private PositionIndex<DistributionEntry> m_leftDistIndex;
 
-    private Map<Double, LinkedList<DistributionEntry>> m_hCenterDistIndex;
+    private PositionIndex<DistributionEntry> m_hCenterDistIndex;
 
-    private Map<Double, LinkedList<DistributionEntry>> m_rightDistIndex;
+    private PositionIndex<DistributionEntry> m_rightDistIndex;
 
-    private Map<Double, LinkedList<DistributionEntry>> m_topDistIndex;
+    private PositionIndex<DistributionEntry> m_topDistIndex;
 
-    private Map<Double, LinkedList<DistributionEntry>> m_vCenterDistIndex;
+    private PositionIndex<DistributionEntry> m_vCenterDistIndex;
 
-    private Map<Double, LinkedList<DistributionEntry>> m_bottomDistIndex;
+    private PositionIndex<DistributionEntry> m_bottomDistIndex;
 
     private DefaultAlignAndDistributeMatchesCallback m_alignmentCallback;
 
@@ -92,23 +93,23 @@ public class AlignAndDistribute {
     protected boolean m_drawGuideLines = true;
 
     public AlignAndDistribute(Layer layer) {
-        m_leftIndex = new HashMap<Double, LinkedList<AlignAndDistributeControl>>();
-        m_hCenterIndex = new HashMap<Double, LinkedList<AlignAndDistributeControl>>();
-        m_rightIndex = new HashMap<Double, LinkedList<AlignAndDistributeControl>>();
+        m_leftIndex = new PositionIndex<AlignAndDistributeControl>();
+        m_hCenterIndex = new PositionIndex<AlignAndDistributeControl>();
+        m_rightIndex = new PositionIndex<AlignAndDistributeControl>();
 
-        m_topIndex = new HashMap<Double, LinkedList<AlignAndDistributeControl>>();
-        m_vCenterIndex = new HashMap<Double, LinkedList<AlignAndDistributeControl>>();
-        m_bottomIndex = new HashMap<Double, LinkedList<AlignAndDistributeControl>>();
+        m_topIndex = new PositionIndex<AlignAndDistributeControl>();
+        m_vCenterIndex = new PositionIndex<AlignAndDistributeControl>();
+        m_bottomIndex = new PositionIndex<AlignAndDistributeControl>();
 
         m_alignmentCallback = new DefaultAlignAndDistributeMatchesCallback(layer);
 
-        m_leftDistIndex = new HashMap<Double, LinkedList<DistributionEntry>>();
-        m_hCenterDistIndex = new HashMap<Double, LinkedList<DistributionEntry>>();
-        m_rightDistIndex = new HashMap<Double, LinkedList<DistributionEntry>>();
+        m_leftDistIndex = new PositionIndex<DistributionEntry>();
+        m_hCenterDistIndex = new PositionIndex<DistributionEntry>();
+        m_rightDistIndex = new PositionIndex<DistributionEntry>();
 
-        m_topDistIndex = new HashMap<Double, LinkedList<DistributionEntry>>();
-        m_vCenterDistIndex = new HashMap<Double, LinkedList<DistributionEntry>>();
-        m_bottomDistIndex = new HashMap<Double, LinkedList<DistributionEntry>>();
+        m_topDistIndex = new PositionIndex<DistributionEntry>();
+        m_vCenterDistIndex = new PositionIndex<DistributionEntry>();
+        m_bottomDistIndex = new PositionIndex<DistributionEntry>();
     }
 
     public static BoundingBox getBoundingBox(IDrawable<?> prim) {
@@ -200,50 +201,20 @@ public class AlignAndDistribute {
         return m_shapes.get(uuid);
     }
 
-    public void addAlignIndexEntry(Map<Double, LinkedList<AlignAndDistributeControl>> index, AlignAndDistributeControl handler, double pos) {
-        double rounded = round(pos);
-
-        LinkedList<AlignAndDistributeControl> bucket = index.get(rounded);
-
-        if (bucket == null) {
-            bucket = new LinkedList<AlignAndDistributeControl>();
-
-            index.put(rounded, bucket);
-        }
-        bucket.add(handler);
+    public void addAlignIndexEntry(PositionIndex<AlignAndDistributeControl> index, AlignAndDistributeControl handler, double pos) {
+        index.add(round(pos), handler);
     }
 
-    public void removeAlignIndexEntry(Map<Double, LinkedList<AlignAndDistributeControl>> index, AlignAndDistributeControl handler, double pos) {
-        double rounded = round(pos);
-
-        LinkedList<AlignAndDistributeControl> bucket = index.get(rounded);
-
-        bucket.remove(handler);
-
-        if (bucket.isEmpty()) {
-            index.remove(rounded);
-        }
+    public void removeAlignIndexEntry(PositionIndex<AlignAndDistributeControl> index, AlignAndDistributeControl handler, double pos) {
+        index.remove(round(pos), handler);
     }
 
-    public void addDistIndexEntry(Map<Double, LinkedList<DistributionEntry>> index, DistributionEntry dist) {
-        LinkedList<DistributionEntry> bucket = index.get(dist.getPoint());
-
-        if (bucket == null) {
-            bucket = new LinkedList<DistributionEntry>();
-
-            index.put(dist.getPoint(), bucket);
-        }
-        bucket.add(dist);
+    public void addDistIndexEntry(PositionIndex<DistributionEntry> index, DistributionEntry dist) {
+        index.add(dist.getPoint(), dist);
     }
 
-    public void removeDistIndexEntry(Map<Double, LinkedList<DistributionEntry>> index, DistributionEntry dist) {
-        LinkedList<DistributionEntry> bucket = index.get(dist.getPoint());
-
-        bucket.remove(dist);
-
-        if (bucket.isEmpty()) {
-            index.remove(dist.getPoint());
-        }
+    public void removeDistIndexEntry(PositionIndex<DistributionEntry> index, DistributionEntry dist) {
+        index.remove(dist.getPoint(), dist);
     }
 
     public void removeDistIndex(AlignAndDistributeControl handler) {
@@ -472,61 +443,26 @@ public class AlignAndDistribute {
         LinkedList<DistributionEntry> vCenterDistList = null;
         LinkedList<DistributionEntry> bottomDistList = null;
 
-        int hOffset = 0;
-        while (hOffset <= m_circa) {
-            leftList = findNearestAlignIndexEntry(m_leftIndex, left + hOffset);
-            hCenterList = findNearestAlignIndexEntry(m_hCenterIndex, hCenter + hOffset);
-            rightList = findNearestAlignIndexEntry(m_rightIndex, right + hOffset);
-
-            leftDistList = findNearestDistIndexEntry(m_leftDistIndex, right + hOffset);
-            hCenterDistList = findNearestDistIndexEntry(m_hCenterDistIndex, hCenter + hOffset);
-            rightDistList = findNearestDistIndexEntry(m_rightDistIndex, left + hOffset);
-
-            if (matchFound(leftList, hCenterList, rightList, leftDistList, hCenterDistList, rightDistList)) {
-                break;
-            }
-
-            leftList = findNearestAlignIndexEntry(m_leftIndex, left - hOffset);
-            hCenterList = findNearestAlignIndexEntry(m_hCenterIndex, hCenter - hOffset);
-            rightList = findNearestAlignIndexEntry(m_rightIndex, right - hOffset);
+        int hOffset = findNearestOffset(m_leftIndex, left, m_hCenterIndex, hCenter, m_rightIndex, right, m_leftDistIndex, right, m_hCenterDistIndex, hCenter, m_rightDistIndex, left);
+        if (hOffset <= m_circa) {
+            leftList = m_leftIndex.get(round(left + hOffset));
+            hCenterList = m_hCenterIndex.get(round(hCenter + hOffset));
+            rightList = m_rightIndex.get(round(right + hOffset));
 
-            leftDistList = findNearestDistIndexEntry(m_leftDistIndex, right - hOffset);
-            hCenterDistList = findNearestDistIndexEntry(m_hCenterDistIndex, hCenter - hOffset);
-            rightDistList = findNearestDistIndexEntry(m_rightDistIndex, left - hOffset);
-            if (matchFound(leftList, hCenterList, rightList, leftDistList, hCenterDistList, rightDistList)) {
-                hOffset = -hOffset;
-                break;
-            }
-            hOffset++;
+            leftDistList = m_leftDistIndex.get(round(right + hOffset));
+            hCenterDistList = m_hCenterDistIndex.get(round(hCenter + hOffset));
+            rightDistList = m_rightDistIndex.get(round(left + hOffset));
         }
 
-        int vOffset = 0;
-        while (vOffset <= m_circa) {
-            topList = findNearestAlignIndexEntry(m_topIndex, top + vOffset);
-            vCenterList = findNearestAlignIndexEntry(m_vCenterIndex, vCenter + vOffset);
-            bottomList = findNearestAlignIndexEntry(m_bottomIndex, bottom + vOffset);
+        int vOffset = findNearestOffset(m_topIndex, top, m_vCenterIndex, vCenter, m_bottomIndex, bottom, m_topDistIndex, bottom, m_vCenterDistIndex, vCenter, m_bottomDistIndex, top);
+        if (vOffset <= m_circa) {
+            topList = m_topIndex.get(round(top + vOffset));
+            vCenterList = m_vCenterIndex.get(round(vCenter + vOffset));
+            bottomList = m_bottomIndex.get(round(bottom + vOffset));
 
-            topDistList = findNearestDistIndexEntry(m_topDistIndex, bottom + vOffset);
-            vCenterDistList = findNearestDistIndexEntry(m_vCenterDistIndex, vCenter + vOffset);
-            bottomDistList = findNearestDistIndexEntry(m_bottomDistIndex, top + vOffset);
-
-            if (matchFound(topList, vCenterList, bottomList, topDistList, vCenterDistList, bottomDistList)) {
-                break;
-            }
-
-            topList = findNearestAlignIndexEntry(m_topIndex, top - vOffset);
-            vCenterList = findNearestAlignIndexEntry(m_vCenterIndex, vCenter - vOffset);
-            bottomList = findNearestAlignIndexEntry(m_bottomIndex, bottom - vOffset);
-
-            topDistList = findNearestDistIndexEntry(m_topDistIndex, bottom - vOffset);
-            vCenterDistList = findNearestDistIndexEntry(m_vCenterDistIndex, vCenter - vOffset);
-            bottomDistList = findNearestDistIndexEntry(m_bottomDistIndex, top - vOffset);
-
-            if (matchFound(topList, vCenterList, bottomList, topDistList, vCenterDistList, bottomDistList)) {
-                vOffset = -vOffset;
-                break;
-            }
-            vOffset++;
+            topDistList = m_topDistIndex.get(round(bottom + vOffset));
+            vCenterDistList = m_vCenterDistIndex.get(round(vCenter + vOffset));
+            bottomDistList = m_bottomDistIndex.get(round(top + vOffset));
         }
 
         AlignAndDistributeMatches matches;
@@ -545,16 +481,32 @@ public class AlignAndDistribute {
         return false;
     }
 
-    private static LinkedList<AlignAndDistributeControl> findNearestAlignIndexEntry(Map<Double, LinkedList<AlignAndDistributeControl>> map, double pos) {
-        double rounded = Math.round(pos);
-        LinkedList<AlignAndDistributeControl> indexEntries = map.get(rounded);
-        return indexEntries;
+    /**
+     * Returns the offset, within the circa, of the nearest position any of the given indexes has a match at, preferring
+     * the positive one when both are as near, or circa + 1 if there is none.
+     */
+    private int findNearestOffset(PositionIndex<?> index1, double pos1, PositionIndex<?> index2, double pos2, PositionIndex<?> index3, double pos3, PositionIndex<?> index4, double pos4, PositionIndex<?> index5, double pos5, PositionIndex<?> index6, double pos6) {
+        int offset = m_circa + 1;
+        offset = findNearestOffset(index1, pos1, offset);
+        offset = findNearestOffset(index2, pos2, offset);
+        offset = findNearestOffset(index3, pos3, offset);
+        offset = findNearestOffset(index4, pos4, offset);
+        offset = findNearestOffset(index5, pos5, offset);
+        offset = findNearestOffset(index6, pos6, offset);
+        return offset;
     }
 
-    private static LinkedList<DistributionEntry> findNearestDistIndexEntry(Map<Double, LinkedList<DistributionEntry>> map, double pos) {
-        double rounded = Math.round(pos);
-        LinkedList<DistributionEntry> indexEntries = map.get(rounded);
-        return indexEntries;
+    private int findNearestOffset(PositionIndex<?> index, double pos, int offset) {
+        double rounded = round(pos);
+        double nearest = index.nearest(rounded, m_circa);
+        if (Double.isNaN(nearest)) {
+            return offset;
+        }
+        int found = (int) (nearest - rounded);
+        if (Math.abs(found) < Math.abs(offset) || (Math.abs(found) == Math.abs(offset) && found > offset)) {
+            return found;
+        }
+        return offset;
     }
 
     private static final EmptyAlignAndDistributeMatches emptyAlignedMatches = new EmptyAlignAndDistributeMatches();
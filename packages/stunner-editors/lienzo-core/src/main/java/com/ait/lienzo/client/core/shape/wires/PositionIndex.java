@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+
+package com.ait.lienzo.client.core.shape.wires;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+
+/**
+ * Buckets of values keyed by position, with the positions kept sorted in a primitive array so the position nearest
+ * to a given one is found with a binary search instead of probing every position around it.
+ * <p>
+ * Positions are compared exactly, callers round them as needed.
+ *
+ * @param <T> the value type.
+ */
+public class PositionIndex<T> {
+
+    private double[] m_positions = new double[16];
+
+    @SuppressWarnings("unchecked")
+    private LinkedList<T>[] m_buckets = new LinkedList[16];
+
+    private int m_size;
+
+    /**
+     * Returns the number of distinct positions.
+     */
+    public int size() {
+        return m_size;
+    }
+
+    public boolean isEmpty() {
+        return m_size == 0;
+    }
+
+    public void add(final double pos, final T value) {
+        int i = indexOf(pos);
+
+        if (i < 0) {
+            i = -(i + 1);
+
+            if (m_size == m_positions.length) {
+                m_positions = Arrays.copyOf(m_positions, m_size * 2);
+
+                m_buckets = Arrays.copyOf(m_buckets, m_size * 2);
+            }
+            System.arraycopy(m_positions, i, m_positions, i + 1, m_size - i);
+
+            System.arraycopy(m_buckets, i, m_buckets, i + 1, m_size - i);
+
+            m_positions[i] = pos;
+
+            m_buckets[i] = new LinkedList<T>();
+
+            m_size++;
+        }
+        m_buckets[i].add(value);
+    }
+
+    public boolean remove(final double pos, final T value) {
+        final int i = indexOf(pos);
+
+        if (i < 0) {
+            return false;
+        }
+        final LinkedList<T> bucket = m_buckets[i];
+
+        final boolean removed = bucket.remove(value);
+
+        if (bucket.isEmpty()) {
+            m_size--;
+
+            System.arraycopy(m_positions, i + 1, m_positions, i, m_size - i);
+
+            System.arraycopy(m_buckets, i + 1, m_buckets, i, m_size - i);
+
+            m_buckets[m_size] = null;
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the values at the given position, or null if there are none.
+     */
+    public LinkedList<T> get(final double pos) {
+        final int i = indexOf(pos);
+
+        return i < 0 ? null : m_buckets[i];
+    }
+
+    /**
+     * Returns the indexed position nearest to the given one and no further than the given distance, the greater
+     * one when two are as near, or NaN if there is none.
+     */
+    public double nearest(final double pos, final double distance) {
+        final int i = indexOf(pos);
+
+        if (i >= 0) {
+            return pos;
+        }
+        final int above = -(i + 1);
+
+        double nearest = Double.NaN;
+
+        double best = distance;
+
+        if (above < m_size) {
+            final double d = m_positions[above] - pos;
+
+            if (d <= best) {
+                nearest = m_positions[above];
+
+                best = d;
+            }
+        }
+        if (above > 0) {
+            final double d = pos - m_positions[above - 1];
+
+            if (d < best || (Double.isNaN(nearest) && d <= best)) {
+                nearest = m_positions[above - 1];
+            }
+        }
+        return nearest;
+    }
+
+    public void clear() {
+        Arrays.fill(m_buckets, 0, m_size, null);
+
+        m_size = 0;
+    }
+
+    private int indexOf(final double pos) {
+        return Arrays.binarySearch(m_positions, 0, m_size, pos);
+    }
+}
@@ -32,10 +32,29 @@ import com.ait.lienzo.client.core.shape.wires.handlers.WiresLayerIndex;
 import com.ait.lienzo.client.core.shape.wires.handlers.WiresShapeControl;
 import com.ait.lienzo.client.core.shape.wires.handlers.WiresShapeHighlight;
 import com.ait.lienzo.client.core.shape.wires.picker.ColorMapBackedPicker;
+import com.ait.lienzo.client.core.shape.wires.picker.GeometryBackedPicker;
 import com.ait.lienzo.client.core.util.ScratchPad;
 
 public class WiresControlFactoryImpl implements WiresControlFactory {
 
+    private boolean geometryIndexEnabled;
+
+    private WiresManager geometryPickerManager;
+
+    private GeometryBackedPicker geometryPicker;
+
+    /**
+     * Makes {@link #newIndex(WiresManager)} find shapes by testing their paths instead of rendering them into the
+     * layer's scratch pad, which is much cheaper to build on layers with many shapes.
+     */
+    public void setGeometryIndexEnabled(final boolean geometryIndexEnabled) {
+        this.geometryIndexEnabled = geometryIndexEnabled;
+    }
+
+    public boolean isGeometryIndexEnabled() {
+        return geometryIndexEnabled;
+    }
+
     @Override
     public WiresShapeControl newShapeControl(WiresShape shape,
                                              WiresManager wiresManager) {
@@ -55,14 +74,31 @@ public class WiresControlFactoryImpl implements WiresControlFactory {
 
     @Override
     public WiresLayerIndex newIndex(WiresManager manager) {
-        final ScratchPad scratchPad = manager.getLayer().getLayer().getScratchPad();
+        if (geometryIndexEnabled) {
+            return new WiresGeometryIndex(getGeometryPicker(manager));
+        }
         final ColorMapBackedPicker.PickerOptions pickerOptions =
                 new ColorMapBackedPicker.PickerOptions(true,
                                                        manager.getDockingAcceptor().getHotspotSize());
+        final ScratchPad scratchPad = manager.getLayer().getLayer().getScratchPad();
         return new WiresColorMapIndex(new ColorMapBackedPicker(scratchPad,
                                                                pickerOptions));
     }
 
+    /**
+     * The geometry picker is kept along with its manager, so the indexes built on every drag reuse the shapes already
+     * indexed instead of starting from scratch.
+     */
+    private GeometryBackedPicker getGeometryPicker(final WiresManager manager) {
+        final double hotspotSize = manager.getDockingAcceptor().getHotspotSize();
+        if ((manager != geometryPickerManager) || (geometryPicker.getPickerOptions().getHotspotWidth() != hotspotSize)) {
+            geometryPickerManager = manager;
+            geometryPicker = new GeometryBackedPicker(new ColorMapBackedPicker.PickerOptions(true,
+                                                                                            hotspotSize));
+        }
+        return geometryPicker;
+    }
+
     @Override
     public WiresConnectorControl newConnectorControl(WiresConnector connector,
                                                      WiresManager wiresManager) {
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+
+package com.ait.lienzo.client.core.shape.wires.handlers.impl;
+
+import com.ait.lienzo.client.core.shape.wires.PickerPart;
+import com.ait.lienzo.client.core.shape.wires.WiresContainer;
+import com.ait.lienzo.client.core.shape.wires.WiresLayer;
+import com.ait.lienzo.client.core.shape.wires.handlers.WiresLayerIndex;
+import com.ait.lienzo.client.core.shape.wires.picker.GeometryBackedPicker;
+import com.ait.lienzo.tools.client.collection.NFastArrayList;
+
+/**
+ * A {@link WiresLayerIndex} backed by a {@link GeometryBackedPicker} which is shared by all the indexes of a layer,
+ * so building an index only updates the shapes which changed since the previous build. The shapes to exclude are
+ * kept by every index and skipped on lookup, instead of leaving them out of the shared picker.
+ */
+public class WiresGeometryIndex implements WiresLayerIndex {
+
+    private final GeometryBackedPicker picker;
+
+    private final NFastArrayList<WiresContainer> shapesToSkip = new NFastArrayList<>();
+
+    public WiresGeometryIndex(final GeometryBackedPicker picker) {
+        this.picker = picker;
+    }
+
+    @Override
+    public WiresLayerIndex exclude(final WiresContainer shape) {
+        shapesToSkip.add(shape);
+        return this;
+    }
+
+    @Override
+    public WiresLayerIndex build(final WiresLayer layer) {
+        picker.build(layer.getChildShapes());
+        return this;
+    }
+
+    @Override
+    public PickerPart findShapeAt(final int x,
+                                  final int y) {
+        return picker.findShapeAt(x, y, shapesToSkip);
+    }
+
+    /**
+     * Only clears the shapes excluded from this index, the shared picker is kept to be updated by the next build.
+     */
+    @Override
+    public void clear() {
+        shapesToSkip.clear();
+    }
+}
@@ -83,7 +83,7 @@ public class WiresShapeHighlightImpl implements WiresShapeHighlight<PickerPart.S
             parent.getPath().setStrokeAlpha(0.8);
             parent.getPath().setStrokeWidth(m_priorSize > 0 ? m_priorSize * 2.5 : 3d);
             this.parent = parent;
-            drawLayer();
+            damageLayer();
         }
     }
 
@@ -100,7 +100,7 @@ public class WiresShapeHighlightImpl implements WiresShapeHighlight<PickerPart.S
             m_path.setFillColor((String) null);
             parent.getGroup().getOverLayer().add(m_path);
             this.parent = parent;
-            drawOverLayer();
+            damageOverLayer();
         }
     }
 
@@ -112,21 +112,21 @@ public class WiresShapeHighlightImpl implements WiresShapeHighlight<PickerPart.S
 
     private void restoreBody() {
         if (isBodyHighlight()) {
+            damageLayer();
             parent.getPath().setStrokeColor(m_priorColor);
             parent.getPath().setStrokeAlpha(getPriorAlpha());
             parent.getPath().setStrokeWidth(m_priorSize);
             m_priorColor = null;
             m_priorSize = null;
             m_priorAlpha = null;
-            drawLayer();
         }
     }
 
     private void restoreBorder() {
         if (null != m_path) {
+            damageOverLayer();
             m_path.removeFromParent();
             m_path = null;
-            drawOverLayer();
         }
     }
 
@@ -138,15 +138,15 @@ public class WiresShapeHighlightImpl implements WiresShapeHighlight<PickerPart.S
         return null != m_priorAlpha ? m_priorAlpha : 0d;
     }
 
-    private void drawLayer() {
+    private void damageLayer() {
         if (null != parent) {
-            parent.getGroup().getLayer().batch();
+            parent.getGroup().getLayer().damage(parent.getPath());
         }
     }
 
-    private void drawOverLayer() {
+    private void damageOverLayer() {
         if (null != parent) {
-            parent.getGroup().getOverLayer().batch();
+            parent.getGroup().getOverLayer().damage(m_path);
         }
     }
 }
@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+
+package com.ait.lienzo.client.core.shape.wires.picker;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dynamic bounding volume hierarchy mapping items to their bounding boxes.
+ * <p>
+ * Leaves are inserted next to the sibling that least grows the tree perimeter and the tree is kept balanced
+ * with rotations on the way up, so items can be added, moved and removed one at a time while point queries
+ * only visit the branches whose boxes contain the point.
+ *
+ * @param <M> the item type, compared by identity unless it overrides equals.
+ */
+public class BoundingVolumeHierarchy<M> {
+
+    private final Map<M, Volume<M>> m_leaves = new HashMap<>();
+
+    private Volume<M> m_root;
+
+    public int size() {
+        return m_leaves.size();
+    }
+
+    public boolean isEmpty() {
+        return m_leaves.isEmpty();
+    }
+
+    public boolean contains(final M value) {
+        return m_leaves.containsKey(value);
+    }
+
+    public void clear() {
+        m_leaves.clear();
+
+        m_root = null;
+    }
+
+    /**
+     * Inserts the given value or moves it if already present.
+     */
+    public void put(final M value, final double minx, final double miny, final double maxx, final double maxy) {
+        Volume<M> leaf = m_leaves.get(value);
+
+        if (null != leaf) {
+            if ((leaf.minx == minx) && (leaf.miny == miny) && (leaf.maxx == maxx) && (leaf.maxy == maxy)) {
+                return;
+            }
+            unlink(leaf);
+        } else {
+            leaf = new Volume<>(value);
+
+            m_leaves.put(value, leaf);
+        }
+        leaf.minx = minx;
+        leaf.miny = miny;
+        leaf.maxx = maxx;
+        leaf.maxy = maxy;
+
+        link(leaf);
+    }
+
+    public boolean remove(final M value) {
+        final Volume<M> leaf = m_leaves.remove(value);
+
+        if (null == leaf) {
+            return false;
+        }
+        unlink(leaf);
+
+        return true;
+    }
+
+    /**
+     * Adds to the result the values whose bounding box contains the given point, in no particular order.
+     */
+    public <C extends Collection<? super M>> C query(final double x, final double y, final C result) {
+        if (null == m_root) {
+            return result;
+        }
+        final Deque<Volume<M>> stack = new ArrayDeque<>();
+
+        stack.push(m_root);
+
+        while (!stack.isEmpty()) {
+            final Volume<M> volume = stack.pop();
+
+            if ((x < volume.minx) || (x > volume.maxx) || (y < volume.miny) || (y > volume.maxy)) {
+                continue;
+            }
+            if (volume.isLeaf()) {
+                result.add(volume.value);
+            } else {
+                stack.push(volume.left);
+
+                stack.push(volume.right);
+            }
+        }
+        return result;
+    }
+
+    int height() {
+        return null == m_root ? 0 : m_root.height + 1;
+    }
+
+    private void link(final Volume<M> leaf) {
+        if (null == m_root) {
+            m_root = leaf;
+
+            leaf.parent = null;
+
+            return;
+        }
+        Volume<M> sibling = m_root;
+
+        while (!sibling.isLeaf()) {
+            final double perimeter = sibling.perimeter();
+
+            final double combined = perimeter(sibling, leaf);
+
+            // cost of pairing the leaf with this volume, and what going further down adds to every ancestor
+            final double cost = 2 * combined;
+
+            final double inherited = 2 * (combined - perimeter);
+
+            final double left = cost(sibling.left, leaf) + inherited;
+
+            final double right = cost(sibling.right, leaf) + inherited;
+
+            if ((cost < left) && (cost < right)) {
+                break;
+            }
+            sibling = (left < right) ? sibling.left : sibling.right;
+        }
+        final Volume<M> parent = sibling.parent;
+
+        final Volume<M> branch = new Volume<>(null);
+
+        branch.parent = parent;
+
+        branch.left = sibling;
+
+        branch.right = leaf;
+
+        sibling.parent = branch;
+
+        leaf.parent = branch;
+
+        if (null == parent) {
+            m_root = branch;
+        } else {
+            parent.replace(sibling, branch);
+        }
+        refit(branch);
+    }
+
+    private void unlink(final Volume<M> leaf) {
+        final Volume<M> parent = leaf.parent;
+
+        leaf.parent = null;
+
+        if (null == parent) {
+            m_root = null;
+
+            return;
+        }
+        final Volume<M> sibling = (parent.left == leaf) ? parent.right : parent.left;
+
+        final Volume<M> grandparent = parent.parent;
+
+        sibling.parent = grandparent;
+
+        if (null == grandparent) {
+            m_root = sibling;
+        } else {
+            grandparent.replace(parent, sibling);
+
+            refit(grandparent);
+        }
+    }
+
+    private void refit(Volume<M> volume) {
+        while (null != volume) {
+            volume = balance(volume);
+
+            volume.fit();
+
+            volume = volume.parent;
+        }
+    }
+
+    /**
+     * Rotates the taller grandchild up when the children heights differ by more than one, returning the volume
+     * now at the given one's place.
+     */
+    private Volume<M> balance(final Volume<M> a) {
+        if (a.isLeaf() || (a.height < 2)) {
+            return a;
+        }
+        final int skew = a.right.height - a.left.height;
+
+        if (skew > 1) {
+            return rotate(a, a.right, a.left);
+        }
+        if (skew < -1) {
+            return rotate(a, a.left, a.right);
+        }
+        return a;
+    }
+
+    private Volume<M> rotate(final Volume<M> a, final Volume<M> up, final Volume<M> other) {
+        final Volume<M> f = up.left;
+
+        final Volume<M> g = up.right;
+
+        final Volume<M> parent = a.parent;
+
+        up.parent = parent;
+
+        if (null == parent) {
+            m_root = up;
+        } else {
+            parent.replace(a, up);
+        }
+        final Volume<M> keep = (f.height > g.height) ? f : g;
+
+        final Volume<M> move = (keep == f) ? g : f;
+
+        up.left = a;
+
+        up.right = keep;
+
+        a.parent = up;
+
+        a.left = other;
+
+        a.right = move;
+
+        move.parent = a;
+
+        a.fit();
+
+        up.fit();
+
+        return up;
+    }
+
+    private static double cost(final Volume<?> child, final Volume<?> leaf) {
+        final double combined = perimeter(child, leaf);
+
+        return child.isLeaf() ? combined : combined - child.perimeter();
+    }
+
+    private static double perimeter(final Volume<?> a, final Volume<?> b) {
+        return (Math.max(a.maxx, b.maxx) - Math.min(a.minx, b.minx)) + (Math.max(a.maxy, b.maxy) - Math.min(a.miny, b.miny));
+    }
+
+    private static final class Volume<M> {
+
+        private final M value;
+
+        private double minx;
+
+        private double miny;
+
+        private double maxx;
+
+        private double maxy;
+
+        private int height;
+
+        private Volume<M> parent;
+
+        private Volume<M> left;
+
+        private Volume<M> right;
+
+        private Volume(final M value) {
+            this.value = value;
+        }
+
+        private boolean isLeaf() {
+            return null == left;
+        }
+
+        private double perimeter() {
+            return (maxx - minx) + (maxy - miny);
+        }
+
+        private void replace(final Volume<M> child, final Volume<M> with) {
+            if (left == child) {
+                left = with;
+            } else {
+                right = with;
+            }
+        }
+
+        private void fit() {
+            height = Math.max(left.height, right.height) + 1;
+
+            minx = Math.min(left.minx, right.minx);
+            miny = Math.min(left.miny, right.miny);
+            maxx = Math.max(left.maxx, right.maxx);
+            maxy = Math.max(left.maxy, right.maxy);
+        }
+    }
+}
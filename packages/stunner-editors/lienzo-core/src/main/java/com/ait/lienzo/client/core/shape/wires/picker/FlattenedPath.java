@@ -0,0 +1,374 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+
+package com.ait.lienzo.client.core.shape.wires.picker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.ait.lienzo.client.core.shape.MultiPath;
+import com.ait.lienzo.client.core.types.PathPartEntryJSO;
+import com.ait.lienzo.client.core.types.PathPartList;
+import com.ait.lienzo.client.core.types.Point2D;
+import com.ait.lienzo.tools.client.collection.NFastArrayList;
+
+/**
+ * The outline of a {@link MultiPath} as polylines in layer coordinates, with curves and arcs flattened, for exact
+ * point containment tests. Paths are interpreted the same way {@link com.ait.lienzo.client.core.shape.wires.BackingColorMapUtils}
+ * draws them into the color map: at the path computed location, ignoring any scale or rotation, with every path part list
+ * filled on its own.
+ */
+final class FlattenedPath {
+
+    static final int CURVE_SEGMENTS = 16;
+
+    static final double ARC_STEP = Math.PI / 16;
+
+    private final List<Polyline> m_lines = new ArrayList<>();
+
+    private FlattenedPath() {
+    }
+
+    static FlattenedPath of(final MultiPath path) {
+        final FlattenedPath flat = new FlattenedPath();
+
+        final NFastArrayList<PathPartList> lists = path.getActualPathPartListArray();
+
+        if (null == lists) {
+            return flat;
+        }
+        final Point2D location = path.getComputedLocation();
+
+        for (int i = 0; i < lists.size(); i++) {
+            flat.add(lists.get(i), i, location.getX(), location.getY());
+        }
+        return flat;
+    }
+
+    /**
+     * Returns true if the point is inside the area filled by the path, using the non-zero winding rule of the canvas.
+     */
+    boolean isInside(final double x, final double y) {
+        int group = -1;
+
+        int winding = 0;
+
+        for (Polyline line : m_lines) {
+            if (line.group != group) {
+                if (winding != 0) {
+                    return true;
+                }
+                group = line.group;
+
+                winding = 0;
+            }
+            winding += line.winding(x, y);
+        }
+        return winding != 0;
+    }
+
+    /**
+     * Returns true if the point is on a stroke of the given width along the path.
+     */
+    boolean isOnOutline(final double x, final double y, final double width) {
+        if (width <= 0) {
+            return false;
+        }
+        final double r2 = (width / 2) * (width / 2);
+
+        for (Polyline line : m_lines) {
+            if (line.distanceSq(x, y) <= r2) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void add(final PathPartList list, final int group, final double offx, final double offy) {
+        // the color map starts every list with a move to the location, then closes the last sub path if none was
+        Polyline line = start(group, offx, offy);
+
+        boolean closed = false;
+
+        for (int i = 0; i < list.size(); i++) {
+            final PathPartEntryJSO entry = list.get(i);
+
+            final double[] p = entry.getPoints();
+
+            switch (entry.getCommand()) {
+                case PathPartEntryJSO.MOVETO_ABSOLUTE:
+                    line = start(group, p[0] + offx, p[1] + offy);
+                    break;
+                case PathPartEntryJSO.LINETO_ABSOLUTE:
+                    line.add(p[0] + offx, p[1] + offy);
+                    break;
+                case PathPartEntryJSO.CLOSE_PATH_PART:
+                    line.closed = true;
+
+                    closed = true;
+
+                    line = start(group, line.x(0), line.y(0));
+                    break;
+                case PathPartEntryJSO.CANVAS_ARCTO_ABSOLUTE:
+                    arcTo(line, p[0] + offx, p[1] + offy, p[2] + offx, p[3] + offy, p[4]);
+                    break;
+                case PathPartEntryJSO.BEZIER_CURVETO_ABSOLUTE:
+                    curveTo(line, p[0] + offx, p[1] + offy, p[2] + offx, p[3] + offy, p[4] + offx, p[5] + offy);
+                    break;
+                case PathPartEntryJSO.QUADRATIC_CURVETO_ABSOLUTE:
+                    quadraticTo(line, p[0] + offx, p[1] + offy, p[2] + offx, p[3] + offy);
+                    break;
+            }
+        }
+        if (!closed) {
+            line.closed = true;
+        }
+    }
+
+    private Polyline start(final int group, final double x, final double y) {
+        final Polyline line = new Polyline(group);
+
+        line.add(x, y);
+
+        m_lines.add(line);
+
+        return line;
+    }
+
+    private static void curveTo(final Polyline line, final double x1, final double y1, final double x2, final double y2, final double x3, final double y3) {
+        final double x0 = line.lastX();
+
+        final double y0 = line.lastY();
+
+        for (int i = 1; i <= CURVE_SEGMENTS; i++) {
+            final double t = (double) i / CURVE_SEGMENTS;
+
+            final double u = 1 - t;
+
+            final double a = u * u * u;
+
+            final double b = 3 * u * u * t;
+
+            final double c = 3 * u * t * t;
+
+            final double d = t * t * t;
+
+            line.add((a * x0) + (b * x1) + (c * x2) + (d * x3), (a * y0) + (b * y1) + (c * y2) + (d * y3));
+        }
+    }
+
+    private static void quadraticTo(final Polyline line, final double x1, final double y1, final double x2, final double y2) {
+        final double x0 = line.lastX();
+
+        final double y0 = line.lastY();
+
+        for (int i = 1; i <= CURVE_SEGMENTS; i++) {
+            final double t = (double) i / CURVE_SEGMENTS;
+
+            final double u = 1 - t;
+
+            line.add((u * u * x0) + (2 * u * t * x1) + (t * t * x2), (u * u * y0) + (2 * u * t * y1) + (t * t * y2));
+        }
+    }
+
+    /**
+     * Follows the canvas arcTo: a line to the point where the circle of the given radius touches the line from the
+     * current point to (x1, y1), then the short arc to where it touches the line from (x1, y1) to (x2, y2).
+     */
+    private static void arcTo(final Polyline line, final double x1, final double y1, final double x2, final double y2, final double r) {
+        final double x0 = line.lastX();
+
+        final double y0 = line.lastY();
+
+        final double l0 = Math.hypot(x0 - x1, y0 - y1);
+
+        final double l2 = Math.hypot(x2 - x1, y2 - y1);
+
+        if ((r <= 0) || (l0 == 0) || (l2 == 0)) {
+            line.add(x1, y1);
+
+            return;
+        }
+        final double ux = (x0 - x1) / l0;
+
+        final double uy = (y0 - y1) / l0;
+
+        final double vx = (x2 - x1) / l2;
+
+        final double vy = (y2 - y1) / l2;
+
+        final double angle = Math.acos(Math.max(-1, Math.min(1, (ux * vx) + (uy * vy))));
+
+        if ((angle < 1e-9) || (angle > (Math.PI - 1e-9))) {
+            line.add(x1, y1);
+
+            return;
+        }
+        final double tangent = r / Math.tan(angle / 2);
+
+        final double sx = x1 + (ux * tangent);
+
+        final double sy = y1 + (uy * tangent);
+
+        final double ex = x1 + (vx * tangent);
+
+        final double ey = y1 + (vy * tangent);
+
+        final double bx = ux + vx;
+
+        final double by = uy + vy;
+
+        final double bl = Math.hypot(bx, by);
+
+        final double center = r / Math.sin(angle / 2);
+
+        final double cx = x1 + ((bx / bl) * center);
+
+        final double cy = y1 + ((by / bl) * center);
+
+        final double start = Math.atan2(sy - cy, sx - cx);
+
+        double sweep = Math.atan2(ey - cy, ex - cx) - start;
+
+        if (sweep > Math.PI) {
+            sweep -= 2 * Math.PI;
+        } else if (sweep < -Math.PI) {
+            sweep += 2 * Math.PI;
+        }
+        line.add(sx, sy);
+
+        final int steps = Math.max(1, (int) Math.ceil(Math.abs(sweep) / ARC_STEP));
+
+        for (int i = 1; i <= steps; i++) {
+            final double a = start + ((sweep * i) / steps);
+
+            line.add(cx + (r * Math.cos(a)), cy + (r * Math.sin(a)));
+        }
+    }
+
+    private static final class Polyline {
+
+        private final int group;
+
+        private double[] points = new double[8];
+
+        private int size;
+
+        private boolean closed;
+
+        private Polyline(final int group) {
+            this.group = group;
+        }
+
+        private void add(final double x, final double y) {
+            if (size + 2 > points.length) {
+                points = Arrays.copyOf(points, points.length * 2);
+            }
+            points[size++] = x;
+            points[size++] = y;
+        }
+
+        private double x(final int i) {
+            return points[i * 2];
+        }
+
+        private double y(final int i) {
+            return points[(i * 2) + 1];
+        }
+
+        private double lastX() {
+            return points[size - 2];
+        }
+
+        private double lastY() {
+            return points[size - 1];
+        }
+
+        /**
+         * Winding number of the polyline around the point, always closed as filling closes every sub path.
+         */
+        private int winding(final double x, final double y) {
+            final int count = size / 2;
+
+            int winding = 0;
+
+            for (int i = 0; i < count; i++) {
+                final int j = (i + 1) % count;
+
+                final double x0 = x(i);
+                final double y0 = y(i);
+                final double x1 = x(j);
+                final double y1 = y(j);
+
+                if (y0 <= y) {
+                    if ((y1 > y) && (side(x0, y0, x1, y1, x, y) > 0)) {
+                        winding++;
+                    }
+                } else if ((y1 <= y) && (side(x0, y0, x1, y1, x, y) < 0)) {
+                    winding--;
+                }
+            }
+            return winding;
+        }
+
+        private double distanceSq(final double x, final double y) {
+            final int count = size / 2;
+
+            final int segments = closed ? count : count - 1;
+
+            double best = Double.MAX_VALUE;
+
+            if (count < 2) {
+                return best;
+            }
+            for (int i = 0; i < segments; i++) {
+                final int j = (i + 1) % count;
+
+                best = Math.min(best, segmentDistanceSq(x(i), y(i), x(j), y(j), x, y));
+            }
+            return best;
+        }
+
+        private static double side(final double x0, final double y0, final double x1, final double y1, final double x, final double y) {
+            return ((x1 - x0) * (y - y0)) - ((x - x0) * (y1 - y0));
+        }
+
+        private static double segmentDistanceSq(final double x0, final double y0, final double x1, final double y1, final double x, final double y) {
+            final double dx = x1 - x0;
+
+            final double dy = y1 - y0;
+
+            final double length = (dx * dx) + (dy * dy);
+
+            double t = 0;
+
+            if (length > 0) {
+                t = Math.max(0, Math.min(1, (((x - x0) * dx) + ((y - y0) * dy)) / length));
+            }
+            final double px = x0 + (t * dx) - x;
+
+            final double py = y0 + (t * dy) - y;
+
+            return (px * px) + (py * py);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+
+package com.ait.lienzo.client.core.shape.wires.picker;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.ait.lienzo.client.core.shape.MultiPath;
+import com.ait.lienzo.client.core.shape.wires.PickerPart;
+import com.ait.lienzo.client.core.shape.wires.WiresContainer;
+import com.ait.lienzo.client.core.shape.wires.WiresShape;
+import com.ait.lienzo.client.core.types.BoundingBox;
+import com.ait.lienzo.client.core.types.PathPartList;
+import com.ait.lienzo.client.core.types.Point2D;
+import com.ait.lienzo.tools.client.collection.NFastArrayList;
+
+/**
+ * Finds the same {@link PickerPart} as {@link ColorMapBackedPicker} without drawing anything.
+ * <p>
+ * Building only indexes the bounds of the shapes in a {@link BoundingVolumeHierarchy}, keeping the ones that did not
+ * move since the previous build. Looking up a point then tests the paths of the shapes whose bounds contain it, from
+ * the top most one, and those paths are flattened the first time they are tested.
+ */
+public class GeometryBackedPicker {
+
+    private final BoundingVolumeHierarchy<Entry> m_tree = new BoundingVolumeHierarchy<>();
+
+    private final Map<WiresShape, Entry> m_entries = new HashMap<>();
+
+    private final ColorMapBackedPicker.PickerOptions m_options;
+
+    private int m_build;
+
+    private int m_order;
+
+    public GeometryBackedPicker(final ColorMapBackedPicker.PickerOptions options) {
+        m_options = options;
+    }
+
+    public void build(final NFastArrayList<WiresShape> shapes) {
+        m_build++;
+
+        m_order = 0;
+
+        addShapes(shapes);
+
+        final Iterator<Entry> entries = m_entries.values().iterator();
+
+        while (entries.hasNext()) {
+            final Entry entry = entries.next();
+
+            if (entry.build != m_build) {
+                m_tree.remove(entry);
+
+                entries.remove();
+            }
+        }
+    }
+
+    private void addShapes(final NFastArrayList<WiresShape> shapes) {
+        for (int j = 0; j < shapes.size(); j++) {
+            WiresShape prim = shapes.get(j);
+
+            if (m_options.getShapesToSkip().contains(prim)) {
+                continue;
+            }
+
+            addShape(prim);
+
+            if (prim.getChildShapes() != null && !prim.getChildShapes().isEmpty()) {
+                addShapes(prim.getChildShapes());
+            }
+        }
+    }
+
+    private void addShape(final WiresShape shape) {
+        Entry entry = m_entries.get(shape);
+
+        if (null == entry) {
+            entry = new Entry(shape);
+
+            m_entries.put(shape, entry);
+        }
+        entry.build = m_build;
+
+        entry.order = m_order++;
+
+        entry.path = null;
+
+        final MultiPath multiPath = shape.getPath();
+
+        final NFastArrayList<PathPartList> lists = multiPath.getActualPathPartListArray();
+
+        if ((null == lists) || (lists.isEmpty())) {
+            m_tree.remove(entry);
+
+            return;
+        }
+        final BoundingBox bbox = new BoundingBox();
+
+        for (int i = 0; i < lists.size(); i++) {
+            bbox.addBoundingBox(lists.get(i).getBoundingBox());
+        }
+        final Point2D location = multiPath.getComputedLocation();
+
+        final double margin = getStrokeWidth(shape) / 2;
+
+        m_tree.put(entry,
+                   bbox.getMinX() + location.getX() - margin,
+                   bbox.getMinY() + location.getY() - margin,
+                   bbox.getMaxX() + location.getX() + margin,
+                   bbox.getMaxY() + location.getY() + margin);
+    }
+
+    public PickerPart findShapeAt(int x, int y) {
+        return findShapeAt(x, y, null);
+    }
+
+    /**
+     * Same as {@link #findShapeAt(int, int)} but ignoring the given shapes, and their children, even if they were
+     * indexed. It lets the same picker, built once, serve lookups which skip different shapes.
+     */
+    public PickerPart findShapeAt(int x, int y, final NFastArrayList<WiresContainer> shapesToSkip) {
+        final List<Entry> entries = m_tree.query(x, y, new ArrayList<>());
+
+        entries.sort((a, b) -> Integer.compare(b.order, a.order));
+
+        for (Entry entry : entries) {
+            if ((null != shapesToSkip) && (isSkipped(entry.shape, shapesToSkip))) {
+                continue;
+            }
+            final PickerPart part = entry.findPartAt(x, y);
+
+            if (null != part) {
+                return part;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isSkipped(final WiresShape shape, final NFastArrayList<WiresContainer> shapesToSkip) {
+        for (WiresContainer container = shape; null != container; container = container.getParent()) {
+            if (shapesToSkip.contains(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        m_tree.clear();
+        m_entries.clear();
+    }
+
+    public ColorMapBackedPicker.PickerOptions getPickerOptions() {
+        return m_options;
+    }
+
+    /**
+     * The widest stroke the shape can be picked on, its border hotspot or its own stroke.
+     */
+    private double getStrokeWidth(final WiresShape shape) {
+        final double width = Math.max(shape.getPath().getStrokeWidth(), 0);
+
+        return m_options.isHotspotsEnabled() ? Math.max(width, m_options.getHotspotWidth()) : width;
+    }
+
+    private final class Entry {
+
+        private final WiresShape shape;
+
+        private final PickerPart body;
+
+        private final PickerPart border;
+
+        private FlattenedPath path;
+
+        private int build;
+
+        private int order;
+
+        private Entry(final WiresShape shape) {
+            this.shape = shape;
+            this.body = new PickerPart(shape, PickerPart.ShapePart.BODY);
+            this.border = new PickerPart(shape, PickerPart.ShapePart.BORDER);
+        }
+
+        /**
+         * Matches the color map drawing order, where the border is drawn over the filled body.
+         */
+        private PickerPart findPartAt(final double x, final double y) {
+            if (null == path) {
+                path = FlattenedPath.of(shape.getPath());
+            }
+            if ((m_options.isHotspotsEnabled()) && (path.isOnOutline(x, y, getStrokeWidth(shape)))) {
+                return border;
+            }
+            if ((path.isInside(x, y)) || (path.isOnOutline(x, y, shape.getPath().getStrokeWidth()))) {
+                return body;
+            }
+            return null;
+        }
+    }
+}
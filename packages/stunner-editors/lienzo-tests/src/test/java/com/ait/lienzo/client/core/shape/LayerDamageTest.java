@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+package com.ait.lienzo.client.core.shape;
+
+import com.ait.lienzo.client.core.Context2D;
+import com.ait.lienzo.client.core.types.BoundingBox;
+import com.ait.lienzo.client.core.types.Transform;
+import com.ait.lienzo.test.LienzoMockitoTestRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+@RunWith(LienzoMockitoTestRunner.class)
+public class LayerDamageTest {
+
+    @Mock
+    private Context2D context;
+
+    private Layer layer;
+
+    private Rectangle rect1;
+
+    private Rectangle rect2;
+
+    @Before
+    public void setUp() {
+        layer = spy(new Layer());
+        doReturn(context).when(layer).getContext();
+        layer.setWidth(500);
+        layer.setHeight(400);
+        // Keeps the redraws from being scheduled, the tests draw on their own.
+        layer.doBatchScheduled();
+        rect1 = new Rectangle(50, 50).setX(100).setY(100).setStrokeWidth(2);
+        rect2 = new Rectangle(10, 10).setX(300).setY(200).setStrokeWidth(0);
+        layer.add(rect1);
+        layer.add(rect2);
+    }
+
+    @Test
+    public void testDamageDrawsAreaOnly() {
+        layer.damage(rect1);
+        layer.drawBatched();
+
+        verify(context).rect(96, 96, 58, 58);
+        verify(context).clip();
+        verify(context).clearRect(96, 96, 58, 58);
+        verify(context, never()).clearRect(0, 0, 500, 400);
+    }
+
+    @Test
+    public void testDamagedAreasMerged() {
+        layer.damage(rect1);
+        layer.damage(rect2);
+        layer.drawBatched();
+
+        verify(context).clearRect(96, 96, 216, 116);
+    }
+
+    @Test
+    public void testBatchDrawsAll() {
+        layer.damage(rect1);
+        layer.batch();
+        layer.drawBatched();
+
+        verify(context).clearRect(0, 0, 500, 400);
+        verify(context, never()).clip();
+    }
+
+    @Test
+    public void testDamageResetByDraw() {
+        layer.damage(rect1);
+        layer.draw();
+        layer.drawBatched();
+
+        verify(context, never()).clip();
+        verify(context, never()).clearRect(96, 96, 58, 58);
+    }
+
+    @Test
+    public void testDamageOutsideCanvas() {
+        rect1.setX(1000);
+        layer.damage(rect1);
+        layer.drawBatched();
+
+        verify(context, never()).save();
+        verify(context, never()).clearRect(anyDouble(), anyDouble(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    public void testSelectionLayerDrawnLazily() {
+        clearInvocations(layer);
+        layer.draw();
+        layer.damage(rect1);
+        layer.drawBatched();
+
+        verify(layer, never()).getSelectionLayer();
+    }
+
+    @Test
+    public void testCanvasArea() {
+        assertEquals(BoundingBox.fromDoubles(18, 18, 42, 42),
+                     layer.getCanvasArea(BoundingBox.fromDoubles(10, 10, 20, 20), new Transform().scale(2)));
+        assertEquals(BoundingBox.fromDoubles(0, 388, 12, 400),
+                     layer.getCanvasArea(BoundingBox.fromDoubles(-50, 390.5, 10, 800), null));
+        assertNull(layer.getCanvasArea(BoundingBox.fromDoubles(600, 10, 700, 20), null));
+    }
+}
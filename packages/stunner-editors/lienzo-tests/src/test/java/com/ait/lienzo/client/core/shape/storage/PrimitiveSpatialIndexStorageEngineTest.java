@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+package com.ait.lienzo.client.core.shape.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.ait.lienzo.client.core.shape.Circle;
+import com.ait.lienzo.client.core.shape.Group;
+import com.ait.lienzo.client.core.shape.IPrimitive;
+import com.ait.lienzo.client.core.shape.Layer;
+import com.ait.lienzo.client.core.shape.Rectangle;
+import com.ait.lienzo.client.core.types.BoundingBox;
+import com.ait.lienzo.client.core.types.Point2D;
+import com.ait.lienzo.test.LienzoMockitoTestRunner;
+import com.ait.lienzo.tools.client.collection.NFastArrayList;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(LienzoMockitoTestRunner.class)
+public class PrimitiveSpatialIndexStorageEngineTest {
+
+    private static final BoundingBox LEFT = BoundingBox.fromDoubles(0, 0, 100, 100);
+
+    private static final BoundingBox ALL = BoundingBox.fromDoubles(-1000, -1000, 1000, 1000);
+
+    private PrimitiveSpatialIndexStorageEngine tested;
+
+    private Rectangle rect1;
+
+    private Rectangle rect2;
+
+    private Rectangle rect3;
+
+    @Before
+    public void setUp() {
+        tested = new PrimitiveSpatialIndexStorageEngine();
+        rect1 = new Rectangle(50, 50).setX(0).setY(0);
+        rect2 = new Rectangle(50, 50).setX(200).setY(0);
+        rect3 = new Rectangle(50, 50).setX(400).setY(0);
+    }
+
+    @Test
+    public void testType() {
+        assertEquals(StorageEngineType.PRIMITIVE_SPATIAL_INDEX_STORAGE_ENGINE, tested.getStorageEngineType());
+        assertTrue(tested.isSpatiallyIndexed());
+    }
+
+    @Test
+    public void testGetChildrenInBounds() {
+        tested.add(rect1);
+        tested.add(rect2);
+        tested.add(rect3);
+
+        assertEquals(3, tested.size());
+        assertChildren(tested.getChildren(LEFT), rect1);
+        assertChildren(tested.getChildren(BoundingBox.fromDoubles(220, -10, 420, 10)), rect2, rect3);
+        assertChildren(tested.getChildren(BoundingBox.fromDoubles(0, 100, 500, 200)));
+        assertSame(tested.getChildren(), tested.getChildren(ALL));
+        assertSame(tested.getChildren(), tested.getChildren(null));
+    }
+
+    @Test
+    public void testDrawingOrderKept() {
+        rect2.setX(10);
+        rect3.setX(20);
+        tested.add(rect1);
+        tested.add(rect2);
+        tested.add(rect3);
+        tested.add(new Rectangle(10, 10).setX(500));
+
+        assertChildren(tested.getChildren(LEFT), rect1, rect2, rect3);
+
+        tested.moveToTop(rect1);
+        assertChildren(tested.getChildren(LEFT), rect2, rect3, rect1);
+
+        tested.moveToBottom(rect3);
+        assertChildren(tested.getChildren(LEFT), rect3, rect2, rect1);
+
+        tested.moveUp(rect3);
+        assertChildren(tested.getChildren(LEFT), rect2, rect3, rect1);
+
+        tested.moveDown(rect1);
+        tested.moveDown(rect1);
+        assertChildren(tested.getChildren(LEFT), rect2, rect1, rect3);
+    }
+
+    @Test
+    public void testRefresh() {
+        tested.add(rect1);
+        tested.add(rect2);
+        assertChildren(tested.getChildren(LEFT), rect1);
+
+        rect2.setWidth(10);
+        rect2.setX(0);
+        rect1.setX(300);
+        assertChildren(tested.getChildren(LEFT), rect1);
+
+        tested.refresh(rect2);
+        assertChildren(tested.getChildren(LEFT), rect1, rect2);
+
+        tested.refresh();
+        assertChildren(tested.getChildren(LEFT), rect2);
+    }
+
+    @Test
+    public void testMovesRefreshLayer() {
+        final Layer layer = new Layer();
+        layer.setStorageEngine(tested);
+        layer.add(rect1);
+        layer.add(rect2);
+        assertChildren(layer.getChildNodes(LEFT), rect1);
+
+        rect1.setX(300);
+        rect2.setX(20);
+        assertChildren(layer.getChildNodes(LEFT), rect2);
+
+        rect2.setRotationDegrees(45);
+        rect2.setLocation(new Point2D(-200, -200));
+        assertChildren(layer.getChildNodes(LEFT));
+    }
+
+    @Test
+    public void testChildMovesRefreshGroup() {
+        final Layer layer = new Layer();
+        layer.setStorageEngine(tested);
+        final Group group = new Group().setX(200);
+        group.add(rect1);
+        layer.add(group);
+        assertChildren(layer.getChildNodes(LEFT));
+
+        rect1.setX(-200);
+        assertChildren(layer.getChildNodes(LEFT), group);
+
+        group.setX(1000);
+        assertChildren(layer.getChildNodes(LEFT));
+    }
+
+    @Test
+    public void testResizeRefreshesLayer() {
+        final Layer layer = new Layer();
+        layer.setStorageEngine(tested);
+        final Circle circle = new Circle(10).setX(-100).setY(50);
+        final Group group = new Group();
+        group.add(rect3);
+        layer.add(rect1);
+        layer.add(rect2);
+        layer.add(circle);
+        layer.add(group);
+        rect2.setX(-100);
+        rect3.setX(-100);
+        assertChildren(layer.getChildNodes(LEFT), rect1);
+
+        rect2.setWidth(150);
+        circle.setRadius(150);
+        rect3.setHeight(10).setWidth(150);
+        assertChildren(layer.getChildNodes(LEFT), rect1, rect2, circle, group);
+
+        rect2.setWidth(10);
+        assertChildren(layer.getChildNodes(LEFT), rect1, circle, group);
+    }
+
+    @Test
+    public void testStorageMigrated() {
+        final Layer layer = new Layer();
+        layer.add(rect1);
+        layer.add(rect2);
+        layer.setStorageEngine(tested);
+
+        assertEquals(2, tested.size());
+        assertChildren(layer.getChildNodes(LEFT), rect1);
+    }
+
+    @Test
+    public void testEmptyGroupsNotCulled() {
+        final Group group = new Group();
+        tested.add(rect2);
+        tested.add(group);
+        tested.add(rect1);
+
+        assertChildren(tested.getChildren(LEFT), group, rect1);
+        assertChildren(tested.getChildren(BoundingBox.fromDoubles(5000, 5000, 5100, 5100)), group);
+    }
+
+    @Test
+    public void testRemoveAndClear() {
+        tested.add(rect1);
+        tested.add(rect2);
+        tested.add(rect1);
+        assertEquals(2, tested.size());
+
+        tested.remove(rect1);
+        assertFalse(tested.contains(rect1));
+        assertTrue(tested.contains(rect2));
+        assertChildren(tested.getChildren(LEFT));
+
+        tested.add(rect1);
+        assertChildren(tested.getChildren(LEFT), rect1);
+        assertChildren(tested.getChildren(ALL), rect2, rect1);
+
+        tested.clear();
+        assertTrue(tested.isEmpty());
+        assertChildren(tested.getChildren(LEFT));
+    }
+
+    private static void assertChildren(final NFastArrayList<IPrimitive<?>> children, final IPrimitive<?>... expected) {
+        final List<IPrimitive<?>> actual = new ArrayList<>();
+        for (int i = 0; i < children.size(); i++) {
+            actual.add(children.get(i));
+        }
+        assertEquals(Arrays.asList(expected), actual);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+package com.ait.lienzo.client.core.shape.storage;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.ait.lienzo.client.core.types.BoundingBox;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class QuadTreeTest {
+
+    private final QuadTree<String> tested = new QuadTree<>();
+
+    @Test
+    public void testQuery() {
+        tested.put("a", BoundingBox.fromDoubles(0, 0, 10, 10));
+        tested.put("b", BoundingBox.fromDoubles(100, 100, 110, 110));
+        tested.put("c", BoundingBox.fromDoubles(-5000, -5000, 5000, -4000));
+
+        assertEquals(3, tested.size());
+        assertEquals(set("a"), query(-10, -10, 50, 50));
+        assertEquals(set("a", "b"), query(10, 10, 100, 100));
+        assertEquals(set("c"), query(4900, -4500, 6000, -4400));
+        assertEquals(set(), query(20, 20, 90, 90));
+    }
+
+    @Test
+    public void testPutMovesItem() {
+        tested.put("a", BoundingBox.fromDoubles(0, 0, 10, 10));
+        tested.put("a", BoundingBox.fromDoubles(1000, 1000, 1010, 1010));
+
+        assertEquals(1, tested.size());
+        assertEquals(set(), query(0, 0, 10, 10));
+        assertEquals(set("a"), query(1005, 1005, 1006, 1006));
+    }
+
+    @Test
+    public void testRemove() {
+        tested.put("a", BoundingBox.fromDoubles(0, 0, 10, 10));
+        tested.put("b", BoundingBox.fromDoubles(5, 5, 15, 15));
+
+        assertTrue(tested.remove("a"));
+        assertFalse(tested.remove("a"));
+        assertFalse(tested.contains("a"));
+        assertEquals(set("b"), query(0, 0, 20, 20));
+
+        assertTrue(tested.remove("b"));
+        assertTrue(tested.isEmpty());
+        assertEquals(0, tested.depth());
+    }
+
+    @Test
+    public void testSplitAndMerge() {
+        for (int i = 0; i < 1000; i++) {
+            tested.put("r" + i, box(i));
+        }
+        assertTrue(tested.depth() > 3);
+        assertEquals(set("r0", "r1", "r50", "r51"), query(0, 0, 160, 160));
+
+        for (int i = 0; i < 998; i++) {
+            tested.remove("r" + i);
+        }
+        assertEquals(1, tested.depth());
+        assertEquals(set("r998", "r999"), query(-10000, -10000, 10000, 10000));
+    }
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(7);
+        final Map<String, BoundingBox> expected = new HashMap<>();
+
+        for (int step = 0; step < 20000; step++) {
+            final String key = "r" + random.nextInt(500);
+            final int op = random.nextInt(10);
+            if (op < 6) {
+                final double x = random.nextDouble() * 10000 - 2000;
+                final double y = random.nextDouble() * 10000 - 2000;
+                final BoundingBox bbox = BoundingBox.fromDoubles(x, y, x + random.nextDouble() * 500, y + random.nextDouble() * 200);
+                tested.put(key, bbox);
+                expected.put(key, bbox);
+            } else if (op < 8) {
+                assertEquals(null != expected.remove(key), tested.remove(key));
+            } else {
+                final double x = random.nextDouble() * 10000 - 2000;
+                final double y = random.nextDouble() * 10000 - 2000;
+                final BoundingBox bounds = BoundingBox.fromDoubles(x, y, x + 2000, y + 1500);
+                final Set<String> found = new HashSet<>();
+                for (Map.Entry<String, BoundingBox> entry : expected.entrySet()) {
+                    if (entry.getValue().intersects(bounds)) {
+                        found.add(entry.getKey());
+                    }
+                }
+                assertEquals(found, tested.query(bounds, new HashSet<>()));
+            }
+            assertEquals(expected.size(), tested.size());
+        }
+    }
+
+    private static BoundingBox box(final int i) {
+        final double x = (i % 50) * 150;
+        final double y = (i / 50) * 150;
+        return BoundingBox.fromDoubles(x, y, x + 100, y + 60);
+    }
+
+    private Set<String> query(final double minx, final double miny, final double maxx, final double maxy) {
+        return tested.query(BoundingBox.fromDoubles(minx, miny, maxx, maxy), new HashSet<>());
+    }
+
+    private static Set<String> set(final String... values) {
+        final Set<String> set = new HashSet<>();
+        for (String value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+}
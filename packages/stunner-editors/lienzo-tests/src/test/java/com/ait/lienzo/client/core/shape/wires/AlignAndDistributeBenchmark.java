@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+
+package com.ait.lienzo.client.core.shape.wires;
+
+import com.ait.lienzo.client.core.shape.IPrimitive;
+import com.ait.lienzo.client.core.shape.Layer;
+import com.ait.lienzo.client.core.shape.wires.handlers.AlignAndDistributeControl;
+import com.ait.lienzo.client.core.types.BoundingBox;
+import com.ait.lienzo.client.core.types.BoundingPoints;
+import com.ait.lienzo.client.core.types.Point2D;
+import com.ait.lienzo.test.LienzoMockitoTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures what snapping costs on every mouse move while dragging a shape over a canvas of {@link #SHAPES} shapes.
+ * <p>
+ * It is not part of the regular build, run it with the <code>benchmarks</code> profile:
+ * <code>mvn test -Pbenchmarks -Dtest=AlignAndDistributeBenchmark</code>. The shape count, moves and snap circa can be changed
+ * with the <code>shapes</code>, <code>moves</code> and <code>circa</code> system properties.
+ */
+@RunWith(LienzoMockitoTestRunner.class)
+public class AlignAndDistributeBenchmark {
+
+    private static final int SHAPES = Integer.getInteger("shapes", 1000);
+
+    private static final int MOVES = Integer.getInteger("moves", 100000);
+
+    private static final int CIRCA = Integer.getInteger("circa", 4);
+
+    private static final int WARMUP_MOVES = 20000;
+
+    @Test
+    public void benchmarkDragAdjust() {
+        final AlignAndDistribute alignAndDistribute = new AlignAndDistribute(mock(Layer.class));
+        alignAndDistribute.setSnapCirca(CIRCA);
+        alignAndDistribute.setDrawGuideLines(false);
+
+        // shapes of varying sizes on a grid, so most edges are distinct
+        final int columns = (int) Math.ceil(Math.sqrt(SHAPES));
+        long start = System.nanoTime();
+        for (int i = 0; i < SHAPES; i++) {
+            final double x = ((i % columns) * 150) + (i % 7);
+            final double y = ((i / columns) * 110) + (i % 5);
+            alignAndDistribute.addShape(shape("s" + i, x, y, 80 + (i % 30), 50 + (i % 20)));
+        }
+        final long indexNanos = System.nanoTime() - start;
+
+        final AlignAndDistributeControl dragged = alignAndDistribute.addShape(shape("dragged", 0, 0, 60, 40));
+        dragged.dragStart();
+
+        drag(dragged, WARMUP_MOVES);
+
+        start = System.nanoTime();
+        final int snapped = drag(dragged, MOVES);
+        final long dragNanos = System.nanoTime() - start;
+
+        dragged.dragEnd();
+
+        System.out.println(String.format("AlignAndDistribute with %d shapes, circa %d: indexed in %.1f ms, %.3f us per mouse move (%d of %d moves snapped)",
+                                         SHAPES, CIRCA, indexNanos / 1e6, (dragNanos / 1e3) / MOVES, snapped, MOVES));
+        assertTrue(snapped > 0);
+    }
+
+    /**
+     * Drags the shape diagonally back and forth across the canvas, a fraction of a pixel per move.
+     */
+    private static int drag(final AlignAndDistributeControl dragged, final int moves) {
+        final double extent = Math.sqrt(SHAPES) * 110;
+        int snapped = 0;
+        for (int i = 0; i < moves; i++) {
+            final double d = (i * 0.7) % extent;
+            if (dragged.dragAdjust(new Point2D(d * 1.3, d))) {
+                snapped++;
+            }
+        }
+        return snapped;
+    }
+
+    private static IPrimitive<?> shape(final String uuid, final double x, final double y, final double width, final double height) {
+        final IPrimitive<?> shape = mock(IPrimitive.class);
+        final BoundingPoints points = new BoundingPoints(BoundingBox.fromDoubles(x, y, x + width, y + height));
+        when(shape.uuid()).thenReturn(uuid);
+        when(shape.getComputedBoundingPoints()).thenReturn(points);
+        return shape;
+    }
+}
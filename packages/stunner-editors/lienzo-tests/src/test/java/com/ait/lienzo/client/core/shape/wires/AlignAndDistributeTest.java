@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+
+package com.ait.lienzo.client.core.shape.wires;
+
+import java.util.HashSet;
+
+import com.ait.lienzo.client.core.shape.Layer;
+import com.ait.lienzo.client.core.shape.wires.handlers.AlignAndDistributeControl;
+import com.ait.lienzo.test.LienzoMockitoTestRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(LienzoMockitoTestRunner.class)
+public class AlignAndDistributeTest {
+
+    @Mock
+    private Layer layer;
+
+    @Mock
+    private AlignAndDistributeControl handler;
+
+    private AlignAndDistribute tested;
+
+    @Before
+    public void setUp() {
+        tested = new AlignAndDistribute(layer);
+        tested.setSnapCirca(4);
+    }
+
+    @Test
+    public void testMatchWithinCirca() {
+        final AlignAndDistributeControl control = control(100, 100, 50, 50);
+        tested.indexOn(control);
+
+        final AlignAndDistribute.AlignAndDistributeMatches matches = findNearestMatches(103, 300, 20, 20);
+
+        assertTrue(matches.hashMatch());
+        assertEquals(100, matches.getLeftPos(), 0);
+        assertTrue(matches.getLeftList().contains(control));
+        assertNull(matches.getHorizontalCenterList());
+        assertNull(matches.getTopList());
+    }
+
+    @Test
+    public void testNearestOffsetWins() {
+        tested.indexOn(control(100, 100, 50, 50));
+        final AlignAndDistributeControl nearer = control(110, 400, 10, 10);
+        tested.indexOn(nearer);
+
+        // left at 103 is 3 px from the first control's left, center at 113 is 2 px from the second one's center
+        final AlignAndDistribute.AlignAndDistributeMatches matches = findNearestMatches(103, 300, 20, 20);
+
+        assertNull(matches.getLeftList());
+        assertTrue(matches.getHorizontalCenterList().contains(nearer));
+        assertEquals(115, matches.getHorizontalCenterPos(), 0);
+    }
+
+    @Test
+    public void testPositiveOffsetPreferred() {
+        tested.indexOn(control(101, 100, 50, 50));
+        final AlignAndDistributeControl after = control(105, 200, 50, 50);
+        tested.indexOn(after);
+
+        final AlignAndDistribute.AlignAndDistributeMatches matches = findNearestMatches(103, 300, 20, 20);
+
+        assertEquals(1, matches.getLeftList().size());
+        assertTrue(matches.getLeftList().contains(after));
+        assertEquals(105, matches.getLeftPos(), 0);
+    }
+
+    @Test
+    public void testNoMatchBeyondCirca() {
+        tested.indexOn(control(110, 100, 50, 50));
+
+        assertFalse(findNearestMatches(103, 300, 20, 20).hashMatch());
+    }
+
+    @Test
+    public void testIndexOff() {
+        final AlignAndDistributeControl control = control(100, 100, 50, 50);
+        tested.indexOn(control);
+        tested.indexOff(control);
+
+        assertFalse(findNearestMatches(103, 300, 20, 20).hashMatch());
+    }
+
+    private AlignAndDistribute.AlignAndDistributeMatches findNearestMatches(final double x, final double y, final double width, final double height) {
+        return tested.findNearestMatches(handler, x, x + (width / 2), x + width, y, y + (height / 2), y + height);
+    }
+
+    private static AlignAndDistributeControl control(final double x, final double y, final double width, final double height) {
+        final AlignAndDistributeControl control = mock(AlignAndDistributeControl.class);
+        when(control.getLeft()).thenReturn(x);
+        when(control.getHorizontalCenter()).thenReturn(x + (width / 2));
+        when(control.getRight()).thenReturn(x + width);
+        when(control.getTop()).thenReturn(y);
+        when(control.getVerticalCenter()).thenReturn(y + (height / 2));
+        when(control.getBottom()).thenReturn(y + height);
+        when(control.getHorizontalDistributionEntries()).thenReturn(new HashSet<>());
+        when(control.getVerticalDistributionEntries()).thenReturn(new HashSet<>());
+        return control;
+    }
+}
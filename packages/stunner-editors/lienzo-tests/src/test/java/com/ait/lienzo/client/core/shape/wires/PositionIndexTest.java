@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+
+package com.ait.lienzo.client.core.shape.wires;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PositionIndexTest {
+
+    private final PositionIndex<String> tested = new PositionIndex<>();
+
+    @Test
+    public void testAddAndGet() {
+        tested.add(10, "a");
+        tested.add(-5, "b");
+        tested.add(10, "c");
+
+        assertEquals(2, tested.size());
+        assertEquals(Arrays.asList("a", "c"), tested.get(10));
+        assertEquals(Arrays.asList("b"), tested.get(-5));
+        assertNull(tested.get(0));
+    }
+
+    @Test
+    public void testRemove() {
+        tested.add(10, "a");
+        tested.add(10, "b");
+        tested.add(20, "c");
+
+        assertTrue(tested.remove(10, "a"));
+        assertEquals(Arrays.asList("b"), tested.get(10));
+        assertTrue(tested.remove(10, "b"));
+        assertNull(tested.get(10));
+        assertFalse(tested.remove(10, "b"));
+        assertEquals(1, tested.size());
+        assertEquals(Arrays.asList("c"), tested.get(20));
+
+        tested.clear();
+        assertTrue(tested.isEmpty());
+    }
+
+    @Test
+    public void testNearest() {
+        tested.add(10, "a");
+        tested.add(20, "b");
+
+        assertEquals(10, tested.nearest(10, 4), 0);
+        assertEquals(10, tested.nearest(13, 4), 0);
+        assertEquals(20, tested.nearest(16, 4), 0);
+        // as near to both, the greater wins
+        assertEquals(20, tested.nearest(15, 5), 0);
+        assertTrue(Double.isNaN(tested.nearest(15, 4)));
+        assertTrue(Double.isNaN(tested.nearest(30, 4)));
+        assertEquals(20, tested.nearest(24, 4), 0);
+        assertEquals(10, tested.nearest(6, 4), 0);
+    }
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(11);
+
+        final TreeMap<Double, Integer> expected = new TreeMap<>();
+
+        for (int i = 0; i < 5000; i++) {
+            final double pos = random.nextInt(500);
+
+            if (random.nextBoolean()) {
+                tested.add(pos, "v");
+                expected.merge(pos, 1, Integer::sum);
+            } else {
+                final boolean removed = tested.remove(pos, "v");
+
+                assertEquals(expected.containsKey(pos), removed);
+                if (removed && expected.merge(pos, -1, Integer::sum) == 0) {
+                    expected.remove(pos);
+                }
+            }
+        }
+        assertEquals(expected.size(), tested.size());
+
+        for (int i = 0; i < 500; i++) {
+            final double pos = random.nextInt(520) - 10;
+
+            final Double floor = expected.floorKey(pos);
+
+            final Double ceiling = expected.ceilingKey(pos);
+
+            Double nearest = null;
+
+            if ((ceiling != null) && (ceiling - pos <= 3)) {
+                nearest = ceiling;
+            }
+            if ((floor != null) && (pos - floor <= 3) && ((nearest == null) || (pos - floor < nearest - pos))) {
+                nearest = floor;
+            }
+            assertEquals(null == nearest ? Double.NaN : nearest, tested.nearest(pos, 3), 0);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package com.ait.lienzo.client.core.shape.wires.handlers.impl;
+
+import com.ait.lienzo.client.core.shape.wires.PickerPart;
+import com.ait.lienzo.client.core.shape.wires.WiresContainer;
+import com.ait.lienzo.client.core.shape.wires.WiresLayer;
+import com.ait.lienzo.client.core.shape.wires.WiresShape;
+import com.ait.lienzo.client.core.shape.wires.picker.GeometryBackedPicker;
+import com.ait.lienzo.test.LienzoMockitoTestRunner;
+import com.ait.lienzo.tools.client.collection.NFastArrayList;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(LienzoMockitoTestRunner.class)
+public class WiresGeometryIndexTest {
+
+    @Mock
+    private GeometryBackedPicker picker;
+
+    private WiresGeometryIndex tested;
+
+    @Before
+    public void setup() {
+        tested = new WiresGeometryIndex(picker);
+    }
+
+    @Test
+    public void testBuild() {
+        WiresLayer layer = mock(WiresLayer.class);
+        NFastArrayList<WiresShape> children = new NFastArrayList<>();
+        when(layer.getChildShapes()).thenReturn(children);
+        tested.build(layer);
+        verify(picker, times(1)).build(eq(children));
+        verify(picker, never()).clear();
+    }
+
+    @Test
+    public void testFindShapeAtSkipsExcludedShapes() {
+        WiresContainer shape = mock(WiresContainer.class);
+        PickerPart part = mock(PickerPart.class);
+        when(picker.findShapeAt(eq(3), eq(5), argThat(skip -> skip.contains(shape)))).thenReturn(part);
+        tested.exclude(shape);
+        assertEquals(part, tested.findShapeAt(3, 5));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testClearKeepsPicker() {
+        WiresContainer shape = mock(WiresContainer.class);
+        tested.exclude(shape);
+        tested.clear();
+        tested.findShapeAt(3, 5);
+        verify(picker, never()).clear();
+        verify(picker, never()).build(any(NFastArrayList.class));
+        verify(picker).findShapeAt(eq(3), eq(5), argThat(skip -> skip.isEmpty()));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+
+package com.ait.lienzo.client.core.shape.wires.picker;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BoundingVolumeHierarchyTest {
+
+    private final BoundingVolumeHierarchy<String> tested = new BoundingVolumeHierarchy<>();
+
+    @Test
+    public void testQuery() {
+        tested.put("a", 0, 0, 10, 10);
+        tested.put("b", 100, 100, 110, 110);
+        tested.put("c", 5, 5, 200, 200);
+
+        assertEquals(3, tested.size());
+        assertEquals(set("a"), query(1, 1));
+        assertEquals(set("a", "c"), query(10, 10));
+        assertEquals(set("b", "c"), query(105, 105));
+        assertEquals(set(), query(300, 300));
+    }
+
+    @Test
+    public void testPutMovesItem() {
+        tested.put("a", 0, 0, 10, 10);
+        tested.put("b", 20, 20, 30, 30);
+        tested.put("a", 1000, 1000, 1010, 1010);
+
+        assertEquals(2, tested.size());
+        assertEquals(set(), query(5, 5));
+        assertEquals(set("a"), query(1005, 1005));
+        assertEquals(set("b"), query(25, 25));
+    }
+
+    @Test
+    public void testRemove() {
+        tested.put("a", 0, 0, 10, 10);
+        tested.put("b", 5, 5, 15, 15);
+
+        assertTrue(tested.remove("a"));
+        assertFalse(tested.remove("a"));
+        assertFalse(tested.contains("a"));
+        assertEquals(set("b"), query(7, 7));
+
+        assertTrue(tested.remove("b"));
+        assertTrue(tested.isEmpty());
+        assertEquals(0, tested.height());
+        assertEquals(set(), query(7, 7));
+    }
+
+    @Test
+    public void testBalanced() {
+        // a row of shapes added left to right degenerates into a list without rotations
+        for (int i = 0; i < 1024; i++) {
+            tested.put("s" + i, i * 20, 0, (i * 20) + 10, 10);
+        }
+        assertTrue(tested.height() <= 16);
+        assertEquals(set("s512"), query(512 * 20 + 5, 5));
+    }
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(7);
+
+        final Map<String, double[]> boxes = new HashMap<>();
+
+        for (int i = 0; i < 3000; i++) {
+            final String key = "s" + random.nextInt(300);
+
+            if (random.nextInt(4) == 0) {
+                assertEquals(boxes.remove(key) != null, tested.remove(key));
+            } else {
+                final double x = random.nextInt(2000);
+                final double y = random.nextInt(2000);
+                final double[] box = {x, y, x + random.nextInt(200), y + random.nextInt(200)};
+
+                boxes.put(key, box);
+                tested.put(key, box[0], box[1], box[2], box[3]);
+            }
+        }
+        assertEquals(boxes.size(), tested.size());
+
+        for (int i = 0; i < 200; i++) {
+            final double x = random.nextInt(2200);
+            final double y = random.nextInt(2200);
+            final Set<String> expected = new HashSet<>();
+
+            for (Map.Entry<String, double[]> entry : boxes.entrySet()) {
+                final double[] box = entry.getValue();
+
+                if ((x >= box[0]) && (x <= box[2]) && (y >= box[1]) && (y <= box[3])) {
+                    expected.add(entry.getKey());
+                }
+            }
+            assertEquals(expected, query(x, y));
+        }
+    }
+
+    private Set<String> query(final double x, final double y) {
+        return tested.query(x, y, new HashSet<>());
+    }
+
+    private static Set<String> set(final String... values) {
+        final Set<String> set = new HashSet<>();
+
+        for (String value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+}
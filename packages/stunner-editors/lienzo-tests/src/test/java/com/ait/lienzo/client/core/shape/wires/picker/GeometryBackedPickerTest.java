@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+
+
+package com.ait.lienzo.client.core.shape.wires.picker;
+
+import com.ait.lienzo.client.core.shape.MultiPath;
+import com.ait.lienzo.client.core.shape.wires.PickerPart;
+import com.ait.lienzo.client.core.shape.wires.WiresContainer;
+import com.ait.lienzo.client.core.shape.wires.WiresShape;
+import com.ait.lienzo.client.core.types.PathPartList;
+import com.ait.lienzo.client.core.types.Point2D;
+import com.ait.lienzo.test.LienzoMockitoTestRunner;
+import com.ait.lienzo.tools.client.collection.NFastArrayList;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(LienzoMockitoTestRunner.class)
+public class GeometryBackedPickerTest {
+
+    private GeometryBackedPicker tested;
+
+    private NFastArrayList<WiresShape> shapes;
+
+    private WiresShape parent;
+
+    private WiresShape child;
+
+    private WiresShape other;
+
+    @Before
+    public void setUp() {
+        parent = rect(0, 0, 200, 200);
+        child = rect(50, 50, 40, 40);
+        other = rect(150, 150, 100, 100);
+
+        when(parent.getChildShapes()).thenReturn(shapes(child));
+
+        shapes = shapes(parent, other);
+        tested = new GeometryBackedPicker(new ColorMapBackedPicker.PickerOptions(true, 10));
+    }
+
+    @Test
+    public void testFindShapeAt() {
+        tested.build(shapes);
+
+        assertPart(parent, PickerPart.ShapePart.BODY, tested.findShapeAt(10, 10));
+        assertPart(parent, PickerPart.ShapePart.BORDER, tested.findShapeAt(0, 100));
+        assertPart(parent, PickerPart.ShapePart.BORDER, tested.findShapeAt(204, 100));
+        assertPart(child, PickerPart.ShapePart.BODY, tested.findShapeAt(70, 70));
+        assertPart(child, PickerPart.ShapePart.BORDER, tested.findShapeAt(50, 70));
+        assertNull(tested.findShapeAt(206, 100));
+        assertNull(tested.findShapeAt(400, 400));
+    }
+
+    @Test
+    public void testTopMostShapeFound() {
+        tested.build(shapes);
+
+        // the other shape is drawn last, so it is the one found where both overlap
+        assertPart(other, PickerPart.ShapePart.BODY, tested.findShapeAt(180, 180));
+        assertPart(parent, PickerPart.ShapePart.BODY, tested.findShapeAt(140, 140));
+    }
+
+    @Test
+    public void testSamePartReturned() {
+        tested.build(shapes);
+
+        assertSame(tested.findShapeAt(70, 70), tested.findShapeAt(75, 75));
+    }
+
+    @Test
+    public void testHotspotsDisabled() {
+        tested = new GeometryBackedPicker(new ColorMapBackedPicker.PickerOptions(false, 10));
+        tested.build(shapes);
+
+        assertPart(parent, PickerPart.ShapePart.BODY, tested.findShapeAt(0, 100));
+        assertNull(tested.findShapeAt(204, 100));
+    }
+
+    @Test
+    public void testShapesToSkip() {
+        tested.getPickerOptions().getShapesToSkip().add(parent);
+        tested.build(shapes);
+
+        assertNull(tested.findShapeAt(10, 10));
+        assertNull(tested.findShapeAt(70, 70));
+        assertPart(other, PickerPart.ShapePart.BODY, tested.findShapeAt(180, 180));
+    }
+
+    @Test
+    public void testShapesToSkipOnLookup() {
+        when(child.getParent()).thenReturn(parent);
+        tested.build(shapes);
+
+        final NFastArrayList<WiresContainer> skip = new NFastArrayList<>();
+        skip.add(parent);
+
+        assertNull(tested.findShapeAt(10, 10, skip));
+        assertNull(tested.findShapeAt(70, 70, skip));
+        assertPart(other, PickerPart.ShapePart.BODY, tested.findShapeAt(180, 180, skip));
+        assertPart(child, PickerPart.ShapePart.BODY, tested.findShapeAt(70, 70));
+    }
+
+    @Test
+    public void testRebuild() {
+        tested.build(shapes);
+        assertPart(other, PickerPart.ShapePart.BODY, tested.findShapeAt(180, 180));
+
+        when(other.getPath().getComputedLocation()).thenReturn(new Point2D(500, 500));
+        tested.build(shapes);
+
+        assertPart(parent, PickerPart.ShapePart.BODY, tested.findShapeAt(180, 180));
+        assertPart(other, PickerPart.ShapePart.BODY, tested.findShapeAt(550, 550));
+
+        tested.build(shapes(parent));
+
+        assertNull(tested.findShapeAt(550, 550));
+    }
+
+    @Test
+    public void testPathsFlattenedOnLookup() {
+        tested.build(shapes);
+
+        verify(other.getPath(), times(1)).getActualPathPartListArray();
+
+        tested.findShapeAt(180, 180);
+
+        verify(other.getPath(), times(2)).getActualPathPartListArray();
+        verify(child.getPath(), times(1)).getActualPathPartListArray();
+    }
+
+    @Test
+    public void testClear() {
+        tested.build(shapes);
+        tested.clear();
+
+        assertNull(tested.findShapeAt(10, 10));
+    }
+
+    private static void assertPart(final WiresShape shape, final PickerPart.ShapePart part, final PickerPart found) {
+        assertSame(shape, found.getShape());
+        assertEquals(part, found.getShapePart());
+    }
+
+    private static WiresShape rect(final double x, final double y, final double width, final double height) {
+        final WiresShape shape = mock(WiresShape.class);
+        final MultiPath path = mock(MultiPath.class);
+        final NFastArrayList<PathPartList> lists = new NFastArrayList<>();
+
+        lists.add(new PathPartList().rect(0, 0, width, height));
+
+        when(shape.getPath()).thenReturn(path);
+        when(path.getActualPathPartListArray()).thenReturn(lists);
+        when(path.getComputedLocation()).thenReturn(new Point2D(x, y));
+        when(path.getStrokeWidth()).thenReturn(1d);
+        return shape;
+    }
+
+    @SafeVarargs
+    private static NFastArrayList<WiresShape> shapes(final WiresShape... shapes) {
+        final NFastArrayList<WiresShape> list = new NFastArrayList<>();
+
+        for (WiresShape shape : shapes) {
+            list.add(shape);
+        }
+        return list;
+    }
+}
@@ -21,10 +21,12 @@
 package com.ait.lienzo.client.core.suite;
 
 import com.ait.lienzo.client.core.shape.AbstractOffsetMultiPointShapeTest;
+import com.ait.lienzo.client.core.shape.wires.AlignAndDistributeTest;
 import com.ait.lienzo.client.core.shape.wires.BackingColorMapUtilsTest;
 import com.ait.lienzo.client.core.shape.wires.DefaultSelectionListenerTest;
 import com.ait.lienzo.client.core.shape.wires.MagnetManagerTest;
 import com.ait.lienzo.client.core.shape.wires.OptionalBoundsTest;
+import com.ait.lienzo.client.core.shape.wires.PositionIndexTest;
 import com.ait.lienzo.client.core.shape.wires.SelectionManagerTest;
 import com.ait.lienzo.client.core.shape.wires.WiresConnectorTest;
 import com.ait.lienzo.client.core.shape.wires.WiresContainerTest;
@@ -48,7 +50,9 @@ import com.ait.lienzo.client.core.shape.wires.handlers.impl.WiresParentPickerCon
 import com.ait.lienzo.client.core.shape.wires.handlers.impl.WiresShapeControlImplTest;
 import com.ait.lienzo.client.core.shape.wires.handlers.impl.WiresShapeLocationBoundsTest;
 import com.ait.lienzo.client.core.shape.wires.handlers.impl.WiresShapeLocationControlImplTest;
+import com.ait.lienzo.client.core.shape.wires.picker.BoundingVolumeHierarchyTest;
 import com.ait.lienzo.client.core.shape.wires.picker.ColorMapBackedPickerTest;
+import com.ait.lienzo.client.core.shape.wires.picker.GeometryBackedPickerTest;
 import com.ait.lienzo.client.core.shape.wires.util.WiresConnectorLabelFactoryTest;
 import com.ait.lienzo.client.core.shape.wires.util.WiresConnectorLabelTest;
 import org.junit.AfterClass;
@@ -89,9 +93,13 @@ import org.junit.runners.Suite;
         WiresCompositeControlImplTest.class,
         WiresControlPointHandlerImplTest.class,
         AlignAndDistributeControlImplTest.class,
+        AlignAndDistributeTest.class,
+        PositionIndexTest.class,
         WiresContainmentControlImplTest.class,
         BackingColorMapUtilsTest.class,
         ColorMapBackedPickerTest.class,
+        GeometryBackedPickerTest.class,
+        BoundingVolumeHierarchyTest.class,
         MagnetDecoratorTest.class,
         PointHandleDecoratorTest.class
 })
@@ -27,7 +27,6 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
-import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
@@ -55,6 +54,9 @@ public class BaseGridData implements GridData {
 
     protected BaseGridDataIndexManager indexManager = new BaseGridDataIndexManager(this);
     protected BaseGridDataSelectionsManager selectionsManager = new BaseGridDataSelectionsManager(this);
+    private final GridRowGeometry rowGeometry = new GridRowGeometry();
+    private boolean rowHeightsChanged = false;
+    private int dynamicHeightRowCount = 0;
     private int visibleWidth;
     private int visibleHeight;
     private int previousVisibleWidth;
@@ -82,6 +84,7 @@ public class BaseGridData implements GridData {
         double originalWidth = getWidth();
         column.setIndex(columns.size());
         columns.add(column);
+        indexManager.onCellsChanged(column.getIndex());
 
         OptionalDouble optionalOriginalWidth = OptionalDouble.of(originalWidth);
 
@@ -99,6 +102,7 @@ public class BaseGridData implements GridData {
         column.setIndex(columns.size());
         columns.add(index,
                     column);
+        indexManager.onCellsChanged(column.getIndex());
 
         OptionalDouble optionalOriginalWidth = OptionalDouble.of(originalWidth);
 
@@ -126,18 +130,11 @@ public class BaseGridData implements GridData {
         removeColumn(column);
 
         //Destroy column related cell
+        //Shift all cells according to the removed one
         for (GridRow row : rows) {
-            ((BaseGridRow) row).deleteCell(index);
-            //Shift all cells according to the removed one
-            final Map<Integer, GridCell<?>> clone = new TreeMap<>(row.getCells());
-            for (Map.Entry<Integer, GridCell<?>> e : clone.entrySet()) {
-                if (e.getKey() > index) {
-                    ((BaseGridRow) row).deleteCell(e.getKey());
-                    ((BaseGridRow) row).setCell(e.getKey() - 1,
-                                                e.getValue());
-                }
-            }
+            ((BaseGridRow) row).deleteColumn(index);
         }
+        indexManager.onDeleteColumn(index);
 
         internalRefreshWidth(true, OptionalDouble.empty());
 
@@ -202,6 +199,8 @@ public class BaseGridData implements GridData {
     @Override
     public void appendRow(final GridRow row) {
         this.rows.add(row);
+        onRowAdded(rows.size() - 1,
+                   row);
     }
 
     @Override
@@ -209,6 +208,8 @@ public class BaseGridData implements GridData {
                           final GridRow row) {
         this.rows.add(rowIndex,
                       row);
+        onRowAdded(rowIndex,
+                   row);
 
         indexManager.onInsertRow(rowIndex);
         selectionsManager.onInsertRow(rowIndex);
@@ -235,8 +236,13 @@ public class BaseGridData implements GridData {
                                       maxRowIndex);
 
         for (int _rowIndex = minRowIndex; _rowIndex <= maxRowIndex; _rowIndex++) {
-            rows.remove(minRowIndex);
+            onRowRemoved(rows.remove(minRowIndex));
         }
+        if (rowGeometry.getRowCount() == rows.size() + maxRowIndex - minRowIndex + 1) {
+            rowGeometry.deleteRows(minRowIndex,
+                                   maxRowIndex);
+        }
+        onRowGeometryChanged();
 
         indexManager.onDeleteRow(range);
         selectionsManager.onDeleteRow(range);
@@ -271,12 +277,18 @@ public class BaseGridData implements GridData {
 
         this.rows.removeAll(rows);
 
-        if (index < oldBlockStart) {
-            this.rows.addAll(index,
-                             rows);
-        } else if (index > oldBlockStart) {
-            this.rows.addAll(index - rows.size() + 1,
-                             rows);
+        final int newBlockStart = index < oldBlockStart ? index : index - rows.size() + 1;
+        this.rows.addAll(newBlockStart,
+                         rows);
+
+        //Only the heights between the old and new positions of the block are shifted
+        if (rowGeometry.getRowCount() == this.rows.size()) {
+            final int maxRowIndex = Math.max(oldBlockEnd,
+                                             newBlockStart + rows.size() - 1);
+            for (int rowIndex = Math.min(oldBlockStart, newBlockStart); rowIndex <= maxRowIndex; rowIndex++) {
+                rowGeometry.setHeight(rowIndex,
+                                      this.rows.get(rowIndex).getHeight());
+            }
         }
 
         final Range oldBlockExtent = new Range(oldBlockStart,
@@ -292,6 +304,75 @@ public class BaseGridData implements GridData {
         return rows.size();
     }
 
+    /**
+     * Get the geometry of the rows. It is kept up to date as rows are added, deleted or moved, and as {@link BaseGridRow}s
+     * report their height changes, so the heights are only read again after such a change or for rows
+     * that are not {@link BaseGridRow}s.
+     * @return The geometry of all rows.
+     */
+    public GridRowGeometry getRowGeometry() {
+        if (rowGeometry.getRowCount() != rows.size()) {
+            resetRowGeometry();
+        } else if (rowHeightsChanged || dynamicHeightRowCount > 0) {
+            rowGeometry.update(rows);
+        }
+        rowHeightsChanged = false;
+        return rowGeometry;
+    }
+
+    //Called by the rows of this model when their height changes
+    void onRowHeightChanged() {
+        rowHeightsChanged = true;
+        onRowGeometryChanged();
+    }
+
+    /**
+     * Called when rows are added or deleted, or when a {@link BaseGridRow} of this model reports a change of its height,
+     * for subclasses whose own size depends on the height of their rows. Does nothing by default.
+     */
+    protected void onRowGeometryChanged() {
+    }
+
+    private void onRowAdded(final int rowIndex,
+                            final GridRow row) {
+        if (hasDynamicHeight(row)) {
+            dynamicHeightRowCount++;
+        } else {
+            ((BaseGridRow) row).setGridData(this);
+        }
+        if (rowGeometry.getRowCount() == rows.size() - 1) {
+            rowGeometry.insertRow(rowIndex,
+                                  row.getHeight());
+        }
+        onRowGeometryChanged();
+    }
+
+    private void onRowRemoved(final GridRow row) {
+        if (hasDynamicHeight(row)) {
+            dynamicHeightRowCount--;
+        } else if (((BaseGridRow) row).getGridData() == this) {
+            ((BaseGridRow) row).setGridData(null);
+        }
+    }
+
+    //The rows list is visible to subclasses, so it may have been changed without this model knowing
+    private void resetRowGeometry() {
+        dynamicHeightRowCount = 0;
+        for (GridRow row : rows) {
+            if (hasDynamicHeight(row)) {
+                dynamicHeightRowCount++;
+            } else {
+                ((BaseGridRow) row).setGridData(this);
+            }
+        }
+        rowGeometry.reset(rows);
+    }
+
+    //Only BaseGridRows report the changes of their height, the height of other rows is read on every render
+    private static boolean hasDynamicHeight(final GridRow row) {
+        return !(row instanceof BaseGridRow);
+    }
+
     @Override
     public int getHeaderRowCount() {
         int headerRowCount = this.headerRowCount;
@@ -316,7 +397,11 @@ public class BaseGridData implements GridData {
             return null;
         }
         final int _columnIndex = columns.get(columnIndex).getIndex();
-        return rows.get(rowIndex).getCells().get(_columnIndex);
+        final GridRow row = rows.get(rowIndex);
+        if (row instanceof BaseGridRow) {
+            return ((BaseGridRow) row).getCell(_columnIndex);
+        }
+        return row.getCells().get(_columnIndex);
     }
 
     @Override
@@ -358,6 +443,7 @@ public class BaseGridData implements GridData {
         for (GridRow row : rows) {
             ((BaseGridRow) row).deleteCell(column.getIndex());
         }
+        indexManager.onCellsChanged(column.getIndex());
     }
 
     @Override
@@ -435,6 +521,7 @@ public class BaseGridData implements GridData {
         if (!isMerged) {
             ((BaseGridRow) rows.get(rowIndex)).setCell(_columnIndex,
                                                        cellSupplier.apply(new AbstractMap.SimpleEntry<>(rowIndex, columnIndex)));
+            indexManager.onCellsChanged(_columnIndex);
             return new Range(rowIndex);
         }
 
@@ -474,6 +561,7 @@ public class BaseGridData implements GridData {
         //If we're not merged just set the value of a single cell
         if (!isMerged) {
             ((BaseGridRow) rows.get(rowIndex)).deleteCell(_columnIndex);
+            indexManager.onCellsChanged(_columnIndex);
             return new Range(rowIndex);
         }
 
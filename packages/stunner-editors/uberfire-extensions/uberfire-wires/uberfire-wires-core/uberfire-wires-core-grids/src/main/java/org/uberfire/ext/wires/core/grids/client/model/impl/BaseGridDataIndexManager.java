@@ -20,7 +20,10 @@
 
 package org.uberfire.ext.wires.core.grids.client.model.impl;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.uberfire.ext.wires.core.grids.client.model.GridCell;
 import org.uberfire.ext.wires.core.grids.client.model.GridColumn;
@@ -34,6 +37,13 @@ public class BaseGridDataIndexManager {
 
     private final GridData gridData;
 
+    //Merged blocks of each column found when last indexed, keyed by column index, as pairs of first row index and
+    //row count. Merging again only scans the columns whose cells changed since, the others reuse their blocks.
+    private final Map<Integer, int[]> columnBlocks = new HashMap<>();
+
+    //The rows the blocks were found on. Inserting, deleting or moving rows invalidates the blocks of every column.
+    private GridRow[] blockRows = new GridRow[0];
+
     public BaseGridDataIndexManager(final GridData gridData) {
         this.gridData = gridData;
     }
@@ -49,14 +59,81 @@ public class BaseGridDataIndexManager {
     //Update all merge meta-data
     private void fullIndex() {
         final List<GridColumn<?>> columns = gridData.getColumns();
+        final boolean[] indexedRows = new boolean[gridData.getRowCount()];
+        checkBlockRows();
         for (int columnIndex = 0; columnIndex < columns.size(); columnIndex++) {
-            indexColumn(columnIndex);
+            final int[] blocks = columnBlocks.get(columns.get(columnIndex).getIndex());
+            if (blocks == null) {
+                indexColumn(columnIndex,
+                            indexedRows);
+            } else {
+                applyBlocks(columnIndex,
+                            blocks,
+                            indexedRows);
+            }
         }
+        updateRowsMergedCells(indexedRows);
     }
 
     //Update merge meta-data for a single column
     public void indexColumn(final int columnIndex) {
+        final boolean[] indexedRows = new boolean[gridData.getRowCount()];
+        checkBlockRows();
+        indexColumn(columnIndex,
+                    indexedRows);
+        updateRowsMergedCells(indexedRows);
+    }
+
+    //The cells of a column have been set, deleted or cleared, so its merged blocks need to be found again
+    public void onCellsChanged(final int columnIndex) {
+        columnBlocks.remove(columnIndex);
+    }
+
+    //Deleting a column shifts the index of the columns after it
+    public void onDeleteColumn(final int columnIndex) {
+        columnBlocks.clear();
+    }
+
+    //Forget the merged blocks of every column if the rows changed since they were found
+    private void checkBlockRows() {
+        final List<GridRow> rows = gridData.getRows();
+        boolean isSameRows = rows.size() == blockRows.length;
+        for (int rowIndex = 0; isSameRows && rowIndex < blockRows.length; rowIndex++) {
+            isSameRows = rows.get(rowIndex) == blockRows[rowIndex];
+        }
+        if (!isSameRows) {
+            columnBlocks.clear();
+            blockRows = rows.toArray(new GridRow[rows.size()]);
+        }
+    }
+
+    //Set the merge meta-data of a column from the blocks found when last indexed. Its cells were all reset when
+    //unmerged, so only the cells within a block need updating.
+    private void applyBlocks(final int columnIndex,
+                             final int[] blocks,
+                             final boolean[] indexedRows) {
+        for (int i = 0; i < blocks.length; i += 2) {
+            final int minRowIndex = blocks[i];
+            final int maxRowIndex = minRowIndex + blocks[i + 1];
+            for (int rowIndex = minRowIndex; rowIndex < maxRowIndex; rowIndex++) {
+                final GridCell<?> cell = gridData.getCell(rowIndex,
+                                                          columnIndex);
+                ((BaseGridCell) cell).setMergedCellCount(0);
+                indexedRows[rowIndex] = true;
+            }
+            final GridCell<?> cell = gridData.getCell(minRowIndex,
+                                                      columnIndex);
+            ((BaseGridCell) cell).setMergedCellCount(maxRowIndex - minRowIndex);
+        }
+    }
+
+    //Update merge meta-data for a single column, flagging the rows whose merged state needs updating. Updating
+    //them once all columns have been indexed avoids scanning the cells of a row again for every merged column.
+    private void indexColumn(final int columnIndex,
+                             final boolean[] indexedRows) {
         final List<GridRow> rows = gridData.getRows();
+        int[] blocks = new int[8];
+        int blocksSize = 0;
         for (int rowIndex = 0; rowIndex < rows.size(); rowIndex++) {
             final GridCell<?> currentRowCell = gridData.getCell(rowIndex,
                                                                 columnIndex);
@@ -82,22 +159,29 @@ public class BaseGridDataIndexManager {
             //Update merge meta-data
             if (maxRowIndex - rowIndex > 1) {
                 for (int i = rowIndex; i < maxRowIndex; i++) {
-                    final GridRow row = rows.get(i);
                     final GridCell<?> cell = gridData.getCell(i,
                                                               columnIndex);
                     ((BaseGridCell) cell).setMergedCellCount(0);
-                    updateRowMergedCells(row);
+                    indexedRows[i] = true;
                 }
 
-                final GridRow row = rows.get(rowIndex);
                 final GridCell<?> cell = gridData.getCell(rowIndex,
                                                           columnIndex);
                 ((BaseGridCell) cell).setMergedCellCount(maxRowIndex - rowIndex);
-                updateRowMergedCells(row);
+
+                if (blocksSize == blocks.length) {
+                    blocks = Arrays.copyOf(blocks,
+                                           blocks.length * 2);
+                }
+                blocks[blocksSize++] = rowIndex;
+                blocks[blocksSize++] = maxRowIndex - rowIndex;
 
                 rowIndex = maxRowIndex - 1;
             }
         }
+        columnBlocks.put(gridData.getColumns().get(columnIndex).getIndex(),
+                         Arrays.copyOf(blocks,
+                                       blocksSize));
     }
 
     //Clear all merge meta-data
@@ -163,7 +247,7 @@ public class BaseGridDataIndexManager {
                                      final int maxRowIndex) {
         //Find the cell's current value
         final GridRow currentRow = gridData.getRow(rowIndex);
-        final GridCell<?> currentRowCell = currentRow.getCells().get(columnIndex);
+        final GridCell<?> currentRowCell = getCell(currentRow, columnIndex);
 
         //Find minimum row with a cell containing the same value as that being updated
         final int minBlockRowIndex = findMinRowIndex(rowIndex,
@@ -184,6 +268,7 @@ public class BaseGridDataIndexManager {
 
     public void onSetCell(final GridData.Range range,
                           final int columnIndex) {
+        onCellsChanged(columnIndex);
         final int minRowIndex = range.getMinRowIndex();
         updateMergeMetaData(minRowIndex,
                             columnIndex);
@@ -191,6 +276,7 @@ public class BaseGridDataIndexManager {
 
     public void onDeleteCell(final GridData.Range range,
                              final int columnIndex) {
+        onCellsChanged(columnIndex);
         final int minRowIndex = range.getMinRowIndex();
         final int maxRowIndex = range.getMaxRowIndex();
         for (int i = minRowIndex; i <= maxRowIndex; i++) {
@@ -209,7 +295,7 @@ public class BaseGridDataIndexManager {
         final List<GridRow> rows = gridData.getRows();
         final List<GridColumn<?>> columns = gridData.getColumns();
         final GridRow currentRow = rows.get(rowIndex);
-        final GridCell<?> currentRowCell = currentRow.getCells().get(columnIndex);
+        final GridCell<?> currentRowCell = getCell(currentRow, columnIndex);
 
         if (currentRowCell == null) {
             return;
@@ -219,7 +305,7 @@ public class BaseGridDataIndexManager {
             do {
                 minRowIndex--;
                 final GridRow previousRow = rows.get(minRowIndex);
-                final GridCell<?> previousRowCell = previousRow.getCells().get(columnIndex);
+                final GridCell<?> previousRowCell = getCell(previousRow, columnIndex);
                 if (previousRowCell.getMergedCellCount() > 0) {
                     break;
                 }
@@ -229,7 +315,7 @@ public class BaseGridDataIndexManager {
 
         while (maxRowIndex < rows.size()) {
             final GridRow nextRow = rows.get(maxRowIndex);
-            final GridCell<?> nextRowCell = nextRow.getCells().get(columnIndex);
+            final GridCell<?> nextRowCell = getCell(nextRow, columnIndex);
             if (nextRowCell == null) {
                 break;
             }
@@ -266,7 +352,7 @@ public class BaseGridDataIndexManager {
 
         final List<GridRow> rows = gridData.getRows();
         final GridRow checkTopRow = gridData.getRow(minRowIndex - 1);
-        final GridCell<?> checkTopCell = checkTopRow.getCells().get(columnIndex);
+        final GridCell<?> checkTopCell = getCell(checkTopRow, columnIndex);
 
         if (checkTopCell == null) {
             return;
@@ -281,7 +367,7 @@ public class BaseGridDataIndexManager {
         boolean splitTopSection = false;
         for (int collapsedRowIndex = minRowIndex; collapsedRowIndex < maxRowIndex; collapsedRowIndex++) {
             final GridRow collapsedRow = gridData.getRow(collapsedRowIndex);
-            final GridCell<?> collapsedCell = collapsedRow.getCells().get(columnIndex);
+            final GridCell<?> collapsedCell = getCell(collapsedRow, columnIndex);
             if (collapsedCell == null) {
                 break;
             }
@@ -298,7 +384,7 @@ public class BaseGridDataIndexManager {
             if (checkTopCell.getMergedCellCount() == 0) {
                 while (checkMinRowIndex > 0) {
                     final GridRow previousRow = rows.get(checkMinRowIndex);
-                    final GridCell<?> previousRowCell = previousRow.getCells().get(columnIndex);
+                    final GridCell<?> previousRowCell = getCell(previousRow, columnIndex);
                     if (previousRowCell == null) {
                         break;
                     }
@@ -313,7 +399,7 @@ public class BaseGridDataIndexManager {
             if (minRowIndex > checkMinRowIndex) {
                 for (int i = checkMinRowIndex; i < minRowIndex; i++) {
                     final GridRow row = rows.get(i);
-                    final BaseGridCell cell = ((BaseGridCell) row.getCells().get(columnIndex));
+                    final BaseGridCell cell = ((BaseGridCell) getCell(row, columnIndex));
                     if (cell != null) {
                         cell.setMergedCellCount(0);
                     }
@@ -321,7 +407,7 @@ public class BaseGridDataIndexManager {
                 }
 
                 final GridRow topSplitRow = rows.get(checkMinRowIndex);
-                final BaseGridCell topSplitRowCell = ((BaseGridCell) topSplitRow.getCells().get(columnIndex));
+                final BaseGridCell topSplitRowCell = ((BaseGridCell) getCell(topSplitRow, columnIndex));
                 if (topSplitRowCell != null) {
                     topSplitRowCell.setMergedCellCount(minRowIndex - checkMinRowIndex);
                 }
@@ -333,7 +419,7 @@ public class BaseGridDataIndexManager {
             boolean foundBottomSplitMarker = false;
             while (checkMaxRowIndex < rows.size()) {
                 final GridRow nextRow = rows.get(checkMaxRowIndex);
-                final GridCell<?> nextRowCell = nextRow.getCells().get(columnIndex);
+                final GridCell<?> nextRowCell = getCell(nextRow, columnIndex);
                 if (nextRowCell == null) {
                     break;
                 }
@@ -354,7 +440,7 @@ public class BaseGridDataIndexManager {
             if (checkMaxRowIndex > minRowIndex) {
                 for (int i = minRowIndex; i < checkMaxRowIndex; i++) {
                     final GridRow row = rows.get(i);
-                    final BaseGridCell cell = ((BaseGridCell) row.getCells().get(columnIndex));
+                    final BaseGridCell cell = ((BaseGridCell) getCell(row, columnIndex));
                     if (cell != null) {
                         cell.setMergedCellCount(0);
                     }
@@ -362,7 +448,7 @@ public class BaseGridDataIndexManager {
                 }
 
                 final GridRow bottomSplitRow = rows.get(minRowIndex);
-                final BaseGridCell bottomSplitRowCell = ((BaseGridCell) bottomSplitRow.getCells().get(columnIndex));
+                final BaseGridCell bottomSplitRowCell = ((BaseGridCell) getCell(bottomSplitRow, columnIndex));
                 if (bottomSplitRowCell != null) {
                     bottomSplitRowCell.setMergedCellCount(checkMaxRowIndex - minRowIndex);
                 }
@@ -380,7 +466,7 @@ public class BaseGridDataIndexManager {
         }
 
         final GridRow checkBottomRow = gridData.getRow(maxRowIndex);
-        final GridCell<?> checkBottomCell = checkBottomRow.getCells().get(columnIndex);
+        final GridCell<?> checkBottomCell = getCell(checkBottomRow, columnIndex);
 
         if (checkBottomCell == null) {
             return;
@@ -395,7 +481,7 @@ public class BaseGridDataIndexManager {
         boolean splitBottomSection = false;
         for (int collapsedRowIndex = maxRowIndex - 1; collapsedRowIndex >= minRowIndex; collapsedRowIndex--) {
             final GridRow collapsedRow = gridData.getRow(collapsedRowIndex);
-            final GridCell<?> collapsedCell = collapsedRow.getCells().get(columnIndex);
+            final GridCell<?> collapsedCell = getCell(collapsedRow, columnIndex);
             if (collapsedCell == null) {
                 break;
             }
@@ -412,7 +498,7 @@ public class BaseGridDataIndexManager {
             if (checkBottomCell.getMergedCellCount() == 0) {
                 while (checkMinRowIndex > 0) {
                     final GridRow previousRow = rows.get(checkMinRowIndex);
-                    final GridCell<?> previousRowCell = previousRow.getCells().get(columnIndex);
+                    final GridCell<?> previousRowCell = getCell(previousRow, columnIndex);
                     if (previousRowCell == null) {
                         break;
                     }
@@ -427,7 +513,7 @@ public class BaseGridDataIndexManager {
             if (maxRowIndex > checkMinRowIndex) {
                 for (int i = checkMinRowIndex; i < maxRowIndex; i++) {
                     final GridRow row = rows.get(i);
-                    final BaseGridCell cell = ((BaseGridCell) row.getCells().get(columnIndex));
+                    final BaseGridCell cell = ((BaseGridCell) getCell(row, columnIndex));
                     if (cell != null) {
                         cell.setMergedCellCount(0);
                     }
@@ -435,7 +521,7 @@ public class BaseGridDataIndexManager {
                 }
 
                 final GridRow topSplitRow = rows.get(checkMinRowIndex);
-                final BaseGridCell topSplitRowCell = ((BaseGridCell) topSplitRow.getCells().get(columnIndex));
+                final BaseGridCell topSplitRowCell = ((BaseGridCell) getCell(topSplitRow, columnIndex));
                 if (topSplitRowCell != null) {
                     topSplitRowCell.setMergedCellCount(maxRowIndex - checkMinRowIndex);
                 }
@@ -447,7 +533,7 @@ public class BaseGridDataIndexManager {
             boolean foundBottomSplitMarker = false;
             while (checkMaxRowIndex < rows.size()) {
                 final GridRow nextRow = rows.get(checkMaxRowIndex);
-                final GridCell<?> nextRowCell = nextRow.getCells().get(columnIndex);
+                final GridCell<?> nextRowCell = getCell(nextRow, columnIndex);
                 if (nextRowCell == null) {
                     break;
                 }
@@ -468,7 +554,7 @@ public class BaseGridDataIndexManager {
             if (checkMaxRowIndex > maxRowIndex) {
                 for (int i = maxRowIndex; i < checkMaxRowIndex; i++) {
                     final GridRow row = rows.get(i);
-                    final BaseGridCell cell = ((BaseGridCell) row.getCells().get(columnIndex));
+                    final BaseGridCell cell = ((BaseGridCell) getCell(row, columnIndex));
                     if (cell != null) {
                         cell.setMergedCellCount(0);
                     }
@@ -477,8 +563,8 @@ public class BaseGridDataIndexManager {
 
                 //Only split bottom if it isn't already split
                 final GridRow bottomSplitRow = rows.get(maxRowIndex);
-                if (bottomSplitRow.getCells().get(columnIndex).getMergedCellCount() == 0) {
-                    final BaseGridCell bottomSplitRowCell = ((BaseGridCell) bottomSplitRow.getCells().get(columnIndex));
+                if (getCell(bottomSplitRow, columnIndex).getMergedCellCount() == 0) {
+                    final BaseGridCell bottomSplitRowCell = ((BaseGridCell) getCell(bottomSplitRow, columnIndex));
                     if (bottomSplitRowCell != null) {
                         bottomSplitRowCell.setMergedCellCount(checkMaxRowIndex - maxRowIndex);
                     }
@@ -495,7 +581,7 @@ public class BaseGridDataIndexManager {
         final List<GridRow> rows = gridData.getRows();
         final List<GridColumn<?>> columns = gridData.getColumns();
         final GridRow currentRow = rows.get(rowIndex);
-        final GridCell<?> currentRowCell = currentRow.getCells().get(columnIndex);
+        final GridCell<?> currentRowCell = getCell(currentRow, columnIndex);
 
         if (currentRowCell == null) {
             return;
@@ -505,7 +591,7 @@ public class BaseGridDataIndexManager {
             do {
                 minRowIndex--;
                 final GridRow previousRow = rows.get(minRowIndex);
-                final GridCell<?> previousRowCell = previousRow.getCells().get(columnIndex);
+                final GridCell<?> previousRowCell = getCell(previousRow, columnIndex);
                 if (previousRowCell == null) {
                     break;
                 }
@@ -518,7 +604,7 @@ public class BaseGridDataIndexManager {
 
         while (maxRowIndex < rows.size()) {
             final GridRow nextRow = rows.get(maxRowIndex);
-            final GridCell<?> nextRowCell = nextRow.getCells().get(columnIndex);
+            final GridCell<?> nextRowCell = getCell(nextRow, columnIndex);
             if (nextRowCell == null) {
                 break;
             }
@@ -549,7 +635,7 @@ public class BaseGridDataIndexManager {
         //Find the cell's current value
         final List<GridRow> rows = gridData.getRows();
         final GridRow currentRow = gridData.getRow(expandMinRowIndex);
-        final GridCell<?> currentRowCell = currentRow.getCells().get(columnIndex);
+        final GridCell<?> currentRowCell = getCell(currentRow, columnIndex);
 
         //Find minimum row with a cell containing the same value as that being updated
         final int minRowIndex = findMinRowIndex(expandMinRowIndex,
@@ -569,11 +655,11 @@ public class BaseGridDataIndexManager {
 
         //If merged block is partially collapsed split it
         final GridRow row = rows.get(minRowIndex);
-        final BaseGridCell cell = ((BaseGridCell) row.getCells().get(columnIndex));
+        final BaseGridCell cell = ((BaseGridCell) getCell(row, columnIndex));
         if (maxRowIndex > expandMaxRowIndex) {
             final GridRow bottomSplitRow = rows.get(expandMaxRowIndex);
             if (bottomSplitRow.isCollapsed()) {
-                final BaseGridCell bottomSplitRowCell = ((BaseGridCell) bottomSplitRow.getCells().get(columnIndex));
+                final BaseGridCell bottomSplitRowCell = ((BaseGridCell) getCell(bottomSplitRow, columnIndex));
                 if (bottomSplitRowCell != null) {
                     bottomSplitRowCell.setMergedCellCount(maxRowIndex - expandMaxRowIndex);
                 }
@@ -658,7 +744,7 @@ public class BaseGridDataIndexManager {
         //Back track from the row prior to the BlockStart, correcting MetaData
         if (blockStart > 0) {
             final GridRow currentRow = gridData.getRow(blockStart - 1);
-            final GridCell<?> currentRowCell = currentRow.getCells().get(columnIndex);
+            final GridCell<?> currentRowCell = getCell(currentRow, columnIndex);
 
             int minBlockRowIndex = findMinRowIndex(blockStart - 1,
                                                    columnIndex,
@@ -675,7 +761,7 @@ public class BaseGridDataIndexManager {
         //Forward track form the row after the BlockEnd, correcting MetaData
         if (blockEnd < gridData.getRowCount() - 1) {
             final GridRow currentRow = gridData.getRow(blockEnd + 1);
-            final GridCell<?> currentRowCell = currentRow.getCells().get(columnIndex);
+            final GridCell<?> currentRowCell = getCell(currentRow, columnIndex);
 
             final int minBlockRowIndex = blockEnd + 1;
             final int maxBlockRowIndex = findMaxRowIndex(blockEnd,
@@ -708,7 +794,7 @@ public class BaseGridDataIndexManager {
 
             while (minBlockRowIndex > minRowIndex) {
                 final GridRow previousRow = gridData.getRow(minBlockRowIndex - 1);
-                final GridCell<?> previousRowCell = previousRow.getCells().get(columnIndex);
+                final GridCell<?> previousRowCell = getCell(previousRow, columnIndex);
                 if (previousRowCell == null) {
                     break;
                 }
@@ -738,7 +824,7 @@ public class BaseGridDataIndexManager {
         boolean foundBottomSplitMarker = false;
         while (maxBlockRowIndex < maxRowIndex) {
             final GridRow nextRow = gridData.getRow(maxBlockRowIndex);
-            final GridCell<?> nextRowCell = nextRow.getCells().get(columnIndex);
+            final GridCell<?> nextRowCell = getCell(nextRow, columnIndex);
             if (nextRowCell == null) {
                 break;
             }
@@ -763,7 +849,7 @@ public class BaseGridDataIndexManager {
                                      final int columnIndex) {
         for (int i = minBlockRowIndex; i < maxBlockRowIndex; i++) {
             final GridRow row = gridData.getRow(i);
-            final BaseGridCell cell = ((BaseGridCell) row.getCells().get(columnIndex));
+            final BaseGridCell cell = ((BaseGridCell) getCell(row, columnIndex));
             if (cell != null) {
                 cell.setMergedCellCount(0);
             }
@@ -771,20 +857,32 @@ public class BaseGridDataIndexManager {
         }
 
         final GridRow row = gridData.getRow(minBlockRowIndex);
-        final BaseGridCell cell = ((BaseGridCell) row.getCells().get(columnIndex));
+        final BaseGridCell cell = ((BaseGridCell) getCell(row, columnIndex));
         if (cell != null) {
             cell.setMergedCellCount(maxBlockRowIndex - minBlockRowIndex);
         }
         updateRowMergedCells(row);
     }
 
-    private void updateRowMergedCells(final GridRow row) {
-        for (GridCell<?> cell : row.getCells().values()) {
-            if (cell.isMerged()) {
-                ((BaseGridRow) row).setHasMergedCells(true);
-                return;
+    private void updateRowsMergedCells(final boolean[] rowsToUpdate) {
+        final List<GridRow> rows = gridData.getRows();
+        for (int rowIndex = 0; rowIndex < rowsToUpdate.length; rowIndex++) {
+            if (rowsToUpdate[rowIndex]) {
+                updateRowMergedCells(rows.get(rowIndex));
             }
         }
-        ((BaseGridRow) row).setHasMergedCells(false);
+    }
+
+    private void updateRowMergedCells(final GridRow row) {
+        ((BaseGridRow) row).updateHasMergedCells();
+    }
+
+    //Reads the cell straight from the cells of a BaseGridRow, without boxing the column index
+    private static GridCell<?> getCell(final GridRow row,
+                                       final int columnIndex) {
+        if (row instanceof BaseGridRow) {
+            return ((BaseGridRow) row).getCell(columnIndex);
+        }
+        return row.getCells().get(columnIndex);
     }
 }
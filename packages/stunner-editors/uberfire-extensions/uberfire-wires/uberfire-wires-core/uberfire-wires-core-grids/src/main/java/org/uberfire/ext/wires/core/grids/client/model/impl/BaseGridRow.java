@@ -19,10 +19,13 @@
 
 package org.uberfire.ext.wires.core.grids.client.model.impl;
 
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.Stack;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 import org.uberfire.ext.wires.core.grids.client.model.GridCell;
 import org.uberfire.ext.wires.core.grids.client.model.GridRow;
@@ -33,11 +36,17 @@ import org.uberfire.ext.wires.core.grids.client.model.GridRow;
 public class BaseGridRow implements GridRow {
 
     protected double height = 20.0;
-    protected Map<Integer, GridCell<?>> cells = new HashMap<Integer, GridCell<?>>();
+    //Cells indexed by column index, so shifting columns does not rehash or box any key
+    protected GridCell<?>[] cells = new GridCell<?>[0];
 
+    private int cellCount = 0;
+    private final Map<Integer, GridCell<?>> cellsView = new CellsView();
     private boolean hasMergedCells = false;
-    private Stack<Double> heights = new Stack<Double>();
+    //Heights before each collapse, the height at construction being at index zero
+    private double[] heights = new double[2];
     private int collapseLevel = 0;
+    //The model holding this row, to be told when the height changes
+    private BaseGridData gridData;
 
     public BaseGridRow() {
         this(20);
@@ -45,12 +54,12 @@ public class BaseGridRow implements GridRow {
 
     public BaseGridRow(final double height) {
         this.height = height;
-        this.heights.push(height);
+        this.heights[0] = height;
     }
 
     @Override
     public Map<Integer, GridCell<?>> getCells() {
-        return Collections.unmodifiableMap(cells);
+        return cellsView;
     }
 
     @Override
@@ -61,11 +70,12 @@ public class BaseGridRow implements GridRow {
     @Override
     public void setHeight(final double height) {
         this.height = height;
+        heightChanged();
     }
 
     @Override
     public double peekHeight() {
-        return heights.peek();
+        return heights[collapseLevel];
     }
 
     @Override
@@ -81,9 +91,15 @@ public class BaseGridRow implements GridRow {
     @Override
     public void collapse() {
         collapseLevel++;
-        heights.push(height);
-        for (GridCell<?> cell : cells.values()) {
-            cell.collapse();
+        if (collapseLevel == heights.length) {
+            heights = Arrays.copyOf(heights,
+                                    heights.length * 2);
+        }
+        heights[collapseLevel] = height;
+        for (GridCell<?> cell : cells) {
+            if (cell != null) {
+                cell.collapse();
+            }
         }
     }
 
@@ -92,10 +108,13 @@ public class BaseGridRow implements GridRow {
         if (collapseLevel == 0) {
             return;
         }
+        height = heights[collapseLevel];
         collapseLevel--;
-        height = heights.pop();
-        for (GridCell<?> cell : cells.values()) {
-            cell.expand();
+        heightChanged();
+        for (GridCell<?> cell : cells) {
+            if (cell != null) {
+                cell.expand();
+            }
         }
     }
 
@@ -103,29 +122,170 @@ public class BaseGridRow implements GridRow {
     public void reset() {
         collapseLevel = 0;
         hasMergedCells = false;
-        height = heights.firstElement();
-        heights.clear();
-        heights.push(height);
-        for (GridCell<?> cell : cells.values()) {
-            cell.reset();
+        height = heights[0];
+        heightChanged();
+        for (GridCell<?> cell : cells) {
+            if (cell != null) {
+                cell.reset();
+            }
+        }
+    }
+
+    //This is not part of the GridRow interface as we don't want to expose this for general use
+    BaseGridData getGridData() {
+        return gridData;
+    }
+
+    //This is not part of the GridRow interface as we don't want to expose this for general use
+    void setGridData(final BaseGridData gridData) {
+        this.gridData = gridData;
+    }
+
+    /**
+     * Tells the model holding this row that its height changed. Rows computing their height from their cells
+     * rather than setting it with {@link #setHeight(double)} call this whenever that height may have changed.
+     */
+    protected void heightChanged() {
+        if (gridData != null) {
+            gridData.onRowHeightChanged();
         }
     }
 
+    /**
+     * Called when a cell of this row is set or deleted. Does nothing by default.
+     */
+    protected void onCellsChanged() {
+    }
+
     //This is not part of the GridCell interface as we don't want to expose this for general use
     @SuppressWarnings("unchecked")
     void setCell(final int columnIndex,
                  final GridCell cell) {
-        cells.put(columnIndex,
-                  cell);
+        if (cell == null) {
+            deleteCell(columnIndex);
+            return;
+        }
+        if (columnIndex >= cells.length) {
+            cells = Arrays.copyOf(cells,
+                                  Math.max(columnIndex + 1,
+                                           cells.length * 2));
+        }
+        if (cells[columnIndex] == null) {
+            cellCount++;
+        }
+        cells[columnIndex] = cell;
+        onCellsChanged();
+    }
+
+    //This is not part of the GridCell interface as we don't want to expose this for general use
+    GridCell<?> getCell(final int columnIndex) {
+        if (columnIndex < 0 || columnIndex >= cells.length) {
+            return null;
+        }
+        return cells[columnIndex];
     }
 
     //This is not part of the GridCell interface as we don't want to expose this for general use
     void deleteCell(final int columnIndex) {
-        cells.remove(columnIndex);
+        if (columnIndex < 0 || columnIndex >= cells.length || cells[columnIndex] == null) {
+            return;
+        }
+        cells[columnIndex] = null;
+        cellCount--;
+        onCellsChanged();
     }
 
     //This is not part of the GridCell interface as we don't want to expose this for general use
-    void setHasMergedCells(final boolean hasMergedCells) {
-        this.hasMergedCells = hasMergedCells;
+    void deleteColumn(final int columnIndex) {
+        deleteCell(columnIndex);
+        if (columnIndex < 0 || columnIndex >= cells.length) {
+            return;
+        }
+        System.arraycopy(cells,
+                         columnIndex + 1,
+                         cells,
+                         columnIndex,
+                         cells.length - columnIndex - 1);
+        cells[cells.length - 1] = null;
+    }
+
+    //This is not part of the GridCell interface as we don't want to expose this for general use
+    void updateHasMergedCells() {
+        for (GridCell<?> cell : cells) {
+            if (cell != null && cell.isMerged()) {
+                hasMergedCells = true;
+                return;
+            }
+        }
+        hasMergedCells = false;
+    }
+
+    /**
+     * Read-only view of the cells as a {@link Map} keyed by column index, iterated in column order.
+     */
+    private class CellsView extends AbstractMap<Integer, GridCell<?>> {
+
+        private final Set<Entry<Integer, GridCell<?>>> entrySet = new AbstractSet<Entry<Integer, GridCell<?>>>() {
+
+            @Override
+            public Iterator<Entry<Integer, GridCell<?>>> iterator() {
+                return new Iterator<Entry<Integer, GridCell<?>>>() {
+
+                    private int next = seek(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < cells.length;
+                    }
+
+                    @Override
+                    public Entry<Integer, GridCell<?>> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        final int columnIndex = next;
+                        next = seek(columnIndex + 1);
+                        return new SimpleImmutableEntry<>(columnIndex,
+                                                          cells[columnIndex]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return cellCount;
+            }
+        };
+
+        private int seek(final int from) {
+            int columnIndex = from;
+            while (columnIndex < cells.length && cells[columnIndex] == null) {
+                columnIndex++;
+            }
+            return columnIndex;
+        }
+
+        @Override
+        public GridCell<?> get(final Object key) {
+            if (!(key instanceof Integer)) {
+                return null;
+            }
+            return getCell((Integer) key);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return cellCount;
+        }
+
+        @Override
+        public Set<Entry<Integer, GridCell<?>>> entrySet() {
+            return entrySet;
+        }
     }
 }
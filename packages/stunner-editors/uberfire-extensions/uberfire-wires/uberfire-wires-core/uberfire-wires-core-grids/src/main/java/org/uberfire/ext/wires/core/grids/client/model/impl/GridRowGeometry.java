@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.uberfire.ext.wires.core.grids.client.model.impl;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.uberfire.ext.wires.core.grids.client.model.GridRow;
+
+/**
+ * The heights of all rows in a grid, together with their prefix sums, so the offset of a row and the row at an
+ * offset can be found without walking the rows preceding it. Changes to the rows are applied as they happen and
+ * only the offsets following the first changed row are summed again, on the next lookup.
+ * It is a {@link List} of the row heights to remain usable wherever a list of heights is expected.
+ */
+public class GridRowGeometry extends AbstractList<Double> {
+
+    private double[] heights;
+    private double[] offsets;
+    private int rowCount;
+    //Number of rows whose offset is up to date; the offset of the first row is always zero
+    private int validRowCount;
+
+    public GridRowGeometry() {
+        this.heights = new double[16];
+        this.offsets = new double[17];
+    }
+
+    public GridRowGeometry(final List<GridRow> rows) {
+        this();
+        reset(rows);
+    }
+
+    /**
+     * Replaces all the heights with those of the given rows.
+     * @param rows The rows.
+     */
+    public void reset(final List<GridRow> rows) {
+        rowCount = 0;
+        validRowCount = 0;
+        ensureCapacity(rows.size());
+        for (GridRow row : rows) {
+            heights[rowCount++] = row.getHeight();
+        }
+    }
+
+    /**
+     * Reads again the heights of the given rows, which must be as many as the rows of this geometry.
+     * Only the offsets following the first row whose height changed are invalidated.
+     * @param rows The rows.
+     */
+    public void update(final List<GridRow> rows) {
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            setHeight(rowIndex,
+                      rows.get(rowIndex).getHeight());
+        }
+    }
+
+    public void setHeight(final int rowIndex,
+                          final double height) {
+        if (heights[rowIndex] != height) {
+            heights[rowIndex] = height;
+            invalidate(rowIndex);
+        }
+    }
+
+    public void insertRow(final int rowIndex,
+                          final double height) {
+        ensureCapacity(rowCount + 1);
+        System.arraycopy(heights,
+                         rowIndex,
+                         heights,
+                         rowIndex + 1,
+                         rowCount - rowIndex);
+        heights[rowIndex] = height;
+        rowCount++;
+        invalidate(rowIndex);
+    }
+
+    public void deleteRows(final int minRowIndex,
+                           final int maxRowIndex) {
+        System.arraycopy(heights,
+                         maxRowIndex + 1,
+                         heights,
+                         minRowIndex,
+                         rowCount - maxRowIndex - 1);
+        rowCount = rowCount - (maxRowIndex - minRowIndex + 1);
+        invalidate(minRowIndex);
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public double getHeight(final int rowIndex) {
+        return heights[rowIndex];
+    }
+
+    /**
+     * Get the y-offset of a row relative to the first row.
+     * @param rowIndex The index of the row, or the number of rows for the offset of the end of the last row.
+     * @return The sum of the heights of all the preceding rows.
+     */
+    public double getOffset(final int rowIndex) {
+        if (rowIndex <= 0) {
+            return 0;
+        }
+        sumOffsets(rowIndex);
+        return offsets[rowIndex];
+    }
+
+    public double getTotalHeight() {
+        return getOffset(rowCount);
+    }
+
+    /**
+     * Get the index of the first row whose bottom edge is at or beyond the given y-offset.
+     * @param offset The y-offset relative to the first row.
+     * @return The index of the row or the number of rows if the offset is beyond the last row.
+     */
+    public int getRowIndex(final double offset) {
+        sumOffsets(rowCount);
+        int low = 0;
+        int high = rowCount;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (offsets[middle + 1] < offset) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public Double get(final int index) {
+        if (index < 0 || index >= rowCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + rowCount);
+        }
+        return heights[index];
+    }
+
+    @Override
+    public int size() {
+        return rowCount;
+    }
+
+    private void invalidate(final int rowIndex) {
+        validRowCount = Math.min(validRowCount,
+                                 rowIndex);
+    }
+
+    private void sumOffsets(final int rowIndex) {
+        for (int i = validRowCount; i < rowIndex; i++) {
+            offsets[i + 1] = offsets[i] + heights[i];
+        }
+        validRowCount = Math.max(validRowCount,
+                                 rowIndex);
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > heights.length) {
+            final int length = Math.max(capacity,
+                                        heights.length * 2);
+            heights = Arrays.copyOf(heights,
+                                    length);
+            offsets = Arrays.copyOf(offsets,
+                                    length + 1);
+        }
+    }
+}
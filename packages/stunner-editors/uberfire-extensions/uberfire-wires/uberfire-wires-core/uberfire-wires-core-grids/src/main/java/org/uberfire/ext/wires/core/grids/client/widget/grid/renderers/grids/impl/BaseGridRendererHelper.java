@@ -29,6 +29,8 @@ import org.uberfire.ext.wires.core.grids.client.model.Bounds;
 import org.uberfire.ext.wires.core.grids.client.model.GridColumn;
 import org.uberfire.ext.wires.core.grids.client.model.GridData;
 import org.uberfire.ext.wires.core.grids.client.model.GridRow;
+import org.uberfire.ext.wires.core.grids.client.model.impl.BaseGridData;
+import org.uberfire.ext.wires.core.grids.client.model.impl.GridRowGeometry;
 import org.uberfire.ext.wires.core.grids.client.widget.grid.GridWidget;
 import org.uberfire.ext.wires.core.grids.client.widget.grid.renderers.grids.GridRenderer;
 import org.uberfire.ext.wires.core.grids.client.widget.layer.GridLayer;
@@ -133,6 +135,9 @@ public class BaseGridRendererHelper {
 
     public double getRowOffset(final int rowIndex,
                                final List<Double> rowHeights) {
+        if (rowHeights instanceof GridRowGeometry) {
+            return ((GridRowGeometry) rowHeights).getOffset(rowIndex);
+        }
         double rowOffset = 0;
         for (int i = 0; i < rowIndex; i++) {
             rowOffset = rowOffset + rowHeights.get(i);
@@ -140,6 +145,19 @@ public class BaseGridRendererHelper {
         return rowOffset;
     }
 
+    /**
+     * Get the geometry of the rows of the model. Models extending {@link BaseGridData} keep their own
+     * geometry up to date; for other models it is built from their rows.
+     * @return The geometry of all rows.
+     */
+    public GridRowGeometry getRowGeometry() {
+        final GridData model = view.getModel();
+        if (model instanceof BaseGridData) {
+            return ((BaseGridData) model).getRowGeometry();
+        }
+        return new GridRowGeometry(model.getRows());
+    }
+
     /**
      * Get the width of a set of columns, ignoring hidden columns.
      * @param columns The columns.
@@ -167,14 +185,9 @@ public class BaseGridRendererHelper {
         final List<GridColumn<?>> bodyColumns = new ArrayList<>();
         final List<GridColumn<?>> floatingColumns = new ArrayList<>();
 
-        double viewHeight = 0;
         final int rowCount = model.getRowCount();
-        final List<Double> rowHeights = new ArrayList<>();
-        for (GridRow row : model.getRows()) {
-            final double rowHeight = row.getHeight();
-            viewHeight = viewHeight + rowHeight;
-            rowHeights.add(rowHeight);
-        }
+        final GridRowGeometry rowHeights = getRowGeometry();
+        final double viewHeight = rowHeights.getTotalHeight();
 
         final double vpX = bounds.getX();
         final double vpY = bounds.getY();
@@ -221,20 +234,17 @@ public class BaseGridRendererHelper {
 
         int minVisibleRowIndex = 0;
         if (model.getRowCount() > 0) {
-            double clipTop = vpY - view.getComputedLocation().getY() - (isFloatingHeader ? 0.0 : renderer.getHeaderHeight());
-            while (rowHeights.get(minVisibleRowIndex) < clipTop && minVisibleRowIndex < rowCount - 1) {
-                clipTop = clipTop - rowHeights.get(minVisibleRowIndex);
-                minVisibleRowIndex++;
-            }
+            final double clipTop = vpY - view.getComputedLocation().getY() - (isFloatingHeader ? 0.0 : renderer.getHeaderHeight());
+            minVisibleRowIndex = Math.min(rowHeights.getRowIndex(clipTop),
+                                          rowCount - 1);
         }
 
         int maxVisibleRowIndex = minVisibleRowIndex;
         if (model.getRowCount() > 0) {
-            double clipBottom = vpY - view.getComputedLocation().getY() - renderer.getHeaderHeight() + vpHeight - getRowOffset(minVisibleRowIndex, rowHeights);
-            while (rowHeights.get(maxVisibleRowIndex) < clipBottom && maxVisibleRowIndex < rowCount - 1) {
-                clipBottom = clipBottom - rowHeights.get(maxVisibleRowIndex);
-                maxVisibleRowIndex++;
-            }
+            final double clipBottom = vpY - view.getComputedLocation().getY() - renderer.getHeaderHeight() + vpHeight;
+            maxVisibleRowIndex = Math.max(minVisibleRowIndex,
+                                          Math.min(rowHeights.getRowIndex(clipBottom),
+                                                   rowCount - 1));
         }
         log(LOGGER, " - Post- identify rows to render", currentTimeMillis);
 
@@ -286,7 +296,7 @@ public class BaseGridRendererHelper {
         log(LOGGER, " - Post- identify columns to render", currentTimeMillis);
 
         //Construct details of Floating and Body blocks
-        double visibleRowOffset = getRowOffset(minVisibleRowIndex, rowHeights);
+        final double visibleRowOffset = rowHeights.getOffset(minVisibleRowIndex);
         final double bodyOffsetY = visibleRowOffset + renderer.getHeaderHeight();
         final double offsetX = (bodyColumns.size() > 0 ? getColumnOffset(bodyColumns.get(0)) : 0);
         final double floatingOffsetX = getFloatingColumnOffset();
@@ -311,8 +321,7 @@ public class BaseGridRendererHelper {
         final List<Double> visibleRowOffsets = new ArrayList<>();
         if (model.getRowCount() > 0) {
             for (int rowIndex = minVisibleRowIndex; rowIndex <= maxVisibleRowIndex; rowIndex++) {
-                visibleRowOffsets.add(visibleRowOffset);
-                visibleRowOffset = visibleRowOffset + rowHeights.get(rowIndex);
+                visibleRowOffsets.add(rowHeights.getOffset(rowIndex));
             }
         }
         log(LOGGER, " - Post- calculate row offsets", currentTimeMillis);
@@ -560,6 +569,9 @@ public class BaseGridRendererHelper {
         }
 
         public List<Double> getAllRowHeights() {
+            if (allRowHeights instanceof GridRowGeometry) {
+                return allRowHeights;
+            }
             return Collections.unmodifiableList(allRowHeights);
         }
 
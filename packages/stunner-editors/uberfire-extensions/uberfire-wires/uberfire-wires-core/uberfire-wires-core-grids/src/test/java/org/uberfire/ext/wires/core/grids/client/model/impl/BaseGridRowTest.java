@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.uberfire.ext.wires.core.grids.client.model.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+import org.uberfire.ext.wires.core.grids.client.model.GridCell;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BaseGridRowTest {
+
+    private final GridCell<String> cell0 = new BaseGridCell<>(new BaseGridCellValue<>("a"));
+    private final GridCell<String> cell2 = new BaseGridCell<>(new BaseGridCellValue<>("b"));
+    private final GridCell<String> cell5 = new BaseGridCell<>(new BaseGridCellValue<>("c"));
+
+    @Test
+    public void testCells() {
+        final BaseGridRow row = makeRow();
+        final Map<Integer, GridCell<?>> cells = row.getCells();
+
+        assertEquals(3, cells.size());
+        assertSame(cell0, cells.get(0));
+        assertNull(cells.get(1));
+        assertSame(cell2, cells.get(2));
+        assertSame(cell5, cells.get(5));
+        assertNull(cells.get(6));
+        assertNull(cells.get(-1));
+        assertTrue(cells.containsKey(5));
+        assertFalse(cells.containsKey(3));
+        assertEquals(Arrays.asList(0, 2, 5), new ArrayList<>(cells.keySet()));
+        assertEquals(Arrays.asList(cell0, cell2, cell5), new ArrayList<>(cells.values()));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCellsAreReadOnly() {
+        makeRow().getCells().put(1, cell0);
+    }
+
+    @Test
+    public void testDeleteCell() {
+        final BaseGridRow row = makeRow();
+        row.deleteCell(2);
+        row.deleteCell(3);
+        row.deleteCell(10);
+
+        assertEquals(2, row.getCells().size());
+        assertNull(row.getCells().get(2));
+        assertSame(cell5, row.getCells().get(5));
+    }
+
+    @Test
+    public void testDeleteColumn() {
+        final BaseGridRow row = makeRow();
+        row.deleteColumn(2);
+
+        assertEquals(2, row.getCells().size());
+        assertSame(cell0, row.getCells().get(0));
+        assertNull(row.getCells().get(2));
+        assertSame(cell5, row.getCells().get(4));
+        assertNull(row.getCells().get(5));
+
+        row.deleteColumn(1);
+
+        assertEquals(Arrays.asList(0, 3), new ArrayList<>(row.getCells().keySet()));
+    }
+
+    @Test
+    public void testCollapseAndExpand() {
+        final BaseGridRow row = new BaseGridRow(30.0);
+        row.setCell(0, cell0);
+
+        row.collapse();
+        row.setHeight(0.0);
+        row.collapse();
+        row.collapse();
+
+        assertTrue(row.isCollapsed());
+        assertTrue(cell0.isCollapsed());
+        assertEquals(0.0, row.peekHeight(), 0.0);
+
+        row.expand();
+        row.expand();
+        assertEquals(0.0, row.getHeight(), 0.0);
+        assertEquals(30.0, row.peekHeight(), 0.0);
+
+        row.expand();
+        assertFalse(row.isCollapsed());
+        assertFalse(cell0.isCollapsed());
+        assertEquals(30.0, row.getHeight(), 0.0);
+        assertEquals(30.0, row.peekHeight(), 0.0);
+
+        row.collapse();
+        row.setHeight(0.0);
+        row.reset();
+        assertFalse(row.isCollapsed());
+        assertEquals(30.0, row.getHeight(), 0.0);
+    }
+
+    private BaseGridRow makeRow() {
+        final BaseGridRow row = new BaseGridRow();
+        row.setCell(5, cell5);
+        row.setCell(0, cell0);
+        row.setCell(2, cell2);
+        return row;
+    }
+}
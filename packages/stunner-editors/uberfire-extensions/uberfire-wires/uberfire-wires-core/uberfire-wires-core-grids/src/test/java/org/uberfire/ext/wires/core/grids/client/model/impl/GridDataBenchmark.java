@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.uberfire.ext.wires.core.grids.client.model.impl;
+
+import org.junit.Test;
+import org.uberfire.ext.wires.core.grids.client.model.GridColumn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures column insert and delete, merge toggling and collapse and expand of merged cells on a grid of
+ * {@link #ROWS} rows by {@link #COLUMNS} columns, the size of a large decision table.
+ * <p>
+ * It is not part of the regular build, run it with the <code>benchmarks</code> profile:
+ * <code>mvn test -Pbenchmarks -Dtest=GridDataBenchmark</code>. The grid size and the number of times each operation is
+ * repeated can be changed with the <code>rows</code>, <code>columns</code> and <code>iterations</code> system properties.
+ */
+public class GridDataBenchmark extends BaseGridTest {
+
+    private static final int ROWS = Integer.getInteger("rows", 5000);
+
+    private static final int COLUMNS = Integer.getInteger("columns", 20);
+
+    private static final int ITERATIONS = Integer.getInteger("iterations", 20);
+
+    // rows of a merged block in every column
+    private static final int BLOCK_SIZE = 4;
+
+    @Test
+    public void benchmarkColumnInsertAndDelete() {
+        constructGrid(true);
+
+        run("insert and delete a column", () -> {
+            final GridColumn<String> column = new MockMergableGridColumn<>("inserted", 100);
+            gridData.insertColumn(0, column);
+            gridData.deleteColumn(column);
+        });
+        run("delete and append the first column", () -> {
+            final GridColumn<?> column = gridData.getColumns().get(0);
+            gridData.deleteColumn(column);
+            gridData.appendColumn(column);
+        });
+
+        assertEquals(COLUMNS, gridData.getColumnCount());
+    }
+
+    @Test
+    public void benchmarkMergeToggling() {
+        constructGrid(false);
+
+        run("merge and unmerge", () -> {
+            gridData.setMerged(true);
+            gridData.setMerged(false);
+        });
+
+        gridData.setMerged(true);
+        assertTrue(gridData.getRow(0).isMerged());
+    }
+
+    @Test
+    public void benchmarkCollapseAndExpand() {
+        constructGrid(true);
+
+        run("collapse and expand every block of the first column", () -> {
+            for (int rowIndex = 0; rowIndex < ROWS; rowIndex += BLOCK_SIZE) {
+                gridData.collapseCell(rowIndex, 0);
+            }
+            for (int rowIndex = 0; rowIndex < ROWS; rowIndex += BLOCK_SIZE) {
+                gridData.expandCell(rowIndex, 0);
+            }
+        });
+
+        assertTrue(!gridData.getRow(1).isCollapsed());
+    }
+
+    private void constructGrid(final boolean isMerged) {
+        final long start = System.nanoTime();
+        // values are set unmerged, otherwise every cell would re-index its block
+        constructGridData(false, COLUMNS, ROWS);
+        for (int rowIndex = 0; rowIndex < ROWS; rowIndex++) {
+            for (int columnIndex = 0; columnIndex < COLUMNS; columnIndex++) {
+                gridData.setCellValue(rowIndex,
+                                      columnIndex,
+                                      new BaseGridCellValue<>("v" + (rowIndex / BLOCK_SIZE)));
+            }
+        }
+        gridData.setMerged(isMerged);
+        System.out.println(String.format("GridData with %d rows and %d columns: built in %.1f ms",
+                                         ROWS, COLUMNS, (System.nanoTime() - start) / 1e6));
+    }
+
+    private static void run(final String operation,
+                            final Runnable runnable) {
+        // warm up
+        runnable.run();
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            runnable.run();
+        }
+        final long nanos = System.nanoTime() - start;
+        System.out.println(String.format("GridData with %d rows and %d columns: %s in %.3f ms",
+                                         ROWS, COLUMNS, operation, (nanos / 1e6) / ITERATIONS));
+    }
+}
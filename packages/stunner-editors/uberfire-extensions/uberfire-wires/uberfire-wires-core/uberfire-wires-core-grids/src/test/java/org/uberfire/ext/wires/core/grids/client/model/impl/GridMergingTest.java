@@ -107,6 +107,103 @@ public class GridMergingTest extends BaseGridTest {
                           });
     }
 
+    @Test
+    public void testMergeToggle_ReindexesChangedColumnsOnly() {
+        final GridData data = new BaseGridData();
+        final GridColumn<String> gc1 = new MockMergableGridColumn<String>("col1",
+                                                                          100);
+        final GridColumn<String> gc2 = new MockMergableGridColumn<String>("col2",
+                                                                          100);
+        data.appendColumn(gc1);
+        data.appendColumn(gc2);
+
+        data.appendRow(new BaseGridRow());
+        data.appendRow(new BaseGridRow());
+        data.appendRow(new BaseGridRow());
+
+        for (int rowIndex = 0; rowIndex < data.getRowCount(); rowIndex++) {
+            for (int columnIndex = 0; columnIndex < data.getColumnCount(); columnIndex++) {
+                data.setCellValue(rowIndex,
+                                  columnIndex,
+                                  new BaseGridCellValue<String>("(" + columnIndex + ", X)"));
+            }
+        }
+
+        //Unchanged columns keep their blocks
+        data.setMerged(false);
+        data.setMerged(true);
+
+        assertGridIndexes(data,
+                          new boolean[]{true, true, true},
+                          new boolean[]{false, false, false},
+                          new Expected[][]{
+                                  {Expected.build(true,
+                                                  3,
+                                                  "(0, X)"), Expected.build(true,
+                                                                            3,
+                                                                            "(1, X)")},
+                                  {Expected.build(true,
+                                                  0,
+                                                  "(0, X)"), Expected.build(true,
+                                                                            0,
+                                                                            "(1, X)")},
+                                  {Expected.build(true,
+                                                  0,
+                                                  "(0, X)"), Expected.build(true,
+                                                                            0,
+                                                                            "(1, X)")},
+                          });
+
+        //Cells changed while unmerged are indexed again
+        data.setMerged(false);
+        data.setCellValue(1,
+                          1,
+                          new BaseGridCellValue<String>("(1, 1)"));
+        data.setMerged(true);
+
+        assertGridIndexes(data,
+                          new boolean[]{true, true, true},
+                          new boolean[]{false, false, false},
+                          new Expected[][]{
+                                  {Expected.build(true,
+                                                  3,
+                                                  "(0, X)"), Expected.build(false,
+                                                                            1,
+                                                                            "(1, X)")},
+                                  {Expected.build(true,
+                                                  0,
+                                                  "(0, X)"), Expected.build(false,
+                                                                            1,
+                                                                            "(1, 1)")},
+                                  {Expected.build(true,
+                                                  0,
+                                                  "(0, X)"), Expected.build(false,
+                                                                            1,
+                                                                            "(1, X)")},
+                          });
+
+        //Rows changed while unmerged invalidate every column
+        data.setMerged(false);
+        data.deleteRow(1);
+        data.setMerged(true);
+
+        assertGridIndexes(data,
+                          new boolean[]{true, true},
+                          new boolean[]{false, false},
+                          new Expected[][]{
+                                  {Expected.build(true,
+                                                  2,
+                                                  "(0, X)"), Expected.build(true,
+                                                                            2,
+                                                                            "(1, X)")},
+                                  {Expected.build(true,
+                                                  0,
+                                                  "(0, X)"), Expected.build(true,
+                                                                            0,
+                                                                            "(1, X)")},
+                          });
+    }
+
     @Test
     public void testMergeDownwards_SplitBlock_Rowsx2Rowx1() {
         final GridData data = new BaseGridData();
@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License. 
+ */
+
+package org.uberfire.ext.wires.core.grids.client.model.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.uberfire.ext.wires.core.grids.client.model.GridRow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class GridRowGeometryTest {
+
+    private final GridRow row0 = new BaseGridRow(10.0);
+    private final GridRow row1 = new BaseGridRow(20.0);
+    private final GridRow row2 = new BaseGridRow(0.0);
+    private final GridRow row3 = new BaseGridRow(30.0);
+
+    private final List<GridRow> rows = Arrays.asList(row0, row1, row2, row3);
+
+    @Test
+    public void testHeightsAndOffsets() {
+        final GridRowGeometry geometry = new GridRowGeometry(rows);
+
+        assertEquals(4, geometry.getRowCount());
+        assertEquals(Arrays.asList(10.0, 20.0, 0.0, 30.0), geometry);
+        assertEquals(20.0, geometry.getHeight(1), 0.0);
+        assertEquals(0.0, geometry.getOffset(-1), 0.0);
+        assertEquals(0.0, geometry.getOffset(0), 0.0);
+        assertEquals(10.0, geometry.getOffset(1), 0.0);
+        assertEquals(30.0, geometry.getOffset(2), 0.0);
+        assertEquals(30.0, geometry.getOffset(3), 0.0);
+        assertEquals(60.0, geometry.getOffset(4), 0.0);
+        assertEquals(60.0, geometry.getTotalHeight(), 0.0);
+    }
+
+    @Test
+    public void testRowIndex() {
+        final GridRowGeometry geometry = new GridRowGeometry(rows);
+
+        assertEquals(0, geometry.getRowIndex(-5.0));
+        assertEquals(0, geometry.getRowIndex(0.0));
+        assertEquals(0, geometry.getRowIndex(10.0));
+        assertEquals(1, geometry.getRowIndex(10.5));
+        assertEquals(1, geometry.getRowIndex(30.0));
+        assertEquals(3, geometry.getRowIndex(30.5));
+        assertEquals(3, geometry.getRowIndex(60.0));
+        assertEquals(4, geometry.getRowIndex(60.5));
+    }
+
+    @Test
+    public void testEmpty() {
+        final GridRowGeometry geometry = new GridRowGeometry(Collections.emptyList());
+
+        assertEquals(0, geometry.getRowCount());
+        assertEquals(0.0, geometry.getTotalHeight(), 0.0);
+        assertEquals(0, geometry.getRowIndex(10.0));
+    }
+
+    @Test
+    public void testUpdates() {
+        final GridRowGeometry geometry = new GridRowGeometry(rows);
+        assertEquals(60.0, geometry.getTotalHeight(), 0.0);
+
+        geometry.setHeight(1, 25.0);
+        assertEquals(35.0, geometry.getOffset(2), 0.0);
+        assertEquals(65.0, geometry.getTotalHeight(), 0.0);
+
+        geometry.insertRow(0, 5.0);
+        assertEquals(Arrays.asList(5.0, 10.0, 25.0, 0.0, 30.0), geometry);
+        assertEquals(15.0, geometry.getOffset(2), 0.0);
+        assertEquals(70.0, geometry.getTotalHeight(), 0.0);
+
+        geometry.deleteRows(1, 2);
+        assertEquals(Arrays.asList(5.0, 0.0, 30.0), geometry);
+        assertEquals(5.0, geometry.getOffset(2), 0.0);
+        assertEquals(2, geometry.getRowIndex(6.0));
+
+        for (int i = 0; i < 40; i++) {
+            geometry.insertRow(geometry.getRowCount(), 1.0);
+        }
+        assertEquals(43, geometry.getRowCount());
+        assertEquals(75.0, geometry.getTotalHeight(), 0.0);
+
+        geometry.reset(rows);
+        assertEquals(Arrays.asList(10.0, 20.0, 0.0, 30.0), geometry);
+        assertEquals(60.0, geometry.getTotalHeight(), 0.0);
+
+        row2.setHeight(5.0);
+        geometry.update(rows);
+        assertEquals(35.0, geometry.getOffset(3), 0.0);
+        assertEquals(65.0, geometry.getTotalHeight(), 0.0);
+    }
+
+    @Test
+    public void testBaseGridDataRowGeometry() {
+        final BaseGridData model = new BaseGridData();
+        model.appendRow(row0);
+        model.appendRow(row1);
+
+        final GridRowGeometry geometry = model.getRowGeometry();
+        assertEquals(30.0, geometry.getTotalHeight(), 0.0);
+
+        row1.setHeight(25.0);
+        assertSame(geometry, model.getRowGeometry());
+        assertEquals(35.0, geometry.getTotalHeight(), 0.0);
+
+        model.insertRow(0, row3);
+        assertEquals(65.0, model.getRowGeometry().getTotalHeight(), 0.0);
+        assertEquals(30.0, model.getRowGeometry().getOffset(1), 0.0);
+
+        model.moveRowTo(2, row3);
+        assertEquals(Arrays.asList(10.0, 25.0, 30.0), model.getRowGeometry());
+
+        model.moveRowTo(0, row3);
+        assertEquals(Arrays.asList(30.0, 10.0, 25.0), model.getRowGeometry());
+
+        model.deleteRow(1);
+        assertEquals(Arrays.asList(30.0, 25.0), model.getRowGeometry());
+
+        row0.setHeight(50.0);
+        assertEquals(55.0, model.getRowGeometry().getTotalHeight(), 0.0);
+    }
+
+    @Test
+    public void testBaseGridDataRowGeometryReadsHeightsOnlyAfterChanges() {
+        final CountingGridRow row = new CountingGridRow();
+        final BaseGridData model = new BaseGridData();
+        model.appendRow(row);
+        model.appendRow(row0);
+        model.getRowGeometry();
+
+        row.reads = 0;
+        model.getRowGeometry();
+        model.getRowGeometry();
+        assertEquals(0, row.reads);
+
+        row.collapse();
+        row.setHeight(0.0);
+        assertEquals(10.0, model.getRowGeometry().getTotalHeight(), 0.0);
+        row.expand();
+        assertEquals(30.0, model.getRowGeometry().getTotalHeight(), 0.0);
+    }
+
+    @Test
+    public void testBaseGridDataRowGeometryReadsReportedHeights() {
+        final BaseGridData model = new BaseGridData();
+        model.appendColumn(new BaseGridTest.MockMergableGridColumn<String>("col1",
+                                                                           100));
+        model.appendRow(new CellCountGridRow());
+        model.appendRow(row0);
+        assertEquals(30.0, model.getRowGeometry().getTotalHeight(), 0.0);
+
+        model.setCellValue(0,
+                           0,
+                           new BaseGridCellValue<String>("value"));
+        assertEquals(40.0, model.getRowGeometry().getTotalHeight(), 0.0);
+
+        model.deleteCell(0,
+                         0);
+        assertEquals(30.0, model.getRowGeometry().getTotalHeight(), 0.0);
+    }
+
+    @Test
+    public void testBaseGridDataRowGeometryChanges() {
+        final int[] changes = {0};
+        final BaseGridData model = new BaseGridData() {
+            @Override
+            protected void onRowGeometryChanged() {
+                changes[0]++;
+            }
+        };
+        final GridRow row = new BaseGridRow(20.0);
+
+        model.appendRow(row);
+        assertEquals(1, changes[0]);
+
+        row.setHeight(30.0);
+        assertEquals(2, changes[0]);
+
+        model.deleteRow(0);
+        assertEquals(3, changes[0]);
+
+        row.setHeight(40.0);
+        assertEquals(3, changes[0]);
+    }
+
+    private static class CountingGridRow extends BaseGridRow {
+
+        private int reads = 0;
+
+        private CountingGridRow() {
+            super(20.0);
+        }
+
+        @Override
+        public double getHeight() {
+            reads++;
+            return super.getHeight();
+        }
+    }
+
+    private static class CellCountGridRow extends BaseGridRow {
+
+        @Override
+        public double getHeight() {
+            return 20.0 + 10.0 * getCells().size();
+        }
+
+        @Override
+        protected void onCellsChanged() {
+            heightChanged();
+        }
+    }
+}